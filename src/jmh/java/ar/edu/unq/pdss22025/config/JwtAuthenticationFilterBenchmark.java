@@ -0,0 +1,69 @@
+package ar.edu.unq.pdss22025.config;
+
+import ar.edu.unq.pdss22025.models.usuario.EstadoUsuario;
+import ar.edu.unq.pdss22025.models.usuario.Rol;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import ar.edu.unq.pdss22025.services.EstadoUsuarioCache;
+import ar.edu.unq.pdss22025.services.JwtService;
+import ar.edu.unq.pdss22025.services.UsuarioDetailsService;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Filtro JWT de punta a punta para una request autenticada: header, verificación del token,
+ * estado del usuario (desde la caché) y armado del SecurityContext.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "MiClaveSecretaMuyLargaParaJWTQueDebeSerAlMenos256BitsParaHS256";
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class, withSettings().stubOnly());
+        when(usuarioRepository.findEstadoById(1L)).thenReturn(Optional.of(new EstadoUsuario(1L, true, null)));
+
+        JwtService jwtService = new JwtService(SECRET, 3_600_000L, 10_000);
+        EstadoUsuarioCache estadoUsuarioCache = new EstadoUsuarioCache(usuarioRepository, Duration.ofMinutes(10), 10_000);
+        filter = new JwtAuthenticationFilter(jwtService, new UsuarioDetailsService(usuarioRepository, estadoUsuarioCache));
+        authorization = "Bearer " + jwtService.generateToken(1L, "comprador@test.com", Rol.COMPRADOR);
+    }
+
+    @Benchmark
+    public Authentication requestAutenticada() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ofertas");
+        request.setServletPath("/ofertas");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ar.edu.unq.pdss22025.controllers;
+
+import ar.edu.unq.pdss22025.Pdss22025Application;
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import ar.edu.unq.pdss22025.repositories.ConcesionariaRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.services.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga HTTP de punta a punta contra la aplicación con el H2 del perfil dev, con y sin hilos virtuales
+ * ({@code spring.threads.virtual.enabled}). Cada hilo de JMH es un cliente con un pedido en curso, así
+ * {@link Threads} fija la cantidad de clientes concurrentes (2000 por defecto; con -t se cambia).
+ * El modo SampleTime informa la distribución de latencias (p99 incluido) y el throughput sale de la
+ * cantidad de muestras por segundo.
+ * <p>
+ * /ofertas/todas lee de la base y serializa 200 ofertas; /auth/login es casi todo BCrypt (CPU).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(2000)
+public class CargaConcurrenteBenchmark {
+
+    private static final String EMAIL = "carga@test.com";
+    private static final String PASSWORD = "password";
+    private static final int OFERTAS = 200;
+
+    @Param({"false", "true"})
+    public boolean hilosVirtuales;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService ejecutorCliente;
+    private HttpClient cliente;
+    private HttpRequest pedidoOfertas;
+    private HttpRequest pedidoLogin;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(Pdss22025Application.class)
+                .profiles("dev")
+                // Como argumentos de línea de comandos para pisar el logging de SQL del perfil dev
+                .run("--server.port=0",
+                        "--management.server.port=-1",
+                        "--spring.threads.virtual.enabled=" + hilosVirtuales,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        Concesionaria concesionaria = context.getBean(ConcesionariaRepository.class).save(Concesionaria.builder()
+                .nombre("Concesionaria Carga").cuit("20-12345678-9").activa(true).build());
+        AutoRepository autoRepository = context.getBean(AutoRepository.class);
+        List<OfertaAuto> ofertas = new ArrayList<>(OFERTAS);
+        for (int i = 0; i < OFERTAS; i++) {
+            Auto auto = autoRepository.save(Auto.builder().marca("Marca " + (i % 10)).modelo("Modelo " + i).anioModelo(2024).build());
+            ofertas.add(OfertaAuto.builder()
+                    .concesionaria(concesionaria)
+                    .auto(auto)
+                    .stock(10)
+                    .precioActual(new BigDecimal("20000.00"))
+                    .moneda("USD")
+                    .build());
+        }
+        context.getBean(OfertaAutoRepository.class).saveAll(ofertas);
+        context.getBean(UsuarioService.class).crearUsuario(EMAIL, PASSWORD, "Carga", "Concurrente", "COMPRADOR");
+
+        // El context-path depende de qué application.properties quedó primero en el classpath
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.servlet.context-path", "");
+        ejecutorCliente = Executors.newVirtualThreadPerTaskExecutor();
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(ejecutorCliente)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        String credenciales = "{\"usuario\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+        pedidoLogin = HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credenciales))
+                .build();
+        HttpResponse<String> login = cliente.send(pedidoLogin, HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("El login respondió " + login.statusCode() + ": " + login.body());
+        }
+        String token = context.getBean(ObjectMapper.class).readTree(login.body()).get("token").asText();
+        pedidoOfertas = HttpRequest.newBuilder(URI.create(base + "/ofertas/todas"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ejecutorCliente.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int ofertasTodas() throws IOException, InterruptedException {
+        return enviar(pedidoOfertas);
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        return enviar(pedidoLogin);
+    }
+
+    private int enviar(HttpRequest pedido) throws IOException, InterruptedException {
+        HttpResponse<Void> respuesta = cliente.send(pedido, HttpResponse.BodyHandlers.discarding());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException(pedido.uri() + " respondió " + respuesta.statusCode());
+        }
+        return respuesta.statusCode();
+    }
+}
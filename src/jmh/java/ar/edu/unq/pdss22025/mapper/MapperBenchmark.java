@@ -0,0 +1,92 @@
+package ar.edu.unq.pdss22025.mapper;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Compra;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.Resena;
+import ar.edu.unq.pdss22025.models.dto.CompraResponse;
+import ar.edu.unq.pdss22025.models.dto.OfertaResponse;
+import ar.edu.unq.pdss22025.models.dto.ResenaResponse;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mappers de MapStruct sobre listados grandes, como los que arman los controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"100", "10000"})
+    public int tamanio;
+
+    private final OfertaMapper ofertaMapper = new OfertaMapperImpl();
+    private final ResenaMapper resenaMapper = new ResenaMapperImpl();
+    private final CompraMapper compraMapper = new CompraMapperImpl();
+
+    private List<OfertaAuto> ofertas;
+    private List<Resena> resenas;
+    private List<Compra> compras;
+
+    @Setup
+    public void setUp() {
+        OffsetDateTime ahora = OffsetDateTime.now();
+        Concesionaria concesionaria = Concesionaria.builder().id(1L).nombre("Concesionaria").build();
+        UsuarioComprador comprador = new UsuarioComprador();
+        comprador.setId(1L);
+        comprador.setNombre("Juan");
+        comprador.setApellido("Pérez");
+
+        ofertas = new ArrayList<>(tamanio);
+        resenas = new ArrayList<>(tamanio);
+        compras = new ArrayList<>(tamanio);
+        for (long i = 1; i <= tamanio; i++) {
+            Auto auto = Auto.builder().id(i).marca("Marca").modelo("Modelo " + i).anioModelo(2020).build();
+            OfertaAuto oferta = OfertaAuto.builder()
+                    .id(i).auto(auto).concesionaria(concesionaria)
+                    .stock(5).precioActual(new BigDecimal("25000000.00")).moneda("ARS")
+                    .createdAt(ahora).updatedAt(ahora)
+                    .build();
+            ofertas.add(oferta);
+            resenas.add(Resena.builder()
+                    .id(i).auto(auto).usuario(comprador).rating(8).comentario("Muy bueno")
+                    .createdAt(ahora).updatedAt(ahora)
+                    .build());
+            compras.add(Compra.builder()
+                    .id(i).oferta(oferta).comprador(comprador).cantidad(1)
+                    .precioUnitario(oferta.getPrecioActual()).total(oferta.getPrecioActual())
+                    .fechaCompra(ahora).updatedAt(ahora)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<OfertaResponse> ofertas() {
+        return ofertas.stream().map(ofertaMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<ResenaResponse> resenas() {
+        return resenas.stream().map(resenaMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<CompraResponse> compras() {
+        return compras.stream().map(compraMapper::toResponse).toList();
+    }
+}
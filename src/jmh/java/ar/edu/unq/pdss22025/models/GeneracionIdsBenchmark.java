@@ -0,0 +1,153 @@
+package ar.edu.unq.pdss22025.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga de autos (como los seeds de V3, a mayor escala) con ids IDENTITY, como estaba el modelo antes de V10/V11,
+ * y con secuencias pooled, con el mismo hibernate.jdbc.batch_size. Con IDENTITY Hibernate ejecuta cada INSERT
+ * al persistir para conocer el id y no agrupa; con la secuencia los INSERT salen en lotes de 50.
+ * Corre contra un H2 en memoria, así que la diferencia subestima la de PostgreSQL, donde cada sentencia
+ * suma además un viaje por la red.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GeneracionIdsBenchmark {
+
+    @Param({"100", "1000"})
+    public int autos;
+
+    private SessionFactory sessionFactory;
+    private long carga;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(AutoConIdentity.class)
+                .addAnnotatedClass(AutoConSecuencia.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:generacion_ids;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public long identity() {
+        long numero = carga++;
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < autos; i++) {
+                session.persist(new AutoConIdentity("Marca" + (i % 20), "Modelo" + numero + "-" + i, 2000 + i % 25));
+            }
+        });
+        return numero;
+    }
+
+    @Benchmark
+    public long secuenciaPooled() {
+        long numero = carga++;
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < autos; i++) {
+                session.persist(new AutoConSecuencia("Marca" + (i % 20), "Modelo" + numero + "-" + i, 2000 + i % 25));
+            }
+        });
+        return numero;
+    }
+
+    /** Mismas columnas que la tabla auto, con el id como estaba antes de V11. */
+    @Entity
+    @Table(name = "auto_con_identity")
+    public static class AutoConIdentity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "marca", nullable = false, length = 100)
+        private String marca;
+
+        @Column(name = "modelo", nullable = false, length = 100)
+        private String modelo;
+
+        @Column(name = "anio_modelo", nullable = false)
+        private Integer anioModelo;
+
+        @Column(name = "created_at", nullable = false)
+        private OffsetDateTime createdAt = OffsetDateTime.now();
+
+        @Column(name = "updated_at", nullable = false)
+        private OffsetDateTime updatedAt = createdAt;
+
+        protected AutoConIdentity() {
+        }
+
+        AutoConIdentity(String marca, String modelo, Integer anioModelo) {
+            this.marca = marca;
+            this.modelo = modelo;
+            this.anioModelo = anioModelo;
+        }
+    }
+
+    /** Mismas columnas que la tabla auto, con el id como en {@link Auto}. */
+    @Entity
+    @Table(name = "auto_con_secuencia")
+    public static class AutoConSecuencia {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auto_con_secuencia_seq")
+        @SequenceGenerator(name = "auto_con_secuencia_seq", sequenceName = "auto_con_secuencia_id_seq", allocationSize = 50)
+        private Long id;
+
+        @Column(name = "marca", nullable = false, length = 100)
+        private String marca;
+
+        @Column(name = "modelo", nullable = false, length = 100)
+        private String modelo;
+
+        @Column(name = "anio_modelo", nullable = false)
+        private Integer anioModelo;
+
+        @Column(name = "created_at", nullable = false)
+        private OffsetDateTime createdAt = OffsetDateTime.now();
+
+        @Column(name = "updated_at", nullable = false)
+        private OffsetDateTime updatedAt = createdAt;
+
+        protected AutoConSecuencia() {
+        }
+
+        AutoConSecuencia(String marca, String modelo, Integer anioModelo) {
+            this.marca = marca;
+            this.modelo = modelo;
+            this.anioModelo = anioModelo;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.dto.FiltroFacetasOfertas;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsquedas por facetas sobre catálogos de distinto tamaño: sin filtros (cuenta todas las facetas sobre
+ * todo el catálogo), con una faceta y con varias facetas combinadas, ordenando por precio y por recientes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BuscadorOfertasBenchmark {
+
+    private static final String[] MARCAS = {"Toyota", "Volkswagen", "Ford", "Chevrolet", "Renault", "Peugeot",
+            "Fiat", "Honda", "Nissan", "Citroën", "Jeep", "Hyundai", "Kia", "Mercedes-Benz", "BMW", "Audi"};
+    private static final int CONCESIONARIAS = 200;
+
+    @Param({"10000", "200000"})
+    public int ofertas;
+
+    private BuscadorOfertas buscador;
+    private final FiltroFacetasOfertas sinFiltros = new FiltroFacetasOfertas();
+    private final FiltroFacetasOfertas porMarca = FiltroFacetasOfertas.builder().marca(List.of("toyota")).build();
+    private final FiltroFacetasOfertas combinado = FiltroFacetasOfertas.builder()
+            .marca(List.of("toyota", "ford"))
+            .anio(List.of(2020, 2021, 2022))
+            .moneda(List.of("USD"))
+            .rangoPrecio(List.of("20000-30000"))
+            .build();
+
+    @Setup
+    public void setUp() {
+        List<Concesionaria> concesionarias = new ArrayList<>(CONCESIONARIAS);
+        for (long i = 0; i < CONCESIONARIAS; i++) {
+            concesionarias.add(Concesionaria.builder().id(i + 1).nombre("Concesionaria " + i).activa(i % 20 != 0).build());
+        }
+        OffsetDateTime inicio = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        List<OfertaAuto> catalogo = new ArrayList<>(ofertas);
+        for (long i = 0; i < ofertas; i++) {
+            Auto auto = Auto.builder().id(i + 1).marca(MARCAS[(int) (i % MARCAS.length)])
+                    .modelo("Modelo" + (i / MARCAS.length % 500)).anioModelo(2000 + (int) (i % 25)).build();
+            catalogo.add(OfertaAuto.builder()
+                    .id(i + 1)
+                    .auto(auto)
+                    .concesionaria(concesionarias.get((int) (i * 7 % CONCESIONARIAS)))
+                    .stock((int) (i % 10))
+                    .precioActual(BigDecimal.valueOf(5000 + i * 37 % 120000))
+                    .moneda(i % 4 == 0 ? "ARS" : "USD")
+                    .createdAt(inicio.plusSeconds(i * 13 % ofertas))
+                    .build());
+        }
+        OfertaAutoRepository ofertaAutoRepository = Mockito.mock(OfertaAutoRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(ofertaAutoRepository.findAllConAutoYConcesionaria()).thenReturn(catalogo);
+        buscador = new BuscadorOfertas(ofertaAutoRepository, new String[]{"10000", "20000", "30000", "50000", "100000"});
+        buscador.reconstruir();
+    }
+
+    @Benchmark
+    public BuscadorOfertas.Resultado sinFiltros() {
+        return buscador.buscar(sinFiltros, OrdenCatalogoOfertas.PRECIO_ASC, 0, 20);
+    }
+
+    @Benchmark
+    public BuscadorOfertas.Resultado unaFaceta() {
+        return buscador.buscar(porMarca, OrdenCatalogoOfertas.RECIENTES, 0, 20);
+    }
+
+    @Benchmark
+    public BuscadorOfertas.Resultado variasFacetas() {
+        return buscador.buscar(combinado, OrdenCatalogoOfertas.PRECIO_DESC, 0, 20);
+    }
+}
@@ -0,0 +1,86 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.Pdss22025Application;
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Compra;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraRequest;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import ar.edu.unq.pdss22025.repositories.ConcesionariaRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CompraService.crear completo (reserva de stock, alta de la compra y acumulados diarios)
+ * contra el H2 en memoria del perfil dev.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CompraServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CompraService compraService;
+    private CrearCompraRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Pdss22025Application.class)
+                .profiles("dev")
+                .web(WebApplicationType.NONE)
+                // Como argumentos de línea de comandos para pisar el logging de SQL del perfil dev
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        compraService = context.getBean(CompraService.class);
+
+        Concesionaria concesionaria = context.getBean(ConcesionariaRepository.class).save(Concesionaria.builder()
+                .nombre("Concesionaria Benchmark").cuit("20-12345678-9").activa(true).build());
+        Auto auto = context.getBean(AutoRepository.class).save(Auto.builder()
+                .marca("Toyota").modelo("Corolla").anioModelo(2024).build());
+        OfertaAuto oferta = context.getBean(OfertaAutoRepository.class).save(OfertaAuto.builder()
+                .concesionaria(concesionaria)
+                .auto(auto)
+                .stock(Integer.MAX_VALUE)
+                .precioActual(new BigDecimal("25000000.00"))
+                .moneda("ARS")
+                .build());
+        UsuarioComprador comprador = new UsuarioComprador();
+        comprador.setEmail("benchmark@test.com");
+        comprador.setPassword("password");
+        comprador.setNombre("Bench");
+        comprador.setApellido("Mark");
+        comprador = context.getBean(UsuarioRepository.class).save(comprador);
+
+        request = new CrearCompraRequest();
+        request.setOfertaId(oferta.getId());
+        request.setCompradorId(comprador.getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Compra crear() {
+        return compraService.crear(request);
+    }
+}
@@ -0,0 +1,64 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsquedas del buscador de autos sobre catálogos de distinto tamaño: prefijo mientras se tipea,
+ * varios términos y términos con errores de tipeo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndiceAutosBenchmark {
+
+    private static final String[] MARCAS = {"Toyota", "Volkswagen", "Ford", "Chevrolet", "Renault", "Peugeot",
+            "Fiat", "Honda", "Nissan", "Citroën", "Jeep", "Hyundai", "Kia", "Mercedes-Benz", "BMW", "Audi"};
+
+    @Param({"1000", "20000"})
+    public int autos;
+
+    private IndiceAutos indice;
+
+    @Setup
+    public void setUp() {
+        List<Auto> catalogo = new ArrayList<>(autos);
+        for (long i = 0; i < autos; i++) {
+            String marca = MARCAS[(int) (i % MARCAS.length)];
+            catalogo.add(Auto.builder().id(i + 1).marca(marca).modelo("Modelo" + (i / MARCAS.length % 500))
+                    .anioModelo(2000 + (int) (i % 25)).build());
+        }
+        AutoRepository autoRepository = Mockito.mock(AutoRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(autoRepository.findAll()).thenReturn(catalogo);
+        indice = new IndiceAutos(autoRepository);
+        indice.reconstruir();
+    }
+
+    @Benchmark
+    public List<IndiceAutos.Sugerencia> prefijo() {
+        return indice.buscar("volk", 10);
+    }
+
+    @Benchmark
+    public List<IndiceAutos.Sugerencia> variosTerminos() {
+        return indice.buscar("toyota modelo12 2012", 10);
+    }
+
+    @Benchmark
+    public List<IndiceAutos.Sugerencia> conErrores() {
+        return indice.buscar("chevrolte", 10);
+    }
+}
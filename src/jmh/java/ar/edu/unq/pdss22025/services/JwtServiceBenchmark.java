@@ -0,0 +1,51 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.usuario.Rol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación y validación de tokens: el camino que recorre cada request autenticada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "MiClaveSecretaMuyLargaParaJWTQueDebeSerAlMenos256BitsParaHS256";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 10_000);
+        token = jwtService.generateToken(1L, "comprador@test.com", Rol.COMPRADOR);
+        jwtService.verificar(token);
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return jwtService.generateToken(1L, "comprador@test.com", Rol.COMPRADOR);
+    }
+
+    /** Token ya verificado: se resuelve desde la caché sin recalcular la firma. */
+    @Benchmark
+    public Optional<TokenVerificado> verificarConCache() {
+        return jwtService.verificar(token);
+    }
+
+    /** Parseo completo con verificación de firma, sin pasar por la caché. */
+    @Benchmark
+    public String extraerUsuarioSinCache() {
+        return jwtService.extractUsername(token);
+    }
+}
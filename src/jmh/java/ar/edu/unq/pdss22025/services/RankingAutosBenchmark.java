@@ -0,0 +1,74 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.dto.AutoRankingDTO;
+import ar.edu.unq.pdss22025.repositories.ResumenPuntajeAutoRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas del ranking de autos mejor rankeados (general, por marca y por año) y la actualización
+ * de un auto al cambiar sus reseñas, sobre catálogos de distinto tamaño.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankingAutosBenchmark {
+
+    private static final String[] MARCAS = {"Toyota", "Volkswagen", "Ford", "Chevrolet", "Renault", "Peugeot",
+            "Fiat", "Honda", "Nissan", "Citroën", "Jeep", "Hyundai", "Kia", "Mercedes-Benz", "BMW", "Audi"};
+
+    @Param({"1000", "20000"})
+    public int autos;
+
+    private RankingAutos ranking;
+    private long siguiente;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> filas = new ArrayList<>(autos);
+        for (long i = 0; i < autos; i++) {
+            long cantidad = 1 + i % 200;
+            long suma = cantidad * (i % 11);
+            filas.add(new Object[]{i + 1, MARCAS[(int) (i % MARCAS.length)], "Modelo" + (i % 500),
+                    2000 + (int) (i % 25), cantidad, suma});
+        }
+        ResumenPuntajeAutoRepository repository = Mockito.mock(ResumenPuntajeAutoRepository.class,
+                Mockito.withSettings().stubOnly());
+        Mockito.when(repository.findEntradasRanking()).thenReturn(filas);
+        ranking = new RankingAutos(repository, 10);
+        ranking.reconstruir();
+    }
+
+    @Benchmark
+    public List<AutoRankingDTO> top5() {
+        return ranking.mejores(5, null, null);
+    }
+
+    @Benchmark
+    public List<AutoRankingDTO> top20PorMarca() {
+        return ranking.mejores(20, "volkswagen", null);
+    }
+
+    @Benchmark
+    public List<AutoRankingDTO> top10PorMarcaYAnio() {
+        return ranking.mejores(10, "Ford", 2012);
+    }
+
+    @Benchmark
+    public void actualizarAuto() {
+        // Sin transacción activa el cambio se aplica en el momento
+        long autoId = 1 + (siguiente++ % autos);
+        ranking.acumular(autoId, 9, 1);
+    }
+}
@@ -0,0 +1,91 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.dto.ReporteTop5Response;
+import ar.edu.unq.pdss22025.repositories.ResenaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.ResumenPuntajeAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaCompradorRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaConcesionariaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Conversión de las filas nativas de los reportes a DTOs.
+ * Los repositorios son stubs que devuelven filas fijas, así se mide sólo el mapeo
+ * (y, para los mejores rankeados, la lectura del ranking en memoria).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReporteServiceBenchmark {
+
+    @Param({"5", "1000"})
+    public int filas;
+
+    private ReporteService reporteService;
+
+    @Setup
+    public void setUp() {
+        ResumenPuntajeAutoRepository resumenRepository = mock(ResumenPuntajeAutoRepository.class, withSettings().stubOnly());
+        VentaDiariaAutoRepository autoRepository = mock(VentaDiariaAutoRepository.class, withSettings().stubOnly());
+        VentaDiariaCompradorRepository compradorRepository = mock(VentaDiariaCompradorRepository.class, withSettings().stubOnly());
+        VentaDiariaConcesionariaRepository concesionariaRepository = mock(VentaDiariaConcesionariaRepository.class, withSettings().stubOnly());
+        ResenaDiariaAutoRepository resenaDiariaRepository = mock(ResenaDiariaAutoRepository.class, withSettings().stubOnly());
+
+        List<Object[]> autos = new ArrayList<>();
+        List<Object[]> compradores = new ArrayList<>();
+        List<Object[]> concesionarias = new ArrayList<>();
+        List<Object[]> ranking = new ArrayList<>();
+        for (long i = 1; i <= filas; i++) {
+            BigDecimal total = BigDecimal.valueOf(15_000_000L * i, 2);
+            autos.add(new Object[]{i, "Marca", "Modelo", 2020, 3L * i, total, total});
+            compradores.add(new Object[]{i, "Nombre", "Apellido", "usuario" + i + "@test.com", i, total});
+            concesionarias.add(new Object[]{i, "Concesionaria " + i, 5L * i, total});
+            ranking.add(new Object[]{i, "Marca", "Modelo", 2020, i, 8 * i});
+        }
+        when(autoRepository.findTop5AutosMasVendidos()).thenReturn(autos);
+        when(compradorRepository.findTop5UsuariosMasCompras()).thenReturn(compradores);
+        when(concesionariaRepository.findTop5AgenciasMasVentas()).thenReturn(concesionarias);
+        when(resumenRepository.findEntradasRanking()).thenReturn(ranking);
+        RankingAutos rankingAutos = new RankingAutos(resumenRepository, 10);
+        rankingAutos.reconstruir();
+
+        reporteService = new ReporteService(rankingAutos, autoRepository, compradorRepository, concesionariaRepository,
+                resenaDiariaRepository);
+    }
+
+    @Benchmark
+    public ReporteTop5Response autosMasVendidos() {
+        return reporteService.obtenerAutosMasVendidos(null, null, null);
+    }
+
+    @Benchmark
+    public ReporteTop5Response usuariosMasCompras() {
+        return reporteService.obtenerUsuariosMasCompras(null, null, null);
+    }
+
+    @Benchmark
+    public ReporteTop5Response agenciasMasVentas() {
+        return reporteService.obtenerAgenciasMasVentas(null, null, null);
+    }
+
+    @Benchmark
+    public ReporteTop5Response autosMejoresRankeados() {
+        return reporteService.obtenerAutosMejoresRankeados(null, null, null);
+    }
+}
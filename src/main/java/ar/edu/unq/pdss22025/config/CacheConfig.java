@@ -0,0 +1,54 @@
+package ar.edu.unq.pdss22025.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cachés de datos de referencia del catálogo (marcas, modelos por marca y listado de autos).
+ * Cada caché tiene su propio TTL y tamaño máximo y registra estadísticas, que Actuator publica
+ * en Prometheus como cache_gets_total (hit/miss), cache_puts_total, cache_evictions_total y cache_size.
+ * Las altas y bajas de autos las invalidan al confirmarse; el TTL cubre cambios hechos por fuera
+ * de esta instancia.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MARCAS = "autos.marcas";
+    public static final String MODELOS_POR_MARCA = "autos.modelos-por-marca";
+    public static final String AUTOS = "autos.listado";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${catalogo.cache.marcas.ttl:1h}") Duration ttlMarcas,
+            @Value("${catalogo.cache.modelos.ttl:1h}") Duration ttlModelos,
+            @Value("${catalogo.cache.modelos.max-marcas:1000}") long maxMarcasConModelos,
+            @Value("${catalogo.cache.autos.ttl:10m}") Duration ttlAutos) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Sólo existen las cachés registradas acá; un nombre desconocido en @Cacheable es un error
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(MARCAS, Caffeine.newBuilder()
+                .expireAfterWrite(ttlMarcas).maximumSize(1).recordStats().build());
+        cacheManager.registerCustomCache(MODELOS_POR_MARCA, Caffeine.newBuilder()
+                .expireAfterWrite(ttlModelos).maximumSize(maxMarcasConModelos).recordStats().build());
+        cacheManager.registerCustomCache(AUTOS, Caffeine.newBuilder()
+                .expireAfterWrite(ttlAutos).maximumSize(1).recordStats().build());
+        return cacheManager;
+    }
+
+    /**
+     * Clave de la caché de modelos: la marca se compara sin distinguir mayúsculas, igual que la consulta.
+     */
+    public static String claveMarca(String marca) {
+        return marca == null ? "" : marca.toUpperCase(Locale.ROOT);
+    }
+}
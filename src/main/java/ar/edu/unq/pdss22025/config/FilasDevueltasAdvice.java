@@ -0,0 +1,47 @@
+package ar.edu.unq.pdss22025.config;
+
+import ar.edu.unq.pdss22025.models.dto.ConFilasDevueltas;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Informa a la {@link MedicionSql} de la request cuántos elementos devuelve la respuesta,
+ * para comparar filas devueltas contra sentencias ejecutadas: el tamaño de una colección, lo que informe una
+ * respuesta {@link ConFilasDevueltas} o 1 para cualquier otro cuerpo.
+ */
+@ControllerAdvice
+public class FilasDevueltasAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        MedicionSql.registrarFilasDevueltas(filas(body));
+        return body;
+    }
+
+    static int filas(Object body) {
+        if (body == null) {
+            return 0;
+        }
+        if (body instanceof Collection<?> coleccion) {
+            return coleccion.size();
+        }
+        if (body instanceof ConFilasDevueltas pagina) {
+            return pagina.filasDevueltas();
+        }
+        return 1;
+    }
+}
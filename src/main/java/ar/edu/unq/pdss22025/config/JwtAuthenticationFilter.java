@@ -1,6 +1,7 @@
 package ar.edu.unq.pdss22025.config;
 
 import ar.edu.unq.pdss22025.services.JwtService;
+import ar.edu.unq.pdss22025.services.TokenVerificado;
 import ar.edu.unq.pdss22025.services.UsuarioDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -53,7 +55,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -62,20 +63,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Una sola verificación de firma por token (y ninguna si ya está en la caché de JwtService)
+            Optional<TokenVerificado> verificado = jwtService.verificar(jwt);
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = usuarioDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtService.validateToken(jwt, userEmail)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (verificado.isPresent() && verificado.get().subject() != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // El principal sale de los claims del token y del estado cacheado del usuario
+                Optional<UserDetails> principal = usuarioDetailsService.cargarDesdeToken(verificado.get());
+                if (principal.isEmpty()) {
+                    filterChain.doFilter(request, response);
+                    return;
                 }
+                UserDetails userDetails = principal.get();
+
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (org.springframework.security.core.userdetails.UsernameNotFoundException e) {
             // Usuario no encontrado en la base de datos, continuar sin autenticación
@@ -0,0 +1,89 @@
+package ar.edu.unq.pdss22025.config;
+
+/**
+ * Acumulador de la actividad SQL de la request HTTP en curso.
+ * Vive en un ThreadLocal: lo abre {@link MetricasSqlPorEndpointInterceptor} al empezar la request
+ * y lo alimentan los hooks de Hibernate registrados en {@link MetricasSqlHibernateConfig}.
+ * Fuera de una request (tareas, tests de repositorio) no hay medición activa y los registros se ignoran.
+ */
+public final class MedicionSql {
+
+    private static final ThreadLocal<MedicionSql> ACTUAL = new ThreadLocal<>();
+
+    private int sentencias;
+    private long nanosJdbc;
+    private long inicioJdbc;
+    private int entidadesCargadas;
+    private int filasDevueltas;
+
+    private MedicionSql() {
+    }
+
+    static MedicionSql iniciar() {
+        MedicionSql medicion = new MedicionSql();
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    /**
+     * Cierra la medición del hilo actual.
+     * @return la medición cerrada, o null si no había una activa
+     */
+    static MedicionSql finalizar() {
+        MedicionSql medicion = ACTUAL.get();
+        ACTUAL.remove();
+        return medicion;
+    }
+
+    static void registrarSentencia() {
+        MedicionSql medicion = ACTUAL.get();
+        if (medicion != null) {
+            medicion.sentencias++;
+        }
+    }
+
+    static void inicioEjecucionJdbc() {
+        MedicionSql medicion = ACTUAL.get();
+        if (medicion != null) {
+            medicion.inicioJdbc = System.nanoTime();
+        }
+    }
+
+    static void finEjecucionJdbc() {
+        MedicionSql medicion = ACTUAL.get();
+        if (medicion != null && medicion.inicioJdbc != 0) {
+            medicion.nanosJdbc += System.nanoTime() - medicion.inicioJdbc;
+            medicion.inicioJdbc = 0;
+        }
+    }
+
+    static void registrarEntidadCargada() {
+        MedicionSql medicion = ACTUAL.get();
+        if (medicion != null) {
+            medicion.entidadesCargadas++;
+        }
+    }
+
+    static void registrarFilasDevueltas(int filas) {
+        MedicionSql medicion = ACTUAL.get();
+        if (medicion != null) {
+            medicion.filasDevueltas += filas;
+        }
+    }
+
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public long getNanosJdbc() {
+        return nanosJdbc;
+    }
+
+    public int getEntidadesCargadas() {
+        return entidadesCargadas;
+    }
+
+    public int getFilasDevueltas() {
+        return filasDevueltas;
+    }
+}
@@ -0,0 +1,88 @@
+package ar.edu.unq.pdss22025.config;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Engancha en Hibernate los contadores que alimentan {@link MedicionSql}:
+ * sentencias preparadas (StatementInspector), tiempo de ejecución JDBC (SessionEventListener)
+ * y entidades cargadas (listener de PostLoad).
+ */
+@Configuration
+public class MetricasSqlHibernateConfig {
+
+    static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    public HibernatePropertiesCustomizer metricasSqlHibernateCustomizer() {
+        return properties -> {
+            properties.put(JdbcSettings.STATEMENT_INSPECTOR, new ContadorSentencias());
+            properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, TiempoJdbcListener.class.getName());
+            properties.put(INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new EntidadesCargadasIntegrator()));
+        };
+    }
+
+    static class ContadorSentencias implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            MedicionSql.registrarSentencia();
+            return sql;
+        }
+    }
+
+    /**
+     * Hibernate crea una instancia por sesión a partir del nombre de la clase, por eso es pública
+     * y el estado de la medición queda en {@link MedicionSql} y no en el listener.
+     */
+    public static class TiempoJdbcListener implements SessionEventListener {
+        @Override
+        public void jdbcExecuteStatementStart() {
+            MedicionSql.inicioEjecucionJdbc();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            MedicionSql.finEjecucionJdbc();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            MedicionSql.inicioEjecucionJdbc();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            MedicionSql.finEjecucionJdbc();
+        }
+    }
+
+    static class EntidadesCargadasIntegrator implements Integrator {
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) (PostLoadEvent event) ->
+                            MedicionSql.registrarEntidadCargada());
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ar.edu.unq.pdss22025.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abre una {@link MedicionSql} por request y, al terminar, publica histogramas por método de controller:
+ * sentencias SQL, tiempo JDBC, entidades cargadas y filas devueltas en la respuesta.
+ * Sirve para detectar regresiones N+1 en los dashboards de Prometheus.
+ */
+public class MetricasSqlPorEndpointInterceptor implements HandlerInterceptor {
+
+    static final String METRICA_SENTENCIAS = "sql.sentencias";
+    static final String METRICA_TIEMPO_JDBC = "sql.jdbc.tiempo";
+    static final String METRICA_ENTIDADES = "sql.entidades.cargadas";
+    static final String METRICA_FILAS = "http.filas.devueltas";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Medidores> medidoresPorMetodo = new ConcurrentHashMap<>();
+
+    public MetricasSqlPorEndpointInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            MedicionSql.iniciar();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        MedicionSql medicion = MedicionSql.finalizar();
+        if (medicion == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        Medidores medidores = medidoresPorMetodo.computeIfAbsent(handlerMethod.getMethod(),
+                metodo -> new Medidores(handlerMethod.getBeanType().getSimpleName(), metodo.getName()));
+        medidores.sentencias.record(medicion.getSentencias());
+        medidores.tiempoJdbc.record(medicion.getNanosJdbc(), TimeUnit.NANOSECONDS);
+        medidores.entidades.record(medicion.getEntidadesCargadas());
+        medidores.filas.record(medicion.getFilasDevueltas());
+    }
+
+    private final class Medidores {
+        private final DistributionSummary sentencias;
+        private final Timer tiempoJdbc;
+        private final DistributionSummary entidades;
+        private final DistributionSummary filas;
+
+        private Medidores(String controlador, String metodo) {
+            this.sentencias = resumen(METRICA_SENTENCIAS, "Sentencias SQL preparadas por request", controlador, metodo);
+            this.tiempoJdbc = Timer.builder(METRICA_TIEMPO_JDBC)
+                    .description("Tiempo de ejecución JDBC por request")
+                    .tag("controlador", controlador)
+                    .tag("metodo", metodo)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.entidades = resumen(METRICA_ENTIDADES, "Entidades cargadas por Hibernate por request", controlador, metodo);
+            this.filas = resumen(METRICA_FILAS, "Elementos devueltos en el cuerpo de la respuesta", controlador, metodo);
+        }
+
+        private DistributionSummary resumen(String nombre, String descripcion, String controlador, String metodo) {
+            return DistributionSummary.builder(nombre)
+                    .description(descripcion)
+                    .tag("controlador", controlador)
+                    .tag("metodo", metodo)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ar.edu.unq.pdss22025.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -55,8 +56,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${seguridad.bcrypt.costo:10}") int costo) {
+        // Subir el costo no deja afuera a nadie: los hashes más baratos se regeneran en el próximo login
+        return new BCryptPasswordEncoder(costo);
     }
 
     @Bean
@@ -1,8 +1,12 @@
 package ar.edu.unq.pdss22025.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -19,5 +23,34 @@ public class WebConfig {
             }
         };
     }
-}
 
+    @Bean
+    public WebMvcConfigurer metricasSqlConfigurer(MeterRegistry meterRegistry) {
+        MetricasSqlPorEndpointInterceptor interceptor = new MetricasSqlPorEndpointInterceptor(meterRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+
+    /**
+     * Open-in-view para todos los endpoints menos el login y las solicitudes de compra
+     * (spring.jpa.open-in-view=false desactiva el de Spring Boot). Con open-in-view un pedido que ya usó la base
+     * retiene su conexión hasta terminar: en el login eso incluye la espera del BCrypt y en las solicitudes de
+     * compra la espera del resultado (hasta 30 s con esperaMs). Unos pocos pedidos esperando agotarían el pool
+     * de conexiones del resto de los endpoints y de los trabajadores que tienen que completar esas solicitudes.
+     */
+    @Bean
+    public WebMvcConfigurer entityManagerEnVistaConfigurer(EntityManagerFactory entityManagerFactory) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/auth/login", "/compras/solicitudes/**");
+            }
+        };
+    }
+}
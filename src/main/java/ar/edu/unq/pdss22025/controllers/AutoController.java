@@ -1,10 +1,13 @@
 package ar.edu.unq.pdss22025.controllers;
 
+import ar.edu.unq.pdss22025.mapper.AutoMapper;
 import ar.edu.unq.pdss22025.models.Auto;
 import ar.edu.unq.pdss22025.models.dto.AutoResponse;
+import ar.edu.unq.pdss22025.models.dto.AutoSugerenciaResponse;
 import ar.edu.unq.pdss22025.models.dto.CrearAutoRequest;
 import ar.edu.unq.pdss22025.models.dto.ErrorResponse;
 import ar.edu.unq.pdss22025.services.AutoService;
+import ar.edu.unq.pdss22025.services.IndiceAutos;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -27,9 +30,11 @@ import java.util.stream.Collectors;
 public class AutoController {
 
     private final AutoService autoService;
+    private final AutoMapper autoMapper;
 
-    public AutoController(AutoService autoService) {
+    public AutoController(AutoService autoService, AutoMapper autoMapper) {
         this.autoService = autoService;
+        this.autoMapper = autoMapper;
     }
 
     @PostMapping
@@ -48,7 +53,7 @@ public class AutoController {
                 request.getModelo(),
                 request.getAnioModelo()
         );
-        return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponse(auto));
+        return ResponseEntity.status(HttpStatus.CREATED).body(autoMapper.toResponse(auto));
     }
 
     @GetMapping
@@ -58,11 +63,7 @@ public class AutoController {
             @ApiResponse(responseCode = "200", description = "Listado de autos")
     })
     public ResponseEntity<List<AutoResponse>> listarAutos() {
-        List<Auto> autos = autoService.listarAutos();
-        List<AutoResponse> responses = autos.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(autoService.listarAutos());
     }
 
     @DeleteMapping("/{id}")
@@ -104,15 +105,25 @@ public class AutoController {
         return ResponseEntity.ok(modelos);
     }
 
-    private AutoResponse mapToResponse(Auto auto) {
-        return new AutoResponse(
-                auto.getId(),
-                auto.getMarca(),
-                auto.getModelo(),
-                auto.getAnioModelo(),
-                auto.getCreatedAt() != null ? auto.getCreatedAt().toLocalDateTime() : null,
-                auto.getUpdatedAt() != null ? auto.getUpdatedAt().toLocalDateTime() : null
-        );
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('COMPRADOR', 'CONCESIONARIA', 'ADMIN')")
+    @Operation(summary = "Buscar autos",
+            description = "Búsqueda con autocompletado por marca, modelo y año. Admite prefijos y errores de tipeo; "
+                    + "se resuelve con un índice en memoria sin consultar la base. Devuelve los mejores resultados primero.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Autos encontrados"),
+            @ApiResponse(responseCode = "400", description = "Límite inválido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<List<AutoSugerenciaResponse>> buscarAutos(
+            @Parameter(description = "Texto buscado, por ejemplo \"toyo cor\" o \"corolla 2020\"", required = true)
+            @RequestParam("q") String consulta,
+            @Parameter(description = "Cantidad máxima de resultados (máximo " + IndiceAutos.LIMITE_MAXIMO + ")")
+            @RequestParam(defaultValue = "10") int limite) {
+        List<AutoSugerenciaResponse> responses = autoService.buscarAutos(consulta, limite).stream()
+                .map(s -> new AutoSugerenciaResponse(s.id(), s.marca(), s.modelo(), s.anioModelo(), s.puntaje()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
     }
 }
 
@@ -1,10 +1,18 @@
 package ar.edu.unq.pdss22025.controllers;
 
+import ar.edu.unq.pdss22025.models.dto.CompraLoteResponse;
 import ar.edu.unq.pdss22025.models.dto.CompraResponse;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraLoteRequest;
 import ar.edu.unq.pdss22025.models.dto.CrearCompraRequest;
+import ar.edu.unq.pdss22025.models.dto.ResultadoLineaCompraResponse;
+import ar.edu.unq.pdss22025.models.dto.SolicitudCompraResponse;
 import ar.edu.unq.pdss22025.services.CompraService;
+import ar.edu.unq.pdss22025.services.ResultadoLineaCompra;
+import ar.edu.unq.pdss22025.services.SolicitudCompraService;
 import ar.edu.unq.pdss22025.mapper.CompraMapper;
+import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -17,16 +25,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import ar.edu.unq.pdss22025.models.dto.ErrorResponse;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/compras")
 @Validated
 @Tag(name = "compra-controller", description = "Operaciones relacionadas con compras")
 public class CompraController {
     private final CompraService compraService;
+    private final SolicitudCompraService solicitudCompraService;
     private final CompraMapper compraMapper;
 
-    public CompraController(CompraService compraService, CompraMapper compraMapper) {
+    public CompraController(CompraService compraService, SolicitudCompraService solicitudCompraService, CompraMapper compraMapper) {
         this.compraService = compraService;
+        this.solicitudCompraService = solicitudCompraService;
         this.compraMapper = compraMapper;
     }
 
@@ -44,4 +56,81 @@ public class CompraController {
         var compra = compraService.crear(request);
         return ResponseEntity.ok(compraMapper.toResponse(compra));
     }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('COMPRADOR') or hasRole('ADMIN')")
+    @Operation(summary = "Crear compras en lote", description = "Crea las compras de varias líneas (oferta, cantidad y precio opcional) de un comprador. "
+            + "Las líneas sin stock, con oferta inexistente o sin precio se rechazan sin afectar a las demás; devuelve el resultado de cada línea.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; ver el resultado de cada línea"),
+            @ApiResponse(responseCode = "400", description = "Pedido inválido (sin líneas, demasiadas líneas o cantidades no positivas)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Comprador no encontrado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<CompraLoteResponse> crearCompras(@Valid @RequestBody CrearCompraLoteRequest request) {
+        List<ResultadoLineaCompra> resultados = compraService.crearLote(request);
+        List<ResultadoLineaCompraResponse> items = resultados.stream()
+                .map(resultado -> ResultadoLineaCompraResponse.builder()
+                        .linea(resultado.linea())
+                        .ofertaId(resultado.ofertaId())
+                        .cantidad(resultado.cantidad())
+                        .creada(resultado.esCreada())
+                        .compra(resultado.esCreada() ? compraMapper.toResponse(resultado.compra()) : null)
+                        .error(resultado.error())
+                        .build())
+                .toList();
+        int creadas = (int) resultados.stream().filter(ResultadoLineaCompra::esCreada).count();
+        return ResponseEntity.ok(CompraLoteResponse.builder()
+                .creadas(creadas)
+                .rechazadas(resultados.size() - creadas)
+                .resultados(items)
+                .build());
+    }
+
+    @PostMapping("/solicitudes")
+    @PreAuthorize("hasRole('COMPRADOR') or hasRole('ADMIN')")
+    @Operation(summary = "Solicitar compra", description = "Encola una compra con una clave de idempotencia (header Idempotency-Key) y la procesa en segundo plano. "
+            + "Reintentar con la misma clave devuelve la misma solicitud sin crear otra compra. Con esperaMs espera el resultado hasta ese tiempo (máximo 30000).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Solicitud procesada (COMPLETADA con la compra o RECHAZADA con el motivo)"),
+            @ApiResponse(responseCode = "202", description = "Solicitud encolada, todavía PENDIENTE; consultar GET /compras/solicitudes/{id}"),
+            @ApiResponse(responseCode = "400", description = "Falta la clave de idempotencia, la oferta o el comprador",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Comprador no encontrado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "La clave ya se usó para otro pedido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Demasiadas compras en proceso; reintentar después del Retry-After",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<SolicitudCompraResponse> solicitarCompra(
+            @Parameter(description = "Clave única por pedido, generada por el cliente y repetida en cada reintento")
+            @RequestHeader(value = "Idempotency-Key", required = false) String claveIdempotencia,
+            @Parameter(description = "Milisegundos a esperar el resultado (0 responde enseguida)")
+            @RequestParam(defaultValue = "0") long esperaMs,
+            @RequestBody CrearCompraRequest request) {
+        return conEstado(solicitudCompraService.solicitar(claveIdempotencia, request, esperaMs));
+    }
+
+    @GetMapping("/solicitudes/{id}")
+    @PreAuthorize("hasRole('COMPRADOR') or hasRole('ADMIN')")
+    @Operation(summary = "Estado de una solicitud de compra", description = "Devuelve la solicitud; con esperaMs espera hasta ese tiempo (máximo 30000) a que deje de estar PENDIENTE.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Solicitud procesada"),
+            @ApiResponse(responseCode = "202", description = "Solicitud todavía PENDIENTE"),
+            @ApiResponse(responseCode = "404", description = "Solicitud no encontrada",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<SolicitudCompraResponse> obtenerSolicitud(
+            @PathVariable Long id,
+            @Parameter(description = "Milisegundos a esperar el resultado (0 responde enseguida)")
+            @RequestParam(defaultValue = "0") long esperaMs) {
+        return conEstado(solicitudCompraService.obtener(id, esperaMs));
+    }
+
+    private static ResponseEntity<SolicitudCompraResponse> conEstado(SolicitudCompraResponse solicitud) {
+        HttpStatus estado = "PENDIENTE".equals(solicitud.getEstado()) ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(estado).body(solicitud);
+    }
 }
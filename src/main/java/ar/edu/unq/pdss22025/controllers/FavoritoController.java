@@ -5,7 +5,6 @@ import ar.edu.unq.pdss22025.models.Favorito;
 import ar.edu.unq.pdss22025.models.dto.CrearFavoritoRequest;
 import ar.edu.unq.pdss22025.models.dto.ErrorResponse;
 import ar.edu.unq.pdss22025.models.dto.FavoritoResponse;
-import ar.edu.unq.pdss22025.models.usuario.Usuario;
 import ar.edu.unq.pdss22025.services.FavoritoService;
 import ar.edu.unq.pdss22025.services.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -57,10 +56,10 @@ public class FavoritoController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<List<FavoritoResponse>> listarMisFavoritos() {
-        Usuario usuario = usuarioService.obtenerUsuarioAutenticado()
+        Long usuarioId = usuarioService.obtenerIdUsuarioAutenticado()
                 .orElseThrow(() -> new IllegalStateException("Usuario no autenticado"));
         
-        List<Favorito> favoritos = favoritoService.listarFavoritosDeUsuario(usuario.getId());
+        List<Favorito> favoritos = favoritoService.listarFavoritosDeUsuario(usuarioId);
         List<FavoritoResponse> responses = favoritos.stream()
                 .map(favoritoMapper::toResponse)
                 .collect(Collectors.toList());
@@ -86,10 +85,10 @@ public class FavoritoController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<FavoritoResponse> agregarFavorito(@Valid @RequestBody CrearFavoritoRequest request) {
-        Usuario usuario = usuarioService.obtenerUsuarioAutenticado()
+        Long usuarioId = usuarioService.obtenerIdUsuarioAutenticado()
                 .orElseThrow(() -> new IllegalStateException("Usuario no autenticado"));
         
-        Favorito favorito = favoritoService.agregarFavorito(usuario.getId(), request.getOfertaId());
+        Favorito favorito = favoritoService.agregarFavorito(usuarioId, request.getOfertaId());
         FavoritoResponse response = favoritoMapper.toResponse(favorito);
         
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -111,10 +110,10 @@ public class FavoritoController {
     public ResponseEntity<Void> eliminarFavorito(
             @Parameter(description = "ID de la oferta a eliminar de favoritos", required = true)
             @PathVariable Long ofertaId) {
-        Usuario usuario = usuarioService.obtenerUsuarioAutenticado()
+        Long usuarioId = usuarioService.obtenerIdUsuarioAutenticado()
                 .orElseThrow(() -> new IllegalStateException("Usuario no autenticado"));
         
-        favoritoService.eliminarFavorito(usuario.getId(), ofertaId);
+        favoritoService.eliminarFavorito(usuarioId, ofertaId);
         
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,68 @@
+package ar.edu.unq.pdss22025.controllers;
+
+import ar.edu.unq.pdss22025.models.dto.ErrorResponse;
+import ar.edu.unq.pdss22025.models.dto.ImportacionCatalogoResponse;
+import ar.edu.unq.pdss22025.services.importacion.ImportacionCatalogoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/importaciones")
+@Tag(name = "importacion-controller", description = "Importación masiva del catálogo de autos y ofertas")
+public class ImportacionController {
+
+    private final ImportacionCatalogoService importacionCatalogoService;
+
+    public ImportacionController(ImportacionCatalogoService importacionCatalogoService) {
+        this.importacionCatalogoService = importacionCatalogoService;
+    }
+
+    @PostMapping(value = "/catalogo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Importar catálogo",
+            description = "Sube un archivo CSV (con encabezado marca, modelo, anio_modelo, concesionaria_id, stock, precio, moneda) "
+                    + "o JSON lines (un objeto por línea con marca, modelo, anioModelo, concesionariaId, stock, precio, moneda). "
+                    + "Crea los autos que no existen y crea o actualiza la oferta de cada concesionaria; los datos de la oferta son opcionales. "
+                    + "La importación corre en segundo plano: devuelve su id para consultar el progreso y los errores por fila. Solo ADMIN puede acceder.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Importación encolada"),
+            @ApiResponse(responseCode = "400", description = "Archivo vacío, formato no soportado, CSV sin las columnas obligatorias o tamaño de lote inválido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "No autorizado - Solo ADMIN puede acceder",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<ImportacionCatalogoResponse> importarCatalogo(
+            @Parameter(description = "Archivo CSV o JSON lines")
+            @RequestParam("archivo") MultipartFile archivo,
+            @Parameter(description = "Formato: csv o jsonl (por defecto se deduce de la extensión del archivo)")
+            @RequestParam(required = false) String formato,
+            @Parameter(description = "Filas por transacción (1 a 5000, por defecto 500)")
+            @RequestParam(required = false) Integer tamanioLote) throws IOException {
+        return ResponseEntity.accepted()
+                .body(importacionCatalogoService.iniciar(archivo, formato, tamanioLote).aResponse());
+    }
+
+    @GetMapping("/catalogo/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Progreso de una importación", description = "Estado, contadores y primeros errores por fila de una importación de catálogo. Solo ADMIN puede acceder.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progreso de la importación"),
+            @ApiResponse(responseCode = "404", description = "Importación no encontrada",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<ImportacionCatalogoResponse> obtenerImportacion(@PathVariable String id) {
+        return ResponseEntity.ok(importacionCatalogoService.obtener(id).aResponse());
+    }
+}
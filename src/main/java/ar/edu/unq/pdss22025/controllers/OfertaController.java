@@ -1,10 +1,21 @@
 package ar.edu.unq.pdss22025.controllers;
 
 import ar.edu.unq.pdss22025.exceptions.CredencialesInvalidasException;
+import ar.edu.unq.pdss22025.models.dto.BusquedaOfertasResponse;
+import ar.edu.unq.pdss22025.models.dto.CatalogoOfertasResponse;
 import ar.edu.unq.pdss22025.models.dto.CrearOfertaRequest;
+import ar.edu.unq.pdss22025.models.dto.FiltroCatalogoOfertas;
+import ar.edu.unq.pdss22025.models.dto.FiltroFacetasOfertas;
+import ar.edu.unq.pdss22025.models.dto.OfertaFacetadaResponse;
+import ar.edu.unq.pdss22025.models.dto.ValorFacetaResponse;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
 import ar.edu.unq.pdss22025.models.dto.OfertaResponse;
+import ar.edu.unq.pdss22025.models.dto.OfertaVistaResponse;
 import ar.edu.unq.pdss22025.models.usuario.Usuario;
+import ar.edu.unq.pdss22025.services.BuscadorOfertas;
 import ar.edu.unq.pdss22025.services.OfertaService;
+import ar.edu.unq.pdss22025.services.PaginaOfertas;
+import ar.edu.unq.pdss22025.services.ProyeccionOfertaVista;
 import ar.edu.unq.pdss22025.services.UsuarioService;
 import ar.edu.unq.pdss22025.mapper.OfertaMapper;
 import jakarta.validation.Valid;
@@ -14,7 +25,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -32,11 +45,14 @@ public class OfertaController {
     private final OfertaService ofertaService;
     private final OfertaMapper ofertaMapper;
     private final UsuarioService usuarioService;
+    private final ProyeccionOfertaVista proyeccionOfertaVista;
 
-    public OfertaController(OfertaService ofertaService, OfertaMapper ofertaMapper, UsuarioService usuarioService) {
+    public OfertaController(OfertaService ofertaService, OfertaMapper ofertaMapper, UsuarioService usuarioService,
+                            ProyeccionOfertaVista proyeccionOfertaVista) {
         this.ofertaService = ofertaService;
         this.ofertaMapper = ofertaMapper;
         this.usuarioService = usuarioService;
+        this.proyeccionOfertaVista = proyeccionOfertaVista;
     }
 
     @PostMapping
@@ -79,6 +95,86 @@ public class OfertaController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/catalogo")
+    @PreAuthorize("hasAnyRole('COMPRADOR', 'CONCESIONARIA', 'ADMIN')")
+    @Operation(summary = "Catálogo de ofertas paginado", description = "Devuelve una página del catálogo de ofertas con filtros opcionales (marca, modelo, rango de año y de precio, moneda, concesionarias activas, con stock) ordenada por precio, por más recientes o por más favoritos. La paginación es por cursor: para la página siguiente se envía el siguienteCursor de la respuesta.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página del catálogo"),
+            @ApiResponse(responseCode = "400", description = "Orden o cursor inválido", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<CatalogoOfertasResponse> getCatalogo(
+            @ModelAttribute FiltroCatalogoOfertas filtro,
+            @Parameter(description = "Orden: precio_asc, precio_desc, recientes (por defecto) o favoritos") @RequestParam(value = "orden", required = false) String orden,
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1 a 100, por defecto 20)") @RequestParam(value = "limite", required = false) Integer limite) {
+        PaginaOfertas pagina = ofertaService.buscarCatalogo(filtro, OrdenCatalogoOfertas.desdeParametro(orden), cursor, limite);
+        CatalogoOfertasResponse response = CatalogoOfertasResponse.builder()
+                .items(pagina.items().stream().map(ofertaMapper::toResponse).toList())
+                .siguienteCursor(pagina.siguienteCursor())
+                .hayMas(pagina.hayMas())
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('COMPRADOR', 'CONCESIONARIA', 'ADMIN')")
+    @Operation(summary = "Detalle de oferta", description = "Devuelve una oferta con los datos de su auto y su concesionaria, la cantidad de favoritos y el promedio de reseñas del auto, leídos de una sola fila de la vista de ofertas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Detalle de la oferta"),
+            @ApiResponse(responseCode = "404", description = "Oferta no encontrada", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<OfertaVistaResponse> getDetalle(@Parameter(description = "ID de la oferta", required = true) @PathVariable("id") @NotNull Long id) {
+        return ResponseEntity.ok(ofertaMapper.toResponse(ofertaService.obtenerDetalle(id)));
+    }
+
+    @PostMapping("/vista/reconstruir")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir la vista de ofertas", description = "Vuelve a armar la vista de ofertas (catálogo y detalle) desde las tablas de origen y devuelve la cantidad de ofertas proyectadas. Solo usuarios ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vista reconstruida"),
+            @ApiResponse(responseCode = "403", description = "No autorizado - Solo ADMIN", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Map<String, Integer>> reconstruirVista() {
+        return ResponseEntity.ok(Map.of("ofertas", proyeccionOfertaVista.reconstruir()));
+    }
+
+    @GetMapping("/buscar")
+    @PreAuthorize("hasAnyRole('COMPRADOR', 'CONCESIONARIA', 'ADMIN')")
+    @Operation(summary = "Buscar ofertas por facetas", description = "Filtra las ofertas por marca, año, concesionaria, moneda y rango de precio (cada parámetro se puede repetir para elegir varios valores) y devuelve, además de la página de ofertas, la cantidad de ofertas de cada valor de cada faceta. Se resuelve en memoria, sin consultar la base.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ofertas encontradas y cantidades por faceta"),
+            @ApiResponse(responseCode = "400", description = "Orden o desplazamiento inválido", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BusquedaOfertasResponse> buscarPorFacetas(
+            @ModelAttribute FiltroFacetasOfertas filtro,
+            @Parameter(description = "Orden: precio_asc, precio_desc o recientes (por defecto)") @RequestParam(value = "orden", required = false) String orden,
+            @Parameter(description = "Cantidad de ofertas a saltear (por defecto 0)") @RequestParam(value = "desde", required = false) Integer desde,
+            @Parameter(description = "Tamaño de página (1 a 100, por defecto 20)") @RequestParam(value = "limite", required = false) Integer limite) {
+        BuscadorOfertas.Resultado resultado = ofertaService.buscarPorFacetas(filtro, OrdenCatalogoOfertas.desdeParametro(orden), desde, limite);
+        Map<String, List<ValorFacetaResponse>> facetas = new LinkedHashMap<>();
+        resultado.facetas().forEach((faceta, valores) -> facetas.put(faceta, valores.stream()
+                .map(v -> new ValorFacetaResponse(v.valor(), v.etiqueta(), v.cantidad(), v.seleccionado()))
+                .toList()));
+        BusquedaOfertasResponse response = BusquedaOfertasResponse.builder()
+                .total(resultado.total())
+                .items(resultado.ofertas().stream().map(o -> OfertaFacetadaResponse.builder()
+                        .id(o.id())
+                        .autoId(o.autoId())
+                        .marca(o.marca())
+                        .modelo(o.modelo())
+                        .anioModelo(o.anioModelo())
+                        .concesionariaId(o.concesionariaId())
+                        .concesionaria(o.concesionaria())
+                        .stock(o.stock())
+                        .precioActual(o.precio())
+                        .moneda(o.moneda())
+                        .fechaCreacion(o.creada())
+                        .build()).toList())
+                .facetas(facetas)
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/autos/{autoId}")
     @PreAuthorize("hasAnyRole('COMPRADOR', 'CONCESIONARIA', 'ADMIN')")
     @Operation(summary = "Listar ofertas por auto", description = "Devuelve las ofertas disponibles para un auto específico.")
@@ -1,7 +1,10 @@
 package ar.edu.unq.pdss22025.controllers;
 
 import ar.edu.unq.pdss22025.models.dto.ErrorResponse;
+import ar.edu.unq.pdss22025.models.dto.FormatoExportacion;
 import ar.edu.unq.pdss22025.models.dto.ReporteTop5Response;
+import ar.edu.unq.pdss22025.models.dto.TipoReporte;
+import ar.edu.unq.pdss22025.services.ReporteExportService;
 import ar.edu.unq.pdss22025.services.ReporteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,19 +13,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/reports")
 @Tag(name = "reporte-controller", description = "Operaciones de reportes administrativos")
 public class ReporteController {
 
     private final ReporteService reporteService;
+    private final ReporteExportService reporteExportService;
 
-    public ReporteController(ReporteService reporteService) {
+    public ReporteController(ReporteService reporteService, ReporteExportService reporteExportService) {
         this.reporteService = reporteService;
+        this.reporteExportService = reporteExportService;
     }
 
     @GetMapping("/autos-mas-vendidos")
@@ -103,26 +113,41 @@ public class ReporteController {
 
     @GetMapping("/exportar")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Exportar reporte", description = "Exporta un reporte en formato Excel o PDF. Solo ADMIN puede acceder.")
+    @Operation(summary = "Exportar reporte",
+            description = "Exporta un reporte en CSV, Excel (xlsx) o PDF. El archivo se escribe en la respuesta a medida que se leen "
+                    + "las filas, sin cargar el reporte entero en memoria. Los rankings exportan el Top 5 salvo que se pida detalle=true; "
+                    + "el tipo compras exporta el detalle de compras del rango. Solo ADMIN puede acceder.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Reporte exportado"),
+            @ApiResponse(responseCode = "400", description = "Tipo o formato no soportado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "No autorizado - Solo ADMIN puede acceder",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<String> exportarReporte(
-            @Parameter(description = "Tipo de reporte: autos-mas-vendidos, usuarios-mas-compras, autos-mejores-rankeados, agencias-mas-ventas")
+    public void exportarReporte(
+            @Parameter(description = "Tipo de reporte: autos-mas-vendidos, usuarios-mas-compras, autos-mejores-rankeados, agencias-mas-ventas, compras")
             @RequestParam String tipo,
-            @Parameter(description = "Formato: excel o pdf")
+            @Parameter(description = "Formato: csv, excel o pdf")
             @RequestParam String formato,
+            @Parameter(description = "Exportar el ranking completo en lugar del Top 5")
+            @RequestParam(defaultValue = "false") boolean detalle,
             @Parameter(description = "Fecha desde (formato: YYYY-MM-DD)")
             @RequestParam(required = false) String fechaDesde,
             @Parameter(description = "Fecha hasta (formato: YYYY-MM-DD)")
             @RequestParam(required = false) String fechaHasta,
             @Parameter(description = "Período: mes, trimestre, año")
-            @RequestParam(required = false) String periodo) {
-        // TODO: Implementar exportación a Excel/PDF
-        // Por ahora retornamos un mensaje indicando que está en desarrollo
-        return ResponseEntity.ok("Exportación de reportes en desarrollo. Tipo: " + tipo + ", Formato: " + formato);
+            @RequestParam(required = false) String periodo,
+            HttpServletResponse response) throws IOException {
+        // Se validan tipo y formato antes de escribir nada, para poder responder 400
+        TipoReporte tipoReporte = TipoReporte.desdeParametro(tipo);
+        FormatoExportacion formatoExportacion = FormatoExportacion.desdeParametro(formato);
+
+        response.setContentType(formatoExportacion.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("reporte-" + tipoReporte.getParametro() + "." + formatoExportacion.getExtension())
+                .build()
+                .toString());
+        reporteExportService.exportar(tipoReporte, formatoExportacion, detalle, fechaDesde, fechaHasta, periodo,
+                response.getOutputStream());
     }
 }
-
@@ -7,7 +7,7 @@ import ar.edu.unq.pdss22025.models.dto.AutoRankingDTO;
 import ar.edu.unq.pdss22025.models.dto.CrearResenaRequest;
 import ar.edu.unq.pdss22025.models.dto.ErrorResponse;
 import ar.edu.unq.pdss22025.models.dto.ResenaResponse;
-import ar.edu.unq.pdss22025.models.usuario.Usuario;
+import ar.edu.unq.pdss22025.services.RankingAutos;
 import ar.edu.unq.pdss22025.services.ResenaService;
 import ar.edu.unq.pdss22025.services.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -64,10 +64,10 @@ public class ResenaController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<List<ResenaResponse>> listarMisResenas() {
-        Usuario usuario = usuarioService.obtenerUsuarioAutenticado()
+        Long usuarioId = usuarioService.obtenerIdUsuarioAutenticado()
                 .orElseThrow(() -> new IllegalStateException("Usuario no autenticado"));
         
-        List<Resena> resenas = resenaService.listarReseñasDeUsuario(usuario.getId());
+        List<Resena> resenas = resenaService.listarReseñasDeUsuario(usuarioId);
         List<ResenaResponse> responses = resenas.stream()
                 .map(resenaMapper::toResponse)
                 .collect(Collectors.toList());
@@ -93,11 +93,11 @@ public class ResenaController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<ResenaResponse> crearResena(@Valid @RequestBody CrearResenaRequest request) {
-        Usuario usuario = usuarioService.obtenerUsuarioAutenticado()
+        Long usuarioId = usuarioService.obtenerIdUsuarioAutenticado()
                 .orElseThrow(() -> new IllegalStateException("Usuario no autenticado"));
         
         Resena resena = resenaService.crearResenha(
-                usuario.getId(), 
+                usuarioId, 
                 request.getAutoId(), 
                 request.getPuntaje(), 
                 request.getComentario()
@@ -126,11 +126,11 @@ public class ResenaController {
             @Parameter(description = "ID del auto", required = true)
             @PathVariable Long autoId,
             @Valid @RequestBody ActualizarResenaRequest request) {
-        Usuario usuario = usuarioService.obtenerUsuarioAutenticado()
+        Long usuarioId = usuarioService.obtenerIdUsuarioAutenticado()
                 .orElseThrow(() -> new IllegalStateException("Usuario no autenticado"));
         
         Resena resena = resenaService.actualizarReseña(
-                usuario.getId(), 
+                usuarioId, 
                 autoId, 
                 request.getPuntaje(), 
                 request.getComentario()
@@ -156,10 +156,10 @@ public class ResenaController {
     public ResponseEntity<Void> eliminarResena(
             @Parameter(description = "ID del auto", required = true)
             @PathVariable Long autoId) {
-        Usuario usuario = usuarioService.obtenerUsuarioAutenticado()
+        Long usuarioId = usuarioService.obtenerIdUsuarioAutenticado()
                 .orElseThrow(() -> new IllegalStateException("Usuario no autenticado"));
         
-        resenaService.eliminarReseña(usuario.getId(), autoId);
+        resenaService.eliminarReseña(usuarioId, autoId);
         
         return ResponseEntity.noContent().build();
     }
@@ -214,19 +214,27 @@ public class ResenaController {
     }
 
     /**
-     * Obtiene el Top 5 de autos mejor rankeados (ADMIN).
+     * Obtiene el Top de autos mejor rankeados (ADMIN), por defecto los 5 primeros.
      */
     @GetMapping("/admin/top-autos-rankeados")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Top 5 autos mejor rankeados", description = "Devuelve el Top 5 de autos mejor rankeados según promedio de puntaje y cantidad de reseñas. Solo ADMIN puede acceder.")
+    @Operation(summary = "Top autos mejor rankeados", description = "Devuelve los autos mejor rankeados según un puntaje bayesiano que pondera el promedio de puntaje por la cantidad de reseñas, opcionalmente filtrados por marca y/o año. Solo ADMIN puede acceder.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Top 5 de autos mejor rankeados"),
+            @ApiResponse(responseCode = "200", description = "Top de autos mejor rankeados"),
+            @ApiResponse(responseCode = "400", description = "Límite inválido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "No autorizado - Solo ADMIN puede acceder",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<AutoRankingDTO>> top5AutosMejorRanqueados() {
-        List<AutoRankingDTO> top5 = resenaService.top5AutosMejorRanqueados();
-        return ResponseEntity.ok(top5);
+    public ResponseEntity<List<AutoRankingDTO>> top5AutosMejorRanqueados(
+            @Parameter(description = "Cantidad de autos (máximo " + RankingAutos.LIMITE_MAXIMO + ")")
+            @RequestParam(defaultValue = "5") int limite,
+            @Parameter(description = "Marca, sin distinguir mayúsculas")
+            @RequestParam(required = false) String marca,
+            @Parameter(description = "Año del modelo")
+            @RequestParam(required = false) Integer anio) {
+        List<AutoRankingDTO> top = resenaService.autosMejorRanqueados(limite, marca, anio);
+        return ResponseEntity.ok(top);
     }
 }
 
@@ -151,6 +151,32 @@ public class UsuarioController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @PatchMapping("/{id}/estado")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Activar o desactivar usuario", description = "Cambia el estado activo de un usuario. Un usuario desactivado deja de poder autenticarse aunque tenga un token vigente. Solo ADMIN.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estado actualizado"),
+        @ApiResponse(responseCode = "403", description = "No autorizado",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Usuario no encontrado",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<UsuarioResponse> cambiarEstado(
+            @Parameter(description = "ID del usuario", required = true) @PathVariable Long id,
+            @Parameter(description = "Nuevo estado del usuario", required = true) @RequestParam("activo") boolean activo) {
+        Usuario usuario = usuarioService.cambiarEstado(id, activo);
+        UsuarioResponse response = new UsuarioResponse(
+            usuario.getId(),
+            usuario.getEmail(),
+            usuario.getNombre(),
+            usuario.getApellido(),
+            usuario.getCreatedAt() != null ? usuario.getCreatedAt().toLocalDateTime() : null,
+            usuario.getActivo(),
+            usuario.getTipoUsuario()
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/por-tipo/{tipoUsuario}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Listar usuarios por tipo", description = "Filtra usuarios por tipo (ADMIN | CONCESIONARIA | COMPRADOR).")
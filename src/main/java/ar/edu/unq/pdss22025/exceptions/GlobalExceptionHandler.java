@@ -3,6 +3,7 @@ package ar.edu.unq.pdss22025.exceptions;
 import ar.edu.unq.pdss22025.models.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -189,6 +190,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(ServicioSaturadoException.class)
+    public ResponseEntity<ErrorResponse> handleServicioSaturadoException(
+            ServicioSaturadoException ex, HttpServletRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage() != null ? ex.getMessage() : "Servicio saturado, reintente más tarde",
+                request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarEnSegundos()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(OfertaYaExisteException.class)
     public ResponseEntity<ErrorResponse> handleOfertaYaExisteException(
             OfertaYaExisteException ex, HttpServletRequest request) {
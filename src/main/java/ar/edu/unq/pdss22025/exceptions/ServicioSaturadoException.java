@@ -0,0 +1,19 @@
+package ar.edu.unq.pdss22025.exceptions;
+
+/**
+ * El servicio no puede aceptar más trabajo por ahora (una cola o un pool lleno). Se responde 503 con
+ * Retry-After para que el cliente reintente más tarde en lugar de esperar.
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    private final long reintentarEnSegundos;
+
+    public ServicioSaturadoException(String message, long reintentarEnSegundos) {
+        super(message);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
@@ -0,0 +1,24 @@
+package ar.edu.unq.pdss22025.mapper;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.dto.AutoResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Mappings;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+@Mapper(componentModel = "spring")
+public interface AutoMapper {
+
+    default LocalDateTime map(OffsetDateTime offsetDateTime) {
+        return offsetDateTime != null ? offsetDateTime.toLocalDateTime() : null;
+    }
+
+    @Mappings({
+            @Mapping(source = "createdAt", target = "fechaAlta"),
+            @Mapping(source = "updatedAt", target = "fechaActualizacion")
+    })
+    AutoResponse toResponse(Auto entity);
+}
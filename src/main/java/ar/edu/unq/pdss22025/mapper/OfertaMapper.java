@@ -1,7 +1,9 @@
 package ar.edu.unq.pdss22025.mapper;
 
 import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.OfertaVista;
 import ar.edu.unq.pdss22025.models.dto.OfertaResponse;
+import ar.edu.unq.pdss22025.models.dto.OfertaVistaResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
@@ -19,8 +21,16 @@ public interface OfertaMapper {
             @Mapping(source = "stock", target = "stock"),
             @Mapping(source = "precioActual", target = "precioActual"),
             @Mapping(source = "moneda", target = "moneda"),
+            @Mapping(source = "cantidadFavoritos", target = "cantidadFavoritos"),
             @Mapping(source = "createdAt", target = "fechaCreacion"),
             @Mapping(source = "updatedAt", target = "fechaActualizacion")
     })
     OfertaResponse toResponse(OfertaAuto entity);
+
+    @Mappings({
+            @Mapping(source = "concesionariaNombre", target = "concesionaria"),
+            @Mapping(source = "createdAt", target = "fechaCreacion"),
+            @Mapping(source = "updatedAt", target = "fechaActualizacion")
+    })
+    OfertaVistaResponse toResponse(OfertaVista vista);
 }
@@ -25,7 +25,8 @@ import java.util.List;
 public class Auto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auto_seq")
+    @SequenceGenerator(name = "auto_seq", sequenceName = "auto_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     @EqualsAndHashCode.Include
     private Long id;
@@ -26,8 +26,11 @@ import java.time.OffsetDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Compra {
 
+    // Secuencia con asignación en bloques (pooled): a diferencia de IDENTITY, Hibernate conoce el id sin
+    // ejecutar el INSERT y puede agrupar las inserciones de compras en lotes JDBC
     @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "compra_seq")
+        @SequenceGenerator(name = "compra_seq", sequenceName = "compra_id_seq", allocationSize = 50)
         @Column(name = "id", nullable = false, updatable = false)
         @EqualsAndHashCode.Include
         private Long id;
@@ -26,7 +26,8 @@ import java.util.List;
 public class Concesionaria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "concesionaria_seq")
+    @SequenceGenerator(name = "concesionaria_seq", sequenceName = "concesionaria_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     @EqualsAndHashCode.Include
     private Long id;
@@ -0,0 +1,50 @@
+package ar.edu.unq.pdss22025.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Evento de dominio pendiente de entregar (tabla evento_outbox), guardado en la misma transacción que el
+ * cambio que lo originó. El relay de {@link ar.edu.unq.pdss22025.services.eventos.OutboxEventos} lo entrega
+ * a los consumidores y lo borra; si la entrega falla se suma un intento.
+ */
+@Entity
+@Table(name = "evento_outbox")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class EventoOutbox {
+
+    public static final int LARGO_MAXIMO_PAYLOAD = 1_000_000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_outbox_seq")
+    @SequenceGenerator(name = "evento_outbox_seq", sequenceName = "evento_outbox_id_seq", allocationSize = 50)
+    @Column(name = "id", nullable = false, updatable = false)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    // Nombre simple del record del evento (paquete services.eventos)
+    @Column(name = "tipo", nullable = false, length = 100, updatable = false)
+    private String tipo;
+
+    // El evento en JSON
+    @Column(name = "payload", nullable = false, length = LARGO_MAXIMO_PAYLOAD, updatable = false)
+    private String payload;
+
+    @Column(name = "intentos", nullable = false)
+    private int intentos;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) createdAt = OffsetDateTime.now();
+    }
+}
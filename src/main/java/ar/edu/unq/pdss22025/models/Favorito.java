@@ -34,7 +34,8 @@ import java.time.OffsetDateTime;
 public class Favorito {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "favorito_seq")
+    @SequenceGenerator(name = "favorito_seq", sequenceName = "favorito_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     @EqualsAndHashCode.Include
     private Long id;
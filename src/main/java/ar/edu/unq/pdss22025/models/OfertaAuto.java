@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,7 +19,10 @@ import java.util.List;
         uniqueConstraints = @UniqueConstraint(name = "ux_oferta_auto_concesionaria_auto", columnNames = {"concesionaria_id", "auto_id"}),
         indexes = {
                 @Index(name = "idx_oferta_auto_concesionaria", columnList = "concesionaria_id"),
-                @Index(name = "idx_oferta_auto_auto", columnList = "auto_id")
+                @Index(name = "idx_oferta_auto_auto", columnList = "auto_id"),
+                @Index(name = "idx_oferta_auto_precio_id", columnList = "precio_actual, id"),
+                @Index(name = "idx_oferta_auto_created_id", columnList = "created_at, id"),
+                @Index(name = "idx_oferta_auto_moneda_precio_id", columnList = "moneda, precio_actual, id")
         })
 @Getter
 @Setter
@@ -30,7 +34,8 @@ import java.util.List;
 public class OfertaAuto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "oferta_auto_seq")
+    @SequenceGenerator(name = "oferta_auto_seq", sequenceName = "oferta_auto_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     @EqualsAndHashCode.Include
     private Long id;
@@ -55,6 +60,12 @@ public class OfertaAuto {
     @Column(name = "moneda", nullable = false, length = 10)
     private String moneda;
 
+    // La mantiene ContadorFavoritos con UPDATE de diferencias; la entidad no la escribe para no pisar esos cambios
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "cantidad_favoritos", nullable = false, insertable = false, updatable = false)
+    private Long cantidadFavoritos = 0L;
+
     // Compras asociadas (no cascade remove para preservar integridad histórica)
     @Builder.Default
     @OneToMany(mappedBy = "oferta", fetch = FetchType.LAZY)
@@ -0,0 +1,85 @@
+package ar.edu.unq.pdss22025.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Modelo de lectura de una oferta (tabla oferta_view): los datos de la oferta, de su auto y de su concesionaria,
+ * la cantidad de favoritos y el resumen de reseñas del auto en una sola fila, para que el catálogo y el detalle
+ * no tengan que unir cinco tablas por oferta. No se escribe desde el dominio: lo mantiene
+ * {@link ar.edu.unq.pdss22025.services.ProyeccionOfertaVista} a partir de los eventos de los servicios, en la
+ * misma transacción que cada cambio, y se puede reconstruir desde las tablas de origen.
+ */
+@Entity
+// El filtro por marca y modelo usa además idx_oferta_view_marca_modelo (V16), sobre lower(marca) y lower(modelo),
+// que @Index no puede declarar
+@Table(name = "oferta_view",
+        indexes = {
+                @Index(name = "idx_oferta_view_auto", columnList = "auto_id"),
+                @Index(name = "idx_oferta_view_precio_id", columnList = "precio_actual, id"),
+                @Index(name = "idx_oferta_view_created_id", columnList = "created_at, id"),
+                @Index(name = "idx_oferta_view_moneda_precio_id", columnList = "moneda, precio_actual, id"),
+                @Index(name = "idx_oferta_view_favoritos_id", columnList = "cantidad_favoritos, id")
+        })
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class OfertaVista {
+
+    // Mismo id que la oferta
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "auto_id", nullable = false)
+    private Long autoId;
+
+    @Column(name = "marca", nullable = false, length = 100)
+    private String marca;
+
+    @Column(name = "modelo", nullable = false, length = 100)
+    private String modelo;
+
+    @Column(name = "anio_modelo", nullable = false)
+    private Integer anioModelo;
+
+    @Column(name = "concesionaria_id", nullable = false)
+    private Long concesionariaId;
+
+    @Column(name = "concesionaria_nombre", nullable = false, length = 150)
+    private String concesionariaNombre;
+
+    @Column(name = "concesionaria_activa", nullable = false)
+    private Boolean concesionariaActiva;
+
+    @Column(name = "stock", nullable = false)
+    private Integer stock;
+
+    @Column(name = "precio_actual", nullable = false, precision = 15, scale = 2)
+    private BigDecimal precioActual;
+
+    @Column(name = "moneda", nullable = false, length = 10)
+    private String moneda;
+
+    @Column(name = "cantidad_favoritos", nullable = false)
+    private long cantidadFavoritos;
+
+    @Column(name = "cantidad_resenas", nullable = false)
+    private long cantidadResenas;
+
+    @Column(name = "promedio_puntaje", nullable = false)
+    private double promedioPuntaje;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
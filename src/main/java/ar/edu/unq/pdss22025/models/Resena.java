@@ -39,7 +39,8 @@ import java.time.OffsetDateTime;
 public class Resena {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resena_seq")
+    @SequenceGenerator(name = "resena_seq", sequenceName = "resena_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     @EqualsAndHashCode.Include
     private Long id;
@@ -0,0 +1,48 @@
+package ar.edu.unq.pdss22025.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Acumulado diario de reseñas por auto (cantidad de reseñas y suma de sus puntajes), según el día de creación
+ * de cada reseña. Se actualiza de forma incremental con cada alta, modificación o baja de reseña para que el
+ * ranking de autos mejores rankeados de un rango de fechas lea a lo sumo un registro por día y auto.
+ */
+@Entity
+@Table(name = "resena_diaria_auto",
+        indexes = {
+                @Index(name = "idx_resena_diaria_auto_auto", columnList = "auto_id")
+        })
+@IdClass(ResenaDiariaAuto.Clave.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResenaDiariaAuto {
+
+    @Id
+    @Column(name = "fecha", nullable = false)
+    private LocalDate fecha;
+
+    @Id
+    @Column(name = "auto_id", nullable = false)
+    private Long autoId;
+
+    @Column(name = "cantidad", nullable = false)
+    private Long cantidad;
+
+    @Column(name = "suma", nullable = false)
+    private Long suma;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private LocalDate fecha;
+        private Long autoId;
+    }
+}
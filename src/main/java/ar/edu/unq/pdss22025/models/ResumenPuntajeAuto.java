@@ -0,0 +1,110 @@
+package ar.edu.unq.pdss22025.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Resumen de las reseñas de un auto: cantidad, suma y promedio de puntajes e histograma de puntajes 0 a 10.
+ * Se mantiene en la misma transacción que cada alta, modificación o baja de reseña, así el promedio de un auto
+ * y el ranking de mejor rankeados se leen de esta tabla sin agregar la tabla resena.
+ */
+@Entity
+@Table(name = "resumen_puntaje_auto",
+        indexes = {
+                @Index(name = "idx_resumen_puntaje_auto_ranking", columnList = "promedio DESC, cantidad DESC, auto_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumenPuntajeAuto {
+
+    public static final int PUNTAJE_MAXIMO = 10;
+
+    @Id
+    @Column(name = "auto_id", nullable = false)
+    private Long autoId;
+
+    @Column(name = "cantidad", nullable = false)
+    private long cantidad;
+
+    @Column(name = "suma", nullable = false)
+    private long suma;
+
+    @Column(name = "promedio", nullable = false)
+    private double promedio;
+
+    @Column(name = "puntaje_0", nullable = false)
+    private long puntaje0;
+
+    @Column(name = "puntaje_1", nullable = false)
+    private long puntaje1;
+
+    @Column(name = "puntaje_2", nullable = false)
+    private long puntaje2;
+
+    @Column(name = "puntaje_3", nullable = false)
+    private long puntaje3;
+
+    @Column(name = "puntaje_4", nullable = false)
+    private long puntaje4;
+
+    @Column(name = "puntaje_5", nullable = false)
+    private long puntaje5;
+
+    @Column(name = "puntaje_6", nullable = false)
+    private long puntaje6;
+
+    @Column(name = "puntaje_7", nullable = false)
+    private long puntaje7;
+
+    @Column(name = "puntaje_8", nullable = false)
+    private long puntaje8;
+
+    @Column(name = "puntaje_9", nullable = false)
+    private long puntaje9;
+
+    @Column(name = "puntaje_10", nullable = false)
+    private long puntaje10;
+
+    /**
+     * Arma el resumen a partir del histograma (cantidad de reseñas por puntaje, índice 0 a 10).
+     */
+    public static ResumenPuntajeAuto desdeHistograma(Long autoId, long[] histograma) {
+        ResumenPuntajeAuto resumen = new ResumenPuntajeAuto();
+        resumen.setAutoId(autoId);
+        resumen.aplicarHistograma(histograma);
+        return resumen;
+    }
+
+    /**
+     * Reemplaza el histograma y recalcula cantidad, suma y promedio.
+     */
+    public void aplicarHistograma(long[] histograma) {
+        puntaje0 = histograma[0];
+        puntaje1 = histograma[1];
+        puntaje2 = histograma[2];
+        puntaje3 = histograma[3];
+        puntaje4 = histograma[4];
+        puntaje5 = histograma[5];
+        puntaje6 = histograma[6];
+        puntaje7 = histograma[7];
+        puntaje8 = histograma[8];
+        puntaje9 = histograma[9];
+        puntaje10 = histograma[10];
+        cantidad = 0;
+        suma = 0;
+        for (int puntaje = 0; puntaje <= PUNTAJE_MAXIMO; puntaje++) {
+            cantidad += histograma[puntaje];
+            suma += puntaje * histograma[puntaje];
+        }
+        promedio = cantidad == 0 ? 0.0 : (double) suma / cantidad;
+    }
+
+    /**
+     * Cantidad de reseñas por puntaje (índice 0 a 10).
+     */
+    public long[] getHistograma() {
+        return new long[]{puntaje0, puntaje1, puntaje2, puntaje3, puntaje4, puntaje5, puntaje6, puntaje7, puntaje8, puntaje9, puntaje10};
+    }
+}
@@ -0,0 +1,89 @@
+package ar.edu.unq.pdss22025.models;
+
+import ar.edu.unq.pdss22025.models.usuario.Usuario;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Pedido de compra recibido con una clave de idempotencia y procesado en segundo plano.
+ * La tabla es la cola durable: una solicitud queda PENDIENTE hasta que un trabajador crea su compra
+ * (COMPLETADA) o la rechaza (RECHAZADA), y las pendientes se retoman si la aplicación se reinicia.
+ * Un reintento con la misma clave del mismo comprador devuelve la solicitud existente.
+ */
+@Entity
+@Table(name = "solicitud_compra",
+        uniqueConstraints = @UniqueConstraint(name = "ux_solicitud_compra_comprador_clave", columnNames = {"comprador_id", "clave_idempotencia"}),
+        indexes = @Index(name = "idx_solicitud_compra_estado_id", columnList = "estado, id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@EntityListeners(AuditingEntityListener.class)
+public class SolicitudCompra {
+
+    public enum Estado { PENDIENTE, COMPLETADA, RECHAZADA }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solicitud_compra_seq")
+    @SequenceGenerator(name = "solicitud_compra_seq", sequenceName = "solicitud_compra_id_seq", allocationSize = 50)
+    @Column(name = "id", nullable = false, updatable = false)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @NotBlank
+    @Column(name = "clave_idempotencia", nullable = false, length = 100, updatable = false)
+    private String claveIdempotencia;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "comprador_id", nullable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_solicitud_compra_comprador"))
+    private Usuario comprador;
+
+    // Sin clave foránea: una solicitud sobre una oferta inexistente se guarda y se rechaza al procesarla
+    @NotNull
+    @Column(name = "oferta_id", nullable = false, updatable = false)
+    private Long ofertaId;
+
+    @Column(name = "precio_cerrado", precision = 15, scale = 2, updatable = false)
+    private BigDecimal precioCerrado;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private Estado estado;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "compra_id", foreignKey = @ForeignKey(name = "fk_solicitud_compra_compra"))
+    private Compra compra;
+
+    @Column(name = "error")
+    private String error;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (createdAt == null) createdAt = now;
+        if (updatedAt == null) updatedAt = now;
+    }
+
+    public boolean estaPendiente() {
+        return estado == Estado.PENDIENTE;
+    }
+}
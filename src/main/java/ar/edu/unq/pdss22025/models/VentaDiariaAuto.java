@@ -0,0 +1,52 @@
+package ar.edu.unq.pdss22025.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Acumulado diario de ventas por auto (cantidad de compras, total facturado y suma de precios unitarios).
+ * Se actualiza de forma incremental con cada compra para que el reporte de autos más vendidos
+ * lea a lo sumo un registro por día y auto en lugar de recorrer todas las compras.
+ */
+@Entity
+@Table(name = "venta_diaria_auto",
+        indexes = {
+                @Index(name = "idx_venta_diaria_auto_auto", columnList = "auto_id")
+        })
+@IdClass(VentaDiariaAuto.Clave.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaDiariaAuto {
+
+    @Id
+    @Column(name = "fecha", nullable = false)
+    private LocalDate fecha;
+
+    @Id
+    @Column(name = "auto_id", nullable = false)
+    private Long autoId;
+
+    @Column(name = "cantidad", nullable = false)
+    private Long cantidad;
+
+    @Column(name = "total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "suma_precio_unitario", nullable = false, precision = 19, scale = 2)
+    private BigDecimal sumaPrecioUnitario;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private LocalDate fecha;
+        private Long autoId;
+    }
+}
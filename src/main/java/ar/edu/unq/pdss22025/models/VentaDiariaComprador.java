@@ -0,0 +1,51 @@
+package ar.edu.unq.pdss22025.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Acumulado diario de compras por usuario comprador.
+ * Alimenta el reporte de usuarios con más compras.
+ */
+@Entity
+@Table(name = "venta_diaria_comprador",
+        indexes = {
+                @Index(name = "idx_venta_diaria_comprador_comprador", columnList = "comprador_id")
+        })
+@IdClass(VentaDiariaComprador.Clave.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaDiariaComprador {
+
+    @Id
+    @Column(name = "fecha", nullable = false)
+    private LocalDate fecha;
+
+    @Id
+    @Column(name = "comprador_id", nullable = false)
+    private Long compradorId;
+
+    @Column(name = "cantidad", nullable = false)
+    private Long cantidad;
+
+    @Column(name = "total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "suma_precio_unitario", nullable = false, precision = 19, scale = 2)
+    private BigDecimal sumaPrecioUnitario;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private LocalDate fecha;
+        private Long compradorId;
+    }
+}
@@ -0,0 +1,51 @@
+package ar.edu.unq.pdss22025.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Acumulado diario de ventas por concesionaria.
+ * Alimenta el reporte de agencias con más ventas.
+ */
+@Entity
+@Table(name = "venta_diaria_concesionaria",
+        indexes = {
+                @Index(name = "idx_venta_diaria_concesionaria_concesionaria", columnList = "concesionaria_id")
+        })
+@IdClass(VentaDiariaConcesionaria.Clave.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaDiariaConcesionaria {
+
+    @Id
+    @Column(name = "fecha", nullable = false)
+    private LocalDate fecha;
+
+    @Id
+    @Column(name = "concesionaria_id", nullable = false)
+    private Long concesionariaId;
+
+    @Column(name = "cantidad", nullable = false)
+    private Long cantidad;
+
+    @Column(name = "total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "suma_precio_unitario", nullable = false, precision = 19, scale = 2)
+    private BigDecimal sumaPrecioUnitario;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private LocalDate fecha;
+        private Long concesionariaId;
+    }
+}
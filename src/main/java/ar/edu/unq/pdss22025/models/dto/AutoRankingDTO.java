@@ -16,5 +16,7 @@ public class AutoRankingDTO {
     private Integer anioModelo;
     private Double promedioPuntaje;
     private Long cantidadResenas;
+    /** Puntaje bayesiano con el que se ordena el ranking (ver RankingAutos). */
+    private Double puntajeRanking;
 }
 
@@ -1,17 +1,21 @@
 package ar.edu.unq.pdss22025.models.dto;
 
-import lombok.Data;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 
-@Data
+/**
+ * Datos de un auto. Es inmutable porque {@link ar.edu.unq.pdss22025.services.AutoService#listarAutos()} lo cachea
+ * y lo comparte entre pedidos.
+ */
+@Value
 public class AutoResponse {
-    private Long id;
-    private String marca;
-    private String modelo;
-    private Integer anioModelo;
-    private LocalDateTime fechaAlta;
-    private LocalDateTime fechaActualizacion;
+    Long id;
+    String marca;
+    String modelo;
+    Integer anioModelo;
+    LocalDateTime fechaAlta;
+    LocalDateTime fechaActualizacion;
 
     public AutoResponse(Long id, String marca, String modelo, Integer anioModelo,
                         LocalDateTime fechaAlta, LocalDateTime fechaActualizacion) {
@@ -0,0 +1,20 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.Data;
+
+@Data
+public class AutoSugerenciaResponse {
+    private Long id;
+    private String marca;
+    private String modelo;
+    private Integer anioModelo;
+    private int puntaje;
+
+    public AutoSugerenciaResponse(Long id, String marca, String modelo, Integer anioModelo, int puntaje) {
+        this.id = id;
+        this.marca = marca;
+        this.modelo = modelo;
+        this.anioModelo = anioModelo;
+        this.puntaje = puntaje;
+    }
+}
@@ -0,0 +1,26 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BusquedaOfertasResponse implements ConFilasDevueltas {
+    // Cantidad total de ofertas que cumplen el filtro (no sólo las de esta página)
+    private int total;
+    private List<OfertaFacetadaResponse> items;
+    // Por faceta (marca, anio, concesionaria, moneda, rangoPrecio), los valores con su cantidad de ofertas
+    private Map<String, List<ValorFacetaResponse>> facetas;
+
+    @Override
+    public int filasDevueltas() {
+        return items != null ? items.size() : 0;
+    }
+}
@@ -0,0 +1,24 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoOfertasResponse implements ConFilasDevueltas {
+    private List<OfertaVistaResponse> items;
+    // Cursor para pedir la página siguiente; null si no hay más resultados
+    private String siguienteCursor;
+    private boolean hayMas;
+
+    @Override
+    public int filasDevueltas() {
+        return items != null ? items.size() : 0;
+    }
+}
@@ -0,0 +1,23 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompraLoteResponse implements ConFilasDevueltas {
+    private int creadas;
+    private int rechazadas;
+    private List<ResultadoLineaCompraResponse> resultados;
+
+    @Override
+    public int filasDevueltas() {
+        return resultados != null ? resultados.size() : 0;
+    }
+}
@@ -17,5 +17,7 @@ public class CompraResponse {
     private Long ofertaId;
     private Long compradorId;
     private BigDecimal precioCerrado;
+    private Integer cantidad;
+    private BigDecimal total;
     private OffsetDateTime fechaCompra;
 }
@@ -0,0 +1,13 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+/**
+ * Respuesta que envuelve una página o lista de elementos junto con otros datos (cursor, total, facetas).
+ * Informa cuántos elementos devuelve, para la métrica de filas devueltas por endpoint.
+ */
+public interface ConFilasDevueltas {
+
+    /**
+     * Cantidad de elementos de la respuesta. No es un getter, así no se serializa en el JSON.
+     */
+    int filasDevueltas();
+}
@@ -0,0 +1,22 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CrearCompraLoteRequest {
+
+    public static final int MAXIMO_LINEAS = 500;
+
+    @NotNull(message = "El ID del comprador es obligatorio")
+    private Long compradorId;
+
+    @NotEmpty(message = "La compra debe tener al menos una línea")
+    @Size(max = MAXIMO_LINEAS, message = "La compra no puede tener más de " + MAXIMO_LINEAS + " líneas")
+    private List<@Valid @NotNull LineaCompraRequest> lineas;
+}
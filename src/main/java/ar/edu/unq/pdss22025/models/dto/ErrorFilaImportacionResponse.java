@@ -0,0 +1,15 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorFilaImportacionResponse {
+    private long linea; // línea del archivo donde empieza la fila, desde 1
+    private String mensaje;
+}
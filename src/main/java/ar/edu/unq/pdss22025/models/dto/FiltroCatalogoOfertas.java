@@ -0,0 +1,30 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Filtros opcionales del catálogo de ofertas. Los campos en null no filtran.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroCatalogoOfertas {
+    private String marca;
+    private String modelo;
+    private Integer anioDesde;
+    private Integer anioHasta;
+    private BigDecimal precioMin;
+    private BigDecimal precioMax;
+    private String moneda;
+    // Por defecto el catálogo muestra sólo ofertas de concesionarias activas y con stock
+    @Builder.Default
+    private Boolean soloConcesionariasActivas = Boolean.TRUE;
+    @Builder.Default
+    private Boolean soloConStock = Boolean.TRUE;
+}
@@ -0,0 +1,30 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Valores elegidos en cada faceta de la búsqueda de ofertas. Dentro de una faceta los valores se combinan
+ * con OR (por ejemplo marca=toyota&amp;marca=ford) y entre facetas con AND. Las facetas vacías no filtran.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroFacetasOfertas {
+    private List<String> marca;
+    private List<Integer> anio;
+    private List<Long> concesionaria;
+    private List<String> moneda;
+    // Rangos con el formato de la faceta, por ejemplo "10000-20000" o "100000+"
+    private List<String> rangoPrecio;
+    // Igual que en el catálogo: por defecto sólo ofertas de concesionarias activas y con stock
+    @Builder.Default
+    private Boolean soloConcesionariasActivas = Boolean.TRUE;
+    @Builder.Default
+    private Boolean soloConStock = Boolean.TRUE;
+}
@@ -0,0 +1,38 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import java.util.Locale;
+
+/**
+ * Formatos de exportación de reportes, con el content type y la extensión del archivo.
+ */
+public enum FormatoExportacion {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    EXCEL("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static FormatoExportacion desdeParametro(String valor) {
+        String normalizado = valor == null ? "" : valor.trim().toLowerCase(Locale.ROOT);
+        return switch (normalizado) {
+            case "csv" -> CSV;
+            case "excel", "xlsx" -> EXCEL;
+            case "pdf" -> PDF;
+            default -> throw new RuntimeException("Formato no soportado: " + valor + " (use csv, excel o pdf)");
+        };
+    }
+}
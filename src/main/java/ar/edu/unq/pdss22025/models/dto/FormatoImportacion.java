@@ -0,0 +1,38 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import java.util.Locale;
+
+/**
+ * Formatos de archivo que acepta la importación masiva del catálogo, con su extensión.
+ */
+public enum FormatoImportacion {
+    CSV("csv"),
+    JSONL("jsonl");
+
+    private final String extension;
+
+    FormatoImportacion(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Formato pedido o, si no se indica, el que corresponde a la extensión del archivo subido.
+     */
+    public static FormatoImportacion desdeParametro(String valor, String nombreArchivo) {
+        String normalizado = valor == null ? "" : valor.trim().toLowerCase(Locale.ROOT);
+        if (normalizado.isEmpty() && nombreArchivo != null) {
+            int punto = nombreArchivo.lastIndexOf('.');
+            normalizado = punto < 0 ? "" : nombreArchivo.substring(punto + 1).toLowerCase(Locale.ROOT);
+        }
+        return switch (normalizado) {
+            case "csv" -> CSV;
+            case "jsonl", "ndjson" -> JSONL;
+            default -> throw new RuntimeException("Formato no soportado: " + (valor != null ? valor : nombreArchivo)
+                    + " (use csv o jsonl)");
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacionCatalogoResponse {
+    private String id;
+    private String estado; // PENDIENTE, EN_CURSO, FINALIZADA o FALLIDA
+    private String archivo;
+    private FormatoImportacion formato;
+    private int tamanioLote;
+    private long filasLeidas;
+    private long filasConError;
+    private long autosCreados;
+    private long autosExistentes; // filas cuyo auto ya estaba en la base o apareció antes en el archivo
+    private long ofertasCreadas;
+    private long ofertasActualizadas;
+    private List<ErrorFilaImportacionResponse> errores; // los primeros errores, ver ImportacionCatalogo.MAXIMO_ERRORES
+    private String mensaje; // motivo si la importación falló
+    private OffsetDateTime creada;
+    private OffsetDateTime iniciada;
+    private OffsetDateTime finalizada;
+}
@@ -0,0 +1,24 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineaCompraRequest {
+
+    @NotNull(message = "El ID de la oferta es obligatorio")
+    private Long ofertaId;
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Positive(message = "La cantidad debe ser mayor a cero")
+    private Integer cantidad;
+
+    private BigDecimal precioCerrado;
+}
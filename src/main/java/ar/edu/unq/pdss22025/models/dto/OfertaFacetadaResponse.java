@@ -0,0 +1,27 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfertaFacetadaResponse {
+    private Long id;
+    private Long autoId;
+    private String marca;
+    private String modelo;
+    private Integer anioModelo;
+    private Long concesionariaId;
+    private String concesionaria;
+    private Integer stock;
+    private BigDecimal precioActual;
+    private String moneda;
+    private OffsetDateTime fechaCreacion;
+}
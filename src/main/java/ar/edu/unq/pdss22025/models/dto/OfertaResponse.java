@@ -20,6 +20,7 @@ public class OfertaResponse {
     private Integer stock;
     private java.math.BigDecimal precioActual;
     private String moneda;
+    private Long cantidadFavoritos;
     private java.time.OffsetDateTime fechaCreacion;
     private java.time.OffsetDateTime fechaActualizacion;
 }
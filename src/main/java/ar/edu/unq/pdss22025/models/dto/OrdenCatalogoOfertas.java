@@ -0,0 +1,24 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import java.util.Locale;
+
+/**
+ * Criterios de orden del catálogo de ofertas. Todos desempatan por id para que el cursor sea estable.
+ */
+public enum OrdenCatalogoOfertas {
+    PRECIO_ASC,
+    PRECIO_DESC,
+    RECIENTES,
+    FAVORITOS;
+
+    public static OrdenCatalogoOfertas desdeParametro(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return RECIENTES;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Orden no soportado: " + valor + " (use precio_asc, precio_desc, recientes o favoritos)");
+        }
+    }
+}
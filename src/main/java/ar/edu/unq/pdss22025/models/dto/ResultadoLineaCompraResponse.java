@@ -0,0 +1,19 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLineaCompraResponse {
+    private int linea; // posición de la línea en el pedido, desde 0
+    private Long ofertaId;
+    private Integer cantidad;
+    private boolean creada;
+    private CompraResponse compra; // null si la línea fue rechazada
+    private String error; // motivo del rechazo
+}
@@ -0,0 +1,26 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolicitudCompraResponse {
+    private Long id;
+    private String claveIdempotencia;
+    private String estado; // PENDIENTE, COMPLETADA o RECHAZADA
+    private Long compradorId;
+    private Long ofertaId;
+    private BigDecimal precioCerrado;
+    private CompraResponse compra; // null mientras está pendiente o si fue rechazada
+    private String error; // motivo del rechazo
+    private OffsetDateTime creada;
+    private OffsetDateTime actualizada;
+}
@@ -0,0 +1,55 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import java.util.List;
+
+/**
+ * Reportes exportables. Los cuatro rankings tienen su versión Top 5 en JSON;
+ * COMPRAS es el detalle de compras, que sólo se exporta.
+ */
+public enum TipoReporte {
+    AUTOS_MAS_VENDIDOS("autos-mas-vendidos", "Autos más vendidos",
+            List.of("Auto ID", "Marca", "Modelo", "Año", "Cantidad ventas", "Precio promedio", "Total ingresos")),
+    USUARIOS_MAS_COMPRAS("usuarios-mas-compras", "Usuarios con más compras",
+            List.of("Usuario ID", "Nombre", "Apellido", "Email", "Cantidad compras", "Total gastado")),
+    AUTOS_MEJORES_RANKEADOS("autos-mejores-rankeados", "Autos mejores rankeados",
+            List.of("Auto ID", "Marca", "Modelo", "Año", "Promedio puntaje", "Cantidad reseñas")),
+    AGENCIAS_MAS_VENTAS("agencias-mas-ventas", "Agencias con más ventas",
+            List.of("Concesionaria ID", "Razón social", "Cantidad ventas", "Total ingresos")),
+    COMPRAS("compras", "Detalle de compras",
+            List.of("Compra ID", "Fecha", "Concesionaria ID", "Concesionaria", "Marca", "Modelo", "Año",
+                    "Comprador ID", "Email comprador", "Cantidad", "Precio unitario", "Total"));
+
+    private final String parametro;
+    private final String titulo;
+    private final List<String> columnas;
+
+    TipoReporte(String parametro, String titulo, List<String> columnas) {
+        this.parametro = parametro;
+        this.titulo = titulo;
+        this.columnas = columnas;
+    }
+
+    public String getParametro() {
+        return parametro;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public List<String> getColumnas() {
+        return columnas;
+    }
+
+    public static TipoReporte desdeParametro(String valor) {
+        if (valor != null) {
+            for (TipoReporte tipo : values()) {
+                if (tipo.parametro.equalsIgnoreCase(valor.trim())) {
+                    return tipo;
+                }
+            }
+        }
+        throw new RuntimeException("Tipo de reporte no soportado: " + valor
+                + " (use autos-mas-vendidos, usuarios-mas-compras, autos-mejores-rankeados, agencias-mas-ventas o compras)");
+    }
+}
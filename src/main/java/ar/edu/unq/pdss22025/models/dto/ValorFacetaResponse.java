@@ -0,0 +1,16 @@
+package ar.edu.unq.pdss22025.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValorFacetaResponse {
+    // Valor a enviar en el filtro y texto a mostrar (por ejemplo id y nombre de la concesionaria)
+    private String valor;
+    private String etiqueta;
+    private int cantidad;
+    private boolean seleccionado;
+}
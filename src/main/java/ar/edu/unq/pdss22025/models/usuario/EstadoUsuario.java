@@ -0,0 +1,8 @@
+package ar.edu.unq.pdss22025.models.usuario;
+
+/**
+ * Proyección mínima del usuario que necesita la autenticación en cada request:
+ * si está activo y a qué concesionaria pertenece (null si no tiene).
+ */
+public record EstadoUsuario(Long id, boolean activo, Long concesionariaId) {
+}
@@ -0,0 +1,48 @@
+package ar.edu.unq.pdss22025.models.usuario;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal del usuario autenticado armado a partir de los claims del JWT (userId, email y rol)
+ * y del estado cacheado del usuario, sin materializar la entidad {@link Usuario}.
+ * El username es el email, así que {@code Authentication.getName()} sigue devolviendo el email.
+ */
+@Getter
+public class UsuarioAutenticado implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Rol rol;
+    private final Long concesionariaId;
+    private final List<GrantedAuthority> authorities;
+
+    public UsuarioAutenticado(Long id, String email, Rol rol, Long concesionariaId) {
+        this.id = id;
+        this.email = email;
+        this.rol = rol;
+        this.concesionariaId = concesionariaId;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + rol.name()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        // La autenticación es por token: el principal nunca lleva la contraseña
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
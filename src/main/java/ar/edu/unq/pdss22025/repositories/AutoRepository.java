@@ -1,11 +1,15 @@
 package ar.edu.unq.pdss22025.repositories;
 
 import ar.edu.unq.pdss22025.models.Auto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AutoRepository extends JpaRepository<Auto, Long> {
@@ -22,4 +26,12 @@ public interface AutoRepository extends JpaRepository<Auto, Long> {
      */
     @Query("SELECT DISTINCT a.modelo FROM Auto a WHERE UPPER(a.marca) = UPPER(:marca) ORDER BY a.modelo ASC")
     List<String> findDistinctModelosByMarca(String marca);
+
+    /**
+     * Id, marca, modelo y año de todos los autos, leídos de a tandas con un cursor para precargar las claves
+     * de la importación masiva sin materializar las entidades. Debe consumirse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id, a.marca, a.modelo, a.anioModelo FROM Auto a")
+    Stream<Object[]> streamClaves();
 }
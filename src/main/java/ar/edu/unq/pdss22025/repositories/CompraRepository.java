@@ -1,120 +1,44 @@
 package ar.edu.unq.pdss22025.repositories;
 
 import ar.edu.unq.pdss22025.models.Compra;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CompraRepository extends JpaRepository<Compra, Long> {
-    List<Compra> findByCompradorId(Long compradorId);
-
-    /**
-     * Obtiene el Top 5 de autos más vendidos (sin filtros de fecha)
-     */
-    @Query(value = """
-        SELECT a.id as autoId, a.marca, a.modelo, a.anio_modelo as anioModelo,
-               COUNT(c.id) as cantidadVentas,
-               COALESCE(AVG(c.precio_unitario), 0) as precioPromedio,
-               COALESCE(SUM(c.total), 0) as totalIngresos
-        FROM compra c
-        INNER JOIN oferta_auto oa ON c.oferta_id = oa.id
-        INNER JOIN auto a ON oa.auto_id = a.id
-        GROUP BY a.id, a.marca, a.modelo, a.anio_modelo
-        ORDER BY cantidadVentas DESC, totalIngresos DESC
-        LIMIT 5
-        """, nativeQuery = true)
-    List<Object[]> findTop5AutosMasVendidos();
-
     /**
-     * Obtiene el Top 5 de autos más vendidos (con filtros de fecha)
+     * Busca las compras de un comprador. No necesita grafo de entidades: CompraMapper sólo lee los ids
+     * de oferta y comprador, que Hibernate resuelve desde los proxies sin consultar.
      */
-    @Query(value = """
-        SELECT a.id as autoId, a.marca, a.modelo, a.anio_modelo as anioModelo,
-               COUNT(c.id) as cantidadVentas,
-               COALESCE(AVG(c.precio_unitario), 0) as precioPromedio,
-               COALESCE(SUM(c.total), 0) as totalIngresos
-        FROM compra c
-        INNER JOIN oferta_auto oa ON c.oferta_id = oa.id
-        INNER JOIN auto a ON oa.auto_id = a.id
-        WHERE c.fecha_compra >= :fechaDesde
-          AND c.fecha_compra <= :fechaHasta
-        GROUP BY a.id, a.marca, a.modelo, a.anio_modelo
-        ORDER BY cantidadVentas DESC, totalIngresos DESC
-        LIMIT 5
-        """, nativeQuery = true)
-    List<Object[]> findTop5AutosMasVendidos(@Param("fechaDesde") OffsetDateTime fechaDesde, 
-                                             @Param("fechaHasta") OffsetDateTime fechaHasta);
-
-    /**
-     * Obtiene el Top 5 de usuarios con más compras (sin filtros de fecha)
-     */
-    @Query(value = """
-        SELECT u.id as usuarioId, u.nombre, u.apellido, u.email,
-               COUNT(c.id) as cantidadCompras,
-               COALESCE(SUM(c.total), 0) as totalGastado
-        FROM compra c
-        INNER JOIN usuario u ON c.comprador_id = u.id
-        GROUP BY u.id, u.nombre, u.apellido, u.email
-        ORDER BY cantidadCompras DESC, totalGastado DESC
-        LIMIT 5
-        """, nativeQuery = true)
-    List<Object[]> findTop5UsuariosMasCompras();
+    List<Compra> findByCompradorId(Long compradorId);
 
     /**
-     * Obtiene el Top 5 de usuarios con más compras (con filtros de fecha)
+     * Detalle de compras del rango con concesionaria, auto y comprador, ordenado por fecha.
+     * Se lee con un cursor de JDBC (fetch size) para exportar años de compras sin cargarlas en memoria;
+     * debe consumirse dentro de una transacción y cerrarse.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query(value = """
-        SELECT u.id as usuarioId, u.nombre, u.apellido, u.email,
-               COUNT(c.id) as cantidadCompras,
-               COALESCE(SUM(c.total), 0) as totalGastado
+        SELECT c.id, c.fecha_compra, con.id as concesionariaId, con.nombre as concesionaria,
+               a.marca, a.modelo, a.anio_modelo, u.id as compradorId, u.email,
+               c.cantidad, c.precio_unitario, c.total
         FROM compra c
+        INNER JOIN oferta_auto o ON c.oferta_id = o.id
+        INNER JOIN auto a ON o.auto_id = a.id
+        INNER JOIN concesionaria con ON o.concesionaria_id = con.id
         INNER JOIN usuario u ON c.comprador_id = u.id
-        WHERE c.fecha_compra >= :fechaDesde
-          AND c.fecha_compra <= :fechaHasta
-        GROUP BY u.id, u.nombre, u.apellido, u.email
-        ORDER BY cantidadCompras DESC, totalGastado DESC
-        LIMIT 5
-        """, nativeQuery = true)
-    List<Object[]> findTop5UsuariosMasCompras(@Param("fechaDesde") OffsetDateTime fechaDesde,
-                                               @Param("fechaHasta") OffsetDateTime fechaHasta);
-
-    /**
-     * Obtiene el Top 5 de agencias con más ventas (sin filtros de fecha)
-     */
-    @Query(value = """
-        SELECT con.id as concesionariaId, con.nombre as razonSocial,
-               COUNT(c.id) as cantidadVentas,
-               COALESCE(SUM(c.total), 0) as totalIngresos
-        FROM compra c
-        INNER JOIN oferta_auto oa ON c.oferta_id = oa.id
-        INNER JOIN concesionaria con ON oa.concesionaria_id = con.id
-        GROUP BY con.id, con.nombre
-        ORDER BY cantidadVentas DESC, totalIngresos DESC
-        LIMIT 5
-        """, nativeQuery = true)
-    List<Object[]> findTop5AgenciasMasVentas();
-
-    /**
-     * Obtiene el Top 5 de agencias con más ventas (con filtros de fecha)
-     */
-    @Query(value = """
-        SELECT con.id as concesionariaId, con.nombre as razonSocial,
-               COUNT(c.id) as cantidadVentas,
-               COALESCE(SUM(c.total), 0) as totalIngresos
-        FROM compra c
-        INNER JOIN oferta_auto oa ON c.oferta_id = oa.id
-        INNER JOIN concesionaria con ON oa.concesionaria_id = con.id
-        WHERE c.fecha_compra >= :fechaDesde
-          AND c.fecha_compra <= :fechaHasta
-        GROUP BY con.id, con.nombre
-        ORDER BY cantidadVentas DESC, totalIngresos DESC
-        LIMIT 5
+        WHERE c.fecha_compra >= :desde
+          AND c.fecha_compra <= :hasta
+        ORDER BY c.fecha_compra, c.id
         """, nativeQuery = true)
-    List<Object[]> findTop5AgenciasMasVentas(@Param("fechaDesde") OffsetDateTime fechaDesde,
-                                              @Param("fechaHasta") OffsetDateTime fechaHasta);
+    Stream<Object[]> streamDetalleCompras(@Param("desde") OffsetDateTime desde, @Param("hasta") OffsetDateTime hasta);
 }
@@ -2,10 +2,15 @@ package ar.edu.unq.pdss22025.repositories;
 
 import ar.edu.unq.pdss22025.models.Concesionaria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 
 @Repository
 public interface ConcesionariaRepository extends JpaRepository<Concesionaria, Long> {
     boolean existsByCuit(String cuit);
+
+    @Query("SELECT c.id FROM Concesionaria c WHERE c.activa = true")
+    List<Long> findIdsActivas();
 }
@@ -0,0 +1,50 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.EventoOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Trae y bloquea los eventos más antiguos con menos de {@code maximoIntentos} intentos, salteando los que
+     * ya bloqueó otro relay (SKIP LOCKED, lock timeout -2): varios relays, de esta u otra instancia, toman
+     * lotes distintos sin esperarse.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EventoOutbox e WHERE e.intentos < :maximoIntentos ORDER BY e.id")
+    List<EventoOutbox> reclamar(@Param("maximoIntentos") int maximoIntentos, Pageable pagina);
+
+    /**
+     * Igual que {@link #reclamar} pero para un evento, para reintentar de a uno un lote que falló.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EventoOutbox e WHERE e.id = :id AND e.intentos < :maximoIntentos")
+    List<EventoOutbox> reclamarPorId(@Param("id") Long id, @Param("maximoIntentos") int maximoIntentos);
+
+    @Query("SELECT COUNT(e) FROM EventoOutbox e WHERE e.intentos < :maximoIntentos")
+    long contarPendientes(@Param("maximoIntentos") int maximoIntentos);
+
+    /**
+     * Suma un intento fallido y devuelve la cantidad de filas actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.intentos = e.intentos + 1 WHERE e.id = :id")
+    int sumarIntento(@Param("id") Long id);
+
+    @Query("SELECT e.intentos FROM EventoOutbox e WHERE e.id = :id")
+    Integer findIntentosById(@Param("id") Long id);
+}
@@ -3,7 +3,9 @@ package ar.edu.unq.pdss22025.repositories;
 import ar.edu.unq.pdss22025.models.Favorito;
 import ar.edu.unq.pdss22025.models.OfertaAuto;
 import ar.edu.unq.pdss22025.models.usuario.Usuario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,7 +16,11 @@ public interface FavoritoRepository extends JpaRepository<Favorito, Long> {
     
     /**
      * Busca todos los favoritos de un usuario.
+     * Trae usuario, oferta, auto y concesionaria en la misma consulta porque FavoritoMapper los lee
+     * para cada favorito. Incluye el usuario de la concesionaria porque la relación uno a uno inversa
+     * se resolvería con una consulta por concesionaria.
      */
+    @EntityGraph(attributePaths = {"usuario", "usuario.concesionaria", "oferta", "oferta.auto", "oferta.concesionaria", "oferta.concesionaria.usuario"})
     List<Favorito> findByUsuarioId(Long usuarioId);
     
     /**
@@ -33,9 +39,17 @@ public interface FavoritoRepository extends JpaRepository<Favorito, Long> {
     List<Favorito> findByUsuario(Usuario usuario);
     
     /**
-     * Busca todos los favoritos de una oferta.
+     * Busca todos los favoritos de una oferta, con el mismo plan de carga que findByUsuarioId.
      */
+    @EntityGraph(attributePaths = {"usuario", "usuario.concesionaria", "oferta", "oferta.auto", "oferta.concesionaria", "oferta.concesionaria.usuario"})
     List<Favorito> findByOferta(OfertaAuto oferta);
+
+    /**
+     * Lista todos los favoritos con sus asociaciones ya cargadas (listado de ADMIN).
+     */
+    @EntityGraph(attributePaths = {"usuario", "usuario.concesionaria", "oferta", "oferta.auto", "oferta.concesionaria", "oferta.concesionaria.usuario"})
+    @Query("SELECT f FROM Favorito f ORDER BY f.createdAt DESC")
+    List<Favorito> findAllConDetalle();
     
     /**
      * Cuenta cuántos usuarios tienen una oferta como favorito.
@@ -1,16 +1,89 @@
 package ar.edu.unq.pdss22025.repositories;
 
 import ar.edu.unq.pdss22025.models.OfertaAuto;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OfertaAutoRepository extends JpaRepository<OfertaAuto, Long> {
+public interface OfertaAutoRepository extends JpaRepository<OfertaAuto, Long>, JpaSpecificationExecutor<OfertaAuto> {
     List<OfertaAuto> findByConcesionariaId(Long concesionariaId);
     List<OfertaAuto> findByAutoId(Long autoId);
     boolean existsByConcesionariaIdAndAutoId(Long concesionariaId, Long autoId);
     Optional<OfertaAuto> findByConcesionariaIdAndAutoId(Long concesionariaId, Long autoId);
+    List<OfertaAuto> findByConcesionariaIdInAndAutoIdIn(Collection<Long> concesionariaIds, Collection<Long> autoIds);
+
+    /**
+     * Descuenta stock de forma atómica: el UPDATE sólo aplica si la oferta tiene stock suficiente,
+     * por lo que dos compras concurrentes nunca pueden dejar el stock negativo.
+     * @return cantidad de filas actualizadas (0 si la oferta no existe o no alcanza el stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE OfertaAuto o
+        SET o.stock = o.stock - :cantidad, o.updatedAt = :ahora
+        WHERE o.id = :ofertaId AND o.stock >= :cantidad
+        """)
+    int descontarStock(@Param("ofertaId") Long ofertaId,
+                       @Param("cantidad") int cantidad,
+                       @Param("ahora") OffsetDateTime ahora);
+
+    /**
+     * Trae y bloquea las ofertas indicadas en una sola consulta, para repartir su stock entre las líneas
+     * de una compra en lote. Se bloquean en orden de id, así dos lotes que comparten ofertas no pueden
+     * trabarse entre sí (deadlock).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OfertaAuto o WHERE o.id IN :ids ORDER BY o.id")
+    List<OfertaAuto> bloquearParaCompra(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Todas las ofertas con su auto y su concesionaria, en una sola consulta, para armar el índice de
+     * búsqueda por facetas ({@link ar.edu.unq.pdss22025.services.BuscadorOfertas}).
+     */
+    @Query("SELECT o FROM OfertaAuto o JOIN FETCH o.auto JOIN FETCH o.concesionaria")
+    List<OfertaAuto> findAllConAutoYConcesionaria();
+
+    /**
+     * Igual que {@link #findAllConAutoYConcesionaria()} pero sólo para las ofertas indicadas, para actualizar
+     * el índice con las ofertas que cambiaron.
+     */
+    @Query("SELECT o FROM OfertaAuto o JOIN FETCH o.auto JOIN FETCH o.concesionaria WHERE o.id IN :ids")
+    List<OfertaAuto> findConAutoYConcesionariaByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Suma a la oferta los favoritos agregados menos los eliminados desde el último volcado
+     * ({@link ar.edu.unq.pdss22025.services.ContadorFavoritos}).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OfertaAuto o SET o.cantidadFavoritos = o.cantidadFavoritos + :delta WHERE o.id = :ofertaId")
+    int sumarFavoritos(@Param("ofertaId") Long ofertaId, @Param("delta") long delta);
+
+    /**
+     * Ofertas cuyo contador de favoritos no coincide con la tabla favorito: id, contador y cantidad de favoritos.
+     */
+    @Query("""
+        SELECT o.id, o.cantidadFavoritos, (SELECT COUNT(f) FROM Favorito f WHERE f.oferta.id = o.id)
+        FROM OfertaAuto o
+        WHERE o.cantidadFavoritos <> (SELECT COUNT(f) FROM Favorito f WHERE f.oferta.id = o.id)
+        """)
+    List<Object[]> findDesviosFavoritos();
+
+    /**
+     * Corrige el contador de favoritos de la oferta si todavía tiene el valor leído.
+     * @return 1 si se corrigió, 0 si el contador cambió mientras tanto
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OfertaAuto o SET o.cantidadFavoritos = :cantidad WHERE o.id = :ofertaId AND o.cantidadFavoritos = :leida")
+    int corregirFavoritos(@Param("ofertaId") Long ofertaId, @Param("leida") long leida, @Param("cantidad") long cantidad);
 }
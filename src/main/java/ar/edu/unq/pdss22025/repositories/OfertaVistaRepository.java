@@ -0,0 +1,104 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.OfertaVista;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * Acceso al modelo de lectura de ofertas. Las filas se arman con INSERT ... SELECT desde las tablas de origen
+ * y los cambios puntuales son UPDATE atómicos, así nunca se lee y reescribe una fila entera.
+ * Las sentencias corren dentro de la transacción de quien publicó el evento: vacían los cambios pendientes
+ * antes de ejecutarse pero no limpian el contexto de persistencia, que todavía puede tener entidades sin guardar.
+ */
+@Repository
+public interface OfertaVistaRepository extends JpaRepository<OfertaVista, Long>, JpaSpecificationExecutor<OfertaVista> {
+
+    /**
+     * Arma las filas de las ofertas indicadas desde oferta_auto, auto, concesionaria y
+     * resumen_puntaje_auto. Las filas tienen que haberse borrado antes.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        INSERT INTO OfertaVista (id, autoId, marca, modelo, anioModelo, concesionariaId, concesionariaNombre,
+                                 concesionariaActiva, stock, precioActual, moneda, cantidadFavoritos,
+                                 cantidadResenas, promedioPuntaje, createdAt, updatedAt)
+        SELECT o.id, a.id, a.marca, a.modelo, a.anioModelo, c.id, c.nombre, c.activa, o.stock, o.precioActual, o.moneda,
+               o.cantidadFavoritos,
+               COALESCE(r.cantidad, 0), COALESCE(r.promedio, 0.0), o.createdAt, o.updatedAt
+        FROM OfertaAuto o
+        JOIN o.auto a
+        JOIN o.concesionaria c
+        LEFT JOIN ResumenPuntajeAuto r ON r.autoId = a.id
+        WHERE o.id IN :ids
+        """)
+    int proyectar(@Param("ids") Collection<Long> ofertaIds);
+
+    /**
+     * Igual que {@link #proyectar} pero para todas las ofertas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        INSERT INTO OfertaVista (id, autoId, marca, modelo, anioModelo, concesionariaId, concesionariaNombre,
+                                 concesionariaActiva, stock, precioActual, moneda, cantidadFavoritos,
+                                 cantidadResenas, promedioPuntaje, createdAt, updatedAt)
+        SELECT o.id, a.id, a.marca, a.modelo, a.anioModelo, c.id, c.nombre, c.activa, o.stock, o.precioActual, o.moneda,
+               o.cantidadFavoritos,
+               COALESCE(r.cantidad, 0), COALESCE(r.promedio, 0.0), o.createdAt, o.updatedAt
+        FROM OfertaAuto o
+        JOIN o.auto a
+        JOIN o.concesionaria c
+        LEFT JOIN ResumenPuntajeAuto r ON r.autoId = a.id
+        """)
+    int proyectarTodas();
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM OfertaVista v WHERE v.id IN :ids")
+    int borrar(@Param("ids") Collection<Long> ofertaIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM OfertaVista v")
+    int borrarTodas();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OfertaVista v SET v.stock = v.stock - :cantidad, v.updatedAt = :ahora WHERE v.id = :ofertaId")
+    int descontarStock(@Param("ofertaId") Long ofertaId,
+                       @Param("cantidad") int cantidad,
+                       @Param("ahora") OffsetDateTime ahora);
+
+    /**
+     * Suma a la oferta la diferencia de favoritos de un volcado del contador de favoritos.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OfertaVista v SET v.cantidadFavoritos = v.cantidadFavoritos + :delta WHERE v.id = :ofertaId")
+    int sumarFavoritos(@Param("ofertaId") Long ofertaId, @Param("delta") long delta);
+
+    /**
+     * Copia el contador de favoritos de oferta_auto en las filas en las que difiere, después de reconciliarlo.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE OfertaVista v
+        SET v.cantidadFavoritos = (SELECT o.cantidadFavoritos FROM OfertaAuto o WHERE o.id = v.id)
+        WHERE v.cantidadFavoritos <> (SELECT o.cantidadFavoritos FROM OfertaAuto o WHERE o.id = v.id)
+        """)
+    int copiarFavoritos();
+
+    /**
+     * Copia el resumen de reseñas del auto (ya actualizado en la transacción en curso) a todas sus ofertas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE OfertaVista v
+        SET v.cantidadResenas = COALESCE((SELECT r.cantidad FROM ResumenPuntajeAuto r WHERE r.autoId = :autoId), 0),
+            v.promedioPuntaje = COALESCE((SELECT r.promedio FROM ResumenPuntajeAuto r WHERE r.autoId = :autoId), 0.0)
+        WHERE v.autoId = :autoId
+        """)
+    int copiarPuntaje(@Param("autoId") Long autoId);
+}
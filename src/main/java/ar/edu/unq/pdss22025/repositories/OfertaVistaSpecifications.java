@@ -0,0 +1,95 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.OfertaVista;
+import ar.edu.unq.pdss22025.models.dto.FiltroCatalogoOfertas;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Especificaciones para el catálogo de ofertas: filtros y condición de keyset (seek) para paginar
+ * sin OFFSET, de modo que cada página cuesta lo mismo sin importar cuán adentro del catálogo esté.
+ * Se aplican sobre la vista de ofertas, que ya trae los datos del auto y de la concesionaria, así que
+ * ningún filtro necesita un JOIN.
+ */
+public final class OfertaVistaSpecifications {
+
+    private OfertaVistaSpecifications() {
+    }
+
+    public static Specification<OfertaVista> conFiltros(FiltroCatalogoOfertas filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+
+            if (filtro.getMarca() != null && !filtro.getMarca().isBlank()) {
+                predicados.add(cb.equal(cb.lower(root.get("marca")), filtro.getMarca().trim().toLowerCase(Locale.ROOT)));
+            }
+            if (filtro.getModelo() != null && !filtro.getModelo().isBlank()) {
+                predicados.add(cb.equal(cb.lower(root.get("modelo")), filtro.getModelo().trim().toLowerCase(Locale.ROOT)));
+            }
+            if (filtro.getAnioDesde() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("anioModelo"), filtro.getAnioDesde()));
+            }
+            if (filtro.getAnioHasta() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("anioModelo"), filtro.getAnioHasta()));
+            }
+            if (Boolean.TRUE.equals(filtro.getSoloConcesionariasActivas())) {
+                predicados.add(cb.isTrue(root.get("concesionariaActiva")));
+            }
+            if (filtro.getPrecioMin() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("precioActual"), filtro.getPrecioMin()));
+            }
+            if (filtro.getPrecioMax() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("precioActual"), filtro.getPrecioMax()));
+            }
+            if (filtro.getMoneda() != null && !filtro.getMoneda().isBlank()) {
+                predicados.add(cb.equal(root.get("moneda"), filtro.getMoneda().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (Boolean.TRUE.equals(filtro.getSoloConStock())) {
+                predicados.add(cb.greaterThan(root.get("stock"), 0));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Ofertas posteriores a (precio, id) en orden ascendente.
+     */
+    public static Specification<OfertaVista> despuesDePrecioAsc(BigDecimal precio, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("precioActual"), precio),
+                cb.and(cb.equal(root.get("precioActual"), precio), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /**
+     * Ofertas posteriores a (precio, id) en orden descendente.
+     */
+    public static Specification<OfertaVista> despuesDePrecioDesc(BigDecimal precio, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("precioActual"), precio),
+                cb.and(cb.equal(root.get("precioActual"), precio), cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * Ofertas más antiguas que (createdAt, id), para el orden de más recientes primero.
+     */
+    public static Specification<OfertaVista> anterioresA(OffsetDateTime creada, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), creada),
+                cb.and(cb.equal(root.get("createdAt"), creada), cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * Ofertas posteriores a (favoritos, id), para el orden de más favoritos primero.
+     */
+    public static Specification<OfertaVista> conMenosFavoritosQue(Long favoritos, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("cantidadFavoritos"), favoritos),
+                cb.and(cb.equal(root.get("cantidadFavoritos"), favoritos), cb.lessThan(root.get("id"), id)));
+    }
+}
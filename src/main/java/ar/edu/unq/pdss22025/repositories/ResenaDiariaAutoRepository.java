@@ -0,0 +1,106 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.ResenaDiariaAuto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ResenaDiariaAutoRepository extends JpaRepository<ResenaDiariaAuto, ResenaDiariaAuto.Clave> {
+
+    /**
+     * Suma al acumulado del día la cantidad de reseñas y la suma de puntajes indicadas (negativas para restar).
+     * Devuelve 0 si todavía no existe el registro del día.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ResenaDiariaAuto r
+        SET r.cantidad = r.cantidad + :cantidad,
+            r.suma = r.suma + :suma
+        WHERE r.fecha = :fecha AND r.autoId = :autoId
+        """)
+    int acumular(@Param("fecha") LocalDate fecha, @Param("autoId") Long autoId,
+                 @Param("cantidad") long cantidad, @Param("suma") long suma);
+
+    /**
+     * Bloquea la fila del auto para serializar la creación del registro del día entre reseñas concurrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id FROM Auto a WHERE a.id = :id")
+    Long bloquearAuto(@Param("id") Long id);
+
+    /**
+     * Ranking de autos mejores rankeados con las reseñas creadas en el rango (ambos extremos inclusive).
+     * Ordena por el mismo puntaje bayesiano que el ranking en memoria, tomando como promedio general el de
+     * las reseñas del rango. Cada fila es [autoId, marca, modelo, anioModelo, promedio, cantidad, puntajeRanking].
+     */
+    @Query(value = """
+        WITH rango AS (
+            SELECT r.auto_id, SUM(r.cantidad) AS cantidad, SUM(r.suma) AS suma
+            FROM resena_diaria_auto r
+            WHERE r.fecha >= :fechaDesde
+              AND r.fecha <= :fechaHasta
+            GROUP BY r.auto_id
+            HAVING SUM(r.cantidad) > 0
+        ), general AS (
+            SELECT COALESCE(CAST(SUM(suma) AS DOUBLE PRECISION) / NULLIF(SUM(cantidad), 0), 0) AS promedio
+            FROM rango
+        )
+        SELECT a.id as autoId, a.marca, a.modelo, a.anio_modelo as anioModelo,
+               CAST(r.suma AS DOUBLE PRECISION) / r.cantidad as promedioPuntaje,
+               r.cantidad as cantidadResenas,
+               (:pesoPrevio * g.promedio + r.suma) / (:pesoPrevio + r.cantidad) as puntajeRanking
+        FROM rango r
+        INNER JOIN auto a ON a.id = r.auto_id
+        CROSS JOIN general g
+        ORDER BY puntajeRanking DESC, cantidadResenas DESC, a.id
+        LIMIT :limite
+        """, nativeQuery = true)
+    List<Object[]> findRankingAutosMejorRankeados(@Param("fechaDesde") LocalDate fechaDesde,
+                                                  @Param("fechaHasta") LocalDate fechaHasta,
+                                                  @Param("pesoPrevio") double pesoPrevio,
+                                                  @Param("limite") int limite);
+
+    /**
+     * Igual que {@link #findRankingAutosMejorRankeados}, como stream para exportarlo sin cargarlo entero
+     * en memoria. Debe consumirse dentro de una transacción y cerrarse.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+        WITH rango AS (
+            SELECT r.auto_id, SUM(r.cantidad) AS cantidad, SUM(r.suma) AS suma
+            FROM resena_diaria_auto r
+            WHERE r.fecha >= :fechaDesde
+              AND r.fecha <= :fechaHasta
+            GROUP BY r.auto_id
+            HAVING SUM(r.cantidad) > 0
+        ), general AS (
+            SELECT COALESCE(CAST(SUM(suma) AS DOUBLE PRECISION) / NULLIF(SUM(cantidad), 0), 0) AS promedio
+            FROM rango
+        )
+        SELECT a.id as autoId, a.marca, a.modelo, a.anio_modelo as anioModelo,
+               CAST(r.suma AS DOUBLE PRECISION) / r.cantidad as promedioPuntaje,
+               r.cantidad as cantidadResenas,
+               (:pesoPrevio * g.promedio + r.suma) / (:pesoPrevio + r.cantidad) as puntajeRanking
+        FROM rango r
+        INNER JOIN auto a ON a.id = r.auto_id
+        CROSS JOIN general g
+        ORDER BY puntajeRanking DESC, cantidadResenas DESC, a.id
+        LIMIT :limite
+        """, nativeQuery = true)
+    Stream<Object[]> streamRankingAutosMejorRankeados(@Param("fechaDesde") LocalDate fechaDesde,
+                                                      @Param("fechaHasta") LocalDate fechaHasta,
+                                                      @Param("pesoPrevio") double pesoPrevio,
+                                                      @Param("limite") int limite);
+}
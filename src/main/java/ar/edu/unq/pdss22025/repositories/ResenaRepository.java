@@ -2,9 +2,9 @@ package ar.edu.unq.pdss22025.repositories;
 
 import ar.edu.unq.pdss22025.models.Auto;
 import ar.edu.unq.pdss22025.models.Resena;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,7 +15,9 @@ public interface ResenaRepository extends JpaRepository<Resena, Long> {
 
     /**
      * Busca todas las reseñas de un auto ordenadas por fecha de creación descendente.
+     * Trae auto y usuario en la misma consulta porque ResenaMapper los lee para cada reseña.
      */
+    @EntityGraph(attributePaths = {"auto", "usuario", "usuario.concesionaria"})
     @Query("SELECT r FROM Resena r WHERE r.auto = :auto ORDER BY r.createdAt DESC")
     List<Resena> findByAutoOrderByCreatedAtDesc(Auto auto);
     
@@ -25,9 +27,17 @@ public interface ResenaRepository extends JpaRepository<Resena, Long> {
     List<Resena> findByAutoId(Long autoId);
     
     /**
-     * Busca todas las reseñas de un usuario.
+     * Busca todas las reseñas de un usuario, con auto y usuario ya cargados.
      */
+    @EntityGraph(attributePaths = {"auto", "usuario", "usuario.concesionaria"})
     List<Resena> findByUsuarioId(Long usuarioId);
+
+    /**
+     * Lista todas las reseñas con auto y usuario ya cargados (listado de ADMIN).
+     */
+    @EntityGraph(attributePaths = {"auto", "usuario", "usuario.concesionaria"})
+    @Query("SELECT r FROM Resena r ORDER BY r.createdAt DESC")
+    List<Resena> findAllConDetalle();
     
     /**
      * Busca una reseña específica por usuario y auto.
@@ -39,31 +49,8 @@ public interface ResenaRepository extends JpaRepository<Resena, Long> {
      */
     boolean existsByUsuarioIdAndAutoId(Long usuarioId, Long autoId);
     
-    /**
-     * Calcula el promedio de puntaje de un auto.
-     */
-    @Query("SELECT AVG(r.rating) FROM Resena r WHERE r.auto.id = :autoId")
-    Double calcularPromedioPuntajePorAutoId(@Param("autoId") Long autoId);
-    
     /**
      * Cuenta la cantidad de reseñas de un auto.
      */
     long countByAutoId(Long autoId);
-    
-    /**
-     * Obtiene el top N de autos mejor rankeados (por promedio de puntaje y cantidad de reseñas).
-     * Retorna autos con al menos una reseña, ordenados por promedio descendente y cantidad de reseñas descendente.
-     */
-    @Query(value = """
-        SELECT a.id as autoId, a.marca, a.modelo, a.anio_modelo as anioModelo,
-               COALESCE(AVG(r.rating), 0) as promedioPuntaje,
-               COUNT(r.id) as cantidadResenas
-        FROM auto a
-        LEFT JOIN resena r ON a.id = r.auto_id
-        GROUP BY a.id, a.marca, a.modelo, a.anio_modelo
-        HAVING COUNT(r.id) > 0
-        ORDER BY promedioPuntaje DESC, cantidadResenas DESC
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<Object[]> findTopAutosMejorRanqueados(@Param("limit") int limit);
 }
@@ -0,0 +1,81 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.ResumenPuntajeAuto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResumenPuntajeAutoRepository extends JpaRepository<ResumenPuntajeAuto, Long> {
+
+    /**
+     * Suma (delta = 1) o resta (delta = -1) una reseña con el puntaje indicado al resumen del auto,
+     * recalculando el promedio en la misma sentencia. Devuelve 0 si el auto todavía no tiene resumen.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ResumenPuntajeAuto s
+        SET s.cantidad = s.cantidad + :delta,
+            s.suma = s.suma + :delta * :puntaje,
+            s.promedio = COALESCE(CAST(s.suma + :delta * :puntaje AS Double) / NULLIF(s.cantidad + :delta, 0), 0.0),
+            s.puntaje0 = s.puntaje0 + CASE WHEN :puntaje = 0 THEN :delta ELSE 0 END,
+            s.puntaje1 = s.puntaje1 + CASE WHEN :puntaje = 1 THEN :delta ELSE 0 END,
+            s.puntaje2 = s.puntaje2 + CASE WHEN :puntaje = 2 THEN :delta ELSE 0 END,
+            s.puntaje3 = s.puntaje3 + CASE WHEN :puntaje = 3 THEN :delta ELSE 0 END,
+            s.puntaje4 = s.puntaje4 + CASE WHEN :puntaje = 4 THEN :delta ELSE 0 END,
+            s.puntaje5 = s.puntaje5 + CASE WHEN :puntaje = 5 THEN :delta ELSE 0 END,
+            s.puntaje6 = s.puntaje6 + CASE WHEN :puntaje = 6 THEN :delta ELSE 0 END,
+            s.puntaje7 = s.puntaje7 + CASE WHEN :puntaje = 7 THEN :delta ELSE 0 END,
+            s.puntaje8 = s.puntaje8 + CASE WHEN :puntaje = 8 THEN :delta ELSE 0 END,
+            s.puntaje9 = s.puntaje9 + CASE WHEN :puntaje = 9 THEN :delta ELSE 0 END,
+            s.puntaje10 = s.puntaje10 + CASE WHEN :puntaje = 10 THEN :delta ELSE 0 END
+        WHERE s.autoId = :autoId
+        """)
+    int acumular(@Param("autoId") Long autoId, @Param("puntaje") int puntaje, @Param("delta") int delta);
+
+    /**
+     * Bloquea la fila del auto para serializar la creación de su resumen entre reseñas concurrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Auto a WHERE a.id = :id")
+    Auto bloquearAuto(@Param("id") Long id);
+
+    /**
+     * Lee el resumen bloqueándolo, para recalcularlo sin perder cambios de reseñas concurrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ResumenPuntajeAuto s WHERE s.autoId = :autoId")
+    Optional<ResumenPuntajeAuto> findParaActualizar(@Param("autoId") Long autoId);
+
+    /**
+     * Resúmenes con los datos de su auto, para armar el ranking en memoria.
+     * Cada fila es [autoId, marca, modelo, anioModelo, cantidad, suma].
+     */
+    @Query("""
+        SELECT s.autoId, a.marca, a.modelo, a.anioModelo, s.cantidad, s.suma
+        FROM ResumenPuntajeAuto s
+        JOIN Auto a ON a.id = s.autoId
+        """)
+    List<Object[]> findEntradasRanking();
+
+    /**
+     * Cantidad de reseñas por auto y puntaje calculada desde la tabla resena (para reconciliar los resúmenes).
+     * Cada fila es [autoId, puntaje, cantidad].
+     */
+    @Query("SELECT r.auto.id, r.rating, COUNT(r) FROM Resena r GROUP BY r.auto.id, r.rating")
+    List<Object[]> contarResenasPorAutoYPuntaje();
+
+    /**
+     * Cantidad de reseñas por puntaje de un auto, calculada desde la tabla resena. Cada fila es [puntaje, cantidad].
+     */
+    @Query("SELECT r.rating, COUNT(r) FROM Resena r WHERE r.auto.id = :autoId GROUP BY r.rating")
+    List<Object[]> contarResenasPorPuntaje(@Param("autoId") Long autoId);
+}
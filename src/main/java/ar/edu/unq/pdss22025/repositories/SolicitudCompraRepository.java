@@ -0,0 +1,31 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.SolicitudCompra;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SolicitudCompraRepository extends JpaRepository<SolicitudCompra, Long> {
+    Optional<SolicitudCompra> findByCompradorIdAndClaveIdempotencia(Long compradorId, String claveIdempotencia);
+
+    /**
+     * Trae y bloquea las solicitudes indicadas que siguen pendientes, en orden de id. Si otro trabajador
+     * (de esta u otra instancia) está procesando alguna, se espera a que termine y ya no se la devuelve.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SolicitudCompra s WHERE s.id IN :ids AND s.estado = :estado ORDER BY s.id")
+    List<SolicitudCompra> bloquearPorEstado(@Param("ids") Collection<Long> ids,
+                                            @Param("estado") SolicitudCompra.Estado estado);
+
+    @Query("SELECT s.id FROM SolicitudCompra s WHERE s.estado = :estado ORDER BY s.id")
+    List<Long> findIdsByEstado(@Param("estado") SolicitudCompra.Estado estado, Pageable pagina);
+}
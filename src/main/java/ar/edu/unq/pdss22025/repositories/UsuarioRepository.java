@@ -1,8 +1,13 @@
 package ar.edu.unq.pdss22025.repositories;
 
+import ar.edu.unq.pdss22025.models.usuario.EstadoUsuario;
 import ar.edu.unq.pdss22025.models.usuario.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -12,4 +17,25 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    /**
+     * Lee sólo el estado del usuario (activo y concesionaria) sin cargar la entidad.
+     */
+    @Query("""
+        SELECT new ar.edu.unq.pdss22025.models.usuario.EstadoUsuario(u.id, u.activo, c.id)
+        FROM Usuario u
+        LEFT JOIN u.concesionaria c
+        WHERE u.id = :id
+        """)
+    Optional<EstadoUsuario> findEstadoById(@Param("id") Long id);
+
+    /**
+     * Reemplaza el hash de la contraseña sólo si sigue siendo el leído, así un cambio de contraseña
+     * concurrente no se pisa con el rehash del login.
+     * @return 1 si se actualizó, 0 si el hash ya había cambiado
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.password = :nuevo WHERE u.id = :id AND u.password = :anterior")
+    int actualizarPassword(@Param("id") Long id, @Param("anterior") String anterior, @Param("nuevo") String nuevo);
 }
@@ -0,0 +1,100 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.VentaDiariaAuto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface VentaDiariaAutoRepository extends JpaRepository<VentaDiariaAuto, VentaDiariaAuto.Clave> {
+
+    /**
+     * Suma ventas al acumulado del día. Devuelve 0 si todavía no existe el registro del día.
+     */
+    @Modifying
+    @Query("""
+        UPDATE VentaDiariaAuto v
+        SET v.cantidad = v.cantidad + :cantidad,
+            v.total = v.total + :total,
+            v.sumaPrecioUnitario = v.sumaPrecioUnitario + :precioUnitario
+        WHERE v.fecha = :fecha AND v.autoId = :autoId
+        """)
+    int acumular(@Param("fecha") LocalDate fecha, @Param("autoId") Long autoId, @Param("cantidad") long cantidad,
+                 @Param("total") BigDecimal total, @Param("precioUnitario") BigDecimal precioUnitario);
+
+    /**
+     * Bloquea la fila del auto para serializar la creación del registro del día entre compras concurrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id FROM Auto a WHERE a.id = :id")
+    Long bloquearAuto(@Param("id") Long id);
+
+    /**
+     * Obtiene el Top 5 de autos más vendidos (sin filtros de fecha)
+     */
+    @Query(value = """
+        SELECT a.id as autoId, a.marca, a.modelo, a.anio_modelo as anioModelo,
+               SUM(v.cantidad) as cantidadVentas,
+               SUM(v.suma_precio_unitario) as sumaPrecioUnitario,
+               SUM(v.total) as totalIngresos
+        FROM venta_diaria_auto v
+        INNER JOIN auto a ON v.auto_id = a.id
+        GROUP BY a.id, a.marca, a.modelo, a.anio_modelo
+        ORDER BY cantidadVentas DESC, totalIngresos DESC
+        LIMIT 5
+        """, nativeQuery = true)
+    List<Object[]> findTop5AutosMasVendidos();
+
+    /**
+     * Obtiene el Top 5 de autos más vendidos (con filtros de fecha, ambos extremos inclusive)
+     */
+    @Query(value = """
+        SELECT a.id as autoId, a.marca, a.modelo, a.anio_modelo as anioModelo,
+               SUM(v.cantidad) as cantidadVentas,
+               SUM(v.suma_precio_unitario) as sumaPrecioUnitario,
+               SUM(v.total) as totalIngresos
+        FROM venta_diaria_auto v
+        INNER JOIN auto a ON v.auto_id = a.id
+        WHERE v.fecha >= :fechaDesde
+          AND v.fecha <= :fechaHasta
+        GROUP BY a.id, a.marca, a.modelo, a.anio_modelo
+        ORDER BY cantidadVentas DESC, totalIngresos DESC
+        LIMIT 5
+        """, nativeQuery = true)
+    List<Object[]> findTop5AutosMasVendidos(@Param("fechaDesde") LocalDate fechaDesde,
+                                             @Param("fechaHasta") LocalDate fechaHasta);
+
+    /**
+     * Ranking completo de autos más vendidos en el rango (ambos extremos inclusive), como stream
+     * para exportarlo sin cargarlo entero en memoria. Debe consumirse dentro de una transacción y cerrarse.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+        SELECT a.id as autoId, a.marca, a.modelo, a.anio_modelo as anioModelo,
+               SUM(v.cantidad) as cantidadVentas,
+               SUM(v.suma_precio_unitario) as sumaPrecioUnitario,
+               SUM(v.total) as totalIngresos
+        FROM venta_diaria_auto v
+        INNER JOIN auto a ON v.auto_id = a.id
+        WHERE v.fecha >= :fechaDesde
+          AND v.fecha <= :fechaHasta
+        GROUP BY a.id, a.marca, a.modelo, a.anio_modelo
+        ORDER BY cantidadVentas DESC, totalIngresos DESC, a.id
+        LIMIT :limite
+        """, nativeQuery = true)
+    Stream<Object[]> streamRankingAutosMasVendidos(@Param("fechaDesde") LocalDate fechaDesde,
+                                                   @Param("fechaHasta") LocalDate fechaHasta,
+                                                   @Param("limite") int limite);
+}
@@ -0,0 +1,94 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.VentaDiariaComprador;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface VentaDiariaCompradorRepository extends JpaRepository<VentaDiariaComprador, VentaDiariaComprador.Clave> {
+
+    @Modifying
+    @Query("""
+        UPDATE VentaDiariaComprador v
+        SET v.cantidad = v.cantidad + :cantidad,
+            v.total = v.total + :total,
+            v.sumaPrecioUnitario = v.sumaPrecioUnitario + :precioUnitario
+        WHERE v.fecha = :fecha AND v.compradorId = :compradorId
+        """)
+    int acumular(@Param("fecha") LocalDate fecha, @Param("compradorId") Long compradorId, @Param("cantidad") long cantidad,
+                 @Param("total") BigDecimal total, @Param("precioUnitario") BigDecimal precioUnitario);
+
+    /**
+     * Bloquea la fila del comprador para serializar la creación del registro del día entre compras concurrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM Usuario u WHERE u.id = :id")
+    Long bloquearComprador(@Param("id") Long id);
+
+    /**
+     * Obtiene el Top 5 de usuarios con más compras (sin filtros de fecha)
+     */
+    @Query(value = """
+        SELECT u.id as usuarioId, u.nombre, u.apellido, u.email,
+               SUM(v.cantidad) as cantidadCompras,
+               SUM(v.total) as totalGastado
+        FROM venta_diaria_comprador v
+        INNER JOIN usuario u ON v.comprador_id = u.id
+        GROUP BY u.id, u.nombre, u.apellido, u.email
+        ORDER BY cantidadCompras DESC, totalGastado DESC
+        LIMIT 5
+        """, nativeQuery = true)
+    List<Object[]> findTop5UsuariosMasCompras();
+
+    /**
+     * Obtiene el Top 5 de usuarios con más compras (con filtros de fecha, ambos extremos inclusive)
+     */
+    @Query(value = """
+        SELECT u.id as usuarioId, u.nombre, u.apellido, u.email,
+               SUM(v.cantidad) as cantidadCompras,
+               SUM(v.total) as totalGastado
+        FROM venta_diaria_comprador v
+        INNER JOIN usuario u ON v.comprador_id = u.id
+        WHERE v.fecha >= :fechaDesde
+          AND v.fecha <= :fechaHasta
+        GROUP BY u.id, u.nombre, u.apellido, u.email
+        ORDER BY cantidadCompras DESC, totalGastado DESC
+        LIMIT 5
+        """, nativeQuery = true)
+    List<Object[]> findTop5UsuariosMasCompras(@Param("fechaDesde") LocalDate fechaDesde,
+                                               @Param("fechaHasta") LocalDate fechaHasta);
+
+    /**
+     * Ranking completo de compradores en el rango (ambos extremos inclusive), como stream para exportarlo.
+     * Debe consumirse dentro de una transacción y cerrarse.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+        SELECT u.id as usuarioId, u.nombre, u.apellido, u.email,
+               SUM(v.cantidad) as cantidadCompras,
+               SUM(v.total) as totalGastado
+        FROM venta_diaria_comprador v
+        INNER JOIN usuario u ON v.comprador_id = u.id
+        WHERE v.fecha >= :fechaDesde
+          AND v.fecha <= :fechaHasta
+        GROUP BY u.id, u.nombre, u.apellido, u.email
+        ORDER BY cantidadCompras DESC, totalGastado DESC, u.id
+        LIMIT :limite
+        """, nativeQuery = true)
+    Stream<Object[]> streamRankingUsuariosMasCompras(@Param("fechaDesde") LocalDate fechaDesde,
+                                                     @Param("fechaHasta") LocalDate fechaHasta,
+                                                     @Param("limite") int limite);
+}
@@ -0,0 +1,94 @@
+package ar.edu.unq.pdss22025.repositories;
+
+import ar.edu.unq.pdss22025.models.VentaDiariaConcesionaria;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface VentaDiariaConcesionariaRepository extends JpaRepository<VentaDiariaConcesionaria, VentaDiariaConcesionaria.Clave> {
+
+    @Modifying
+    @Query("""
+        UPDATE VentaDiariaConcesionaria v
+        SET v.cantidad = v.cantidad + :cantidad,
+            v.total = v.total + :total,
+            v.sumaPrecioUnitario = v.sumaPrecioUnitario + :precioUnitario
+        WHERE v.fecha = :fecha AND v.concesionariaId = :concesionariaId
+        """)
+    int acumular(@Param("fecha") LocalDate fecha, @Param("concesionariaId") Long concesionariaId, @Param("cantidad") long cantidad,
+                 @Param("total") BigDecimal total, @Param("precioUnitario") BigDecimal precioUnitario);
+
+    /**
+     * Bloquea la fila de la concesionaria para serializar la creación del registro del día entre compras concurrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Concesionaria c WHERE c.id = :id")
+    Long bloquearConcesionaria(@Param("id") Long id);
+
+    /**
+     * Obtiene el Top 5 de agencias con más ventas (sin filtros de fecha)
+     */
+    @Query(value = """
+        SELECT con.id as concesionariaId, con.nombre as razonSocial,
+               SUM(v.cantidad) as cantidadVentas,
+               SUM(v.total) as totalIngresos
+        FROM venta_diaria_concesionaria v
+        INNER JOIN concesionaria con ON v.concesionaria_id = con.id
+        GROUP BY con.id, con.nombre
+        ORDER BY cantidadVentas DESC, totalIngresos DESC
+        LIMIT 5
+        """, nativeQuery = true)
+    List<Object[]> findTop5AgenciasMasVentas();
+
+    /**
+     * Obtiene el Top 5 de agencias con más ventas (con filtros de fecha, ambos extremos inclusive)
+     */
+    @Query(value = """
+        SELECT con.id as concesionariaId, con.nombre as razonSocial,
+               SUM(v.cantidad) as cantidadVentas,
+               SUM(v.total) as totalIngresos
+        FROM venta_diaria_concesionaria v
+        INNER JOIN concesionaria con ON v.concesionaria_id = con.id
+        WHERE v.fecha >= :fechaDesde
+          AND v.fecha <= :fechaHasta
+        GROUP BY con.id, con.nombre
+        ORDER BY cantidadVentas DESC, totalIngresos DESC
+        LIMIT 5
+        """, nativeQuery = true)
+    List<Object[]> findTop5AgenciasMasVentas(@Param("fechaDesde") LocalDate fechaDesde,
+                                              @Param("fechaHasta") LocalDate fechaHasta);
+
+    /**
+     * Ranking completo de agencias en el rango (ambos extremos inclusive), como stream para exportarlo.
+     * Debe consumirse dentro de una transacción y cerrarse.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+        SELECT con.id as concesionariaId, con.nombre as razonSocial,
+               SUM(v.cantidad) as cantidadVentas,
+               SUM(v.total) as totalIngresos
+        FROM venta_diaria_concesionaria v
+        INNER JOIN concesionaria con ON v.concesionaria_id = con.id
+        WHERE v.fecha >= :fechaDesde
+          AND v.fecha <= :fechaHasta
+        GROUP BY con.id, con.nombre
+        ORDER BY cantidadVentas DESC, totalIngresos DESC, con.id
+        LIMIT :limite
+        """, nativeQuery = true)
+    Stream<Object[]> streamRankingAgenciasMasVentas(@Param("fechaDesde") LocalDate fechaDesde,
+                                                    @Param("fechaHasta") LocalDate fechaHasta,
+                                                    @Param("limite") int limite);
+}
@@ -1,10 +1,18 @@
 package ar.edu.unq.pdss22025.services;
 
+import ar.edu.unq.pdss22025.config.CacheConfig;
 import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.mapper.AutoMapper;
 import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.dto.AutoResponse;
 import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -12,9 +20,16 @@ import java.util.List;
 public class AutoService {
 
     private final AutoRepository autoRepository;
+    private final IndiceAutos indiceAutos;
+    private final CacheManager cacheManager;
+    private final AutoMapper autoMapper;
 
-    public AutoService(AutoRepository autoRepository) {
+    public AutoService(AutoRepository autoRepository, IndiceAutos indiceAutos, CacheManager cacheManager,
+                       AutoMapper autoMapper) {
         this.autoRepository = autoRepository;
+        this.indiceAutos = indiceAutos;
+        this.cacheManager = cacheManager;
+        this.autoMapper = autoMapper;
     }
 
     @Transactional
@@ -29,11 +44,20 @@ public class AutoService {
                 .anioModelo(anioModelo)
                 .build();
 
-        return autoRepository.save(auto);
+        Auto guardado = autoRepository.save(auto);
+        indiceAutos.agregar(guardado);
+        invalidarCatalogo(marca);
+        return guardado;
     }
 
-    public List<Auto> listarAutos() {
-        return autoRepository.findAll();
+    /**
+     * Lista todos los autos. El resultado se cachea como una lista inmutable de {@link AutoResponse}: las
+     * entidades no se cachean porque quedan ligadas a la sesión que las leyó y sus colecciones son lazy.
+     */
+    @Cacheable(CacheConfig.AUTOS)
+    @Transactional(readOnly = true)
+    public List<AutoResponse> listarAutos() {
+        return autoRepository.findAll().stream().map(autoMapper::toResponse).toList();
     }
 
     @Transactional
@@ -41,22 +65,81 @@ public class AutoService {
         Auto auto = autoRepository.findById(id)
                 .orElseThrow(() -> new EntidadNoEncontradaException("Auto con ID " + id + " no encontrado"));
         autoRepository.delete(auto);
+        indiceAutos.quitar(id);
+        invalidarCatalogo(auto.getMarca());
     }
 
     /**
      * Obtiene todas las marcas únicas de los autos.
      */
+    @Cacheable(CacheConfig.MARCAS)
     @Transactional(readOnly = true)
     public List<String> obtenerMarcas() {
-        return autoRepository.findDistinctMarcas();
+        return List.copyOf(autoRepository.findDistinctMarcas());
     }
 
     /**
      * Obtiene todos los modelos únicos de una marca específica.
      */
+    @Cacheable(cacheNames = CacheConfig.MODELOS_POR_MARCA, key = "T(ar.edu.unq.pdss22025.config.CacheConfig).claveMarca(#marca)")
     @Transactional(readOnly = true)
     public List<String> obtenerModelosPorMarca(String marca) {
-        return autoRepository.findDistinctModelosByMarca(marca);
+        return List.copyOf(autoRepository.findDistinctModelosByMarca(marca));
+    }
+
+    /**
+     * Busca autos por marca, modelo o año para el buscador con autocompletado.
+     * Se resuelve con el índice en memoria, sin consultar la base.
+     */
+    public List<IndiceAutos.Sugerencia> buscarAutos(String consulta, int limite) {
+        if (limite <= 0) {
+            throw new RuntimeException("El límite debe ser mayor a cero");
+        }
+        return indiceAutos.buscar(consulta, limite);
+    }
+
+    /**
+     * Reconstruye el índice de búsqueda y vacía las cachés del catálogo. Lo usa la importación masiva,
+     * que crea los autos en lotes sin pasar por {@link #crearAuto}; se llama después de confirmar los lotes.
+     */
+    public void refrescarCatalogo() {
+        indiceAutos.reconstruir();
+        evictar(CacheConfig.MARCAS, null);
+        evictar(CacheConfig.MODELOS_POR_MARCA, null);
+        evictar(CacheConfig.AUTOS, null);
     }
-}
 
+    /**
+     * Descarta de la caché las marcas, los modelos de la marca modificada y el listado de autos.
+     * Si hay una transacción en curso se vuelven a descartar al confirmarla, para que una lectura
+     * concurrente no deje cacheado el catálogo anterior.
+     */
+    private void invalidarCatalogo(String marca) {
+        Runnable invalidar = () -> {
+            evictar(CacheConfig.MARCAS, null);
+            evictar(CacheConfig.MODELOS_POR_MARCA, CacheConfig.claveMarca(marca));
+            evictar(CacheConfig.AUTOS, null);
+        };
+        invalidar.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar.run();
+                }
+            });
+        }
+    }
+
+    private void evictar(String nombre, Object clave) {
+        Cache cache = cacheManager.getCache(nombre);
+        if (cache == null) {
+            return;
+        }
+        if (clave == null) {
+            cache.clear();
+        } else {
+            cache.evict(clave);
+        }
+    }
+}
@@ -0,0 +1,556 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.dto.FiltroFacetasOfertas;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.services.eventos.BusEventos;
+import ar.edu.unq.pdss22025.services.eventos.ConsumidorEventos;
+import ar.edu.unq.pdss22025.services.eventos.EventoDominio;
+import ar.edu.unq.pdss22025.services.eventos.OfertaCreada;
+import ar.edu.unq.pdss22025.services.eventos.OfertasImportadas;
+import ar.edu.unq.pdss22025.services.eventos.StockDescontado;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Búsqueda de ofertas por facetas (marca, año, concesionaria, moneda y rango de precio) con la cantidad
+ * de ofertas de cada valor, resuelta en memoria sin consultar la base.
+ * <p>
+ * Por cada valor de cada faceta se guarda un mapa de bits con las posiciones de las ofertas que lo tienen
+ * (palabras de 64 bits, recortadas en la última posición ocupada). Un filtro es un OR de los valores elegidos
+ * dentro de cada faceta y un AND entre facetas; la cantidad de cada valor sale de contar los bits de la
+ * intersección con el resto de los filtros, sin armar listas intermedias. Las ofertas de la foto están
+ * ordenadas por precio, así que el orden por precio es recorrer los bits en un sentido o en el otro.
+ * <p>
+ * Igual que {@link IndiceAutos}, las búsquedas leen una foto inmutable sin tomar locks. Los cambios llegan
+ * por el {@link BusEventos} después de confirmarse, fuera del hilo del pedido: por cada lote de eventos
+ * (altas, importaciones y descuentos de stock) se vuelven a leer las ofertas que cambiaron en una sola
+ * consulta y se arma una foto nueva. Como se copia el estado confirmado y no se aplican diferencias, da
+ * igual que un evento llegue repetido o que dos compras se confirmen en un orden y se avisen en otro.
+ * Mientras tanto las búsquedas pueden devolver, por unos milisegundos, el stock anterior.
+ */
+@Component
+public class BuscadorOfertas implements ConsumidorEventos {
+
+    public static final String FACETA_MARCA = "marca";
+    public static final String FACETA_ANIO = "anio";
+    public static final String FACETA_CONCESIONARIA = "concesionaria";
+    public static final String FACETA_MONEDA = "moneda";
+    public static final String FACETA_RANGO_PRECIO = "rangoPrecio";
+
+    private static final String[] FACETAS = {FACETA_MARCA, FACETA_ANIO, FACETA_CONCESIONARIA, FACETA_MONEDA, FACETA_RANGO_PRECIO};
+    private static final int MARCA = 0;
+    private static final int ANIO = 1;
+    private static final int CONCESIONARIA = 2;
+    private static final int MONEDA = 3;
+    private static final int RANGO_PRECIO = 4;
+
+    private static final long[] VACIO = new long[0];
+    // Ofertas por consulta al actualizar el índice, para no armar un IN con miles de parámetros
+    private static final int OFERTAS_POR_CONSULTA = 1000;
+
+    // Las ofertas de la foto van por precio y, a igual precio, por id
+    private static final Comparator<Entrada> ORDEN_PRECIO = Comparator
+            .comparing((Entrada e) -> e.oferta().precio())
+            .thenComparing(e -> e.oferta().id());
+
+    private final OfertaAutoRepository ofertaAutoRepository;
+    private final BigDecimal[] limitesPrecio;
+    private final List<String> rangosPrecio;
+    private final List<Comparator<Valor>> ordenValores;
+
+    private final ReentrantLock escritura = new ReentrantLock();
+    private volatile Foto foto;
+
+    public BuscadorOfertas(OfertaAutoRepository ofertaAutoRepository,
+                           @Value("${ofertas.busqueda.rangos-precio:10000,20000,30000,50000,100000}") String[] limitesPrecio) {
+        this.ofertaAutoRepository = ofertaAutoRepository;
+        this.limitesPrecio = Arrays.stream(limitesPrecio)
+                .map(String::trim)
+                .map(BigDecimal::new)
+                .sorted()
+                .distinct()
+                .toArray(BigDecimal[]::new);
+        if (this.limitesPrecio.length == 0 || this.limitesPrecio[0].signum() <= 0) {
+            throw new IllegalArgumentException("ofertas.busqueda.rangos-precio debe tener límites mayores a cero");
+        }
+        List<String> rangos = new ArrayList<>(this.limitesPrecio.length + 1);
+        BigDecimal anterior = BigDecimal.ZERO;
+        for (BigDecimal limite : this.limitesPrecio) {
+            rangos.add(texto(anterior) + "-" + texto(limite));
+            anterior = limite;
+        }
+        rangos.add(texto(anterior) + "+");
+        this.rangosPrecio = List.copyOf(rangos);
+        this.ordenValores = List.of(
+                Comparator.comparing(Valor::etiqueta, String.CASE_INSENSITIVE_ORDER),
+                Comparator.comparing((Valor v) -> Integer.valueOf(v.valor())).reversed(),
+                Comparator.comparing(Valor::etiqueta, String.CASE_INSENSITIVE_ORDER).thenComparing(v -> Long.valueOf(v.valor())),
+                Comparator.comparing(Valor::valor),
+                Comparator.comparingInt(v -> rangosPrecio.indexOf(v.valor())));
+    }
+
+    /**
+     * Oferta encontrada, con los datos del auto y de la concesionaria que muestra el listado.
+     */
+    public record Oferta(Long id, Long autoId, String marca, String modelo, Integer anioModelo,
+                         Long concesionariaId, String concesionaria, int stock, BigDecimal precio,
+                         String moneda, OffsetDateTime creada) {
+    }
+
+    /**
+     * Valor de una faceta con la cantidad de ofertas que quedarían al elegirlo, manteniendo el resto de los filtros.
+     */
+    public record ValorFaceta(String valor, String etiqueta, int cantidad, boolean seleccionado) {
+    }
+
+    /**
+     * Página de ofertas, el total que cumple los filtros y los valores de cada faceta (en el orden de {@link #FACETAS}).
+     */
+    public record Resultado(int total, List<Oferta> ofertas, Map<String, List<ValorFaceta>> facetas) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        reconstruir();
+    }
+
+    /**
+     * Vuelve a armar el índice con las ofertas de la base.
+     */
+    public void reconstruir() {
+        escritura.lock();
+        try {
+            List<Entrada> entradas = new ArrayList<>();
+            for (OfertaAuto oferta : ofertaAutoRepository.findAllConAutoYConcesionaria()) {
+                entradas.add(entrada(oferta));
+            }
+            foto = Foto.armar(entradas, ordenValores);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Rangos de precio de la faceta {@value #FACETA_RANGO_PRECIO}, de menor a mayor.
+     */
+    public List<String> rangosPrecio() {
+        return rangosPrecio;
+    }
+
+    /**
+     * Busca las ofertas que cumplen el filtro y cuenta, para cada valor de cada faceta, cuántas ofertas
+     * quedarían al elegirlo.
+     * @param desde cantidad de ofertas a saltear (para paginar)
+     * @param limite cantidad máxima de ofertas a devolver
+     */
+    public Resultado buscar(FiltroFacetasOfertas filtro, OrdenCatalogoOfertas orden, int desde, int limite) {
+        Foto actual = foto;
+        if (actual == null) {
+            actual = cargar();
+        }
+
+        long[] base = actual.todas();
+        if (!Boolean.FALSE.equals(filtro.getSoloConcesionariasActivas())) {
+            base = and(base, actual.activas());
+        }
+        if (!Boolean.FALSE.equals(filtro.getSoloConStock())) {
+            base = and(base, actual.conStock());
+        }
+
+        // Por faceta, las ofertas que tienen alguno de los valores elegidos (null si la faceta no filtra)
+        List<List<String>> elegidos = elegidos(filtro);
+        long[][] porFaceta = new long[FACETAS.length][];
+        for (int f = 0; f < FACETAS.length; f++) {
+            if (!elegidos.get(f).isEmpty()) {
+                long[] union = VACIO;
+                for (String valor : elegidos.get(f)) {
+                    union = or(union, actual.facetas()[f].bits(valor));
+                }
+                porFaceta[f] = union;
+            }
+        }
+        long[] resultado = base;
+        for (long[] bits : porFaceta) {
+            if (bits != null) {
+                resultado = and(resultado, bits);
+            }
+        }
+
+        Map<String, List<ValorFaceta>> facetas = new LinkedHashMap<>();
+        for (int f = 0; f < FACETAS.length; f++) {
+            // Los valores de una faceta se cuentan con los filtros de las demás, no con el suyo
+            long[] otros = base;
+            for (int g = 0; g < FACETAS.length; g++) {
+                if (g != f && porFaceta[g] != null) {
+                    otros = and(otros, porFaceta[g]);
+                }
+            }
+            facetas.put(FACETAS[f], actual.facetas()[f].contar(otros, elegidos.get(f)));
+        }
+
+        return new Resultado(cardinalidad(resultado), actual.pagina(resultado, orden, desde, limite), facetas);
+    }
+
+    @Override
+    public String nombre() {
+        return "buscador-ofertas";
+    }
+
+    /**
+     * Vuelve a leer las ofertas creadas, importadas o con stock descontado en el lote y las reemplaza en el índice.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        // Si todavía no se cargó, la carga va a leer los cambios ya confirmados de la base
+        if (foto == null) {
+            return;
+        }
+        Set<Long> cambiadas = new LinkedHashSet<>();
+        for (EventoDominio evento : lote) {
+            switch (evento) {
+                case OfertaCreada creada -> cambiadas.add(creada.ofertaId());
+                case OfertasImportadas importadas -> cambiadas.addAll(importadas.ofertaIds());
+                case StockDescontado descontado -> cambiadas.add(descontado.ofertaId());
+                default -> { }
+            }
+        }
+        if (cambiadas.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(cambiadas);
+        List<Entrada> entradas = new ArrayList<>(ids.size());
+        for (int desde = 0; desde < ids.size(); desde += OFERTAS_POR_CONSULTA) {
+            List<Long> parte = ids.subList(desde, Math.min(ids.size(), desde + OFERTAS_POR_CONSULTA));
+            for (OfertaAuto oferta : ofertaAutoRepository.findConAutoYConcesionariaByIdIn(parte)) {
+                entradas.add(entrada(oferta));
+            }
+        }
+        aplicar(entradas);
+    }
+
+    private Foto cargar() {
+        escritura.lock();
+        try {
+            if (foto == null) {
+                reconstruir();
+            }
+            return foto;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Agrega o reemplaza las ofertas en el índice. Si sólo les cambió el stock se copian las entradas sin
+     * reordenar ni rearmar las facetas; si no, se arma la foto de nuevo una sola vez para todo el lote.
+     */
+    private void aplicar(List<Entrada> nuevas) {
+        escritura.lock();
+        try {
+            if (foto == null || nuevas.isEmpty()) {
+                return;
+            }
+            Foto actual = foto;
+            boolean soloStock = true;
+            for (Entrada nueva : nuevas) {
+                Integer posicion = actual.posiciones().get(nueva.oferta().id());
+                if (posicion == null || !actual.entradas()[posicion].igualSalvoStock(nueva)) {
+                    soloStock = false;
+                    break;
+                }
+            }
+            if (soloStock) {
+                for (Entrada nueva : nuevas) {
+                    actual = actual.conStock(actual.posiciones().get(nueva.oferta().id()), nueva.oferta().stock());
+                }
+                foto = actual;
+                return;
+            }
+            Map<Long, Entrada> porId = new HashMap<>(nuevas.size() * 2);
+            nuevas.forEach(nueva -> porId.put(nueva.oferta().id(), nueva));
+            List<Entrada> entradas = new ArrayList<>(actual.entradas().length + nuevas.size());
+            for (Entrada entrada : actual.entradas()) {
+                if (!porId.containsKey(entrada.oferta().id())) {
+                    entradas.add(entrada);
+                }
+            }
+            entradas.addAll(porId.values());
+            foto = Foto.armar(entradas, ordenValores);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private Entrada entrada(OfertaAuto oferta) {
+        Oferta datos = new Oferta(oferta.getId(), oferta.getAuto().getId(), oferta.getAuto().getMarca(),
+                oferta.getAuto().getModelo(), oferta.getAuto().getAnioModelo(), oferta.getConcesionaria().getId(),
+                oferta.getConcesionaria().getNombre(), oferta.getStock(), oferta.getPrecioActual(),
+                oferta.getMoneda(), oferta.getCreatedAt());
+        Valor[] valores = new Valor[FACETAS.length];
+        valores[MARCA] = new Valor(clave(datos.marca()), datos.marca());
+        if (datos.anioModelo() != null) {
+            valores[ANIO] = new Valor(datos.anioModelo().toString(), datos.anioModelo().toString());
+        }
+        valores[CONCESIONARIA] = new Valor(datos.concesionariaId().toString(), datos.concesionaria());
+        valores[MONEDA] = new Valor(moneda(datos.moneda()), moneda(datos.moneda()));
+        String rango = rangosPrecio.get(rango(datos.precio()));
+        valores[RANGO_PRECIO] = new Valor(rango, rango);
+        return new Entrada(datos, Boolean.TRUE.equals(oferta.getConcesionaria().getActiva()), valores);
+    }
+
+    /** Posición del rango de precio: el primer límite mayor al precio, o el último rango abierto. */
+    private int rango(BigDecimal precio) {
+        for (int i = 0; i < limitesPrecio.length; i++) {
+            if (precio.compareTo(limitesPrecio[i]) < 0) {
+                return i;
+            }
+        }
+        return limitesPrecio.length;
+    }
+
+    /** Valores elegidos de cada faceta, normalizados como las claves del índice. */
+    private static List<List<String>> elegidos(FiltroFacetasOfertas filtro) {
+        List<List<String>> elegidos = new ArrayList<>(FACETAS.length);
+        elegidos.add(normalizar(filtro.getMarca(), BuscadorOfertas::clave));
+        elegidos.add(normalizar(filtro.getAnio(), Object::toString));
+        elegidos.add(normalizar(filtro.getConcesionaria(), Object::toString));
+        elegidos.add(normalizar(filtro.getMoneda(), BuscadorOfertas::moneda));
+        elegidos.add(normalizar(filtro.getRangoPrecio(), String::trim));
+        return elegidos;
+    }
+
+    private static <T> List<String> normalizar(Collection<T> valores, Function<T, String> clave) {
+        if (valores == null) {
+            return List.of();
+        }
+        return valores.stream()
+                .filter(v -> v != null && !v.toString().isBlank())
+                .map(clave)
+                .distinct()
+                .toList();
+    }
+
+    private static String clave(String marca) {
+        return marca.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String moneda(String moneda) {
+        return moneda.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String texto(BigDecimal limite) {
+        return limite.stripTrailingZeros().toPlainString();
+    }
+
+    static long[] and(long[] a, long[] b) {
+        int largo = Math.min(a.length, b.length);
+        long[] resultado = new long[largo];
+        for (int i = 0; i < largo; i++) {
+            resultado[i] = a[i] & b[i];
+        }
+        return resultado;
+    }
+
+    static long[] or(long[] a, long[] b) {
+        long[] mayor = a.length >= b.length ? a : b;
+        long[] menor = mayor == a ? b : a;
+        long[] resultado = mayor.clone();
+        for (int i = 0; i < menor.length; i++) {
+            resultado[i] |= menor[i];
+        }
+        return resultado;
+    }
+
+    static int cardinalidad(long[] bits) {
+        int total = 0;
+        for (long palabra : bits) {
+            total += Long.bitCount(palabra);
+        }
+        return total;
+    }
+
+    /** Cantidad de bits en común, sin armar la intersección. */
+    static int cardinalidadInterseccion(long[] a, long[] b) {
+        int largo = Math.min(a.length, b.length);
+        int total = 0;
+        for (int i = 0; i < largo; i++) {
+            total += Long.bitCount(a[i] & b[i]);
+        }
+        return total;
+    }
+
+    private static boolean contiene(long[] bits, int posicion) {
+        int palabra = posicion >>> 6;
+        return palabra < bits.length && (bits[palabra] & (1L << posicion)) != 0;
+    }
+
+    private record Valor(String valor, String etiqueta) {
+    }
+
+    private record Entrada(Oferta oferta, boolean activa, Valor[] valores) {
+
+        Entrada conStock(int stock) {
+            Oferta o = oferta;
+            return new Entrada(new Oferta(o.id(), o.autoId(), o.marca(), o.modelo(), o.anioModelo(), o.concesionariaId(),
+                    o.concesionaria(), stock, o.precio(), o.moneda(), o.creada()), activa, valores);
+        }
+
+        /** Los valores de las facetas salen de los datos de la oferta, así que alcanza con comparar esos datos. */
+        boolean igualSalvoStock(Entrada otra) {
+            return activa == otra.activa() && oferta.equals(otra.conStock(oferta.stock()).oferta());
+        }
+    }
+
+    /**
+     * Valores de una faceta en el orden en que se muestran, con el mapa de bits de cada uno.
+     */
+    private record Faceta(Valor[] valores, long[][] bits, Map<String, Integer> posiciones) {
+
+        long[] bits(String valor) {
+            Integer posicion = posiciones.get(valor);
+            return posicion != null ? bits[posicion] : VACIO;
+        }
+
+        /** Cantidad de ofertas de cada valor dentro de {@code filtradas}; los valores sin ofertas se omiten salvo que estén elegidos. */
+        List<ValorFaceta> contar(long[] filtradas, List<String> elegidos) {
+            List<ValorFaceta> conteos = new ArrayList<>();
+            for (int i = 0; i < valores.length; i++) {
+                int cantidad = cardinalidadInterseccion(filtradas, bits[i]);
+                boolean elegido = elegidos.contains(valores[i].valor());
+                if (cantidad > 0 || elegido) {
+                    conteos.add(new ValorFaceta(valores[i].valor(), valores[i].etiqueta(), cantidad, elegido));
+                }
+            }
+            return conteos;
+        }
+    }
+
+    /**
+     * Foto inmutable del índice: las ofertas ordenadas por precio, los mapas de bits de cada faceta y de las
+     * ofertas de concesionarias activas y con stock, y las posiciones ordenadas de más recientes a más antiguas.
+     */
+    private record Foto(Entrada[] entradas, Map<Long, Integer> posiciones, long[] todas, long[] activas,
+                        long[] conStock, Faceta[] facetas, int[] porRecientes) {
+
+        static Foto armar(List<Entrada> entradas, List<Comparator<Valor>> ordenValores) {
+            entradas.sort(ORDEN_PRECIO);
+            int cantidad = entradas.size();
+            Map<Long, Integer> posiciones = new HashMap<>(cantidad * 2);
+            BitSet todas = new BitSet(cantidad);
+            BitSet activas = new BitSet(cantidad);
+            BitSet conStock = new BitSet(cantidad);
+            List<Map<Valor, BitSet>> porValor = new ArrayList<>(FACETAS.length);
+            for (int f = 0; f < FACETAS.length; f++) {
+                porValor.add(new HashMap<>());
+            }
+            for (int i = 0; i < cantidad; i++) {
+                Entrada entrada = entradas.get(i);
+                posiciones.put(entrada.oferta().id(), i);
+                todas.set(i);
+                activas.set(i, entrada.activa());
+                conStock.set(i, entrada.oferta().stock() > 0);
+                for (int f = 0; f < FACETAS.length; f++) {
+                    Valor valor = entrada.valores()[f];
+                    if (valor != null) {
+                        // A igual clave (marcas que difieren en mayúsculas) se muestra la primera etiqueta
+                        porValor.get(f).computeIfAbsent(valor, v -> new BitSet()).set(i);
+                    }
+                }
+            }
+
+            Faceta[] facetas = new Faceta[FACETAS.length];
+            for (int f = 0; f < FACETAS.length; f++) {
+                Map<String, Valor> etiquetas = new LinkedHashMap<>();
+                Map<String, BitSet> bitsPorClave = new HashMap<>();
+                porValor.get(f).forEach((valor, bits) -> {
+                    etiquetas.putIfAbsent(valor.valor(), valor);
+                    bitsPorClave.merge(valor.valor(), bits, (a, b) -> {
+                        BitSet union = (BitSet) a.clone();
+                        union.or(b);
+                        return union;
+                    });
+                });
+                Valor[] valores = etiquetas.values().toArray(Valor[]::new);
+                Arrays.sort(valores, ordenValores.get(f));
+                long[][] bits = new long[valores.length][];
+                Map<String, Integer> posicionesValor = new HashMap<>(valores.length * 2);
+                for (int v = 0; v < valores.length; v++) {
+                    bits[v] = bitsPorClave.get(valores[v].valor()).toLongArray();
+                    posicionesValor.put(valores[v].valor(), v);
+                }
+                facetas[f] = new Faceta(valores, bits, posicionesValor);
+            }
+
+            Integer[] recientes = new Integer[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                recientes[i] = i;
+            }
+            Arrays.sort(recientes, Comparator
+                    .comparing((Integer i) -> entradas.get(i).oferta().creada(), Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(i -> entradas.get(i).oferta().id(), Comparator.reverseOrder()));
+
+            return new Foto(entradas.toArray(Entrada[]::new), posiciones, todas.toLongArray(), activas.toLongArray(),
+                    conStock.toLongArray(), facetas, Arrays.stream(recientes).mapToInt(Integer::intValue).toArray());
+        }
+
+        /**
+         * Copia de la foto con otro stock para la oferta de esa posición. Sólo se copian las entradas y,
+         * si la oferta se quedó sin stock, el mapa de ofertas con stock; las facetas se comparten.
+         */
+        Foto conStock(int posicion, int stock) {
+            Entrada[] copia = entradas.clone();
+            copia[posicion] = entradas[posicion].conStock(stock);
+            long[] nuevoConStock = conStock;
+            if ((stock > 0) != contiene(conStock, posicion)) {
+                BitSet bits = BitSet.valueOf(conStock);
+                bits.set(posicion, stock > 0);
+                nuevoConStock = bits.toLongArray();
+            }
+            return new Foto(copia, posiciones, todas, activas, nuevoConStock, facetas, porRecientes);
+        }
+
+        List<Oferta> pagina(long[] resultado, OrdenCatalogoOfertas orden, int desde, int limite) {
+            List<Oferta> pagina = new ArrayList<>(Math.min(limite, entradas.length));
+            int salteadas = 0;
+            if (orden == OrdenCatalogoOfertas.RECIENTES) {
+                for (int i = 0; i < porRecientes.length && pagina.size() < limite; i++) {
+                    if (contiene(resultado, porRecientes[i]) && salteadas++ >= desde) {
+                        pagina.add(entradas[porRecientes[i]].oferta());
+                    }
+                }
+                return pagina;
+            }
+            BitSet bits = BitSet.valueOf(resultado);
+            boolean ascendente = orden == OrdenCatalogoOfertas.PRECIO_ASC;
+            for (int i = ascendente ? bits.nextSetBit(0) : bits.previousSetBit(bits.length() - 1);
+                 i >= 0 && pagina.size() < limite;
+                 i = ascendente ? bits.nextSetBit(i + 1) : bits.previousSetBit(i - 1)) {
+                if (salteadas++ >= desde) {
+                    pagina.add(entradas[i].oferta());
+                }
+            }
+            return pagina;
+        }
+    }
+}
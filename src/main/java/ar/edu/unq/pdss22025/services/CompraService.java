@@ -4,15 +4,26 @@ import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
 import ar.edu.unq.pdss22025.models.Compra;
 import ar.edu.unq.pdss22025.models.OfertaAuto;
 import ar.edu.unq.pdss22025.models.usuario.Usuario;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraLoteRequest;
 import ar.edu.unq.pdss22025.models.dto.CrearCompraRequest;
+import ar.edu.unq.pdss22025.models.dto.LineaCompraRequest;
 import ar.edu.unq.pdss22025.repositories.CompraRepository;
 import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
 import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import ar.edu.unq.pdss22025.services.eventos.CompraCreada;
+import ar.edu.unq.pdss22025.services.eventos.StockDescontado;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 @Service
 public class CompraService {
@@ -23,25 +34,36 @@ public class CompraService {
     private final CompraRepository compraRepository;
     private final OfertaAutoRepository ofertaAutoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ReservaStockService reservaStockService;
+    private final VentaDiariaService ventaDiariaService;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventos;
 
-    public CompraService(CompraRepository compraRepository, OfertaAutoRepository ofertaAutoRepository, UsuarioRepository usuarioRepository) {
+    public CompraService(CompraRepository compraRepository, OfertaAutoRepository ofertaAutoRepository, UsuarioRepository usuarioRepository,
+                         ReservaStockService reservaStockService, VentaDiariaService ventaDiariaService, StockLedger stockLedger,
+                         ApplicationEventPublisher eventos) {
         this.compraRepository = compraRepository;
         this.ofertaAutoRepository = ofertaAutoRepository;
         this.usuarioRepository = usuarioRepository;
+        this.reservaStockService = reservaStockService;
+        this.ventaDiariaService = ventaDiariaService;
+        this.stockLedger = stockLedger;
+        this.eventos = eventos;
     }
 
     @Transactional
     public Compra crear(CrearCompraRequest request) {
+        // Primero se descuenta el stock con un UPDATE condicional (sin leer-modificar-escribir la entidad),
+        // así las compras concurrentes sobre la misma oferta no pisan el stock entre sí.
+        // Si algo falla más adelante, el rollback de esta transacción devuelve la unidad.
+        reservaStockService.reservar(request.getOfertaId(), 1);
+
         OfertaAuto oferta = ofertaAutoRepository.findById(request.getOfertaId())
                 .orElseThrow(() -> new EntidadNoEncontradaException("Oferta no encontrada"));
 
         Usuario comprador = usuarioRepository.findById(request.getCompradorId())
                 .orElseThrow(() -> new EntidadNoEncontradaException("Comprador no encontrado"));
 
-        if (oferta.getStock() == null || oferta.getStock() <= 0) {
-            throw new IllegalStateException("Oferta sin stock disponible");
-        }
-
         BigDecimal precioCerrado = request.getPrecioCerrado() != null ? request.getPrecioCerrado() : oferta.getPrecioActual();
         if (precioCerrado == null) {
             throw new IllegalStateException("Precio no disponible");
@@ -56,10 +78,150 @@ public class CompraService {
                 .build();
 
         // La fechaCompra se setea vía auditing (@CreatedDate -> fecha_compra)
-        // Reducimos stock de la oferta
-        oferta.setStock(oferta.getStock() - 1);
+        Compra guardada = compraRepository.save(compra);
+        ventaDiariaService.registrarVenta(guardada);
+        eventos.publishEvent(compraCreada(guardada));
+        return guardada;
+    }
+
+    /**
+     * Crea las compras de varias líneas (oferta, cantidad y precio opcional) de un mismo comprador,
+     * con el reparto de stock de {@link #crearCompras}.
+     * @return el resultado de cada línea, en el orden del pedido
+     */
+    @Transactional
+    public List<ResultadoLineaCompra> crearLote(CrearCompraLoteRequest request) {
+        List<LineaCompraRequest> lineas = request.getLineas();
+        if (lineas == null || lineas.isEmpty()) {
+            throw new IllegalArgumentException("La compra debe tener al menos una línea");
+        }
+        if (lineas.size() > CrearCompraLoteRequest.MAXIMO_LINEAS) {
+            throw new IllegalArgumentException("La compra no puede tener más de " + CrearCompraLoteRequest.MAXIMO_LINEAS + " líneas");
+        }
+
+        Usuario comprador = usuarioRepository.findById(request.getCompradorId())
+                .orElseThrow(() -> new EntidadNoEncontradaException("Comprador no encontrado"));
+
+        List<PedidoCompra> pedidos = new ArrayList<>(lineas.size());
+        for (LineaCompraRequest linea : lineas) {
+            pedidos.add(new PedidoCompra(comprador, linea.getOfertaId(), linea.getCantidad(), linea.getPrecioCerrado()));
+        }
+        return crearCompras(pedidos);
+    }
+
+    /**
+     * Crea las compras de los pedidos, que pueden ser de distintos compradores. Lo usan la compra en lote
+     * y el procesamiento de solicitudes de compra encoladas ({@link SolicitudCompraService}).
+     * Las ofertas se leen y bloquean en una sola consulta, el stock de cada una se reparte entre sus pedidos
+     * en orden y se descuenta una única vez, y las compras se insertan en lotes JDBC.
+     * Un pedido sin stock suficiente, con oferta inexistente o sin precio se rechaza sin afectar a los demás.
+     * @return el resultado de cada pedido, en el mismo orden
+     */
+    @Transactional
+    public List<ResultadoLineaCompra> crearCompras(List<PedidoCompra> pedidos) {
+        // Las ofertas ya conocidas como agotadas se rechazan sin bloquearlas
+        TreeSet<Long> ofertaIds = new TreeSet<>();
+        for (PedidoCompra pedido : pedidos) {
+            if (pedido.ofertaId() != null && !stockLedger.estaAgotada(pedido.ofertaId())) {
+                ofertaIds.add(pedido.ofertaId());
+            }
+        }
+        Map<Long, OfertaAuto> ofertas = new HashMap<>();
+        Map<Long, Integer> stockRestante = new HashMap<>();
+        if (!ofertaIds.isEmpty()) {
+            for (OfertaAuto oferta : ofertaAutoRepository.bloquearParaCompra(ofertaIds)) {
+                ofertas.put(oferta.getId(), oferta);
+                stockRestante.put(oferta.getId(), oferta.getStock());
+            }
+        }
+
+        List<ResultadoLineaCompra> resultados = new ArrayList<>(pedidos.size());
+        List<Compra> compras = new ArrayList<>();
+        for (int i = 0; i < pedidos.size(); i++) {
+            PedidoCompra pedido = pedidos.get(i);
+            Long ofertaId = pedido.ofertaId();
+            Integer cantidad = pedido.cantidad();
+            if (cantidad == null || cantidad <= 0) {
+                resultados.add(ResultadoLineaCompra.rechazada(i, ofertaId, cantidad, "La cantidad debe ser mayor a cero"));
+                continue;
+            }
+            if (pedido.comprador() == null) {
+                resultados.add(ResultadoLineaCompra.rechazada(i, ofertaId, cantidad, "Comprador no encontrado"));
+                continue;
+            }
+            if (ofertaId != null && stockLedger.estaAgotada(ofertaId)) {
+                resultados.add(ResultadoLineaCompra.rechazada(i, ofertaId, cantidad, "Oferta sin stock disponible"));
+                continue;
+            }
+            OfertaAuto oferta = ofertaId != null ? ofertas.get(ofertaId) : null;
+            if (oferta == null) {
+                resultados.add(ResultadoLineaCompra.rechazada(i, ofertaId, cantidad, "Oferta no encontrada"));
+                continue;
+            }
+            BigDecimal precioCerrado = pedido.precioCerrado() != null ? pedido.precioCerrado() : oferta.getPrecioActual();
+            if (precioCerrado == null) {
+                resultados.add(ResultadoLineaCompra.rechazada(i, ofertaId, cantidad, "Precio no disponible"));
+                continue;
+            }
+            int disponible = stockRestante.get(ofertaId);
+            if (disponible < cantidad) {
+                resultados.add(ResultadoLineaCompra.rechazada(i, ofertaId, cantidad, "Oferta sin stock disponible"));
+                continue;
+            }
+            stockRestante.put(ofertaId, disponible - cantidad);
+
+            Compra compra = Compra.builder()
+                    .oferta(oferta)
+                    .comprador(pedido.comprador())
+                    .precioUnitario(precioCerrado)
+                    .cantidad(cantidad)
+                    .total(precioCerrado.multiply(BigDecimal.valueOf(cantidad)))
+                    .build();
+            compras.add(compra);
+            resultados.add(ResultadoLineaCompra.creada(i, compra));
+        }
+
+        // Un único descuento por oferta; las filas siguen bloqueadas, así que el stock no cambió desde la lectura
+        List<Long> agotadas = new ArrayList<>();
+        stockRestante.forEach((ofertaId, restante) -> {
+            OfertaAuto oferta = ofertas.get(ofertaId);
+            if (restante < oferta.getStock()) {
+                int vendidas = oferta.getStock() - restante;
+                oferta.setStock(restante);
+                eventos.publishEvent(new StockDescontado(ofertaId, vendidas));
+            }
+            if (restante == 0) {
+                agotadas.add(ofertaId);
+            }
+        });
+        marcarAgotadasAlConfirmar(agotadas);
+        if (!compras.isEmpty()) {
+            compraRepository.saveAll(compras);
+            ventaDiariaService.registrarVentas(compras);
+            compras.forEach(compra -> eventos.publishEvent(compraCreada(compra)));
+        }
+        return resultados;
+    }
+
+    /**
+     * Marca las ofertas como agotadas recién al confirmarse la transacción: si se revierte, el stock vuelve
+     * a su valor anterior y no deben quedar marcadas.
+     */
+    private void marcarAgotadasAlConfirmar(List<Long> ofertaIds) {
+        if (ofertaIds.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ofertaIds.forEach(stockLedger::marcarAgotada);
+            }
+        });
+    }
 
-        return compraRepository.save(compra);
+    private static CompraCreada compraCreada(Compra compra) {
+        return new CompraCreada(compra.getId(), compra.getOferta().getId(), compra.getComprador().getId(),
+                compra.getCantidad(), compra.getTotal());
     }
 
     @Transactional(readOnly = true)
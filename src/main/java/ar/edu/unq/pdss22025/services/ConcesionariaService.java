@@ -16,10 +16,13 @@ public class ConcesionariaService {
 
     private final ConcesionariaRepository concesionariaRepository;
     private final UsuarioRepository usuarioRepository;
+    private final EstadoUsuarioCache estadoUsuarioCache;
 
-    public ConcesionariaService(ConcesionariaRepository concesionariaRepository, UsuarioRepository usuarioRepository) {
+    public ConcesionariaService(ConcesionariaRepository concesionariaRepository, UsuarioRepository usuarioRepository,
+                                EstadoUsuarioCache estadoUsuarioCache) {
         this.concesionariaRepository = concesionariaRepository;
         this.usuarioRepository = usuarioRepository;
+        this.estadoUsuarioCache = estadoUsuarioCache;
     }
 
     @Transactional
@@ -63,6 +66,8 @@ public class ConcesionariaService {
             // establecemos la relación en Usuario y guardamos el usuario
             usuario.setConcesionaria(concesionaria);
             usuarioRepository.save(usuario);
+            // El estado cacheado del usuario incluye su concesionaria
+            estadoUsuarioCache.invalidar(usuario.getId());
             
             // Actualizar la referencia en la concesionaria para reflejar el cambio
             concesionaria.setUsuario(usuario);
@@ -0,0 +1,222 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaVistaRepository;
+import ar.edu.unq.pdss22025.services.eventos.ConsumidorEventos;
+import ar.edu.unq.pdss22025.services.eventos.EventoDominio;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoAgregado;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoEliminado;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantiene la cantidad de favoritos de cada oferta (columna cantidad_favoritos de oferta_auto y de oferta_view)
+ * sin contar la tabla favorito ni actualizar la fila de la oferta en cada pedido.
+ * <p>
+ * Recibe del {@link ar.edu.unq.pdss22025.services.eventos.BusEventos} los favoritos agregados y eliminados ya
+ * confirmados y acumula en memoria la diferencia de cada oferta. Cada {@code favoritos.contador.volcado-ms} se
+ * vuelca la diferencia acumulada de cada oferta con un único UPDATE por oferta y por tabla, en una transacción y
+ * en orden de id: una oferta que recibe miles de favoritos por segundo se escribe una vez por volcado en lugar de
+ * una vez por favorito, así los pedidos nunca compiten por el lock de su fila. Lo volcado se descuenta de la
+ * diferencia recién al confirmarse, así un volcado que falla se reintenta en el siguiente.
+ * <p>
+ * Lo que se pierde en el camino (eventos descartados por el bus, diferencias sin volcar al caerse la instancia,
+ * cambios hechos directo en la base) lo corrige {@link #reconciliar()} contra la tabla favorito, en el horario de
+ * {@code favoritos.contador.reconciliacion.cron} ("-" la deshabilita). Métricas: {@value #METRICA_PENDIENTES}
+ * (ofertas con diferencias sin volcar), {@value #METRICA_LOTE} (ofertas por volcado) y {@value #METRICA_DESVIOS}
+ * (ofertas corregidas por la reconciliación, que en régimen debería quedar en 0).
+ */
+@Slf4j
+@Component
+public class ContadorFavoritos implements ConsumidorEventos {
+
+    static final String METRICA_PENDIENTES = "favoritos.contador.pendientes";
+    static final String METRICA_LOTE = "favoritos.contador.lote";
+    static final String METRICA_DESVIOS = "favoritos.contador.desvios";
+
+    private final OfertaAutoRepository ofertaAutoRepository;
+    private final OfertaVistaRepository ofertaVistaRepository;
+    private final TransactionTemplate transaccion;
+    private final long margenNanos;
+    // Las sumas llegan desde el único hilo del bus y los volcados las descuentan desde otro. Las entradas en 0 no
+    // se quitan: quitarlas compite con la suma siguiente y hay una por oferta como mucho
+    private final Map<Long, Acumulado> acumulados = new ConcurrentHashMap<>();
+    // Un volcado o una reconciliación por vez, para no volcar dos veces la misma diferencia
+    private final ReentrantLock volcando = new ReentrantLock();
+    private final DistributionSummary tamanioLotes;
+    private final Counter desvios;
+
+    public ContadorFavoritos(OfertaAutoRepository ofertaAutoRepository,
+                             OfertaVistaRepository ofertaVistaRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${favoritos.contador.reconciliacion.margen-ms:2000}") long margenMs) {
+        this.ofertaAutoRepository = ofertaAutoRepository;
+        this.ofertaVistaRepository = ofertaVistaRepository;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.margenNanos = TimeUnit.MILLISECONDS.toNanos(margenMs);
+        Gauge.builder(METRICA_PENDIENTES, this, ContadorFavoritos::pendientes)
+                .description("Ofertas con favoritos acumulados sin volcar")
+                .register(meterRegistry);
+        this.tamanioLotes = DistributionSummary.builder(METRICA_LOTE)
+                .description("Ofertas actualizadas por volcado del contador de favoritos")
+                .register(meterRegistry);
+        this.desvios = Counter.builder(METRICA_DESVIOS)
+                .description("Ofertas cuyo contador de favoritos no coincidía con la tabla favorito")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String nombre() {
+        return "contador-favoritos";
+    }
+
+    @Override
+    public void procesar(List<EventoDominio> eventos) {
+        for (EventoDominio evento : eventos) {
+            if (evento instanceof FavoritoAgregado agregado) {
+                sumar(agregado.ofertaId(), 1);
+            } else if (evento instanceof FavoritoEliminado eliminado) {
+                sumar(eliminado.ofertaId(), -1);
+            }
+        }
+    }
+
+    void sumar(Long ofertaId, long delta) {
+        acumulados.computeIfAbsent(ofertaId, id -> new Acumulado()).sumar(delta);
+    }
+
+    /**
+     * Vuelca a la base las diferencias acumuladas desde el último volcado.
+     * @return cantidad de ofertas actualizadas
+     */
+    @Scheduled(fixedDelayString = "${favoritos.contador.volcado-ms:1000}")
+    public int volcar() {
+        volcando.lock();
+        try {
+            // Foto de las diferencias, ordenada por id para tomar los locks de fila siempre en el mismo orden
+            Map<Long, Long> lote = new TreeMap<>();
+            acumulados.forEach((ofertaId, acumulado) -> {
+                long delta = acumulado.diferencia.get();
+                if (delta != 0) {
+                    lote.put(ofertaId, delta);
+                }
+            });
+            if (lote.isEmpty()) {
+                return 0;
+            }
+            transaccion.executeWithoutResult(estado -> lote.forEach((ofertaId, delta) -> {
+                ofertaAutoRepository.sumarFavoritos(ofertaId, delta);
+                ofertaVistaRepository.sumarFavoritos(ofertaId, delta);
+            }));
+            // Lo sumado mientras tanto queda para el próximo volcado
+            lote.forEach((ofertaId, delta) -> acumulados.get(ofertaId).diferencia.addAndGet(-delta));
+            tamanioLotes.record(lote.size());
+            return lote.size();
+        } finally {
+            volcando.unlock();
+        }
+    }
+
+    /**
+     * Corrige el contador de las ofertas en las que no coincide con la tabla favorito, en oferta_auto y en
+     * oferta_view.
+     * <p>
+     * Un favorito confirmado cuenta en la tabla antes de que su evento llegue al contador (está en el bus o en la
+     * diferencia sin volcar); igualar el contador a la tabla en ese momento lo contaría dos veces al volcarlo.
+     * Por eso se vuelca lo acumulado, se leen los desvíos, se esperan {@code favoritos.contador.reconciliacion.margen-ms}
+     * a que el bus entregue los eventos en camino y se saltean las ofertas que recibieron algún evento desde la
+     * lectura o tienen diferencias sin volcar: quedan para la próxima reconciliación. Un evento demorado más que
+     * el margen puede igual contarse dos veces; la reconciliación siguiente lo corrige.
+     * @return cantidad de ofertas corregidas
+     */
+    @Scheduled(cron = "${favoritos.contador.reconciliacion.cron:0 45 4 * * *}")
+    public int reconciliar() {
+        long inicio = System.nanoTime();
+        volcar();
+        List<Object[]> leidos = transaccion.execute(estado -> ofertaAutoRepository.findDesviosFavoritos());
+        if (leidos == null || leidos.isEmpty()) {
+            return 0;
+        }
+        esperarMargen();
+
+        volcando.lock();
+        try {
+            Integer corregidas = transaccion.execute(estado -> {
+                int cantidad = 0;
+                for (Object[] leido : leidos) {
+                    Long ofertaId = (Long) leido[0];
+                    Acumulado acumulado = acumulados.get(ofertaId);
+                    if (acumulado != null && (acumulado.diferencia.get() != 0 || acumulado.ultimoEvento - inicio >= 0)) {
+                        continue;
+                    }
+                    cantidad += ofertaAutoRepository.corregirFavoritos(ofertaId, (Long) leido[1], (Long) leido[2]);
+                }
+                ofertaVistaRepository.copiarFavoritos();
+                return cantidad;
+            });
+            int resultado = corregidas == null ? 0 : corregidas;
+            desvios.increment(resultado);
+            if (resultado > 0) {
+                log.warn("Contador de favoritos corregido en {} ofertas", resultado);
+            }
+            return resultado;
+        } finally {
+            volcando.unlock();
+        }
+    }
+
+    /**
+     * Vuelca lo acumulado antes de cerrar; si falla, lo corrige la próxima reconciliación.
+     */
+    @PreDestroy
+    public void detener() {
+        try {
+            volcar();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron volcar los favoritos acumulados al detener", e);
+        }
+    }
+
+    private void esperarMargen() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(margenNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double pendientes() {
+        return acumulados.values().stream().filter(acumulado -> acumulado.diferencia.get() != 0).count();
+    }
+
+    /**
+     * Diferencia sin volcar de una oferta y el {@code System.nanoTime()} de su último evento.
+     */
+    private static final class Acumulado {
+        private final AtomicLong diferencia = new AtomicLong();
+        private volatile long ultimoEvento;
+
+        private void sumar(long delta) {
+            ultimoEvento = System.nanoTime();
+            diferencia.addAndGet(delta);
+        }
+    }
+}
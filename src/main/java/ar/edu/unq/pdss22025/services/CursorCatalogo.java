@@ -0,0 +1,52 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.OfertaVista;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición dentro del catálogo de ofertas: el valor de la columna de orden y el id de la última
+ * oferta devuelta. Se serializa como texto opaco (Base64 URL) para el cliente.
+ * Un cursor inválido se rechaza con RuntimeException (400 en GlobalExceptionHandler).
+ */
+record CursorCatalogo(OrdenCatalogoOfertas orden, BigDecimal precio, OffsetDateTime creada, Long favoritos, Long id) {
+
+    static CursorCatalogo de(OrdenCatalogoOfertas orden, OfertaVista ultima) {
+        return new CursorCatalogo(orden, ultima.getPrecioActual(), ultima.getCreatedAt(),
+                ultima.getCantidadFavoritos(), ultima.getId());
+    }
+
+    String codificar() {
+        String valor = switch (orden) {
+            case RECIENTES -> creada.toString();
+            case FAVORITOS -> favoritos.toString();
+            case PRECIO_ASC, PRECIO_DESC -> precio.toPlainString();
+        };
+        String texto = orden.name() + "|" + valor + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CursorCatalogo decodificar(String cursor, OrdenCatalogoOfertas orden) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\|");
+            if (partes.length != 3 || !partes[0].equals(orden.name())) {
+                throw new RuntimeException("El cursor no corresponde al orden solicitado");
+            }
+            Long id = Long.valueOf(partes[2]);
+            return switch (orden) {
+                case RECIENTES -> new CursorCatalogo(orden, null, OffsetDateTime.parse(partes[1]), null, id);
+                case FAVORITOS -> new CursorCatalogo(orden, null, null, Long.valueOf(partes[1]), id);
+                case PRECIO_ASC, PRECIO_DESC -> new CursorCatalogo(orden, new BigDecimal(partes[1]), null, null, id);
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException y errores de Base64 son IllegalArgumentException
+            throw new RuntimeException("Cursor de catálogo inválido", e);
+        }
+    }
+}
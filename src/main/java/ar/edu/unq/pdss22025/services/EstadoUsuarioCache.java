@@ -0,0 +1,59 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.usuario.EstadoUsuario;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caché de vida corta del estado de cada usuario (activo y concesionaria).
+ * La usa la autenticación para no consultar la base en cada request; cuando un usuario
+ * se desactiva o cambia de concesionaria hay que llamar a {@link #invalidar(Long)}.
+ * Guarda hasta {@code seguridad.estado-usuario.maximo} usuarios, cada uno por {@code seguridad.estado-usuario.ttl}
+ * desde que se leyó: con más usuarios activos que el máximo se descartan los menos usados.
+ */
+@Component
+public class EstadoUsuarioCache {
+
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<Long, EstadoUsuario> estados;
+
+    public EstadoUsuarioCache(UsuarioRepository usuarioRepository,
+                              @Value("${seguridad.estado-usuario.ttl:30s}") Duration ttl,
+                              @Value("${seguridad.estado-usuario.maximo:10000}") long maximo) {
+        this.usuarioRepository = usuarioRepository;
+        this.estados = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximo).build();
+    }
+
+    /**
+     * Devuelve el estado del usuario, leyéndolo de la base sólo si no está en caché o ya venció.
+     * @return el estado, o vacío si el usuario no existe
+     */
+    public Optional<EstadoUsuario> obtener(Long usuarioId) {
+        // Un usuario inexistente no se cachea: el loader devuelve null
+        return Optional.ofNullable(estados.get(usuarioId, id -> usuarioRepository.findEstadoById(id).orElse(null)));
+    }
+
+    /**
+     * Descarta el estado cacheado del usuario. Si hay una transacción en curso se vuelve a descartar
+     * al confirmarla, para que una lectura concurrente no deje cacheado el estado anterior.
+     */
+    public void invalidar(Long usuarioId) {
+        estados.invalidate(usuarioId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    estados.invalidate(usuarioId);
+                }
+            });
+        }
+    }
+}
@@ -10,6 +10,9 @@ import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
 import ar.edu.unq.pdss22025.repositories.FavoritoRepository;
 import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
 import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoAgregado;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoEliminado;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,13 +31,16 @@ public class FavoritoService {
     private final FavoritoRepository favoritoRepository;
     private final UsuarioRepository usuarioRepository;
     private final OfertaAutoRepository ofertaAutoRepository;
+    private final ApplicationEventPublisher eventos;
 
     public FavoritoService(FavoritoRepository favoritoRepository, 
                           UsuarioRepository usuarioRepository,
-                          OfertaAutoRepository ofertaAutoRepository) {
+                          OfertaAutoRepository ofertaAutoRepository,
+                          ApplicationEventPublisher eventos) {
         this.favoritoRepository = favoritoRepository;
         this.usuarioRepository = usuarioRepository;
         this.ofertaAutoRepository = ofertaAutoRepository;
+        this.eventos = eventos;
     }
 
     /**
@@ -74,7 +80,9 @@ public class FavoritoService {
                 .oferta(oferta)
                 .build();
 
-        return favoritoRepository.save(favorito);
+        Favorito guardado = favoritoRepository.save(favorito);
+        eventos.publishEvent(new FavoritoAgregado(usuarioId, ofertaId));
+        return guardado;
     }
 
     /**
@@ -88,6 +96,7 @@ public class FavoritoService {
                         "Favorito no encontrado para el usuario " + usuarioId + " y oferta " + ofertaId));
 
         favoritoRepository.delete(favorito);
+        eventos.publishEvent(new FavoritoEliminado(usuarioId, ofertaId));
     }
 
     /**
@@ -95,7 +104,7 @@ public class FavoritoService {
      */
     @Transactional(readOnly = true)
     public List<Favorito> listarTodosLosFavoritos() {
-        return favoritoRepository.findAll();
+        return favoritoRepository.findAllConDetalle();
     }
 
     /**
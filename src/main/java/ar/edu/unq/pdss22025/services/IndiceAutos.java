@@ -0,0 +1,397 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de búsqueda en memoria sobre el catálogo de autos (marca, modelo y año) para el buscador
+ * con autocompletado. Cada término de la consulta tiene que coincidir con algún término del auto,
+ * ya sea exacto, por prefijo (lo que el usuario va tipeando) o, si no hay ninguno de esos, con hasta
+ * 1-2 errores de tipeo.
+ * <p>
+ * Las búsquedas leen una foto inmutable del índice sin tomar locks; las altas y bajas arman una foto
+ * nueva y la publican. {@link AutoService} avisa los cambios, que se aplican al confirmar la transacción.
+ * El índice se carga al arrancar la aplicación o, si todavía no se cargó, en la primera búsqueda.
+ * Las escrituras se serializan con un {@link ReentrantLock}.
+ */
+@Component
+public class IndiceAutos {
+
+    /** Máximo de resultados que devuelve una búsqueda. */
+    public static final int LIMITE_MAXIMO = 50;
+
+    // Puntaje de un término de la consulta según cómo coincide con el término del auto
+    private static final int PUNTAJE_EXACTO = 100;
+    private static final int PUNTAJE_PREFIJO = 60;
+    private static final int PUNTAJE_PREFIJO_COMPLETITUD = 30;
+    private static final int PUNTAJE_APROXIMADO = 40;
+    private static final int PENALIZACION_POR_ERROR = 10;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    // Orden de los autos con igual puntaje; la foto guarda las entradas en este orden
+    private static final Comparator<Entrada> ORDEN_DESEMPATE = Comparator
+            .comparing(Entrada::marca, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Entrada::modelo, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Entrada::anioModelo, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Entrada::id);
+
+    private final AutoRepository autoRepository;
+
+    private final ReentrantLock escritura = new ReentrantLock();
+    private volatile Foto foto;
+
+    public IndiceAutos(AutoRepository autoRepository) {
+        this.autoRepository = autoRepository;
+    }
+
+    /**
+     * Auto encontrado por el buscador, con el puntaje con el que coincidió.
+     */
+    public record Sugerencia(Long id, String marca, String modelo, Integer anioModelo, int puntaje) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        reconstruir();
+    }
+
+    /**
+     * Vuelve a armar el índice con los autos de la base.
+     */
+    public void reconstruir() {
+        escritura.lock();
+        try {
+            List<Entrada> entradas = new ArrayList<>();
+            for (Auto auto : autoRepository.findAll()) {
+                entradas.add(Entrada.de(auto));
+            }
+            foto = Foto.armar(entradas);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Busca autos cuya marca, modelo o año coincidan con todos los términos de la consulta.
+     * @param limite cantidad máxima de resultados, acotada a {@link #LIMITE_MAXIMO}
+     * @return los mejores resultados, de mayor a menor puntaje
+     */
+    public List<Sugerencia> buscar(String consulta, int limite) {
+        String[] terminos = terminos(consulta).toArray(String[]::new);
+        if (terminos.length == 0 || limite <= 0) {
+            return List.of();
+        }
+        Foto actual = foto;
+        if (actual == null) {
+            actual = cargar();
+        }
+        int[] puntajes = null;
+        for (String termino : terminos) {
+            int[] parciales = actual.puntajes(termino);
+            if (puntajes == null) {
+                puntajes = parciales;
+            } else {
+                for (int i = 0; i < puntajes.length; i++) {
+                    puntajes[i] = puntajes[i] == 0 || parciales[i] == 0 ? 0 : puntajes[i] + parciales[i];
+                }
+            }
+        }
+        return mejores(actual, puntajes, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    /**
+     * Agrega o actualiza el auto en el índice al confirmarse la transacción en curso.
+     */
+    public void agregar(Auto auto) {
+        Entrada entrada = Entrada.de(auto);
+        alConfirmar(() -> aplicar(entrada.id(), entrada));
+    }
+
+    /**
+     * Quita el auto del índice al confirmarse la transacción en curso.
+     */
+    public void quitar(Long autoId) {
+        alConfirmar(() -> aplicar(autoId, null));
+    }
+
+    private Foto cargar() {
+        escritura.lock();
+        try {
+            if (foto == null) {
+                reconstruir();
+            }
+            return foto;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private void aplicar(Long autoId, Entrada nueva) {
+        escritura.lock();
+        try {
+            // Si todavía no se cargó, la carga va a leer el cambio ya confirmado de la base
+            if (foto == null) {
+                return;
+            }
+            List<Entrada> entradas = new ArrayList<>(foto.entradas().length + 1);
+            for (Entrada entrada : foto.entradas()) {
+                if (!entrada.id().equals(autoId)) {
+                    entradas.add(entrada);
+                }
+            }
+            if (nueva != null) {
+                entradas.add(nueva);
+            }
+            foto = Foto.armar(entradas);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private static void alConfirmar(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+
+    /**
+     * Elige los mejores resultados con un heap acotado de claves primitivas: el puntaje en los bits altos
+     * y la posición (invertida) en los bajos, así a igual puntaje gana la entrada que va primero.
+     */
+    private static List<Sugerencia> mejores(Foto foto, int[] puntajes, int limite) {
+        long[] heap = new long[limite];
+        int tamanio = 0;
+        for (int i = 0; i < puntajes.length; i++) {
+            if (puntajes[i] > 0) {
+                long clave = ((long) puntajes[i] << 32) | (Integer.MAX_VALUE - i);
+                if (tamanio < limite) {
+                    heap[tamanio] = clave;
+                    subir(heap, tamanio++);
+                } else if (clave > heap[0]) {
+                    heap[0] = clave;
+                    bajar(heap, tamanio);
+                }
+            }
+        }
+        long[] claves = Arrays.copyOf(heap, tamanio);
+        Arrays.sort(claves);
+        List<Sugerencia> sugerencias = new ArrayList<>(tamanio);
+        for (int i = tamanio - 1; i >= 0; i--) {
+            Entrada e = foto.entradas()[Integer.MAX_VALUE - (int) claves[i]];
+            sugerencias.add(new Sugerencia(e.id(), e.marca(), e.modelo(), e.anioModelo(), (int) (claves[i] >>> 32)));
+        }
+        return sugerencias;
+    }
+
+    private static void subir(long[] heap, int i) {
+        while (i > 0 && heap[(i - 1) / 2] > heap[i]) {
+            intercambiar(heap, i, (i - 1) / 2);
+            i = (i - 1) / 2;
+        }
+    }
+
+    private static void bajar(long[] heap, int tamanio) {
+        int i = 0;
+        while (true) {
+            int menor = i;
+            int izquierdo = 2 * i + 1;
+            int derecho = izquierdo + 1;
+            if (izquierdo < tamanio && heap[izquierdo] < heap[menor]) {
+                menor = izquierdo;
+            }
+            if (derecho < tamanio && heap[derecho] < heap[menor]) {
+                menor = derecho;
+            }
+            if (menor == i) {
+                return;
+            }
+            intercambiar(heap, i, menor);
+            i = menor;
+        }
+    }
+
+    private static void intercambiar(long[] heap, int i, int j) {
+        long aux = heap[i];
+        heap[i] = heap[j];
+        heap[j] = aux;
+    }
+
+    /**
+     * Pasa el texto a minúsculas sin acentos y lo separa en términos. Los valores con separadores
+     * (por ejemplo "CR-V") también se indexan juntos ("crv").
+     */
+    static Set<String> terminos(String texto) {
+        Set<String> terminos = new LinkedHashSet<>();
+        if (texto == null) {
+            return terminos;
+        }
+        String normalizado = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String termino : SEPARADORES.split(normalizado)) {
+            if (!termino.isEmpty()) {
+                terminos.add(termino);
+            }
+        }
+        return terminos;
+    }
+
+    /**
+     * Distancia de edición (inserción, borrado, reemplazo y transposición de letras vecinas) entre
+     * {@code a} y los primeros {@code largoB} caracteres de {@code b}. Devuelve {@code maximo + 1}
+     * apenas sabe que la distancia supera el máximo.
+     */
+    static int distancia(String a, String b, int largoB, int maximo) {
+        int largoA = a.length();
+        if (Math.abs(largoA - largoB) > maximo) {
+            return maximo + 1;
+        }
+        int[] anterior2 = new int[largoB + 1];
+        int[] anterior = new int[largoB + 1];
+        int[] actual = new int[largoB + 1];
+        for (int j = 0; j <= largoB; j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= largoA; i++) {
+            actual[0] = i;
+            int minimoFila = i;
+            for (int j = 1; j <= largoB; j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + costo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                actual[j] = valor;
+                minimoFila = Math.min(minimoFila, valor);
+            }
+            if (minimoFila > maximo) {
+                return maximo + 1;
+            }
+            int[] rotar = anterior2;
+            anterior2 = anterior;
+            anterior = actual;
+            actual = rotar;
+        }
+        return anterior[largoB];
+    }
+
+    /** Errores de tipeo tolerados según el término buscado; los años tienen que coincidir sin errores. */
+    private static int erroresTolerados(String termino) {
+        int largo = termino.length();
+        if (termino.chars().allMatch(Character::isDigit)) {
+            return 0;
+        }
+        if (largo >= 8) {
+            return 2;
+        }
+        return largo >= 4 ? 1 : 0;
+    }
+
+    private record Entrada(Long id, String marca, String modelo, Integer anioModelo, Set<String> terminos) {
+
+        static Entrada de(Auto auto) {
+            Set<String> terminos = new LinkedHashSet<>();
+            for (String campo : new String[]{auto.getMarca(), auto.getModelo()}) {
+                Set<String> delCampo = IndiceAutos.terminos(campo);
+                terminos.addAll(delCampo);
+                if (delCampo.size() > 1) {
+                    terminos.add(String.join("", delCampo));
+                }
+            }
+            if (auto.getAnioModelo() != null) {
+                terminos.add(auto.getAnioModelo().toString());
+            }
+            return new Entrada(auto.getId(), auto.getMarca(), auto.getModelo(), auto.getAnioModelo(), terminos);
+        }
+    }
+
+    /**
+     * Foto inmutable del índice: los términos ordenados (para buscar prefijos con búsqueda binaria)
+     * y, por cada término, las posiciones de los autos que lo contienen.
+     */
+    private record Foto(Entrada[] entradas, String[] diccionario, int[][] posiciones) {
+
+        static Foto armar(List<Entrada> entradas) {
+            entradas.sort(ORDEN_DESEMPATE);
+            TreeMap<String, List<Integer>> porTermino = new TreeMap<>();
+            for (int i = 0; i < entradas.size(); i++) {
+                for (String termino : entradas.get(i).terminos()) {
+                    porTermino.computeIfAbsent(termino, t -> new ArrayList<>()).add(i);
+                }
+            }
+            String[] diccionario = porTermino.keySet().toArray(String[]::new);
+            int[][] posiciones = new int[diccionario.length][];
+            int t = 0;
+            for (List<Integer> lista : porTermino.values()) {
+                posiciones[t++] = lista.stream().mapToInt(Integer::intValue).toArray();
+            }
+            return new Foto(entradas.toArray(Entrada[]::new), diccionario, posiciones);
+        }
+
+        /** Puntaje de cada auto para un término de la consulta; 0 si no coincide. */
+        int[] puntajes(String termino) {
+            int[] puntajes = new int[entradas.length];
+            int largo = termino.length();
+
+            int desde = Arrays.binarySearch(diccionario, termino);
+            if (desde < 0) {
+                desde = -desde - 1;
+            }
+            for (int t = desde; t < diccionario.length && diccionario[t].startsWith(termino); t++) {
+                int puntaje = diccionario[t].length() == largo
+                        ? PUNTAJE_EXACTO
+                        : PUNTAJE_PREFIJO + PUNTAJE_PREFIJO_COMPLETITUD * largo / diccionario[t].length();
+                acumular(puntajes, t, puntaje);
+            }
+
+            // Los errores de tipeo sólo se buscan si el término no coincide exacto ni como prefijo
+            int maximo = erroresTolerados(termino);
+            if (maximo > 0 && (desde >= diccionario.length || !diccionario[desde].startsWith(termino))) {
+                for (int t = 0; t < diccionario.length; t++) {
+                    String candidato = diccionario[t];
+                    // Se compara contra el término completo y contra su prefijo del largo tipeado
+                    int errores = distancia(termino, candidato, candidato.length(), maximo);
+                    if (candidato.length() > largo) {
+                        errores = Math.min(errores, distancia(termino, candidato, largo, maximo));
+                    }
+                    if (errores <= maximo) {
+                        acumular(puntajes, t, PUNTAJE_APROXIMADO - PENALIZACION_POR_ERROR * errores);
+                    }
+                }
+            }
+            return puntajes;
+        }
+
+        private void acumular(int[] puntajes, int termino, int puntaje) {
+            for (int posicion : posiciones[termino]) {
+                puntajes[posicion] = Math.max(puntajes[posicion], puntaje);
+            }
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package ar.edu.unq.pdss22025.services;
 
 import ar.edu.unq.pdss22025.models.usuario.Rol;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,22 +14,113 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret:MiClaveSecretaMuyLargaParaJWTQueDebeSerAlMenos256BitsParaHS256}")
-    private String secret;
-
-    @Value("${jwt.expiration:86400000}") // 24 horas por defecto
-    private Long expiration;
+    private final Long expiration;
+
+    // La clave y el parser se arman una sola vez: son inmutables y thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    // Tokens ya verificados, indexados por el hash SHA-256 del token; cada entrada vence con el exp del token y,
+    // con más de jwt.cache.max-tokens, se descartan los menos usados
+    private final Cache<String, TokenVerificado> tokensVerificados;
+
+    public JwtService(@Value("${jwt.secret:MiClaveSecretaMuyLargaParaJWTQueDebeSerAlMenos256BitsParaHS256}") String secret,
+                      @Value("${jwt.expiration:86400000}") Long expiration, // 24 horas por defecto
+                      @Value("${jwt.cache.max-tokens:10000}") int maxTokensEnCache) {
+        this.expiration = expiration;
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(maxTokensEnCache)
+                .expireAfter(Expiry.creating(JwtService::vigenciaRestante))
+                .build();
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
+    }
+
+    /**
+     * Verifica firma y expiración del token y devuelve subject, userId, rol y expiración de una sola vez.
+     * Un token ya verificado se resuelve desde la caché sin volver a calcular la firma hasta que expira.
+     * @param token Token JWT
+     * @return los datos del token, o vacío si el token es inválido o está expirado
+     */
+    public Optional<TokenVerificado> verificar(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String clave = hash(token);
+        TokenVerificado enCache = tokensVerificados.getIfPresent(clave);
+        if (enCache != null) {
+            return Optional.of(enCache);
+        }
+
+        TokenVerificado verificado;
+        try {
+            verificado = aTokenVerificado(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Firma inválida, token malformado o expirado
+            return Optional.empty();
+        }
+        if (!verificado.estaVigente(Instant.now())) {
+            return Optional.empty();
+        }
+        tokensVerificados.put(clave, verificado);
+        return Optional.of(verificado);
+    }
+
+    private TokenVerificado aTokenVerificado(Claims claims) {
+        Date exp = claims.getExpiration();
+        return new TokenVerificado(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                parseRol(claims.get("rol", String.class)),
+                exp != null ? exp.toInstant() : null
+        );
+    }
+
+    private Rol parseRol(String rolStr) {
+        if (rolStr == null) {
+            return null;
+        }
+        try {
+            return Rol.valueOf(rolStr);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Duration vigenciaRestante(String clave, TokenVerificado verificado) {
+        if (verificado.expiracion() == null) {
+            return ChronoUnit.FOREVER.getDuration();
+        }
+        Duration restante = Duration.between(Instant.now(), verificado.expiracion());
+        return restante.isNegative() ? Duration.ZERO : restante;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 
     public String extractUsername(String token) {
@@ -50,20 +146,7 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        try {
-            Date expiration = extractExpiration(token);
-            return expiration != null && expiration.before(new Date());
-        } catch (Exception e) {
-            return true; // Si no se puede extraer la fecha de expiración, considerar el token como expirado
-        }
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String generateToken(Long userId, String email, Rol rol) {
@@ -102,23 +185,16 @@ public class JwtService {
     }
 
     public Boolean validateToken(String token, String username) {
-        try {
-            final String extractedUsername = extractUsername(token);
-            if (extractedUsername == null || username == null) {
-                return false;
-            }
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
-        } catch (Exception e) {
+        if (username == null) {
             return false;
         }
+        return verificar(token)
+                .map(t -> username.equals(t.subject()))
+                .orElse(false);
     }
 
     public Boolean validateToken(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return verificar(token).isPresent();
     }
 }
 
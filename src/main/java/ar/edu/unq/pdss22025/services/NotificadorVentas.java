@@ -0,0 +1,40 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.services.eventos.CompraCreada;
+import ar.edu.unq.pdss22025.services.eventos.ConsumidorOutbox;
+import ar.edu.unq.pdss22025.services.eventos.EventoDominio;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aviso de cada venta a partir de los eventos {@link CompraCreada} del outbox, así no se pierde ninguna
+ * aunque la aplicación se caiga justo después de confirmar la compra. Por ahora el aviso queda en el log;
+ * acá se conectaría el envío a la concesionaria (mail o webhook), que tiene que tolerar avisos repetidos.
+ */
+@Slf4j
+@Component
+public class NotificadorVentas implements ConsumidorOutbox {
+
+    @Override
+    public String nombre() {
+        return "notificador-ventas";
+    }
+
+    @Override
+    public Set<Class<? extends EventoDominio>> tipos() {
+        return Set.of(CompraCreada.class);
+    }
+
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        for (EventoDominio evento : lote) {
+            if (evento instanceof CompraCreada compra) {
+                log.info("Venta registrada: compra {} de la oferta {} por el comprador {}, {} unidad(es) por {}",
+                        compra.compraId(), compra.ofertaId(), compra.compradorId(), compra.cantidad(), compra.total());
+            }
+        }
+    }
+}
@@ -6,26 +6,49 @@ import ar.edu.unq.pdss22025.exceptions.UsuarioNoValidoException;
 import ar.edu.unq.pdss22025.models.Auto;
 import ar.edu.unq.pdss22025.models.Concesionaria;
 import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.OfertaVista;
+import ar.edu.unq.pdss22025.models.dto.FiltroCatalogoOfertas;
+import ar.edu.unq.pdss22025.models.dto.FiltroFacetasOfertas;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
 import ar.edu.unq.pdss22025.models.usuario.Usuario;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioConcesionaria;
 import ar.edu.unq.pdss22025.repositories.AutoRepository;
 import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaVistaRepository;
+import ar.edu.unq.pdss22025.services.eventos.OfertaCreada;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
 
+import static ar.edu.unq.pdss22025.repositories.OfertaVistaSpecifications.*;
+
 @Service
 public class OfertaService {
 
+    public static final int LIMITE_CATALOGO_POR_DEFECTO = 20;
+    public static final int LIMITE_CATALOGO_MAXIMO = 100;
+
     private final OfertaAutoRepository ofertaAutoRepository;
+    private final OfertaVistaRepository ofertaVistaRepository;
     private final AutoRepository autoRepository;
+    private final BuscadorOfertas buscadorOfertas;
+    private final ApplicationEventPublisher eventos;
 
     public OfertaService(OfertaAutoRepository ofertaAutoRepository,
-                        AutoRepository autoRepository) {
+                        OfertaVistaRepository ofertaVistaRepository,
+                        AutoRepository autoRepository,
+                        BuscadorOfertas buscadorOfertas,
+                        ApplicationEventPublisher eventos) {
         this.ofertaAutoRepository = ofertaAutoRepository;
+        this.ofertaVistaRepository = ofertaVistaRepository;
         this.autoRepository = autoRepository;
+        this.buscadorOfertas = buscadorOfertas;
+        this.eventos = eventos;
     }
 
     @Transactional(readOnly = true)
@@ -43,6 +66,74 @@ public class OfertaService {
         return ofertaAutoRepository.findAll();
     }
 
+    /**
+     * Página del catálogo de ofertas con paginación por keyset: en lugar de OFFSET se filtra por
+     * "después de la última oferta vista" (valor de orden + id), así que el costo y el tamaño de
+     * cada página no dependen del tamaño del catálogo ni de la página pedida. Se lee de la vista de ofertas
+     * ({@link OfertaVista}): una fila por oferta, sin JOIN con el auto ni la concesionaria.
+     * @param cursor cursor devuelto por la página anterior, o null para la primera
+     * @param limite cantidad de ofertas por página (se acota a {@link #LIMITE_CATALOGO_MAXIMO})
+     */
+    @Transactional(readOnly = true)
+    public PaginaOfertas buscarCatalogo(FiltroCatalogoOfertas filtro, OrdenCatalogoOfertas orden, String cursor, Integer limite) {
+        int tamanio = limite == null ? LIMITE_CATALOGO_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_CATALOGO_MAXIMO));
+        FiltroCatalogoOfertas filtros = filtro != null ? filtro : new FiltroCatalogoOfertas();
+
+        Specification<OfertaVista> spec = conFiltros(filtros);
+        Sort sort;
+        switch (orden) {
+            case PRECIO_ASC -> sort = Sort.by(Sort.Order.asc("precioActual"), Sort.Order.asc("id"));
+            case PRECIO_DESC -> sort = Sort.by(Sort.Order.desc("precioActual"), Sort.Order.desc("id"));
+            case FAVORITOS -> sort = Sort.by(Sort.Order.desc("cantidadFavoritos"), Sort.Order.desc("id"));
+            default -> sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            CursorCatalogo desde = CursorCatalogo.decodificar(cursor, orden);
+            spec = spec.and(switch (orden) {
+                case PRECIO_ASC -> despuesDePrecioAsc(desde.precio(), desde.id());
+                case PRECIO_DESC -> despuesDePrecioDesc(desde.precio(), desde.id());
+                case RECIENTES -> anterioresA(desde.creada(), desde.id());
+                case FAVORITOS -> conMenosFavoritosQue(desde.favoritos(), desde.id());
+            });
+        }
+
+        // Se pide una oferta de más para saber si hay página siguiente sin hacer un COUNT
+        List<OfertaVista> resultado = ofertaVistaRepository.findBy(spec, q -> q.sortBy(sort).limit(tamanio + 1).all());
+        if (resultado.size() <= tamanio) {
+            return new PaginaOfertas(resultado, null);
+        }
+        List<OfertaVista> pagina = resultado.subList(0, tamanio);
+        return new PaginaOfertas(pagina, CursorCatalogo.de(orden, pagina.get(tamanio - 1)).codificar());
+    }
+
+    /**
+     * Detalle de una oferta, leído de su fila en la vista de ofertas.
+     */
+    @Transactional(readOnly = true)
+    public OfertaVista obtenerDetalle(Long ofertaId) {
+        return ofertaVistaRepository.findById(ofertaId)
+                .orElseThrow(() -> new EntidadNoEncontradaException("Oferta con ID " + ofertaId + " no encontrada"));
+    }
+
+    /**
+     * Búsqueda de ofertas por facetas (marca, año, concesionaria, moneda y rango de precio) con la cantidad
+     * de ofertas por valor. Se resuelve con el índice en memoria, sin consultar la base.
+     * @param desde cantidad de ofertas a saltear
+     * @param limite cantidad de ofertas por página (se acota a {@link #LIMITE_CATALOGO_MAXIMO})
+     */
+    public BuscadorOfertas.Resultado buscarPorFacetas(FiltroFacetasOfertas filtro, OrdenCatalogoOfertas orden, Integer desde, Integer limite) {
+        if (desde != null && desde < 0) {
+            throw new RuntimeException("El desplazamiento no puede ser negativo");
+        }
+        if (orden == OrdenCatalogoOfertas.FAVORITOS) {
+            // El índice en memoria no sigue los favoritos
+            throw new RuntimeException("La búsqueda por facetas no admite el orden por favoritos (use precio_asc, precio_desc o recientes)");
+        }
+        int tamanio = limite == null ? LIMITE_CATALOGO_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_CATALOGO_MAXIMO));
+        return buscadorOfertas.buscar(filtro != null ? filtro : new FiltroFacetasOfertas(), orden,
+                desde == null ? 0 : desde, tamanio);
+    }
+
     @Transactional(readOnly = true)
     public List<OfertaAuto> listarPorUsuarioConcesionaria(Usuario usuario) {
         // Validar que el usuario es de tipo CONCESIONARIA
@@ -99,6 +190,8 @@ public class OfertaService {
                 .moneda(moneda)
                 .build();
 
-        return ofertaAutoRepository.save(oferta);
+        OfertaAuto guardada = ofertaAutoRepository.save(oferta);
+        eventos.publishEvent(new OfertaCreada(guardada.getId()));
+        return guardada;
     }
 }
@@ -0,0 +1,15 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.OfertaVista;
+
+import java.util.List;
+
+/**
+ * Página del catálogo de ofertas junto con el cursor para pedir la siguiente (null si no hay más).
+ */
+public record PaginaOfertas(List<OfertaVista> items, String siguienteCursor) {
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+}
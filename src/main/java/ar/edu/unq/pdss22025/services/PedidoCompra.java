@@ -0,0 +1,12 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.usuario.Usuario;
+
+import java.math.BigDecimal;
+
+/**
+ * Compra pedida a {@link CompraService#crearCompras}: comprador (null si no existe), oferta, cantidad
+ * y precio cerrado opcional (si es null se usa el precio actual de la oferta).
+ */
+public record PedidoCompra(Usuario comprador, Long ofertaId, Integer cantidad, BigDecimal precioCerrado) {
+}
@@ -0,0 +1,81 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.repositories.OfertaVistaRepository;
+import ar.edu.unq.pdss22025.services.eventos.OfertaCreada;
+import ar.edu.unq.pdss22025.services.eventos.OfertasImportadas;
+import ar.edu.unq.pdss22025.services.eventos.PuntajeAutoActualizado;
+import ar.edu.unq.pdss22025.services.eventos.StockDescontado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Mantiene el modelo de lectura de ofertas ({@link ar.edu.unq.pdss22025.models.OfertaVista}) a partir de los
+ * eventos de {@link OfertaService}, {@link CompraService}, {@link ReservaStockService}, {@link ResenaService},
+ * {@link ResumenPuntajeService} y la importación del catálogo. La cantidad de favoritos no pasa por acá: la
+ * vuelca {@link ContadorFavoritos} por lotes, junto con el contador de oferta_auto.
+ * <p>
+ * Los eventos se escuchan de forma sincrónica, dentro de la transacción que los publicó: la fila de la vista
+ * se confirma o revierte junto con el cambio, así nunca queda adelantada ni atrasada. Cada evento es una
+ * sentencia sobre la vista (un UPDATE con un delta, o un INSERT ... SELECT para las ofertas nuevas o
+ * reimportadas) sin leer entidades. Si la vista se desvía, por ejemplo por un cambio hecho directo en la
+ * base, {@link #reconstruir()} la vuelve a armar desde las tablas de origen.
+ */
+@Slf4j
+@Component
+public class ProyeccionOfertaVista {
+
+    private final OfertaVistaRepository ofertaVistaRepository;
+
+    public ProyeccionOfertaVista(OfertaVistaRepository ofertaVistaRepository) {
+        this.ofertaVistaRepository = ofertaVistaRepository;
+    }
+
+    @EventListener
+    @Transactional
+    public void alCrearOferta(OfertaCreada evento) {
+        proyectar(List.of(evento.ofertaId()));
+    }
+
+    @EventListener
+    @Transactional
+    public void alImportarOfertas(OfertasImportadas evento) {
+        if (!evento.ofertaIds().isEmpty()) {
+            proyectar(evento.ofertaIds());
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void alDescontarStock(StockDescontado evento) {
+        ofertaVistaRepository.descontarStock(evento.ofertaId(), evento.cantidad(), OffsetDateTime.now());
+    }
+
+    @EventListener
+    @Transactional
+    public void alActualizarPuntaje(PuntajeAutoActualizado evento) {
+        ofertaVistaRepository.copiarPuntaje(evento.autoId());
+    }
+
+    /**
+     * Vuelve a armar toda la vista desde las tablas de origen, en una sola transacción: las lecturas
+     * concurrentes siguen viendo la vista anterior hasta que se confirma.
+     * @return cantidad de ofertas proyectadas
+     */
+    @Transactional
+    public int reconstruir() {
+        ofertaVistaRepository.borrarTodas();
+        int proyectadas = ofertaVistaRepository.proyectarTodas();
+        log.info("Vista de ofertas reconstruida: {} ofertas", proyectadas);
+        return proyectadas;
+    }
+
+    private void proyectar(List<Long> ofertaIds) {
+        ofertaVistaRepository.borrar(ofertaIds);
+        ofertaVistaRepository.proyectar(ofertaIds);
+    }
+}
@@ -0,0 +1,294 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.ResumenPuntajeAuto;
+import ar.edu.unq.pdss22025.models.dto.AutoRankingDTO;
+import ar.edu.unq.pdss22025.repositories.ResumenPuntajeAutoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ranking en memoria de autos mejor rankeados, ordenado por un puntaje bayesiano:
+ * {@code (C * m + suma) / (C + cantidad)}, donde {@code m} es el promedio general de las reseñas y
+ * {@code C} el peso de ese promedio ({@code resenas.ranking.peso-previo}). Un auto con pocas reseñas
+ * queda cerca del promedio general, así un único 10 no supera a cientos de 9.
+ * <p>
+ * Los autos se guardan en skip lists ordenadas (una general, una por marca y una por año), de modo que
+ * el top K es recorrer los primeros K elementos, sin ordenar ni consultar la base. {@link ResumenPuntajeService}
+ * avisa cada reseña sumada o restada, que se aplica al confirmar la transacción en O(log n).
+ * El promedio general queda fijo entre reconstrucciones: se recalcula al arrancar y en cada reconciliación
+ * (ver {@link ReconciliacionPuntajesJob}), que además corrige cualquier desvío del ranking.
+ * Las escrituras se serializan con un {@link ReentrantLock}; las lecturas no toman locks y, mientras un auto
+ * cambia de posición, pueden verlo dos veces o no verlo (ver {@link #mejores}).
+ */
+@Component
+public class RankingAutos {
+
+    /** Máximo de autos que devuelve una consulta. */
+    public static final int LIMITE_MAXIMO = 100;
+
+    private static final Comparator<Entrada> ORDEN = Comparator
+            .comparingDouble(Entrada::puntaje).reversed()
+            .thenComparing(Comparator.comparingLong(Entrada::cantidad).reversed())
+            .thenComparing(Entrada::autoId);
+
+    private final ResumenPuntajeAutoRepository resumenPuntajeAutoRepository;
+    private final double pesoPrevio;
+
+    private final ReentrantLock escritura = new ReentrantLock();
+    private volatile Estado estado;
+
+    public RankingAutos(ResumenPuntajeAutoRepository resumenPuntajeAutoRepository,
+                        @Value("${resenas.ranking.peso-previo:10}") double pesoPrevio) {
+        this.resumenPuntajeAutoRepository = resumenPuntajeAutoRepository;
+        this.pesoPrevio = pesoPrevio;
+    }
+
+    /**
+     * Peso del promedio general en el puntaje bayesiano; lo reusa el ranking por rango de fechas.
+     */
+    public double getPesoPrevio() {
+        return pesoPrevio;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        reconstruir();
+    }
+
+    /**
+     * Vuelve a armar el ranking con los resúmenes de la base, recalculando el promedio general.
+     */
+    public void reconstruir() {
+        escritura.lock();
+        try {
+            List<Object[]> filas = resumenPuntajeAutoRepository.findEntradasRanking();
+            long cantidadTotal = 0;
+            long sumaTotal = 0;
+            for (Object[] fila : filas) {
+                cantidadTotal += ((Number) fila[4]).longValue();
+                sumaTotal += ((Number) fila[5]).longValue();
+            }
+            double promedioGeneral = cantidadTotal == 0
+                    ? ResumenPuntajeAuto.PUNTAJE_MAXIMO / 2.0
+                    : (double) sumaTotal / cantidadTotal;
+
+            Estado nuevo = new Estado(promedioGeneral);
+            for (Object[] fila : filas) {
+                nuevo.poner(crearEntrada(((Number) fila[0]).longValue(), (String) fila[1], (String) fila[2],
+                        fila[3] != null ? ((Number) fila[3]).intValue() : null,
+                        ((Number) fila[4]).longValue(), ((Number) fila[5]).longValue(), promedioGeneral));
+            }
+            estado = nuevo;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Mejores autos del ranking, opcionalmente sólo de una marca (sin distinguir mayúsculas) y/o un año.
+     * <p>
+     * La lectura recorre las skip lists sin bloquear a las actualizaciones, que mueven un auto sacando su entrada
+     * vieja y poniendo la nueva. Un auto que se mueve mientras se recorre puede aparecer una sola vez en su
+     * posición vieja o en la nueva, o no aparecer si el recorrido ya pasó la nueva cuando se puso y todavía no
+     * llegó a la vieja cuando se sacó. La consulta siguiente ya lo ve en su lugar.
+     * @param limite cantidad máxima de autos, acotada a {@link #LIMITE_MAXIMO}
+     */
+    public List<AutoRankingDTO> mejores(int limite, String marca, Integer anioModelo) {
+        Estado actual = estado;
+        if (actual == null) {
+            actual = cargar();
+        }
+        NavigableSet<Entrada> candidatos;
+        if (marca != null && !marca.isBlank()) {
+            candidatos = actual.porMarca.get(claveMarca(marca));
+        } else if (anioModelo != null) {
+            candidatos = actual.porAnio.get(anioModelo);
+        } else {
+            candidatos = actual.general;
+        }
+        int maximo = Math.min(limite, LIMITE_MAXIMO);
+        if (candidatos == null || maximo <= 0) {
+            return List.of();
+        }
+
+        List<AutoRankingDTO> resultado = new ArrayList<>(maximo);
+        // Un auto que se mueve mientras se recorre puede estar en su posición vieja y en la nueva: se toma la primera
+        Set<Long> vistos = new HashSet<>();
+        for (Entrada entrada : candidatos) {
+            if (anioModelo != null && !anioModelo.equals(entrada.anioModelo())) {
+                continue;
+            }
+            if (vistos.add(entrada.autoId())) {
+                resultado.add(entrada.aDto());
+                if (resultado.size() == maximo) {
+                    break;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma una reseña al auto al confirmarse la transacción en curso. Se usa para la primera reseña
+     * de un auto, cuando el ranking todavía no conoce sus datos.
+     */
+    public void sumar(Auto auto, int puntaje) {
+        Long autoId = auto.getId();
+        String marca = auto.getMarca();
+        String modelo = auto.getModelo();
+        Integer anioModelo = auto.getAnioModelo();
+        alConfirmar(() -> aplicar(autoId, puntaje, 1, new Datos(marca, modelo, anioModelo)));
+    }
+
+    /**
+     * Suma (delta = 1) o resta (delta = -1) una reseña al auto al confirmarse la transacción en curso.
+     */
+    public void acumular(Long autoId, int puntaje, int delta) {
+        alConfirmar(() -> aplicar(autoId, puntaje, delta, null));
+    }
+
+    private Estado cargar() {
+        escritura.lock();
+        try {
+            if (estado == null) {
+                reconstruir();
+            }
+            return estado;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private void aplicar(Long autoId, int puntaje, int delta, Datos datos) {
+        escritura.lock();
+        try {
+            // Si todavía no se cargó, la carga va a leer el cambio ya confirmado de la base
+            Estado actual = estado;
+            if (actual == null) {
+                return;
+            }
+            Entrada anterior = actual.porAuto.get(autoId);
+            if (anterior == null && datos == null) {
+                // El resumen existe pero el ranking no lo conoce: lo corrige la próxima reconstrucción
+                return;
+            }
+            if (anterior != null) {
+                datos = new Datos(anterior.marca(), anterior.modelo(), anterior.anioModelo());
+                actual.sacar(anterior);
+            }
+            long cantidad = Math.max(0, (anterior != null ? anterior.cantidad() : 0) + delta);
+            long suma = Math.max(0, (anterior != null ? anterior.suma() : 0) + (long) delta * puntaje);
+            actual.poner(crearEntrada(autoId, datos.marca(), datos.modelo(), datos.anioModelo(),
+                    cantidad, suma, actual.promedioGeneral));
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private Entrada crearEntrada(Long autoId, String marca, String modelo, Integer anioModelo,
+                                 long cantidad, long suma, double promedioGeneral) {
+        double puntaje = (pesoPrevio * promedioGeneral + suma) / (pesoPrevio + cantidad);
+        return new Entrada(autoId, marca, modelo, anioModelo, cantidad, suma, puntaje);
+    }
+
+    private static void alConfirmar(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+
+    private static String claveMarca(String marca) {
+        return marca.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record Datos(String marca, String modelo, Integer anioModelo) {
+    }
+
+    private record Entrada(Long autoId, String marca, String modelo, Integer anioModelo,
+                           long cantidad, long suma, double puntaje) {
+
+        AutoRankingDTO aDto() {
+            return AutoRankingDTO.builder()
+                    .autoId(autoId)
+                    .marca(marca)
+                    .modelo(modelo)
+                    .anioModelo(anioModelo)
+                    .promedioPuntaje(cantidad == 0 ? 0.0 : (double) suma / cantidad)
+                    .cantidadResenas(cantidad)
+                    .puntajeRanking(puntaje)
+                    .build();
+        }
+    }
+
+    /**
+     * Entradas por auto (incluidos los que se quedaron sin reseñas, para conservar sus datos) y los autos
+     * con reseñas ordenados en general, por marca y por año. Se modifica sólo con el lock del ranking.
+     */
+    private static final class Estado {
+
+        private final double promedioGeneral;
+        private final Map<Long, Entrada> porAuto = new HashMap<>();
+        private final NavigableSet<Entrada> general = new ConcurrentSkipListSet<>(ORDEN);
+        private final Map<String, NavigableSet<Entrada>> porMarca = new ConcurrentHashMap<>();
+        private final Map<Integer, NavigableSet<Entrada>> porAnio = new ConcurrentHashMap<>();
+
+        private Estado(double promedioGeneral) {
+            this.promedioGeneral = promedioGeneral;
+        }
+
+        private void poner(Entrada entrada) {
+            porAuto.put(entrada.autoId(), entrada);
+            if (entrada.cantidad() == 0) {
+                return;
+            }
+            general.add(entrada);
+            if (entrada.marca() != null) {
+                porMarca.computeIfAbsent(claveMarca(entrada.marca()), m -> new ConcurrentSkipListSet<>(ORDEN)).add(entrada);
+            }
+            if (entrada.anioModelo() != null) {
+                porAnio.computeIfAbsent(entrada.anioModelo(), a -> new ConcurrentSkipListSet<>(ORDEN)).add(entrada);
+            }
+        }
+
+        private void sacar(Entrada entrada) {
+            general.remove(entrada);
+            if (entrada.marca() != null) {
+                NavigableSet<Entrada> deLaMarca = porMarca.get(claveMarca(entrada.marca()));
+                if (deLaMarca != null) {
+                    deLaMarca.remove(entrada);
+                }
+            }
+            if (entrada.anioModelo() != null) {
+                NavigableSet<Entrada> delAnio = porAnio.get(entrada.anioModelo());
+                if (delAnio != null) {
+                    delAnio.remove(entrada);
+                }
+            }
+        }
+    }
+}
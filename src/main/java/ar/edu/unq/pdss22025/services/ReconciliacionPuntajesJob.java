@@ -0,0 +1,39 @@
+package ar.edu.unq.pdss22025.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconcilia periódicamente los resúmenes de puntaje con las reseñas (ver {@link ResumenPuntajeService#reconciliar()})
+ * y publica la cantidad de autos corregidos en la métrica {@value #METRICA_DESVIOS}, que en régimen debería quedar en 0.
+ * Después reconstruye el {@link RankingAutos} con los resúmenes corregidos y el promedio general actualizado.
+ * El horario se configura con {@code resenas.resumen.reconciliacion.cron}; "-" la deshabilita.
+ */
+@Component
+public class ReconciliacionPuntajesJob {
+
+    static final String METRICA_DESVIOS = "resenas.resumen.desvios";
+
+    private final ResumenPuntajeService resumenPuntajeService;
+    private final RankingAutos rankingAutos;
+    private final Counter desvios;
+
+    public ReconciliacionPuntajesJob(ResumenPuntajeService resumenPuntajeService, RankingAutos rankingAutos,
+                                     MeterRegistry meterRegistry) {
+        this.resumenPuntajeService = resumenPuntajeService;
+        this.rankingAutos = rankingAutos;
+        this.desvios = Counter.builder(METRICA_DESVIOS)
+                .description("Autos cuyo resumen de puntajes no coincidía con sus reseñas")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${resenas.resumen.reconciliacion.cron:0 30 4 * * *}")
+    public int reconciliar() {
+        int corregidos = resumenPuntajeService.reconciliar();
+        desvios.increment(corregidos);
+        rankingAutos.reconstruir();
+        return corregidos;
+    }
+}
@@ -0,0 +1,104 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.dto.FormatoExportacion;
+import ar.edu.unq.pdss22025.models.dto.TipoReporte;
+import ar.edu.unq.pdss22025.repositories.CompraRepository;
+import ar.edu.unq.pdss22025.repositories.ResenaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaCompradorRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaConcesionariaRepository;
+import ar.edu.unq.pdss22025.services.exportacion.EscritorReporte;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de reportes a CSV, Excel o PDF.
+ * Las filas se leen de la base con un cursor (repositorios que devuelven Stream) y se escriben
+ * una por una en el OutputStream de la respuesta, así la memoria no depende del tamaño del reporte.
+ */
+@Service
+public class ReporteExportService {
+
+    /** Cantidad de filas de los rankings cuando no se pide el detalle completo, igual que los reportes JSON. */
+    public static final int LIMITE_TOP = 5;
+
+    // Extremos usados cuando no se indica fecha ni período
+    private static final OffsetDateTime SIN_FECHA_DESDE = OffsetDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime SIN_FECHA_HASTA = OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC);
+
+    private final VentaDiariaAutoRepository ventaDiariaAutoRepository;
+    private final VentaDiariaCompradorRepository ventaDiariaCompradorRepository;
+    private final VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository;
+    private final ResenaDiariaAutoRepository resenaDiariaAutoRepository;
+    private final RankingAutos rankingAutos;
+    private final CompraRepository compraRepository;
+
+    public ReporteExportService(VentaDiariaAutoRepository ventaDiariaAutoRepository,
+                                VentaDiariaCompradorRepository ventaDiariaCompradorRepository,
+                                VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository,
+                                ResenaDiariaAutoRepository resenaDiariaAutoRepository,
+                                RankingAutos rankingAutos,
+                                CompraRepository compraRepository) {
+        this.ventaDiariaAutoRepository = ventaDiariaAutoRepository;
+        this.ventaDiariaCompradorRepository = ventaDiariaCompradorRepository;
+        this.ventaDiariaConcesionariaRepository = ventaDiariaConcesionariaRepository;
+        this.resenaDiariaAutoRepository = resenaDiariaAutoRepository;
+        this.rankingAutos = rankingAutos;
+        this.compraRepository = compraRepository;
+    }
+
+    /**
+     * Escribe el reporte en la salida con el formato pedido.
+     * @param detalle si es true los rankings se exportan completos; si no, sólo el Top 5.
+     *                El reporte de compras siempre es el detalle completo del rango.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(TipoReporte tipo, FormatoExportacion formato, boolean detalle,
+                         String fechaDesde, String fechaHasta, String periodo, OutputStream salida) throws IOException {
+        OffsetDateTime desde = ReporteService.calcularFechaDesde(fechaDesde, periodo);
+        OffsetDateTime hasta = ReporteService.calcularFechaHasta(fechaHasta, periodo);
+        if (desde == null) {
+            desde = SIN_FECHA_DESDE;
+        }
+        if (hasta == null) {
+            hasta = SIN_FECHA_HASTA;
+        }
+        int limite = detalle ? Integer.MAX_VALUE : LIMITE_TOP;
+
+        EscritorReporte escritor = EscritorReporte.para(formato, salida);
+        escritor.encabezado(tipo.getTitulo(), tipo.getColumnas());
+        try (Stream<Object[]> filas = filas(tipo, desde, hasta, limite)) {
+            Iterator<Object[]> iterador = filas.iterator();
+            while (iterador.hasNext()) {
+                escritor.fila(iterador.next());
+            }
+        }
+        escritor.finalizar();
+    }
+
+    private Stream<Object[]> filas(TipoReporte tipo, OffsetDateTime desde, OffsetDateTime hasta, int limite) {
+        LocalDate diaDesde = ReporteService.diaDe(desde);
+        LocalDate diaHasta = ReporteService.diaDe(hasta);
+        return switch (tipo) {
+            case AUTOS_MAS_VENDIDOS -> ventaDiariaAutoRepository.streamRankingAutosMasVendidos(diaDesde, diaHasta, limite)
+                    // La consulta trae la suma de precios unitarios; se exporta el promedio como en el reporte JSON
+                    .map(row -> new Object[]{row[0], row[1], row[2], row[3], row[4],
+                            ReporteService.promedio(row[5], row[4]), ReporteService.aBigDecimal(row[6])});
+            case USUARIOS_MAS_COMPRAS -> ventaDiariaCompradorRepository.streamRankingUsuariosMasCompras(diaDesde, diaHasta, limite);
+            case AUTOS_MEJORES_RANKEADOS -> resenaDiariaAutoRepository
+                    .streamRankingAutosMejorRankeados(diaDesde, diaHasta, rankingAutos.getPesoPrevio(), limite)
+                    // Se exportan las columnas del reporte, sin el puntaje bayesiano que sólo define el orden
+                    .map(row -> new Object[]{row[0], row[1], row[2], row[3], ((Number) row[4]).doubleValue(), row[5]});
+            case AGENCIAS_MAS_VENTAS -> ventaDiariaConcesionariaRepository.streamRankingAgenciasMasVentas(diaDesde, diaHasta, limite);
+            case COMPRAS -> compraRepository.streamDetalleCompras(desde, hasta);
+        };
+    }
+}
@@ -1,12 +1,15 @@
 package ar.edu.unq.pdss22025.services;
 
 import ar.edu.unq.pdss22025.models.dto.*;
-import ar.edu.unq.pdss22025.repositories.CompraRepository;
-import ar.edu.unq.pdss22025.repositories.ResenaRepository;
+import ar.edu.unq.pdss22025.repositories.ResenaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaCompradorRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaConcesionariaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -16,27 +19,38 @@ import java.util.stream.Collectors;
 @Service
 public class ReporteService {
 
-    private final CompraRepository compraRepository;
-    private final ResenaRepository resenaRepository;
-
-    public ReporteService(CompraRepository compraRepository, ResenaRepository resenaRepository) {
-        this.compraRepository = compraRepository;
-        this.resenaRepository = resenaRepository;
+    private final RankingAutos rankingAutos;
+    private final VentaDiariaAutoRepository ventaDiariaAutoRepository;
+    private final VentaDiariaCompradorRepository ventaDiariaCompradorRepository;
+    private final VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository;
+    private final ResenaDiariaAutoRepository resenaDiariaAutoRepository;
+
+    public ReporteService(RankingAutos rankingAutos,
+                          VentaDiariaAutoRepository ventaDiariaAutoRepository,
+                          VentaDiariaCompradorRepository ventaDiariaCompradorRepository,
+                          VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository,
+                          ResenaDiariaAutoRepository resenaDiariaAutoRepository) {
+        this.rankingAutos = rankingAutos;
+        this.ventaDiariaAutoRepository = ventaDiariaAutoRepository;
+        this.ventaDiariaCompradorRepository = ventaDiariaCompradorRepository;
+        this.ventaDiariaConcesionariaRepository = ventaDiariaConcesionariaRepository;
+        this.resenaDiariaAutoRepository = resenaDiariaAutoRepository;
     }
 
     /**
-     * Obtiene el Top 5 de autos más vendidos
+     * Obtiene el Top 5 de autos más vendidos.
+     * Se calcula sobre los acumulados diarios de ventas (ver {@link VentaDiariaService}), no sobre la tabla compra.
      */
     @Transactional(readOnly = true)
     public ReporteTop5Response obtenerAutosMasVendidos(String fechaDesde, String fechaHasta, String periodo) {
-        OffsetDateTime desde = calcularFechaDesde(fechaDesde, periodo);
-        OffsetDateTime hasta = calcularFechaHasta(fechaHasta, periodo);
+        LocalDate desde = diaDe(calcularFechaDesde(fechaDesde, periodo));
+        LocalDate hasta = diaDe(calcularFechaHasta(fechaHasta, periodo));
 
         List<Object[]> resultados;
         if (desde != null && hasta != null) {
-            resultados = compraRepository.findTop5AutosMasVendidos(desde, hasta);
+            resultados = ventaDiariaAutoRepository.findTop5AutosMasVendidos(desde, hasta);
         } else {
-            resultados = compraRepository.findTop5AutosMasVendidos();
+            resultados = ventaDiariaAutoRepository.findTop5AutosMasVendidos();
         }
 
         List<AutoMasVendidoDTO> items = resultados.stream()
@@ -46,8 +60,8 @@ public class ReporteService {
                         .modelo((String) row[2])
                         .anioModelo(((Number) row[3]).intValue())
                         .cantidadVentas(((Number) row[4]).longValue())
-                        .precioPromedio(((BigDecimal) row[5]))
-                        .totalIngresos(((BigDecimal) row[6]))
+                        .precioPromedio(promedio(row[5], row[4]))
+                        .totalIngresos(aBigDecimal(row[6]))
                         .build())
                 .collect(Collectors.toList());
 
@@ -64,14 +78,14 @@ public class ReporteService {
      */
     @Transactional(readOnly = true)
     public ReporteTop5Response obtenerUsuariosMasCompras(String fechaDesde, String fechaHasta, String periodo) {
-        OffsetDateTime desde = calcularFechaDesde(fechaDesde, periodo);
-        OffsetDateTime hasta = calcularFechaHasta(fechaHasta, periodo);
+        LocalDate desde = diaDe(calcularFechaDesde(fechaDesde, periodo));
+        LocalDate hasta = diaDe(calcularFechaHasta(fechaHasta, periodo));
 
         List<Object[]> resultados;
         if (desde != null && hasta != null) {
-            resultados = compraRepository.findTop5UsuariosMasCompras(desde, hasta);
+            resultados = ventaDiariaCompradorRepository.findTop5UsuariosMasCompras(desde, hasta);
         } else {
-            resultados = compraRepository.findTop5UsuariosMasCompras();
+            resultados = ventaDiariaCompradorRepository.findTop5UsuariosMasCompras();
         }
 
         List<UsuarioMasComprasDTO> items = resultados.stream()
@@ -81,7 +95,7 @@ public class ReporteService {
                         .apellido((String) row[2])
                         .email((String) row[3])
                         .cantidadCompras(((Number) row[4]).longValue())
-                        .totalGastado(((BigDecimal) row[5]))
+                        .totalGastado(aBigDecimal(row[5]))
                         .build())
                 .collect(Collectors.toList());
 
@@ -94,24 +108,24 @@ public class ReporteService {
     }
 
     /**
-     * Obtiene el Top 5 de autos mejores rankeados
+     * Obtiene el Top 5 de autos mejores rankeados.
+     * Sin rango de fechas sale del ranking en memoria (ver {@link RankingAutos}); con rango, de los acumulados
+     * diarios de reseñas (ver {@link ResenaDiariaService}) con el mismo puntaje bayesiano.
      */
     @Transactional(readOnly = true)
     public ReporteTop5Response obtenerAutosMejoresRankeados(String fechaDesde, String fechaHasta, String periodo) {
-        // Para este reporte, usamos el método existente de ResenaService
-        // pero podríamos filtrar por fecha si es necesario
-        List<Object[]> resultados = resenaRepository.findTopAutosMejorRanqueados(5);
+        LocalDate desde = diaDe(calcularFechaDesde(fechaDesde, periodo));
+        LocalDate hasta = diaDe(calcularFechaHasta(fechaHasta, periodo));
 
-        List<AutoRankingDTO> items = resultados.stream()
-                .map(row -> AutoRankingDTO.builder()
-                        .autoId(((Number) row[0]).longValue())
-                        .marca((String) row[1])
-                        .modelo((String) row[2])
-                        .anioModelo(((Number) row[3]).intValue())
-                        .promedioPuntaje(((Number) row[4]).doubleValue())
-                        .cantidadResenas(((Number) row[5]).longValue())
-                        .build())
-                .collect(Collectors.toList());
+        List<AutoRankingDTO> items;
+        if (desde != null && hasta != null) {
+            items = resenaDiariaAutoRepository.findRankingAutosMejorRankeados(desde, hasta, rankingAutos.getPesoPrevio(), 5)
+                    .stream()
+                    .map(ReporteService::aAutoRanking)
+                    .collect(Collectors.toList());
+        } else {
+            items = rankingAutos.mejores(5, null, null);
+        }
 
         ReporteTop5Response response = new ReporteTop5Response();
         response.setItems(items);
@@ -126,14 +140,14 @@ public class ReporteService {
      */
     @Transactional(readOnly = true)
     public ReporteTop5Response obtenerAgenciasMasVentas(String fechaDesde, String fechaHasta, String periodo) {
-        OffsetDateTime desde = calcularFechaDesde(fechaDesde, periodo);
-        OffsetDateTime hasta = calcularFechaHasta(fechaHasta, periodo);
+        LocalDate desde = diaDe(calcularFechaDesde(fechaDesde, periodo));
+        LocalDate hasta = diaDe(calcularFechaHasta(fechaHasta, periodo));
 
         List<Object[]> resultados;
         if (desde != null && hasta != null) {
-            resultados = compraRepository.findTop5AgenciasMasVentas(desde, hasta);
+            resultados = ventaDiariaConcesionariaRepository.findTop5AgenciasMasVentas(desde, hasta);
         } else {
-            resultados = compraRepository.findTop5AgenciasMasVentas();
+            resultados = ventaDiariaConcesionariaRepository.findTop5AgenciasMasVentas();
         }
 
         List<AgenciaMasVentasDTO> items = resultados.stream()
@@ -141,7 +155,7 @@ public class ReporteService {
                         .concesionariaId(((Number) row[0]).longValue())
                         .razonSocial((String) row[1])
                         .cantidadVentas(((Number) row[2]).longValue())
-                        .totalIngresos(((BigDecimal) row[3]))
+                        .totalIngresos(aBigDecimal(row[3]))
                         .build())
                 .collect(Collectors.toList());
 
@@ -153,7 +167,41 @@ public class ReporteService {
         return response;
     }
 
-    private OffsetDateTime calcularFechaDesde(String fechaDesde, String periodo) {
+    static AutoRankingDTO aAutoRanking(Object[] row) {
+        return AutoRankingDTO.builder()
+                .autoId(((Number) row[0]).longValue())
+                .marca((String) row[1])
+                .modelo((String) row[2])
+                .anioModelo(row[3] != null ? ((Number) row[3]).intValue() : null)
+                .promedioPuntaje(((Number) row[4]).doubleValue())
+                .cantidadResenas(((Number) row[5]).longValue())
+                .puntajeRanking(((Number) row[6]).doubleValue())
+                .build();
+    }
+
+    static LocalDate diaDe(OffsetDateTime fecha) {
+        return fecha != null ? fecha.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate() : null;
+    }
+
+    static BigDecimal aBigDecimal(Object valor) {
+        if (valor == null) {
+            return BigDecimal.ZERO;
+        }
+        if (valor instanceof BigDecimal bigDecimal) {
+            return bigDecimal;
+        }
+        return new BigDecimal(valor.toString());
+    }
+
+    static BigDecimal promedio(Object suma, Object cantidad) {
+        long n = ((Number) cantidad).longValue();
+        if (n == 0) {
+            return BigDecimal.ZERO;
+        }
+        return aBigDecimal(suma).divide(BigDecimal.valueOf(n), 2, RoundingMode.HALF_UP);
+    }
+
+    static OffsetDateTime calcularFechaDesde(String fechaDesde, String periodo) {
         if (fechaDesde != null && !fechaDesde.isEmpty()) {
             return LocalDate.parse(fechaDesde).atStartOfDay().atOffset(ZoneOffset.UTC);
         }
@@ -172,7 +220,7 @@ public class ReporteService {
         return null;
     }
 
-    private OffsetDateTime calcularFechaHasta(String fechaHasta, String periodo) {
+    static OffsetDateTime calcularFechaHasta(String fechaHasta, String periodo) {
         if (fechaHasta != null && !fechaHasta.isEmpty()) {
             return LocalDate.parse(fechaHasta).atTime(23, 59, 59).atOffset(ZoneOffset.UTC);
         }
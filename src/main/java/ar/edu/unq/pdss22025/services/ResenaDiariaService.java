@@ -0,0 +1,84 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Resena;
+import ar.edu.unq.pdss22025.models.ResenaDiariaAuto;
+import ar.edu.unq.pdss22025.repositories.ResenaDiariaAutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Mantiene los acumulados diarios de reseñas por auto que usa el ranking de autos mejores rankeados
+ * de un rango de fechas. Cada reseña cuenta en el día de su creación (en UTC); se invoca dentro de la
+ * transacción de la reseña, de modo que reseña y acumulado se confirman o revierten juntos.
+ */
+@Slf4j
+@Service
+public class ResenaDiariaService {
+
+    private final ResenaDiariaAutoRepository resenaDiariaAutoRepository;
+
+    public ResenaDiariaService(ResenaDiariaAutoRepository resenaDiariaAutoRepository) {
+        this.resenaDiariaAutoRepository = resenaDiariaAutoRepository;
+    }
+
+    /**
+     * Suma la reseña al acumulado del día de su creación. El caso habitual es un único UPDATE; sólo la
+     * primera reseña del día bloquea la fila del auto y crea el registro, volviendo a intentar el UPDATE
+     * antes por si otra reseña concurrente ya lo creó.
+     */
+    @Transactional
+    public void registrarAlta(Resena resena) {
+        LocalDate fecha = bucketDe(resena.getCreatedAt());
+        Long autoId = resena.getAuto().getId();
+        int puntaje = resena.getRating();
+
+        if (resenaDiariaAutoRepository.acumular(fecha, autoId, 1, puntaje) == 0) {
+            resenaDiariaAutoRepository.bloquearAuto(autoId);
+            if (resenaDiariaAutoRepository.acumular(fecha, autoId, 1, puntaje) == 0) {
+                resenaDiariaAutoRepository.save(ResenaDiariaAuto.builder()
+                        .fecha(fecha)
+                        .autoId(autoId)
+                        .cantidad(1L)
+                        .suma((long) puntaje)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Ajusta la suma de puntajes del día de creación de la reseña cuando cambia su puntaje.
+     */
+    @Transactional
+    public void registrarCambio(Resena resena, int puntajeAnterior) {
+        int diferencia = resena.getRating() - puntajeAnterior;
+        if (diferencia != 0) {
+            acumularExistente(resena, 0, diferencia);
+        }
+    }
+
+    /**
+     * Resta la reseña eliminada del acumulado del día de su creación.
+     */
+    @Transactional
+    public void registrarBaja(Resena resena) {
+        acumularExistente(resena, -1, -resena.getRating());
+    }
+
+    private void acumularExistente(Resena resena, long cantidad, long suma) {
+        LocalDate fecha = bucketDe(resena.getCreatedAt());
+        Long autoId = resena.getAuto().getId();
+        if (resenaDiariaAutoRepository.acumular(fecha, autoId, cantidad, suma) == 0) {
+            log.warn("No existe el acumulado de reseñas del auto {} para el {}", autoId, fecha);
+        }
+    }
+
+    private LocalDate bucketDe(OffsetDateTime fechaCreacion) {
+        OffsetDateTime fecha = fechaCreacion != null ? fechaCreacion : OffsetDateTime.now();
+        return fecha.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+}
@@ -10,11 +10,12 @@ import ar.edu.unq.pdss22025.models.usuario.Usuario;
 import ar.edu.unq.pdss22025.repositories.AutoRepository;
 import ar.edu.unq.pdss22025.repositories.ResenaRepository;
 import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import ar.edu.unq.pdss22025.services.eventos.PuntajeAutoActualizado;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Servicio para gestionar reseñas de autos.
@@ -30,13 +31,25 @@ public class ResenaService {
     private final ResenaRepository resenaRepository;
     private final AutoRepository autoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ResumenPuntajeService resumenPuntajeService;
+    private final RankingAutos rankingAutos;
+    private final ResenaDiariaService resenaDiariaService;
+    private final ApplicationEventPublisher eventos;
 
     public ResenaService(ResenaRepository resenaRepository, 
                         AutoRepository autoRepository, 
-                        UsuarioRepository usuarioRepository) {
+                        UsuarioRepository usuarioRepository,
+                        ResumenPuntajeService resumenPuntajeService,
+                        RankingAutos rankingAutos,
+                        ResenaDiariaService resenaDiariaService,
+                        ApplicationEventPublisher eventos) {
         this.resenaRepository = resenaRepository;
         this.autoRepository = autoRepository;
         this.usuarioRepository = usuarioRepository;
+        this.resumenPuntajeService = resumenPuntajeService;
+        this.rankingAutos = rankingAutos;
+        this.resenaDiariaService = resenaDiariaService;
+        this.eventos = eventos;
     }
 
     /**
@@ -68,7 +81,11 @@ public class ResenaService {
                 .comentario(comentario)
                 .build();
 
-        return resenaRepository.save(resena);
+        Resena guardada = resenaRepository.save(resena);
+        resumenPuntajeService.sumar(autoId, puntaje);
+        resenaDiariaService.registrarAlta(guardada);
+        eventos.publishEvent(new PuntajeAutoActualizado(autoId));
+        return guardada;
     }
 
     /**
@@ -91,10 +108,17 @@ public class ResenaService {
             throw new IllegalStateException("Solo el autor puede modificar su reseña");
         }
 
+        int puntajeAnterior = resena.getRating();
         resena.setRating(nuevoPuntaje);
         resena.setComentario(nuevoComentario);
 
-        return resenaRepository.save(resena);
+        Resena guardada = resenaRepository.save(resena);
+        resumenPuntajeService.cambiar(autoId, puntajeAnterior, nuevoPuntaje);
+        resenaDiariaService.registrarCambio(guardada, puntajeAnterior);
+        if (puntajeAnterior != nuevoPuntaje) {
+            eventos.publishEvent(new PuntajeAutoActualizado(autoId));
+        }
+        return guardada;
     }
 
     /**
@@ -113,6 +137,9 @@ public class ResenaService {
         }
 
         resenaRepository.delete(resena);
+        resumenPuntajeService.restar(autoId, resena.getRating());
+        resenaDiariaService.registrarBaja(resena);
+        eventos.publishEvent(new PuntajeAutoActualizado(autoId));
     }
 
     /**
@@ -136,35 +163,32 @@ public class ResenaService {
     }
 
     /**
-     * Obtiene el promedio de puntaje de un auto.
+     * Obtiene el promedio de puntaje de un auto, leído de su resumen de puntajes.
      */
     @Transactional(readOnly = true)
     public double obtenerPromedioPuntajeAuto(Long autoId) {
         autoRepository.findById(autoId)
                 .orElseThrow(() -> new EntidadNoEncontradaException("Auto con ID " + autoId + " no encontrado"));
         
-        Double promedio = resenaRepository.calcularPromedioPuntajePorAutoId(autoId);
-        return promedio != null ? promedio : 0.0;
+        return resumenPuntajeService.obtenerPromedio(autoId);
     }
 
     /**
      * Obtiene el top 5 de autos mejor rankeados.
-     * Ordenados por promedio de puntaje descendente y cantidad de reseñas descendente.
      */
-    @Transactional(readOnly = true)
     public List<AutoRankingDTO> top5AutosMejorRanqueados() {
-        List<Object[]> resultados = resenaRepository.findTopAutosMejorRanqueados(5);
-        
-        return resultados.stream()
-                .map(row -> AutoRankingDTO.builder()
-                        .autoId(((Number) row[0]).longValue())
-                        .marca((String) row[1])
-                        .modelo((String) row[2])
-                        .anioModelo(((Number) row[3]).intValue())
-                        .promedioPuntaje(((Number) row[4]).doubleValue())
-                        .cantidadResenas(((Number) row[5]).longValue())
-                        .build())
-                .collect(Collectors.toList());
+        return autosMejorRanqueados(5, null, null);
+    }
+
+    /**
+     * Obtiene los mejores autos del ranking, ordenados por puntaje bayesiano (ver {@link RankingAutos}),
+     * opcionalmente sólo de una marca y/o un año. Se resuelve en memoria, sin consultar la base.
+     */
+    public List<AutoRankingDTO> autosMejorRanqueados(int limite, String marca, Integer anioModelo) {
+        if (limite <= 0) {
+            throw new RuntimeException("El límite debe ser mayor a cero");
+        }
+        return rankingAutos.mejores(limite, marca, anioModelo);
     }
 
     /**
@@ -172,6 +196,6 @@ public class ResenaService {
      */
     @Transactional(readOnly = true)
     public List<Resena> listarTodasLasReseñas() {
-        return resenaRepository.findAll();
+        return resenaRepository.findAllConDetalle();
     }
 }
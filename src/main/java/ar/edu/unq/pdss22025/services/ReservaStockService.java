@@ -0,0 +1,73 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.services.eventos.StockDescontado;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Reserva de stock para compras.
+ * El descuento se hace con un UPDATE condicional (stock >= cantidad), así que no hay
+ * actualizaciones perdidas ni sobreventa aunque muchos compradores compitan por la misma oferta,
+ * y el lock de la fila dura sólo lo que tarda ese UPDATE dentro de la transacción de la compra.
+ * Las ofertas agotadas se recuerdan en el {@link StockLedger} para cortar antes de ir a la base.
+ */
+@Service
+public class ReservaStockService {
+
+    private final OfertaAutoRepository ofertaAutoRepository;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventos;
+
+    public ReservaStockService(OfertaAutoRepository ofertaAutoRepository, StockLedger stockLedger,
+                               ApplicationEventPublisher eventos) {
+        this.ofertaAutoRepository = ofertaAutoRepository;
+        this.stockLedger = stockLedger;
+        this.eventos = eventos;
+    }
+
+    /**
+     * Descuenta {@code cantidad} unidades de la oferta o lanza excepción si no hay stock suficiente.
+     * Debe llamarse dentro de la transacción de la compra: si esa transacción se revierte,
+     * el stock vuelve a su valor original y la oferta deja de figurar como agotada.
+     */
+    @Transactional
+    public void reservar(Long ofertaId, int cantidad) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad a reservar debe ser mayor a cero");
+        }
+        if (stockLedger.estaAgotada(ofertaId)) {
+            throw new IllegalStateException("Oferta sin stock disponible");
+        }
+
+        int actualizadas = ofertaAutoRepository.descontarStock(ofertaId, cantidad, OffsetDateTime.now());
+        if (actualizadas == 0) {
+            if (!ofertaAutoRepository.existsById(ofertaId)) {
+                throw new EntidadNoEncontradaException("Oferta no encontrada");
+            }
+            if (cantidad == 1) {
+                // Con cantidad 1 el fallo implica stock en cero
+                stockLedger.marcarAgotada(ofertaId);
+            }
+            throw new IllegalStateException("Oferta sin stock disponible");
+        }
+        eventos.publishEvent(new StockDescontado(ofertaId, cantidad));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        stockLedger.liberar(ofertaId);
+                    }
+                }
+            });
+        }
+    }
+}
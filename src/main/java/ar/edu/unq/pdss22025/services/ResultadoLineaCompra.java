@@ -0,0 +1,22 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Compra;
+
+/**
+ * Resultado de una línea de una compra en lote: la compra creada o el motivo por el que se rechazó.
+ * @param linea posición de la línea en el pedido, desde 0
+ */
+public record ResultadoLineaCompra(int linea, Long ofertaId, Integer cantidad, Compra compra, String error) {
+
+    static ResultadoLineaCompra creada(int linea, Compra compra) {
+        return new ResultadoLineaCompra(linea, compra.getOferta().getId(), compra.getCantidad(), compra, null);
+    }
+
+    static ResultadoLineaCompra rechazada(int linea, Long ofertaId, Integer cantidad, String error) {
+        return new ResultadoLineaCompra(linea, ofertaId, cantidad, null, error);
+    }
+
+    public boolean esCreada() {
+        return compra != null;
+    }
+}
@@ -0,0 +1,173 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.ResumenPuntajeAuto;
+import ar.edu.unq.pdss22025.repositories.ResumenPuntajeAutoRepository;
+import ar.edu.unq.pdss22025.services.eventos.PuntajeAutoActualizado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantiene el resumen de puntajes de cada auto ({@link ResumenPuntajeAuto}) que usan el promedio por auto
+ * y el ranking de mejor rankeados. Se invoca dentro de la transacción de la reseña, de modo que reseña
+ * y resumen se confirman o revierten juntos; cada cambio se avisa a {@link RankingAutos}, que lo aplica
+ * al confirmarse.
+ */
+@Slf4j
+@Service
+public class ResumenPuntajeService {
+
+    private final ResumenPuntajeAutoRepository resumenPuntajeAutoRepository;
+    private final RankingAutos rankingAutos;
+    private final TransactionTemplate transaccionPorAuto;
+    private final ApplicationEventPublisher eventos;
+
+    public ResumenPuntajeService(ResumenPuntajeAutoRepository resumenPuntajeAutoRepository,
+                                 RankingAutos rankingAutos,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventos) {
+        this.resumenPuntajeAutoRepository = resumenPuntajeAutoRepository;
+        this.rankingAutos = rankingAutos;
+        this.eventos = eventos;
+        this.transaccionPorAuto = new TransactionTemplate(transactionManager);
+        this.transaccionPorAuto.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Suma una reseña nueva al resumen del auto. El caso habitual es un único UPDATE; sólo la primera
+     * reseña del auto bloquea la fila del auto y crea el resumen, volviendo a intentar el UPDATE antes
+     * por si otra reseña concurrente ya lo creó.
+     */
+    @Transactional
+    public void sumar(Long autoId, int puntaje) {
+        if (resumenPuntajeAutoRepository.acumular(autoId, puntaje, 1) == 0) {
+            Auto auto = resumenPuntajeAutoRepository.bloquearAuto(autoId);
+            if (resumenPuntajeAutoRepository.acumular(autoId, puntaje, 1) == 0) {
+                long[] histograma = new long[ResumenPuntajeAuto.PUNTAJE_MAXIMO + 1];
+                histograma[puntaje] = 1;
+                resumenPuntajeAutoRepository.save(ResumenPuntajeAuto.desdeHistograma(autoId, histograma));
+                rankingAutos.sumar(auto, puntaje);
+                return;
+            }
+        }
+        rankingAutos.acumular(autoId, puntaje, 1);
+    }
+
+    /**
+     * Resta una reseña eliminada del resumen del auto. Si el resumen no existe hay un desvío,
+     * que corrige la reconciliación.
+     */
+    @Transactional
+    public void restar(Long autoId, int puntaje) {
+        if (resumenPuntajeAutoRepository.acumular(autoId, puntaje, -1) == 0) {
+            log.warn("No existe el resumen de puntajes del auto {} al eliminar una reseña", autoId);
+            return;
+        }
+        rankingAutos.acumular(autoId, puntaje, -1);
+    }
+
+    /**
+     * Cambia el puntaje de una reseña existente en el resumen del auto.
+     */
+    @Transactional
+    public void cambiar(Long autoId, int puntajeAnterior, int puntajeNuevo) {
+        if (puntajeAnterior != puntajeNuevo) {
+            restar(autoId, puntajeAnterior);
+            sumar(autoId, puntajeNuevo);
+        }
+    }
+
+    /**
+     * Promedio de puntaje del auto, o 0 si no tiene reseñas.
+     */
+    @Transactional(readOnly = true)
+    public double obtenerPromedio(Long autoId) {
+        return resumenPuntajeAutoRepository.findById(autoId)
+                .map(ResumenPuntajeAuto::getPromedio)
+                .orElse(0.0);
+    }
+
+    /**
+     * Compara los resúmenes con las reseñas y recalcula los que no coinciden.
+     * Cada auto con desvío se corrige en su propia transacción, con su resumen (o el auto) bloqueado
+     * y volviendo a contar sus reseñas, así no se pisan reseñas que se crean mientras tanto.
+     * @return cantidad de autos cuyo resumen estaba desviado y se corrigió
+     */
+    public int reconciliar() {
+        Map<Long, long[]> esperados = new HashMap<>();
+        for (Object[] fila : resumenPuntajeAutoRepository.contarResenasPorAutoYPuntaje()) {
+            long[] histograma = esperados.computeIfAbsent(((Number) fila[0]).longValue(),
+                    id -> new long[ResumenPuntajeAuto.PUNTAJE_MAXIMO + 1]);
+            histograma[((Number) fila[1]).intValue()] = ((Number) fila[2]).longValue();
+        }
+
+        List<Long> desviados = new ArrayList<>();
+        Map<Long, ResumenPuntajeAuto> actuales = new HashMap<>();
+        for (ResumenPuntajeAuto resumen : resumenPuntajeAutoRepository.findAll()) {
+            actuales.put(resumen.getAutoId(), resumen);
+            if (!coincide(resumen, esperados.get(resumen.getAutoId()))) {
+                desviados.add(resumen.getAutoId());
+            }
+        }
+        for (Long autoId : esperados.keySet()) {
+            if (!actuales.containsKey(autoId)) {
+                desviados.add(autoId);
+            }
+        }
+
+        int corregidos = 0;
+        for (Long autoId : desviados) {
+            Boolean corregido = transaccionPorAuto.execute(status -> recalcular(autoId));
+            if (Boolean.TRUE.equals(corregido)) {
+                corregidos++;
+            }
+        }
+        if (corregidos > 0) {
+            log.warn("Reconciliación de resúmenes de puntaje: se corrigieron {} autos con desvío", corregidos);
+        }
+        return corregidos;
+    }
+
+    private boolean recalcular(Long autoId) {
+        ResumenPuntajeAuto resumen = resumenPuntajeAutoRepository.findParaActualizar(autoId).orElse(null);
+        if (resumen == null && resumenPuntajeAutoRepository.bloquearAuto(autoId) == null) {
+            return false;
+        }
+        long[] histograma = new long[ResumenPuntajeAuto.PUNTAJE_MAXIMO + 1];
+        for (Object[] fila : resumenPuntajeAutoRepository.contarResenasPorPuntaje(autoId)) {
+            histograma[((Number) fila[0]).intValue()] = ((Number) fila[1]).longValue();
+        }
+        if (resumen == null) {
+            resumenPuntajeAutoRepository.save(ResumenPuntajeAuto.desdeHistograma(autoId, histograma));
+            eventos.publishEvent(new PuntajeAutoActualizado(autoId));
+            return true;
+        }
+        // Con el lock tomado se vuelve a comparar: el desvío pudo haber sido una reseña en curso
+        if (coincide(resumen, histograma)) {
+            return false;
+        }
+        resumen.aplicarHistograma(histograma);
+        eventos.publishEvent(new PuntajeAutoActualizado(autoId));
+        return true;
+    }
+
+    private static boolean coincide(ResumenPuntajeAuto resumen, long[] esperado) {
+        long[] histograma = esperado != null ? esperado : new long[ResumenPuntajeAuto.PUNTAJE_MAXIMO + 1];
+        ResumenPuntajeAuto recalculado = ResumenPuntajeAuto.desdeHistograma(resumen.getAutoId(), histograma);
+        return Arrays.equals(resumen.getHistograma(), histograma)
+                && resumen.getCantidad() == recalculado.getCantidad()
+                && resumen.getSuma() == recalculado.getSuma()
+                && Math.abs(resumen.getPromedio() - recalculado.getPromedio()) < 1e-9;
+    }
+}
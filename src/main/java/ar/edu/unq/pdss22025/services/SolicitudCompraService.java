@@ -0,0 +1,419 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.exceptions.ServicioSaturadoException;
+import ar.edu.unq.pdss22025.mapper.CompraMapper;
+import ar.edu.unq.pdss22025.models.SolicitudCompra;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraRequest;
+import ar.edu.unq.pdss22025.models.dto.SolicitudCompraResponse;
+import ar.edu.unq.pdss22025.models.usuario.Usuario;
+import ar.edu.unq.pdss22025.repositories.SolicitudCompraRepository;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compras con clave de idempotencia procesadas en segundo plano.
+ * <p>
+ * Cada pedido se guarda como {@link SolicitudCompra} PENDIENTE (la tabla es la cola durable) y su id entra
+ * en una cola en memoria acotada ({@code compras.solicitudes.capacidad-cola}); con la cola llena se responde
+ * 503 en lugar de guardar el pedido, así un pico de tráfico no agota el pool de conexiones. Un reintento
+ * con la misma clave del mismo comprador devuelve la solicitud original, sin crear otra compra.
+ * <p>
+ * Un pool fijo de trabajadores ({@code compras.solicitudes.trabajadores}) toma de la cola hasta
+ * {@code compras.solicitudes.tamanio-lote} solicitudes y las procesa en una transacción con
+ * {@link CompraService#crearCompras}: cada oferta se bloquea y se descuenta una única vez para todo el lote.
+ * Si el lote falla se reintenta de a una solicitud. Las solicitudes que quedaron pendientes (por un reinicio
+ * o porque no entraron en la cola) las vuelve a encolar un barrido periódico.
+ * <p>
+ * El cliente consulta el estado por id, o espera el resultado hasta {@link #ESPERA_MAXIMA_MS} ms.
+ * Con {@code spring.threads.virtual.enabled} los trabajadores son hilos virtuales.
+ */
+@Slf4j
+@Service
+public class SolicitudCompraService {
+
+    public static final int LARGO_MAXIMO_CLAVE = 100;
+    public static final long ESPERA_MAXIMA_MS = 30_000;
+    static final String METRICA_EN_COLA = "compras.solicitudes.en_cola";
+    static final String METRICA_PROCESADAS = "compras.solicitudes.procesadas";
+    static final String METRICA_LOTE = "compras.solicitudes.lote";
+    private static final long REINTENTAR_EN_SEGUNDOS = 2;
+
+    private final SolicitudCompraRepository solicitudCompraRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final CompraService compraService;
+    private final CompraMapper compraMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaccion;
+    private final int cantidadTrabajadores;
+    private final ThreadFactory fabricaHilos;
+    private final int tamanioLote;
+    private final BlockingQueue<Long> cola;
+    private final Set<Long> encoladas = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Espera> esperas = new ConcurrentHashMap<>();
+    private final Counter completadas;
+    private final Counter rechazadas;
+    private final Timer duracionLote;
+    private ExecutorService trabajadores;
+    private volatile boolean activo;
+
+    public SolicitudCompraService(SolicitudCompraRepository solicitudCompraRepository,
+                                  UsuarioRepository usuarioRepository,
+                                  CompraService compraService,
+                                  CompraMapper compraMapper,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${compras.solicitudes.trabajadores:2}") int cantidadTrabajadores,
+                                  @Value("${compras.solicitudes.tamanio-lote:50}") int tamanioLote,
+                                  @Value("${compras.solicitudes.capacidad-cola:1000}") int capacidadCola,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.solicitudCompraRepository = solicitudCompraRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.compraService = compraService;
+        this.compraMapper = compraMapper;
+        this.entityManager = entityManager;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.cantidadTrabajadores = cantidadTrabajadores;
+        this.fabricaHilos = hilosVirtuales
+                ? Thread.ofVirtual().name("compras-solicitudes-", 1).factory()
+                : Thread.ofPlatform().name("compras-solicitudes-", 1).daemon(true).factory();
+        this.tamanioLote = tamanioLote;
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+        Gauge.builder(METRICA_EN_COLA, cola, BlockingQueue::size)
+                .description("Solicitudes de compra esperando un trabajador")
+                .register(meterRegistry);
+        this.completadas = Counter.builder(METRICA_PROCESADAS).tag("estado", "completada")
+                .description("Solicitudes de compra procesadas").register(meterRegistry);
+        this.rechazadas = Counter.builder(METRICA_PROCESADAS).tag("estado", "rechazada")
+                .description("Solicitudes de compra procesadas").register(meterRegistry);
+        this.duracionLote = Timer.builder(METRICA_LOTE)
+                .description("Duración del procesamiento de un lote de solicitudes de compra")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Arranca los trabajadores y encola las solicitudes que quedaron pendientes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (activo) {
+            return;
+        }
+        activo = true;
+        trabajadores = Executors.newFixedThreadPool(cantidadTrabajadores, fabricaHilos);
+        for (int i = 0; i < cantidadTrabajadores; i++) {
+            trabajadores.execute(this::trabajar);
+        }
+        barrer();
+    }
+
+    @PreDestroy
+    public synchronized void detener() {
+        activo = false;
+        if (trabajadores != null) {
+            trabajadores.shutdownNow();
+        }
+    }
+
+    /**
+     * Registra el pedido de compra y lo encola. Si el comprador ya usó la clave devuelve esa solicitud,
+     * siempre que sea el mismo pedido (misma oferta y precio).
+     * @param esperaMs tiempo a esperar el resultado antes de responder (0 para responder enseguida)
+     * @throws ServicioSaturadoException si la cola está llena (el pedido no se guarda)
+     */
+    public SolicitudCompraResponse solicitar(String claveIdempotencia, CrearCompraRequest request, long esperaMs) {
+        return obtener(encolar(claveIdempotencia, request).getId(), esperaMs);
+    }
+
+    private SolicitudCompra encolar(String claveIdempotencia, CrearCompraRequest request) {
+        String clave = claveIdempotencia == null ? "" : claveIdempotencia.trim();
+        if (clave.isEmpty()) {
+            throw new RuntimeException("La clave de idempotencia es obligatoria (header Idempotency-Key)");
+        }
+        if (clave.length() > LARGO_MAXIMO_CLAVE) {
+            throw new RuntimeException("La clave de idempotencia no puede superar los " + LARGO_MAXIMO_CLAVE + " caracteres");
+        }
+        if (request.getOfertaId() == null || request.getCompradorId() == null) {
+            throw new RuntimeException("La oferta y el comprador son obligatorios");
+        }
+
+        SolicitudCompra existente = transaccion.execute(status ->
+                solicitudCompraRepository.findByCompradorIdAndClaveIdempotencia(request.getCompradorId(), clave).orElse(null));
+        if (existente != null) {
+            return verificarMismoPedido(existente, request);
+        }
+        if (cola.remainingCapacity() == 0) {
+            throw new ServicioSaturadoException("Hay demasiadas compras en proceso, reintente en unos segundos", REINTENTAR_EN_SEGUNDOS);
+        }
+
+        SolicitudCompra nueva;
+        try {
+            nueva = transaccion.execute(status -> {
+                Usuario comprador = usuarioRepository.findById(request.getCompradorId())
+                        .orElseThrow(() -> new EntidadNoEncontradaException("Comprador no encontrado"));
+                return solicitudCompraRepository.save(SolicitudCompra.builder()
+                        .claveIdempotencia(clave)
+                        .comprador(comprador)
+                        .ofertaId(request.getOfertaId())
+                        .precioCerrado(request.getPrecioCerrado())
+                        .estado(SolicitudCompra.Estado.PENDIENTE)
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Un reintento concurrente con la misma clave guardó su solicitud primero
+            SolicitudCompra ganadora = transaccion.execute(status ->
+                    solicitudCompraRepository.findByCompradorIdAndClaveIdempotencia(request.getCompradorId(), clave).orElse(null));
+            if (ganadora == null) {
+                throw e;
+            }
+            return verificarMismoPedido(ganadora, request);
+        }
+        // Si justo se llenó la cola, la solicitud ya está guardada y la toma el próximo barrido
+        ofrecer(nueva.getId());
+        return nueva;
+    }
+
+    /**
+     * Estado actual de la solicitud. Si sigue pendiente y {@code esperaMs} es mayor a cero, espera hasta
+     * ese tiempo (acotado a {@link #ESPERA_MAXIMA_MS}) a que se procese.
+     */
+    public SolicitudCompraResponse obtener(Long id, long esperaMs) {
+        SolicitudCompraResponse actual = obtener(id);
+        if (esperaMs <= 0 || !pendiente(actual)) {
+            return actual;
+        }
+        Espera espera = registrarEspera(id);
+        try {
+            // Se vuelve a leer después de registrar la espera: si terminó en el medio, ya se ve acá y no se espera
+            actual = obtener(id);
+            if (!pendiente(actual)) {
+                return actual;
+            }
+            espera.procesada.get(Math.min(esperaMs, ESPERA_MAXIMA_MS), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Sigue pendiente: se devuelve el estado actual
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            liberarEspera(id, espera);
+        }
+        return obtener(id);
+    }
+
+    public SolicitudCompraResponse obtener(Long id) {
+        return transaccion.execute(status -> {
+            SolicitudCompra solicitud = solicitudCompraRepository.findById(id)
+                    .orElseThrow(() -> new EntidadNoEncontradaException("Solicitud de compra con ID " + id + " no encontrada"));
+            // Si quien llama tiene un contexto de persistencia abierto, la solicitud puede venir de ahí, leída
+            // antes de que un trabajador la procesara (los endpoints de solicitudes no usan open-in-view)
+            entityManager.refresh(solicitud);
+            return aResponse(solicitud);
+        });
+    }
+
+    /**
+     * Vuelve a encolar las solicitudes pendientes que no están en la cola (por ejemplo, después de un
+     * reinicio), hasta llenar la cola.
+     */
+    @Scheduled(fixedDelayString = "${compras.solicitudes.barrido-ms:5000}", initialDelayString = "${compras.solicitudes.barrido-ms:5000}")
+    public void barrer() {
+        int lugar = cola.remainingCapacity();
+        if (lugar == 0) {
+            return;
+        }
+        List<Long> pendientes = transaccion.execute(status ->
+                solicitudCompraRepository.findIdsByEstado(SolicitudCompra.Estado.PENDIENTE, PageRequest.of(0, lugar + encoladas.size())));
+        for (Long id : pendientes) {
+            if (!ofrecer(id) && cola.remainingCapacity() == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Procesa las solicitudes indicadas que sigan pendientes. Lo usan los trabajadores; se expone para
+     * procesar de forma sincrónica en los tests.
+     */
+    public void procesar(List<Long> ids) {
+        Timer.Sample inicio = Timer.start();
+        try {
+            transaccion.executeWithoutResult(status -> procesarEnTransaccion(ids));
+        } catch (RuntimeException e) {
+            log.warn("Falló un lote de {} solicitudes de compra ({}); se reintenta de a una", ids.size(), e.getMessage());
+            for (Long id : ids) {
+                try {
+                    transaccion.executeWithoutResult(status -> procesarEnTransaccion(List.of(id)));
+                } catch (RuntimeException errorSolicitud) {
+                    log.error("No se pudo procesar la solicitud de compra {}", id, errorSolicitud);
+                    transaccion.executeWithoutResult(status -> rechazar(id, "No se pudo procesar la compra"));
+                }
+            }
+        } finally {
+            inicio.stop(duracionLote);
+            // Después de confirmar: quien espera el resultado lo lee ya procesado
+            for (Long id : ids) {
+                Espera espera = esperas.remove(id);
+                if (espera != null) {
+                    espera.procesada.complete(null);
+                }
+            }
+        }
+    }
+
+    private void procesarEnTransaccion(List<Long> ids) {
+        List<SolicitudCompra> pendientes = solicitudCompraRepository.bloquearPorEstado(ids, SolicitudCompra.Estado.PENDIENTE);
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        List<PedidoCompra> pedidos = new ArrayList<>(pendientes.size());
+        for (SolicitudCompra solicitud : pendientes) {
+            pedidos.add(new PedidoCompra(solicitud.getComprador(), solicitud.getOfertaId(), 1, solicitud.getPrecioCerrado()));
+        }
+        List<ResultadoLineaCompra> resultados = compraService.crearCompras(pedidos);
+        for (int i = 0; i < pendientes.size(); i++) {
+            SolicitudCompra solicitud = pendientes.get(i);
+            ResultadoLineaCompra resultado = resultados.get(i);
+            if (resultado.esCreada()) {
+                solicitud.setEstado(SolicitudCompra.Estado.COMPLETADA);
+                solicitud.setCompra(resultado.compra());
+                completadas.increment();
+            } else {
+                solicitud.setEstado(SolicitudCompra.Estado.RECHAZADA);
+                solicitud.setError(resultado.error());
+                rechazadas.increment();
+            }
+        }
+    }
+
+    private void rechazar(Long id, String error) {
+        solicitudCompraRepository.bloquearPorEstado(List.of(id), SolicitudCompra.Estado.PENDIENTE).forEach(solicitud -> {
+            solicitud.setEstado(SolicitudCompra.Estado.RECHAZADA);
+            solicitud.setError(error);
+            rechazadas.increment();
+        });
+    }
+
+    private void trabajar() {
+        List<Long> lote = new ArrayList<>(tamanioLote);
+        while (activo) {
+            try {
+                Long primera = cola.poll(500, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, tamanioLote - 1);
+                procesar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Las solicitudes siguen pendientes en la base; las retoma el barrido
+                log.error("Error procesando un lote de solicitudes de compra", e);
+            } finally {
+                lote.forEach(encoladas::remove);
+                lote.clear();
+            }
+        }
+    }
+
+    private boolean ofrecer(Long id) {
+        if (!encoladas.add(id)) {
+            return false;
+        }
+        if (!cola.offer(id)) {
+            encoladas.remove(id);
+            return false;
+        }
+        return true;
+    }
+
+    private Espera registrarEspera(Long id) {
+        return esperas.compute(id, (clave, espera) -> {
+            Espera registrada = espera != null ? espera : new Espera();
+            registrada.esperando++;
+            return registrada;
+        });
+    }
+
+    /**
+     * Quita la espera cuando se va el último que la usaba, así una espera vencida no queda en el mapa. Si el
+     * trabajador ya la completó (y la quitó) no hace nada, ni toca otra espera registrada después para el mismo id.
+     */
+    private void liberarEspera(Long id, Espera espera) {
+        esperas.computeIfPresent(id, (clave, actual) -> actual != espera || --actual.esperando > 0 ? actual : null);
+    }
+
+    int esperasRegistradas() {
+        return esperas.size();
+    }
+
+    private static boolean pendiente(SolicitudCompraResponse solicitud) {
+        return SolicitudCompra.Estado.PENDIENTE.name().equals(solicitud.getEstado());
+    }
+
+    private static SolicitudCompra verificarMismoPedido(SolicitudCompra solicitud, CrearCompraRequest request) {
+        boolean mismoPrecio = solicitud.getPrecioCerrado() == null
+                ? request.getPrecioCerrado() == null
+                : request.getPrecioCerrado() != null && solicitud.getPrecioCerrado().compareTo(request.getPrecioCerrado()) == 0;
+        if (!solicitud.getOfertaId().equals(request.getOfertaId()) || !mismoPrecio) {
+            throw new IllegalStateException("La clave de idempotencia ya se usó para otro pedido y no puede reutilizarse");
+        }
+        return solicitud;
+    }
+
+    private SolicitudCompraResponse aResponse(SolicitudCompra solicitud) {
+        return SolicitudCompraResponse.builder()
+                .id(solicitud.getId())
+                .claveIdempotencia(solicitud.getClaveIdempotencia())
+                .estado(solicitud.getEstado().name())
+                .compradorId(solicitud.getComprador().getId())
+                .ofertaId(solicitud.getOfertaId())
+                .precioCerrado(solicitud.getPrecioCerrado())
+                .compra(solicitud.getCompra() != null ? compraMapper.toResponse(solicitud.getCompra()) : null)
+                .error(solicitud.getError())
+                .creada(solicitud.getCreatedAt())
+                .actualizada(solicitud.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Aviso de que una solicitud se procesó y cantidad de consultas que lo esperan. La cantidad sólo se modifica
+     * dentro de {@code compute} del mapa de esperas.
+     */
+    private static final class Espera {
+        private final CompletableFuture<Void> procesada = new CompletableFuture<>();
+        private int esperando;
+    }
+}
@@ -0,0 +1,43 @@
+package ar.edu.unq.pdss22025.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Registro en memoria de las ofertas que se quedaron sin stock.
+ * Permite rechazar compras sobre ofertas agotadas sin tomar el lock de la fila en la base.
+ * La base sigue siendo la fuente de verdad: una oferta sólo se marca como agotada
+ * después de que el descuento atómico de stock haya fallado o lo haya dejado en cero.
+ * <p>
+ * La marca es una pista y vence a los {@code compras.stock.agotada-ttl} de ponerse: el stock repuesto por un
+ * camino que no llama a {@link #liberar(Long)} (otra instancia, un cambio directo en la base) vuelve a venderse
+ * a más tardar en ese tiempo, y la compra siguiente a que venza la marca vuelve a consultar la base.
+ */
+@Component
+public class StockLedger {
+
+    private final Cache<Long, Boolean> agotadas;
+
+    public StockLedger(@Value("${compras.stock.agotada-ttl:5s}") Duration ttl) {
+        this.agotadas = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+    }
+
+    public boolean estaAgotada(Long ofertaId) {
+        return agotadas.getIfPresent(ofertaId) != null;
+    }
+
+    public void marcarAgotada(Long ofertaId) {
+        agotadas.put(ofertaId, Boolean.TRUE);
+    }
+
+    /**
+     * Quita la marca de agotada (por ejemplo, cuando se revierte una reserva o se repone stock).
+     */
+    public void liberar(Long ofertaId) {
+        agotadas.invalidate(ofertaId);
+    }
+}
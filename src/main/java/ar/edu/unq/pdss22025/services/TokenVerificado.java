@@ -0,0 +1,20 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.usuario.Rol;
+
+import java.time.Instant;
+
+/**
+ * Resultado de verificar un JWT: los datos que usa la autenticación, leídos de una sola pasada.
+ *
+ * @param subject    email del usuario (subject del token)
+ * @param userId     id del usuario, o null si el token no lo trae
+ * @param rol        rol del usuario, o null si el token no lo trae o no es válido
+ * @param expiracion instante de expiración del token
+ */
+public record TokenVerificado(String subject, Long userId, Rol rol, Instant expiracion) {
+
+    public boolean estaVigente(Instant ahora) {
+        return expiracion == null || ahora.isBefore(expiracion);
+    }
+}
@@ -1,7 +1,9 @@
 package ar.edu.unq.pdss22025.services;
 
+import ar.edu.unq.pdss22025.models.usuario.EstadoUsuario;
 import ar.edu.unq.pdss22025.models.usuario.Rol;
 import ar.edu.unq.pdss22025.models.usuario.Usuario;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioAutenticado;
 import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -11,14 +13,35 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.Optional;
 
 @Service
 public class UsuarioDetailsService implements UserDetailsService {
 
     private final UsuarioRepository usuarioRepository;
+    private final EstadoUsuarioCache estadoUsuarioCache;
 
-    public UsuarioDetailsService(UsuarioRepository usuarioRepository) {
+    public UsuarioDetailsService(UsuarioRepository usuarioRepository, EstadoUsuarioCache estadoUsuarioCache) {
         this.usuarioRepository = usuarioRepository;
+        this.estadoUsuarioCache = estadoUsuarioCache;
+    }
+
+    /**
+     * Arma el principal a partir de un token ya verificado: userId, email y rol salen de los claims
+     * y el estado (activo, concesionaria) de {@link EstadoUsuarioCache}, así que en el caso habitual
+     * no hay ninguna consulta a la base.
+     * Los tokens sin userId o rol (emitidos antes de incluir esos claims) se resuelven por email.
+     * @return el principal, o vacío si el usuario no existe o no está activo
+     */
+    public Optional<UserDetails> cargarDesdeToken(TokenVerificado token) {
+        if (token.userId() == null || token.rol() == null) {
+            UserDetails userDetails = loadUserByUsername(token.subject());
+            return userDetails.isEnabled() ? Optional.of(userDetails) : Optional.empty();
+        }
+        return estadoUsuarioCache.obtener(token.userId())
+                .filter(EstadoUsuario::activo)
+                .map(estado -> new UsuarioAutenticado(
+                        estado.id(), token.subject(), token.rol(), estado.concesionariaId()));
     }
 
     @Override
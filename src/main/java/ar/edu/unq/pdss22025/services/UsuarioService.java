@@ -1,25 +1,32 @@
 package ar.edu.unq.pdss22025.services;
 
 import ar.edu.unq.pdss22025.exceptions.CredencialesInvalidasException;
+import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.models.usuario.EstadoUsuario;
 import ar.edu.unq.pdss22025.models.usuario.Usuario;
 import ar.edu.unq.pdss22025.models.usuario.menu.MenuItem;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioAdmin;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioAutenticado;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioConcesionaria;
 import ar.edu.unq.pdss22025.repositories.UsuarioAdminRepository;
 import ar.edu.unq.pdss22025.repositories.UsuarioCompradorRepository;
 import ar.edu.unq.pdss22025.repositories.UsuarioConcesionariaRepository;
 import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import ar.edu.unq.pdss22025.exceptions.ServicioSaturadoException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
+@Slf4j
 @Service
 public class UsuarioService {
 
@@ -28,9 +35,14 @@ public class UsuarioService {
     private final UsuarioConcesionariaRepository usuarioConcesionariaRepository;
     private final UsuarioCompradorRepository usuarioCompradorRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EstadoUsuarioCache estadoUsuarioCache;
+    private final VerificadorPasswords verificadorPasswords;
 
-    public UsuarioService(PasswordEncoder passwordEncoder, UsuarioRepository usuarioRepository, UsuarioAdminRepository usuarioAdminRepository, UsuarioCompradorRepository usuarioCompradorRepository, UsuarioConcesionariaRepository usuarioConcesionariaRepository) {
+    public UsuarioService(PasswordEncoder passwordEncoder, UsuarioRepository usuarioRepository, UsuarioAdminRepository usuarioAdminRepository, UsuarioCompradorRepository usuarioCompradorRepository, UsuarioConcesionariaRepository usuarioConcesionariaRepository,
+                          EstadoUsuarioCache estadoUsuarioCache, VerificadorPasswords verificadorPasswords) {
         this.usuarioRepository = usuarioRepository;
+        this.estadoUsuarioCache = estadoUsuarioCache;
+        this.verificadorPasswords = verificadorPasswords;
         this.passwordEncoder = passwordEncoder;
         this.usuarioCompradorRepository = usuarioCompradorRepository;
         this.usuarioConcesionariaRepository = usuarioConcesionariaRepository;
@@ -105,13 +117,30 @@ public class UsuarioService {
     }
 
     public Usuario autenticar(String email, String password) {
-        return usuarioRepository.findByEmail(email)
-                .filter(u -> u.getPassword() != null && passwordEncoder.matches(password, u.getPassword()))
+        Usuario usuario = usuarioRepository.findByEmail(email)
+                .filter(u -> u.getPassword() != null && verificadorPasswords.coincide(password, u.getPassword()))
                 .orElseThrow(() -> new CredencialesInvalidasException());
+        if (verificadorPasswords.requiereRehash(usuario.getPassword())) {
+            regenerarHash(usuario, password);
+        }
+        return usuario;
+    }
+
+    /**
+     * Vuelve a generar el hash con el costo actual ({@code seguridad.bcrypt.costo}), aprovechando que en el
+     * login se conoce la contraseña. Si no se puede (pool saturado) el login sigue y se reintenta en el próximo.
+     */
+    private void regenerarHash(Usuario usuario, String password) {
+        try {
+            usuarioRepository.actualizarPassword(usuario.getId(), usuario.getPassword(), verificadorPasswords.codificar(password));
+        } catch (ServicioSaturadoException e) {
+            log.debug("No se regeneró el hash de la contraseña del usuario {}: {}", usuario.getId(), e.getMessage());
+        }
     }
 
     /**
-     * Obtiene el usuario autenticado desde el SecurityContext.
+     * Obtiene el usuario autenticado desde el SecurityContext. Consulta la base: si sólo se necesita el id,
+     * usar {@link #obtenerIdUsuarioAutenticado()}.
      * @return Optional con el usuario autenticado, o empty si no está autenticado
      */
     public Optional<Usuario> obtenerUsuarioAutenticado() {
@@ -119,10 +148,45 @@ public class UsuarioService {
         if (authentication == null || !authentication.isAuthenticated()) {
             return Optional.empty();
         }
+        // Con el principal armado desde el token se busca por id (clave primaria) en lugar de por email
+        if (authentication.getPrincipal() instanceof UsuarioAutenticado principal) {
+            return obtenerUsuarioPorId(principal.getId());
+        }
         String email = authentication.getName();
         return obtenerUsuarioPorEmail(email);
     }
 
+    /**
+     * Obtiene el id del usuario autenticado. Con el principal armado desde el token lo confirma contra
+     * {@link EstadoUsuarioCache}, sin consultar la base en el caso habitual.
+     * @return Optional con el id, o empty si no está autenticado o el usuario no existe
+     */
+    public Optional<Long> obtenerIdUsuarioAutenticado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof UsuarioAutenticado principal) {
+            return estadoUsuarioCache.obtener(principal.getId()).map(EstadoUsuario::id);
+        }
+        return obtenerUsuarioPorEmail(authentication.getName()).map(Usuario::getId);
+    }
+
+    /**
+     * Activa o desactiva un usuario. Un usuario inactivo deja de autenticarse con sus tokens vigentes
+     * en cuanto se invalida su estado en {@link EstadoUsuarioCache}.
+     * @return el usuario actualizado
+     */
+    @Transactional
+    public Usuario cambiarEstado(Long id, boolean activo) {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new EntidadNoEncontradaException("Usuario no encontrado"));
+        usuario.setActivo(activo);
+        Usuario actualizado = usuarioRepository.save(usuario);
+        estadoUsuarioCache.invalidar(id);
+        return actualizado;
+    }
+
     /**
      * Obtiene el menú del usuario autenticado.
      * @return Optional con la lista de items del menú, o empty si no está autenticado o no se encuentra el usuario
@@ -0,0 +1,153 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Compra;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.VentaDiariaAuto;
+import ar.edu.unq.pdss22025.models.VentaDiariaComprador;
+import ar.edu.unq.pdss22025.models.VentaDiariaConcesionaria;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaCompradorRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaConcesionariaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantiene los acumulados diarios de ventas (por auto, comprador y concesionaria)
+ * que usan los reportes Top 5. Se invoca dentro de la transacción de la compra,
+ * de modo que compra y acumulados se confirman o revierten juntos.
+ */
+@Service
+public class VentaDiariaService {
+
+    private final VentaDiariaAutoRepository ventaDiariaAutoRepository;
+    private final VentaDiariaCompradorRepository ventaDiariaCompradorRepository;
+    private final VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository;
+
+    public VentaDiariaService(VentaDiariaAutoRepository ventaDiariaAutoRepository,
+                              VentaDiariaCompradorRepository ventaDiariaCompradorRepository,
+                              VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository) {
+        this.ventaDiariaAutoRepository = ventaDiariaAutoRepository;
+        this.ventaDiariaCompradorRepository = ventaDiariaCompradorRepository;
+        this.ventaDiariaConcesionariaRepository = ventaDiariaConcesionariaRepository;
+    }
+
+    /**
+     * Suma la compra a los acumulados del día de su fecha de compra (en UTC).
+     * El caso habitual es un único UPDATE por acumulado; sólo la primera venta del día
+     * bloquea la fila padre (auto, comprador o concesionaria) y crea el registro, volviendo
+     * a intentar el UPDATE antes por si otra compra concurrente ya lo creó.
+     */
+    @Transactional
+    public void registrarVenta(Compra compra) {
+        LocalDate fecha = bucketDe(compra.getFechaCompra());
+        OfertaAuto oferta = compra.getOferta();
+        Acumulado venta = Acumulado.de(compra);
+
+        acumularAuto(fecha, oferta.getAuto().getId(), venta);
+        acumularComprador(fecha, compra.getComprador().getId(), venta);
+        acumularConcesionaria(fecha, oferta.getConcesionaria().getId(), venta);
+    }
+
+    /**
+     * Suma varias compras (por ejemplo, las de una compra en lote) agrupándolas antes por día y dimensión,
+     * así cada acumulado recibe un único UPDATE aunque lo toquen muchas compras. Los acumulados se actualizan
+     * en orden de (fecha, id), sin importar el orden de las compras: dos lotes concurrentes que comparten autos,
+     * compradores o concesionarias toman los locks de fila en el mismo orden y no pueden trabarse entre sí (deadlock).
+     */
+    @Transactional
+    public void registrarVentas(List<Compra> compras) {
+        Map<Clave, Acumulado> porAuto = new TreeMap<>(Clave.ORDEN);
+        Map<Clave, Acumulado> porComprador = new TreeMap<>(Clave.ORDEN);
+        Map<Clave, Acumulado> porConcesionaria = new TreeMap<>(Clave.ORDEN);
+        for (Compra compra : compras) {
+            LocalDate fecha = bucketDe(compra.getFechaCompra());
+            OfertaAuto oferta = compra.getOferta();
+            Acumulado venta = Acumulado.de(compra);
+            porAuto.merge(new Clave(fecha, oferta.getAuto().getId()), venta, Acumulado::sumar);
+            porComprador.merge(new Clave(fecha, compra.getComprador().getId()), venta, Acumulado::sumar);
+            porConcesionaria.merge(new Clave(fecha, oferta.getConcesionaria().getId()), venta, Acumulado::sumar);
+        }
+        porAuto.forEach((clave, acumulado) -> acumularAuto(clave.fecha(), clave.id(), acumulado));
+        porComprador.forEach((clave, acumulado) -> acumularComprador(clave.fecha(), clave.id(), acumulado));
+        porConcesionaria.forEach((clave, acumulado) -> acumularConcesionaria(clave.fecha(), clave.id(), acumulado));
+    }
+
+    private void acumularAuto(LocalDate fecha, Long autoId, Acumulado venta) {
+        if (ventaDiariaAutoRepository.acumular(fecha, autoId, venta.cantidad(), venta.total(), venta.sumaPrecioUnitario()) == 0) {
+            ventaDiariaAutoRepository.bloquearAuto(autoId);
+            if (ventaDiariaAutoRepository.acumular(fecha, autoId, venta.cantidad(), venta.total(), venta.sumaPrecioUnitario()) == 0) {
+                ventaDiariaAutoRepository.save(VentaDiariaAuto.builder()
+                        .fecha(fecha)
+                        .autoId(autoId)
+                        .cantidad(venta.cantidad())
+                        .total(venta.total())
+                        .sumaPrecioUnitario(venta.sumaPrecioUnitario())
+                        .build());
+            }
+        }
+    }
+
+    private void acumularComprador(LocalDate fecha, Long compradorId, Acumulado venta) {
+        if (ventaDiariaCompradorRepository.acumular(fecha, compradorId, venta.cantidad(), venta.total(), venta.sumaPrecioUnitario()) == 0) {
+            ventaDiariaCompradorRepository.bloquearComprador(compradorId);
+            if (ventaDiariaCompradorRepository.acumular(fecha, compradorId, venta.cantidad(), venta.total(), venta.sumaPrecioUnitario()) == 0) {
+                ventaDiariaCompradorRepository.save(VentaDiariaComprador.builder()
+                        .fecha(fecha)
+                        .compradorId(compradorId)
+                        .cantidad(venta.cantidad())
+                        .total(venta.total())
+                        .sumaPrecioUnitario(venta.sumaPrecioUnitario())
+                        .build());
+            }
+        }
+    }
+
+    private void acumularConcesionaria(LocalDate fecha, Long concesionariaId, Acumulado venta) {
+        if (ventaDiariaConcesionariaRepository.acumular(fecha, concesionariaId, venta.cantidad(), venta.total(), venta.sumaPrecioUnitario()) == 0) {
+            ventaDiariaConcesionariaRepository.bloquearConcesionaria(concesionariaId);
+            if (ventaDiariaConcesionariaRepository.acumular(fecha, concesionariaId, venta.cantidad(), venta.total(), venta.sumaPrecioUnitario()) == 0) {
+                ventaDiariaConcesionariaRepository.save(VentaDiariaConcesionaria.builder()
+                        .fecha(fecha)
+                        .concesionariaId(concesionariaId)
+                        .cantidad(venta.cantidad())
+                        .total(venta.total())
+                        .sumaPrecioUnitario(venta.sumaPrecioUnitario())
+                        .build());
+            }
+        }
+    }
+
+    private LocalDate bucketDe(OffsetDateTime fechaCompra) {
+        OffsetDateTime fecha = fechaCompra != null ? fechaCompra : OffsetDateTime.now();
+        return fecha.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private record Clave(LocalDate fecha, Long id) {
+
+        static final Comparator<Clave> ORDEN = Comparator.comparing(Clave::fecha).thenComparing(Clave::id);
+    }
+
+    /**
+     * Cantidad de compras, total y suma de precios unitarios a sumar en un acumulado.
+     */
+    private record Acumulado(long cantidad, BigDecimal total, BigDecimal sumaPrecioUnitario) {
+
+        static Acumulado de(Compra compra) {
+            return new Acumulado(1, compra.getTotal(), compra.getPrecioUnitario());
+        }
+
+        Acumulado sumar(Acumulado otro) {
+            return new Acumulado(cantidad + otro.cantidad, total.add(otro.total),
+                    sumaPrecioUnitario.add(otro.sumaPrecioUnitario));
+        }
+    }
+}
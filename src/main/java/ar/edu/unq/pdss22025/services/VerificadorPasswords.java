@@ -0,0 +1,125 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.exceptions.ServicioSaturadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifica y genera hashes de contraseñas (BCrypt) en un pool propio, acotado a la cantidad de núcleos
+ * ({@code seguridad.bcrypt.hilos}) y con una cola de espera limitada ({@code seguridad.bcrypt.capacidad-cola}).
+ * Cada hash consume decenas de milisegundos de CPU; fuera de los hilos de Tomcat, una ráfaga de logins
+ * no deja sin hilos ni CPU al resto de los endpoints. Con la cola llena se rechaza enseguida con
+ * {@link ServicioSaturadoException} (503) en lugar de encolar pedidos que igual vencerían del lado del cliente.
+ * <p>
+ * Los hilos son de plataforma aunque estén activos los hilos virtuales: el trabajo es sólo CPU.
+ */
+@Component
+public class VerificadorPasswords {
+
+    static final String METRICA_EN_COLA = "login.bcrypt.en_cola";
+    static final String METRICA_ESPERA = "login.bcrypt.espera";
+    static final String METRICA_HASH = "login.bcrypt.hash";
+    static final String METRICA_RECHAZADOS = "login.bcrypt.rechazados";
+    private static final long REINTENTAR_EN_SEGUNDOS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor ejecutor;
+    private final Timer espera;
+    private final Timer duracionVerificacion;
+    private final Timer duracionCodificacion;
+    private final Counter rechazados;
+
+    public VerificadorPasswords(PasswordEncoder passwordEncoder,
+                                MeterRegistry meterRegistry,
+                                @Value("${seguridad.bcrypt.hilos:0}") int hilos,
+                                @Value("${seguridad.bcrypt.capacidad-cola:64}") int capacidadCola) {
+        this.passwordEncoder = passwordEncoder;
+        int cantidadHilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.ejecutor = new ThreadPoolExecutor(cantidadHilos, cantidadHilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                Thread.ofPlatform().name("bcrypt-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder(METRICA_EN_COLA, ejecutor, e -> e.getQueue().size())
+                .description("Hashes de contraseñas esperando un hilo")
+                .register(meterRegistry);
+        this.espera = Timer.builder(METRICA_ESPERA)
+                .description("Tiempo en cola antes de calcular el hash")
+                .register(meterRegistry);
+        this.duracionVerificacion = Timer.builder(METRICA_HASH).tag("operacion", "verificar")
+                .description("Duración del cálculo del hash").register(meterRegistry);
+        this.duracionCodificacion = Timer.builder(METRICA_HASH).tag("operacion", "codificar")
+                .description("Duración del cálculo del hash").register(meterRegistry);
+        this.rechazados = Counter.builder(METRICA_RECHAZADOS)
+                .description("Hashes rechazados por cola llena")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Indica si la contraseña coincide con el hash guardado.
+     * @throws ServicioSaturadoException si la cola está llena
+     */
+    public boolean coincide(String password, String hash) {
+        return ejecutar(() -> passwordEncoder.matches(password, hash), duracionVerificacion);
+    }
+
+    /**
+     * Genera el hash de la contraseña con el costo configurado.
+     * @throws ServicioSaturadoException si la cola está llena
+     */
+    public String codificar(String password) {
+        return ejecutar(() -> passwordEncoder.encode(password), duracionCodificacion);
+    }
+
+    /**
+     * Indica si el hash se generó con un costo menor al configurado ({@code seguridad.bcrypt.costo})
+     * y conviene regenerarlo. No calcula ningún hash, por eso no pasa por el pool.
+     */
+    public boolean requiereRehash(String hash) {
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    private <T> T ejecutar(Callable<T> calculo, Timer duracion) {
+        long encolado = System.nanoTime();
+        Future<T> resultado;
+        try {
+            resultado = ejecutor.submit(() -> {
+                espera.record(System.nanoTime() - encolado, TimeUnit.NANOSECONDS);
+                return duracion.recordCallable(calculo);
+            });
+        } catch (RejectedExecutionException e) {
+            rechazados.increment();
+            throw new ServicioSaturadoException("Hay demasiados inicios de sesión en curso, reintente en unos segundos", REINTENTAR_EN_SEGUNDOS);
+        }
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Se interrumpió la verificación de la contraseña", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new RuntimeException("Falló el cálculo del hash de la contraseña", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffer circular de eventos con capacidad fija (potencia de 2), varios productores y una cantidad fija de
+ * lectores, cada uno con su propia posición: todos los lectores ven todos los eventos, en el orden de publicación.
+ * <p>
+ * Los casilleros se reservan al crearlo y se reutilizan, así publicar no crea objetos ni toma locks: el productor
+ * reserva la siguiente secuencia con un CAS, escribe el casillero y lo marca como publicado guardando en él su
+ * secuencia. Un lector avanza mientras el casillero siguiente tenga la secuencia que espera, así un productor lento
+ * no deja ver casilleros a medio escribir. Un casillero se vuelve a escribir recién cuando todos los lectores
+ * confirmaron haberlo procesado; si el lector más atrasado no lo libera en {@code esperaMaximaNanos}, el evento
+ * se descarta.
+ */
+final class AnilloEventos {
+
+    private static final int VUELTAS_ACTIVAS = 100;
+    private static final long PAUSA_MINIMA_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long PAUSA_MAXIMA_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    // Vueltas con pausa a partir de las cuales la pausa ya llegó al máximo (50µs duplicados 7 veces superan 5ms)
+    private static final int VUELTAS_CON_PAUSA = 7;
+
+    private final int capacidad;
+    private final int mascara;
+    private final EventoDominio[] eventos;
+    private final long[] publicados;
+    private final AtomicLongArray secuencias;
+    private final AtomicLong reservada = new AtomicLong(-1);
+    private final Lector[] lectores;
+    // Mínimo de lo confirmado por los lectores la última vez que se calculó; sólo puede quedar atrasado
+    private volatile long minimoConfirmado = -1;
+
+    AnilloEventos(int capacidad, int cantidadLectores) {
+        if (capacidad < 2 || Integer.bitCount(capacidad) != 1) {
+            throw new IllegalArgumentException("La capacidad del anillo de eventos debe ser una potencia de 2");
+        }
+        this.capacidad = capacidad;
+        this.mascara = capacidad - 1;
+        this.eventos = new EventoDominio[capacidad];
+        this.publicados = new long[capacidad];
+        this.secuencias = new AtomicLongArray(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            secuencias.set(i, -1);
+        }
+        this.lectores = new Lector[cantidadLectores];
+        for (int i = 0; i < cantidadLectores; i++) {
+            lectores[i] = new Lector();
+        }
+    }
+
+    int capacidad() {
+        return capacidad;
+    }
+
+    Lector lector(int indice) {
+        return lectores[indice];
+    }
+
+    /**
+     * Última secuencia reservada por un productor (-1 si todavía no se publicó nada).
+     */
+    long ultimaReservada() {
+        return reservada.get();
+    }
+
+    /**
+     * Publica el evento; si el anillo está lleno espera hasta {@code esperaMaximaNanos} a que el lector más
+     * atrasado libere un casillero.
+     * @return false si venció la espera y el evento no se publicó
+     */
+    boolean publicar(EventoDominio evento, long esperaMaximaNanos) {
+        long secuencia;
+        long limite = 0;
+        int vueltas = 0;
+        while (true) {
+            long actual = reservada.get();
+            secuencia = actual + 1;
+            // El casillero de la secuencia tuvo antes la secuencia - capacidad, que todos tienen que haber procesado
+            if (secuencia - capacidad > minimoConfirmado && secuencia - capacidad > recalcularMinimo()) {
+                if (limite == 0) {
+                    limite = System.nanoTime() + esperaMaximaNanos;
+                } else if (System.nanoTime() - limite > 0) {
+                    return false;
+                }
+                vueltas = esperar(vueltas);
+                continue;
+            }
+            if (reservada.compareAndSet(actual, secuencia)) {
+                break;
+            }
+        }
+        int casillero = (int) secuencia & mascara;
+        eventos[casillero] = evento;
+        publicados[casillero] = System.nanoTime();
+        secuencias.setRelease(casillero, secuencia);
+        return true;
+    }
+
+    private long recalcularMinimo() {
+        long minimo = Long.MAX_VALUE;
+        for (Lector lector : lectores) {
+            minimo = Math.min(minimo, lector.confirmada.get());
+        }
+        if (minimo == Long.MAX_VALUE) {
+            // Sin lectores nadie retiene casilleros
+            minimo = reservada.get();
+        }
+        minimoConfirmado = minimo;
+        return minimo;
+    }
+
+    /**
+     * Espera antes de volver a mirar el anillo: unas vueltas activas, después cediendo el procesador y después con
+     * pausas que se duplican desde 50µs hasta 5ms, así un consumidor sin eventos casi no usa procesador y uno con
+     * tráfico responde enseguida.
+     * @param vueltas vueltas seguidas sin poder avanzar, empezando en 0
+     * @return las vueltas a pasar en la próxima llamada
+     */
+    static int esperar(int vueltas) {
+        if (vueltas < VUELTAS_ACTIVAS) {
+            Thread.onSpinWait();
+        } else if (vueltas < 2 * VUELTAS_ACTIVAS) {
+            Thread.yield();
+        } else {
+            int conPausa = vueltas - 2 * VUELTAS_ACTIVAS;
+            LockSupport.parkNanos(Math.min(PAUSA_MINIMA_NANOS << conPausa, PAUSA_MAXIMA_NANOS));
+            // No se sigue contando una vez alcanzada la pausa máxima
+            return conPausa < VUELTAS_CON_PAUSA ? vueltas + 1 : vueltas;
+        }
+        return vueltas + 1;
+    }
+
+    /**
+     * Posición de un lector. Cada lector lo usa un único hilo.
+     */
+    final class Lector {
+
+        private final AtomicLong confirmada = new AtomicLong(-1);
+
+        /**
+         * Copia al lote los eventos publicados a continuación del último confirmado, hasta {@code maximo}.
+         * Los casilleros siguen retenidos hasta {@link #confirmar}.
+         * @return el {@code System.nanoTime()} en que se publicó el primer evento del lote (sin sentido si quedó vacío)
+         */
+        long tomar(List<EventoDominio> lote, int maximo) {
+            long desde = confirmada.get() + 1;
+            long primero = 0;
+            for (long secuencia = desde; secuencia < desde + maximo; secuencia++) {
+                int casillero = (int) secuencia & mascara;
+                if (secuencias.getAcquire(casillero) != secuencia) {
+                    break;
+                }
+                if (secuencia == desde) {
+                    primero = publicados[casillero];
+                }
+                lote.add(eventos[casillero]);
+            }
+            return primero;
+        }
+
+        /**
+         * Libera los casilleros de los próximos {@code cantidad} eventos, ya procesados.
+         */
+        void confirmar(int cantidad) {
+            confirmada.addAndGet(cantidad);
+        }
+
+        /**
+         * Eventos publicados o reservados que el lector todavía no confirmó.
+         */
+        long pendientes() {
+            return Math.max(0, reservada.get() - confirmada.get());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bus de eventos de dominio en memoria, para actualizar proyecciones y cachés fuera del hilo del pedido.
+ * <p>
+ * Escucha todos los {@link EventoDominio} que publican los servicios y, al confirmarse la transacción que los
+ * publicó (nunca si se revierte), los copia en un {@link AnilloEventos} de {@code eventos.bus.capacidad} casilleros.
+ * Cada {@link ConsumidorEventos} tiene un hilo que toma los eventos del anillo en lotes de hasta
+ * {@code eventos.bus.tamanio-lote}: con tráfico alto procesa muchos eventos por vuelta y sin tráfico espera
+ * activamente unas vueltas y después con pausas que crecen hasta unos milisegundos. Publicar sólo espera si el
+ * consumidor más atrasado tiene el anillo lleno; pasados {@code eventos.bus.espera-maxima-ms} el evento se
+ * descarta y se cuenta en {@code eventos.bus.descartados}, igual que los publicados después de {@link #detener()}.
+ * <p>
+ * La entrega es a lo sumo una vez: un evento descartado no llega a nadie, y si un consumidor lanza una excepción
+ * el lote se da por procesado igual, sin reintentos, y sus eventos se cuentan en {@code eventos.bus.perdidos}.
+ * Lo que necesite entrega garantizada va por {@link OutboxEventos}.
+ * <p>
+ * Métricas: {@code eventos.bus.publicados} (por tipo de evento), y por consumidor {@code eventos.bus.procesados},
+ * {@code eventos.bus.pendientes} (eventos sin procesar), {@code eventos.bus.demora} (desde la confirmación hasta
+ * que el consumidor toma el lote), {@code eventos.bus.lote} (tamaño de los lotes), {@code eventos.bus.errores}
+ * (lotes fallidos) y {@code eventos.bus.perdidos} (eventos de los lotes fallidos).
+ */
+@Slf4j
+@Component
+public class BusEventos {
+
+    static final String METRICA_PUBLICADOS = "eventos.bus.publicados";
+    static final String METRICA_DESCARTADOS = "eventos.bus.descartados";
+    static final String METRICA_PROCESADOS = "eventos.bus.procesados";
+    static final String METRICA_PENDIENTES = "eventos.bus.pendientes";
+    static final String METRICA_DEMORA = "eventos.bus.demora";
+    static final String METRICA_LOTE = "eventos.bus.lote";
+    static final String METRICA_ERRORES = "eventos.bus.errores";
+    static final String METRICA_PERDIDOS = "eventos.bus.perdidos";
+    private static final long ESPERA_AL_DETENER_MS = 5000;
+
+    private final AnilloEventos anillo;
+    private final List<Suscripcion> suscripciones = new ArrayList<>();
+    private final int tamanioLote;
+    private final long esperaMaximaNanos;
+    private final ThreadFactory fabricaHilos;
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Counter> publicadosPorTipo = new ConcurrentHashMap<>();
+    private final Counter descartados;
+    private volatile boolean activo;
+    private volatile boolean detenido;
+    private boolean iniciado;
+
+    public BusEventos(ObjectProvider<ConsumidorEventos> consumidores,
+                      MeterRegistry meterRegistry,
+                      @Value("${eventos.bus.capacidad:8192}") int capacidad,
+                      @Value("${eventos.bus.tamanio-lote:256}") int tamanioLote,
+                      @Value("${eventos.bus.espera-maxima-ms:100}") long esperaMaximaMs,
+                      @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        List<ConsumidorEventos> lista = consumidores.orderedStream().toList();
+        this.anillo = new AnilloEventos(capacidad, lista.size());
+        this.tamanioLote = tamanioLote;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+        this.fabricaHilos = hilosVirtuales
+                ? Thread.ofVirtual().name("eventos-", 1).factory()
+                : Thread.ofPlatform().name("eventos-", 1).daemon(true).factory();
+        this.meterRegistry = meterRegistry;
+        this.descartados = Counter.builder(METRICA_DESCARTADOS)
+                .description("Eventos descartados porque el anillo estaba lleno o el bus estaba detenido")
+                .register(meterRegistry);
+        for (int i = 0; i < lista.size(); i++) {
+            suscripciones.add(new Suscripcion(lista.get(i), anillo.lector(i), meterRegistry));
+        }
+    }
+
+    /**
+     * Arranca un hilo por consumidor. Los eventos confirmados antes quedan en el anillo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (iniciado) {
+            return;
+        }
+        iniciado = true;
+        activo = true;
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.hilo = fabricaHilos.newThread(() -> consumir(suscripcion));
+            suscripcion.hilo.start();
+        }
+    }
+
+    /**
+     * Deja de aceptar eventos y espera a que los consumidores procesen los que quedan en el anillo. Los eventos
+     * publicados después se descartan.
+     */
+    @PreDestroy
+    public synchronized void detener() {
+        detenido = true;
+        activo = false;
+        for (Suscripcion suscripcion : suscripciones) {
+            if (suscripcion.hilo != null) {
+                try {
+                    suscripcion.hilo.join(ESPERA_AL_DETENER_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Recibe los eventos que publican los servicios. Dentro de una transacción se guardan hasta confirmarla;
+     * fuera de una transacción se publican enseguida.
+     */
+    @EventListener
+    public void alPublicar(EventoDominio evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publicar(evento);
+            return;
+        }
+        // Una sola sincronización por transacción, con sus eventos en orden
+        for (TransactionSynchronization sincronizacion : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacion instanceof PendientesDeConfirmar pendientes && pendientes.bus == this) {
+                pendientes.eventos.add(evento);
+                return;
+            }
+        }
+        PendientesDeConfirmar pendientes = new PendientesDeConfirmar(this);
+        pendientes.eventos.add(evento);
+        TransactionSynchronizationManager.registerSynchronization(pendientes);
+    }
+
+    /**
+     * Copia el evento en el anillo.
+     * @return false si se descartó porque el bus está detenido o el anillo estaba lleno
+     */
+    boolean publicar(EventoDominio evento) {
+        if (detenido) {
+            // Ya no hay consumidores que lo tomen
+            descartados.increment();
+            log.warn("Bus de eventos detenido: se descartó {}", evento);
+            return false;
+        }
+        if (!anillo.publicar(evento, esperaMaximaNanos)) {
+            descartados.increment();
+            log.warn("Anillo de eventos lleno: se descartó {}", evento);
+            return false;
+        }
+        publicadosPorTipo.computeIfAbsent(evento.getClass(), tipo -> Counter.builder(METRICA_PUBLICADOS)
+                .tag("tipo", tipo.getSimpleName())
+                .description("Eventos publicados en el bus")
+                .register(meterRegistry)).increment();
+        return true;
+    }
+
+    private void consumir(Suscripcion suscripcion) {
+        List<EventoDominio> lote = new ArrayList<>(tamanioLote);
+        List<EventoDominio> soloLectura = Collections.unmodifiableList(lote);
+        int vueltasSinEventos = 0;
+        while (true) {
+            long publicado = suscripcion.lector.tomar(lote, tamanioLote);
+            if (lote.isEmpty()) {
+                if (!activo) {
+                    return;
+                }
+                vueltasSinEventos = AnilloEventos.esperar(vueltasSinEventos);
+                continue;
+            }
+            vueltasSinEventos = 0;
+            suscripcion.demora.record(System.nanoTime() - publicado, TimeUnit.NANOSECONDS);
+            suscripcion.tamanioLote.record(lote.size());
+            try {
+                suscripcion.consumidor.procesar(soloLectura);
+            } catch (RuntimeException e) {
+                suscripcion.errores.increment();
+                suscripcion.perdidos.increment(lote.size());
+                log.error("El consumidor de eventos {} falló procesando un lote de {} eventos; se descartan",
+                        suscripcion.consumidor.nombre(), lote.size(), e);
+            }
+            suscripcion.lector.confirmar(lote.size());
+            suscripcion.procesados.increment(lote.size());
+            lote.clear();
+        }
+    }
+
+    private static final class Suscripcion {
+        private final ConsumidorEventos consumidor;
+        private final AnilloEventos.Lector lector;
+        private final Counter procesados;
+        private final Counter errores;
+        private final Counter perdidos;
+        private final Timer demora;
+        private final DistributionSummary tamanioLote;
+        private Thread hilo;
+
+        private Suscripcion(ConsumidorEventos consumidor, AnilloEventos.Lector lector, MeterRegistry meterRegistry) {
+            this.consumidor = consumidor;
+            this.lector = lector;
+            String nombre = consumidor.nombre();
+            this.procesados = Counter.builder(METRICA_PROCESADOS).tag("consumidor", nombre)
+                    .description("Eventos procesados por el consumidor").register(meterRegistry);
+            this.errores = Counter.builder(METRICA_ERRORES).tag("consumidor", nombre)
+                    .description("Lotes de eventos en los que falló el consumidor").register(meterRegistry);
+            this.perdidos = Counter.builder(METRICA_PERDIDOS).tag("consumidor", nombre)
+                    .description("Eventos de lotes fallidos, que el consumidor no vuelve a recibir")
+                    .register(meterRegistry);
+            this.demora = Timer.builder(METRICA_DEMORA).tag("consumidor", nombre)
+                    .description("Tiempo entre la publicación de un evento y su entrega al consumidor")
+                    .register(meterRegistry);
+            this.tamanioLote = DistributionSummary.builder(METRICA_LOTE).tag("consumidor", nombre)
+                    .description("Eventos por lote entregado al consumidor").register(meterRegistry);
+            Gauge.builder(METRICA_PENDIENTES, lector, AnilloEventos.Lector::pendientes).tag("consumidor", nombre)
+                    .description("Eventos publicados que el consumidor todavía no procesó").register(meterRegistry);
+        }
+    }
+
+    /**
+     * Eventos de una transacción, que se copian al anillo al confirmarla.
+     */
+    private static final class PendientesDeConfirmar implements TransactionSynchronization {
+        private final BusEventos bus;
+        private final List<EventoDominio> eventos = new ArrayList<>();
+
+        private PendientesDeConfirmar(BusEventos bus) {
+            this.bus = bus;
+        }
+
+        @Override
+        public void afterCommit() {
+            eventos.forEach(bus::publicar);
+        }
+    }
+}
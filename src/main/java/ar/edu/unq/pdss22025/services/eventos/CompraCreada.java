@@ -0,0 +1,10 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import java.math.BigDecimal;
+
+/**
+ * Se registró una compra, individual o como parte de un lote.
+ */
+public record CompraCreada(Long compraId, Long ofertaId, Long compradorId, int cantidad, BigDecimal total)
+        implements EventoDominio {
+}
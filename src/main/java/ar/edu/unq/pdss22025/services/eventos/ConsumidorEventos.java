@@ -0,0 +1,26 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import java.util.List;
+
+/**
+ * Consumidor asincrónico de los eventos de dominio ya confirmados. Cada bean que implementa esta interfaz
+ * recibe, en un hilo propio de {@link BusEventos}, todos los eventos en el orden en que se confirmaron,
+ * de a lotes, y descarta los que no le interesan.
+ * <p>
+ * La entrega es a lo sumo una vez. Los eventos viven sólo en memoria: si la aplicación se detiene antes de
+ * procesarlos, si el anillo está lleno al publicarlos o si {@link #procesar} lanza una excepción, se pierden.
+ * Lo que se actualice acá tiene que poder reconstruirse desde la base.
+ */
+public interface ConsumidorEventos {
+
+    /**
+     * Nombre del consumidor, para el hilo y el tag {@code consumidor} de las métricas.
+     */
+    String nombre();
+
+    /**
+     * Procesa un lote de eventos. Una excepción se registra, el lote se da por procesado y sus eventos no se
+     * vuelven a entregar.
+     */
+    void procesar(List<EventoDominio> lote);
+}
@@ -0,0 +1,35 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consumidor de los eventos de dominio guardados en el outbox. A diferencia de {@link ConsumidorEventos},
+ * los eventos sobreviven a un reinicio: {@link OutboxEventos} los entrega dentro de la transacción que los
+ * borra de la tabla, así lo que el consumidor escriba en la base se confirma una sola vez junto con el borrado.
+ * <p>
+ * Lo que haga fuera de la base (un mail, un aviso a otro sistema) puede repetirse si la transacción falla
+ * después de entregarlo. Con varios relays o varias instancias, cada evento lo recibe una sola de ellas y el
+ * orden se respeta dentro de cada lote pero no entre lotes.
+ * <p>
+ * Sólo se guardan en el outbox los tipos de evento que declara algún consumidor en {@link #tipos()}; cada
+ * consumidor recibe los de todos y descarta los que no le interesan.
+ */
+public interface ConsumidorOutbox {
+
+    /**
+     * Nombre del consumidor, para el tag {@code consumidor} de las métricas.
+     */
+    String nombre();
+
+    /**
+     * Tipos de evento que el consumidor procesa.
+     */
+    Set<Class<? extends EventoDominio>> tipos();
+
+    /**
+     * Procesa un lote de eventos, en el orden en que se guardaron. Una excepción revierte el lote, que se
+     * reintenta de a un evento.
+     */
+    void procesar(List<EventoDominio> lote);
+}
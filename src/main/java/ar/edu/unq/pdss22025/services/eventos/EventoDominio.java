@@ -0,0 +1,11 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+/**
+ * Evento de dominio. Los servicios lo publican con el {@code ApplicationEventPublisher} de Spring dentro de
+ * la transacción del cambio: lo reciben enseguida los listeners sincrónicos (como
+ * {@link ar.edu.unq.pdss22025.services.ProyeccionOfertaVista}) y, al confirmarse la transacción,
+ * {@link BusEventos} lo entrega a los consumidores asincrónicos. {@link OutboxEventos} además lo guarda en la
+ * misma transacción para los consumidores que no pueden perderlo, así que tiene que poder pasarse a JSON.
+ */
+public interface EventoDominio {
+}
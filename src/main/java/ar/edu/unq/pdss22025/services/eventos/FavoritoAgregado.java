@@ -0,0 +1,7 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+/**
+ * Un comprador marcó una oferta como favorita.
+ */
+public record FavoritoAgregado(Long usuarioId, Long ofertaId) implements EventoDominio {
+}
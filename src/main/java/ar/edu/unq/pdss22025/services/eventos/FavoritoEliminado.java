@@ -0,0 +1,7 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+/**
+ * Un comprador quitó una oferta de sus favoritos.
+ */
+public record FavoritoEliminado(Long usuarioId, Long ofertaId) implements EventoDominio {
+}
@@ -0,0 +1,7 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+/**
+ * Se creó una oferta ({@link ar.edu.unq.pdss22025.services.OfertaService#crearOferta}).
+ */
+public record OfertaCreada(Long ofertaId) implements EventoDominio {
+}
@@ -0,0 +1,9 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import java.util.List;
+
+/**
+ * Un lote de la importación del catálogo creó o actualizó (stock, precio y moneda) estas ofertas.
+ */
+public record OfertasImportadas(List<Long> ofertaIds) implements EventoDominio {
+}
@@ -0,0 +1,380 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import ar.edu.unq.pdss22025.models.EventoOutbox;
+import ar.edu.unq.pdss22025.repositories.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox transaccional de los eventos de dominio, para los consumidores que no pueden perder eventos.
+ * <p>
+ * Los {@link EventoDominio} de los tipos que declara algún {@link ConsumidorOutbox} se guardan en JSON en la
+ * tabla evento_outbox dentro de la transacción del cambio: se confirman o se revierten con él y sobreviven a una
+ * caída. Los demás no se escriben, así la tabla no crece con eventos que nadie va a leer. Uno o más relays ({@code eventos.outbox.relays}) toman lotes de hasta
+ * {@code eventos.outbox.tamanio-lote} eventos con SKIP LOCKED, así varios relays y varias instancias se
+ * reparten la tabla sin esperarse, los entregan a cada {@link ConsumidorOutbox} y los borran en la misma
+ * transacción. Si un lote falla se reintenta de a un evento; un evento que falla
+ * {@code eventos.outbox.maximo-intentos} veces queda en la tabla para revisarlo y deja de entregarse.
+ * <p>
+ * Los relays se despiertan al confirmarse una transacción con eventos y, sin eventos, consultan la tabla
+ * cada {@code eventos.outbox.intervalo-ms}. Métricas: {@code eventos.outbox.escritos} (por tipo),
+ * {@code eventos.outbox.entregados} (por consumidor), {@code eventos.outbox.pendientes} (eventos en la tabla por
+ * entregar, se cuenta cada {@code eventos.outbox.conteo-ms}), {@code eventos.outbox.demora} (desde que se guardó
+ * hasta que se entregó), {@code eventos.outbox.lote}, {@code eventos.outbox.errores} (por consumidor que lanzó la
+ * excepción, o {@value #SIN_CONSUMIDOR} si falló la lectura o el borrado) y {@code eventos.outbox.fallidos}.
+ */
+@Slf4j
+@Component
+public class OutboxEventos {
+
+    static final String METRICA_ESCRITOS = "eventos.outbox.escritos";
+    static final String METRICA_ENTREGADOS = "eventos.outbox.entregados";
+    static final String METRICA_PENDIENTES = "eventos.outbox.pendientes";
+    static final String METRICA_DEMORA = "eventos.outbox.demora";
+    static final String METRICA_LOTE = "eventos.outbox.lote";
+    static final String METRICA_ERRORES = "eventos.outbox.errores";
+    static final String METRICA_FALLIDOS = "eventos.outbox.fallidos";
+    static final String SIN_CONSUMIDOR = "ninguno";
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final List<Entrega> entregas;
+    private final Set<Class<? extends EventoDominio>> tiposConConsumidor;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaccion;
+    private final MeterRegistry meterRegistry;
+    private final int cantidadRelays;
+    private final int tamanioLote;
+    private final long intervaloMs;
+    private final int maximoIntentos;
+    private final ThreadFactory fabricaHilos;
+    private final Semaphore senal = new Semaphore(0);
+    private final Map<String, Class<? extends EventoDominio>> tipos = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counter> escritosPorTipo = new ConcurrentHashMap<>();
+    private final AtomicLong pendientes = new AtomicLong();
+    private final Counter erroresSinConsumidor;
+    private final Counter fallidos;
+    private final Timer demora;
+    private final DistributionSummary tamanioLotes;
+    private ExecutorService relays;
+    private volatile boolean activo;
+
+    public OutboxEventos(EventoOutboxRepository eventoOutboxRepository,
+                         ObjectProvider<ConsumidorOutbox> consumidores,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${eventos.outbox.relays:1}") int cantidadRelays,
+                         @Value("${eventos.outbox.tamanio-lote:100}") int tamanioLote,
+                         @Value("${eventos.outbox.intervalo-ms:500}") long intervaloMs,
+                         @Value("${eventos.outbox.maximo-intentos:5}") int maximoIntentos,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        List<ConsumidorOutbox> lista = consumidores.orderedStream().toList();
+        this.entregas = lista.stream().map(consumidor -> new Entrega(consumidor, meterRegistry)).toList();
+        this.tiposConConsumidor = lista.stream()
+                .flatMap(consumidor -> consumidor.tipos().stream())
+                .collect(Collectors.toUnmodifiableSet());
+        this.objectMapper = objectMapper;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.cantidadRelays = cantidadRelays;
+        this.tamanioLote = tamanioLote;
+        this.intervaloMs = intervaloMs;
+        this.maximoIntentos = maximoIntentos;
+        this.fabricaHilos = hilosVirtuales
+                ? Thread.ofVirtual().name("eventos-outbox-", 1).factory()
+                : Thread.ofPlatform().name("eventos-outbox-", 1).daemon(true).factory();
+        Gauge.builder(METRICA_PENDIENTES, pendientes, AtomicLong::get)
+                .description("Eventos del outbox por entregar")
+                .register(meterRegistry);
+        this.erroresSinConsumidor = contadorErrores(SIN_CONSUMIDOR, meterRegistry);
+        this.fallidos = Counter.builder(METRICA_FALLIDOS)
+                .description("Eventos del outbox que agotaron los intentos y dejaron de entregarse")
+                .register(meterRegistry);
+        this.demora = Timer.builder(METRICA_DEMORA)
+                .description("Tiempo entre que se guardó un evento en el outbox y su entrega")
+                .register(meterRegistry);
+        this.tamanioLotes = DistributionSummary.builder(METRICA_LOTE)
+                .description("Eventos por lote entregado desde el outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Arranca los relays. Los eventos guardados antes de un reinicio se entregan en la primera vuelta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (activo) {
+            return;
+        }
+        activo = true;
+        relays = Executors.newFixedThreadPool(cantidadRelays, fabricaHilos);
+        for (int i = 0; i < cantidadRelays; i++) {
+            relays.execute(this::relevarMientrasActivo);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void detener() {
+        activo = false;
+        if (relays != null) {
+            relays.shutdownNow();
+        }
+    }
+
+    /**
+     * Guarda el evento en el outbox dentro de la transacción que lo publicó, si algún consumidor lo procesa.
+     */
+    @EventListener
+    public void alPublicar(EventoDominio evento) {
+        if (!tiposConConsumidor.contains(evento.getClass())) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + evento, e);
+        }
+        eventoOutboxRepository.save(EventoOutbox.builder()
+                .tipo(evento.getClass().getSimpleName())
+                .payload(payload)
+                .build());
+        escritosPorTipo.computeIfAbsent(evento.getClass(), tipo -> Counter.builder(METRICA_ESCRITOS)
+                .tag("tipo", tipo.getSimpleName())
+                .description("Eventos guardados en el outbox")
+                .register(meterRegistry)).increment();
+        despertarAlConfirmar();
+    }
+
+    /**
+     * Entrega un lote de eventos pendientes a los consumidores y lo borra. Lo usan los relays; se expone para
+     * entregar de forma sincrónica en los tests.
+     * @return cantidad de eventos tomados del outbox (entregados o no)
+     */
+    public int relevar() {
+        List<Long> ids = new ArrayList<>(tamanioLote);
+        try {
+            registrar(transaccion.execute(status -> {
+                List<EventoOutbox> filas = eventoOutboxRepository.reclamar(maximoIntentos, PageRequest.of(0, tamanioLote));
+                filas.forEach(fila -> ids.add(fila.getId()));
+                return entregar(filas);
+            }));
+        } catch (RuntimeException e) {
+            contarError(e);
+            log.warn("Falló la entrega de un lote de {} eventos del outbox ({}); se reintenta de a uno", ids.size(), e.getMessage());
+            for (Long id : ids) {
+                try {
+                    registrar(transaccion.execute(status -> entregar(eventoOutboxRepository.reclamarPorId(id, maximoIntentos))));
+                } catch (RuntimeException errorEvento) {
+                    contarError(errorEvento);
+                    sumarIntento(id, errorEvento);
+                }
+            }
+        }
+        return ids.size();
+    }
+
+    /**
+     * Actualiza la cantidad de eventos por entregar que informa {@code eventos.outbox.pendientes}.
+     */
+    @Scheduled(fixedDelayString = "${eventos.outbox.conteo-ms:5000}")
+    public void contarPendientes() {
+        pendientes.set(eventoOutboxRepository.contarPendientes(maximoIntentos));
+    }
+
+    private List<EventoOutbox> entregar(List<EventoOutbox> filas) {
+        if (filas.isEmpty()) {
+            return filas;
+        }
+        List<EventoDominio> eventos = new ArrayList<>(filas.size());
+        for (EventoOutbox fila : filas) {
+            eventos.add(leer(fila));
+        }
+        List<EventoDominio> soloLectura = Collections.unmodifiableList(eventos);
+        for (Entrega entrega : entregas) {
+            try {
+                entrega.consumidor.procesar(soloLectura);
+            } catch (RuntimeException e) {
+                throw new FallaConsumidor(entrega, e);
+            }
+        }
+        eventoOutboxRepository.deleteAllInBatch(filas);
+        return filas;
+    }
+
+    private void registrar(List<EventoOutbox> entregadas) {
+        if (entregadas == null || entregadas.isEmpty()) {
+            return;
+        }
+        OffsetDateTime ahora = OffsetDateTime.now();
+        for (EventoOutbox fila : entregadas) {
+            demora.record(Duration.between(fila.getCreatedAt(), ahora));
+        }
+        for (Entrega entrega : entregas) {
+            entrega.entregados.increment(entregadas.size());
+        }
+        tamanioLotes.record(entregadas.size());
+    }
+
+    private void contarError(RuntimeException error) {
+        if (error instanceof FallaConsumidor falla) {
+            falla.entrega.errores.increment();
+        } else {
+            erroresSinConsumidor.increment();
+        }
+    }
+
+    private static Counter contadorErrores(String consumidor, MeterRegistry meterRegistry) {
+        return Counter.builder(METRICA_ERRORES).tag("consumidor", consumidor)
+                .description("Entregas del outbox que fallaron y se revirtieron").register(meterRegistry);
+    }
+
+    private void sumarIntento(Long id, RuntimeException error) {
+        Integer intentos = transaccion.execute(status -> {
+            eventoOutboxRepository.sumarIntento(id);
+            return eventoOutboxRepository.findIntentosById(id);
+        });
+        if (intentos != null && intentos >= maximoIntentos) {
+            fallidos.increment();
+            log.error("El evento {} del outbox falló {} veces y no se vuelve a entregar", id, intentos, error);
+        } else {
+            log.warn("No se pudo entregar el evento {} del outbox (intento {}): {}", id, intentos, error.getMessage());
+        }
+    }
+
+    private EventoDominio leer(EventoOutbox fila) {
+        Class<? extends EventoDominio> tipo = tipos.computeIfAbsent(fila.getTipo(), nombre -> {
+            try {
+                return Class.forName(EventoDominio.class.getPackageName() + "." + nombre).asSubclass(EventoDominio.class);
+            } catch (ClassNotFoundException | ClassCastException e) {
+                throw new IllegalStateException("Tipo de evento desconocido en el outbox: " + nombre, e);
+            }
+        });
+        try {
+            return objectMapper.readValue(fila.getPayload(), tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer el evento " + fila.getId() + " del outbox", e);
+        }
+    }
+
+    private void despertarAlConfirmar() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            despertar();
+            return;
+        }
+        // Un solo aviso por transacción, aunque guarde muchos eventos
+        for (TransactionSynchronization sincronizacion : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacion instanceof AvisoRelays aviso && aviso.outbox == this) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new AvisoRelays(this));
+    }
+
+    private void despertar() {
+        if (senal.availablePermits() == 0) {
+            senal.release();
+        }
+    }
+
+    private void relevarMientrasActivo() {
+        while (activo) {
+            boolean loteCompleto;
+            try {
+                loteCompleto = relevar() >= tamanioLote;
+            } catch (RuntimeException e) {
+                // Por ejemplo, la base no responde: los eventos siguen en la tabla
+                log.error("Error relevando eventos del outbox", e);
+                loteCompleto = false;
+            }
+            if (!loteCompleto) {
+                try {
+                    senal.tryAcquire(intervaloMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Consumidor y sus métricas.
+     */
+    private static final class Entrega {
+        private final ConsumidorOutbox consumidor;
+        private final Counter entregados;
+        private final Counter errores;
+
+        private Entrega(ConsumidorOutbox consumidor, MeterRegistry meterRegistry) {
+            this.consumidor = consumidor;
+            this.entregados = Counter.builder(METRICA_ENTREGADOS).tag("consumidor", consumidor.nombre())
+                    .description("Eventos del outbox entregados al consumidor").register(meterRegistry);
+            this.errores = contadorErrores(consumidor.nombre(), meterRegistry);
+        }
+    }
+
+    /**
+     * Excepción de un consumidor al procesar un lote, para contarla en sus errores. Revierte la entrega igual
+     * que la original.
+     */
+    private static final class FallaConsumidor extends RuntimeException {
+        private final transient Entrega entrega;
+
+        private FallaConsumidor(Entrega entrega, RuntimeException causa) {
+            super(entrega.consumidor.nombre() + ": " + causa.getMessage(), causa);
+            this.entrega = entrega;
+        }
+    }
+
+    /**
+     * Despierta a los relays cuando se confirma una transacción que guardó eventos.
+     */
+    private static final class AvisoRelays implements TransactionSynchronization {
+        private final OutboxEventos outbox;
+
+        private AvisoRelays(OutboxEventos outbox) {
+            this.outbox = outbox;
+        }
+
+        @Override
+        public void afterCommit() {
+            outbox.despertar();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+/**
+ * Cambió el resumen de puntajes de un auto: se creó, modificó o eliminó una reseña, o la reconciliación
+ * lo recalculó.
+ */
+public record PuntajeAutoActualizado(Long autoId) implements EventoDominio {
+}
@@ -0,0 +1,7 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+/**
+ * Se descontaron unidades del stock de una oferta por una o más compras.
+ */
+public record StockDescontado(Long ofertaId, int cantidad) implements EventoDominio {
+}
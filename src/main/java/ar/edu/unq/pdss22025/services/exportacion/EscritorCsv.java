@@ -0,0 +1,61 @@
+package ar.edu.unq.pdss22025.services.exportacion;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV (RFC 4180) en UTF-8 con BOM para que Excel respete los acentos.
+ */
+class EscritorCsv implements EscritorReporte {
+
+    private static final char BOM = '\uFEFF';
+
+    private final Writer writer;
+
+    EscritorCsv(OutputStream salida) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    @Override
+    public void encabezado(String titulo, List<String> columnas) throws IOException {
+        writer.write(BOM);
+        linea(columnas.toArray());
+    }
+
+    @Override
+    public void fila(Object[] valores) throws IOException {
+        linea(valores);
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        writer.flush();
+    }
+
+    private void linea(Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(celda(valores[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String celda(Object valor) {
+        String texto = ValoresReporte.texto(valor);
+        // Evita que una planilla interprete como fórmula un texto cargado por usuarios
+        if (valor instanceof String && !texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,188 @@
+package ar.edu.unq.pdss22025.services.exportacion;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PDF simple: tabla de texto en Courier sobre páginas A4 apaisadas, escrita página por página.
+ * Sólo se mantiene en memoria la página en curso; del resto del documento quedan los offsets
+ * de cada objeto y los ids de las páginas, que hacen falta para la tabla xref y el árbol de páginas.
+ */
+class EscritorPdf implements EscritorReporte {
+
+    private static final Charset WIN_ANSI = Charset.forName("windows-1252");
+
+    private static final int ANCHO_PAGINA = 842;
+    private static final int ALTO_PAGINA = 595;
+    private static final int MARGEN = 36;
+    private static final int TAMANIO_FUENTE = 6;
+    private static final int INTERLINEADO = 8;
+    static final int LINEAS_POR_PAGINA = (ALTO_PAGINA - 2 * MARGEN) / INTERLINEADO;
+
+    private static final int ANCHO_MINIMO_COLUMNA = 16;
+    private static final int ANCHO_MAXIMO_COLUMNA = 28;
+
+    // Objetos fijos: 1 catálogo, 2 árbol de páginas (ambos se escriben al final), 3 fuente
+    private static final int ID_CATALOGO = 1;
+    private static final int ID_PAGINAS = 2;
+    private static final int ID_FUENTE = 3;
+
+    private final ContadorBytes salida;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> paginas = new ArrayList<>();
+    private final List<String> lineasPagina = new ArrayList<>(LINEAS_POR_PAGINA);
+
+    private List<String> cabecera = List.of();
+    private int[] anchos = new int[0];
+    private boolean hayFilasSinEmitir;
+
+    EscritorPdf(OutputStream salida) {
+        this.salida = new ContadorBytes(new BufferedOutputStream(salida, 16 * 1024));
+    }
+
+    @Override
+    public void encabezado(String titulo, List<String> columnas) throws IOException {
+        escribir("%PDF-1.4\n%âãÏÓ\n");
+        offsets.add(0L);
+        offsets.add(0L);
+        objeto(ID_FUENTE, "<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>");
+
+        anchos = new int[columnas.size()];
+        for (int i = 0; i < anchos.length; i++) {
+            anchos[i] = Math.min(Math.max(columnas.get(i).length() + 1, ANCHO_MINIMO_COLUMNA), ANCHO_MAXIMO_COLUMNA);
+        }
+        String encabezados = linea(columnas.toArray());
+        cabecera = List.of(titulo == null ? "" : titulo, "", encabezados, "-".repeat(encabezados.length()));
+        lineasPagina.addAll(cabecera);
+    }
+
+    @Override
+    public void fila(Object[] valores) throws IOException {
+        if (lineasPagina.size() >= LINEAS_POR_PAGINA) {
+            emitirPagina();
+            lineasPagina.addAll(cabecera);
+        }
+        lineasPagina.add(linea(valores));
+        hayFilasSinEmitir = true;
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        if (hayFilasSinEmitir || paginas.isEmpty()) {
+            emitirPagina();
+        }
+
+        StringBuilder kids = new StringBuilder();
+        for (Integer pagina : paginas) {
+            kids.append(pagina).append(" 0 R ");
+        }
+        objeto(ID_PAGINAS, "<< /Type /Pages /Kids [" + kids + "] /Count " + paginas.size() + " >>");
+        objeto(ID_CATALOGO, "<< /Type /Catalog /Pages " + ID_PAGINAS + " 0 R >>");
+
+        long inicioXref = salida.escritos;
+        StringBuilder xref = new StringBuilder("xref\n0 ").append(offsets.size() + 1).append("\n0000000000 65535 f \n");
+        for (Long offset : offsets) {
+            xref.append(String.format("%010d 00000 n \n", offset));
+        }
+        xref.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root ").append(ID_CATALOGO)
+                .append(" 0 R >>\nstartxref\n").append(inicioXref).append("\n%%EOF\n");
+        escribir(xref.toString());
+        salida.flush();
+    }
+
+    private void emitirPagina() throws IOException {
+        StringBuilder contenido = new StringBuilder("BT\n/F1 ").append(TAMANIO_FUENTE).append(" Tf\n")
+                .append(INTERLINEADO).append(" TL\n")
+                .append(MARGEN).append(' ').append(ALTO_PAGINA - MARGEN - TAMANIO_FUENTE).append(" Td\n");
+        for (String linea : lineasPagina) {
+            contenido.append('(').append(escaparTexto(linea)).append(") Tj T*\n");
+        }
+        contenido.append("ET");
+        byte[] bytes = contenido.toString().getBytes(WIN_ANSI);
+
+        int idContenido = nuevoId();
+        iniciarObjeto(idContenido);
+        escribir("<< /Length " + bytes.length + " >>\nstream\n");
+        salida.write(bytes);
+        escribir("\nendstream\nendobj\n");
+
+        int idPagina = nuevoId();
+        objeto(idPagina, "<< /Type /Page /Parent " + ID_PAGINAS + " 0 R /MediaBox [0 0 " + ANCHO_PAGINA + " " + ALTO_PAGINA + "]"
+                + " /Resources << /Font << /F1 " + ID_FUENTE + " 0 R >> >> /Contents " + idContenido + " 0 R >>");
+        paginas.add(idPagina);
+
+        lineasPagina.clear();
+        hayFilasSinEmitir = false;
+    }
+
+    private String linea(Object[] valores) {
+        StringBuilder linea = new StringBuilder();
+        for (int i = 0; i < valores.length; i++) {
+            int ancho = i < anchos.length ? anchos[i] : ANCHO_MINIMO_COLUMNA;
+            String texto = ValoresReporte.texto(valores[i]).replace('\n', ' ').replace('\r', ' ');
+            if (texto.length() >= ancho) {
+                texto = texto.substring(0, ancho - 2) + "…";
+            }
+            linea.append(texto).append(" ".repeat(ancho - texto.length()));
+        }
+        return linea.toString().stripTrailing();
+    }
+
+    private int nuevoId() {
+        offsets.add(0L);
+        return offsets.size();
+    }
+
+    private void iniciarObjeto(int id) throws IOException {
+        while (offsets.size() < id) {
+            offsets.add(0L);
+        }
+        offsets.set(id - 1, salida.escritos);
+        escribir(id + " 0 obj\n");
+    }
+
+    private void objeto(int id, String diccionario) throws IOException {
+        iniciarObjeto(id);
+        escribir(diccionario + "\nendobj\n");
+    }
+
+    private void escribir(String texto) throws IOException {
+        salida.write(texto.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String escaparTexto(String texto) {
+        return texto.replace("\\", "\\\\").replace("(", "\\(").replace(")", "\\)");
+    }
+
+    /** Cuenta los bytes escritos para calcular los offsets de la tabla xref. */
+    private static final class ContadorBytes extends OutputStream {
+        private final OutputStream destino;
+        private long escritos;
+
+        private ContadorBytes(OutputStream destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            destino.write(b);
+            escritos++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            destino.write(b, off, len);
+            escritos += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            destino.flush();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ar.edu.unq.pdss22025.services.exportacion;
+
+import ar.edu.unq.pdss22025.models.dto.FormatoExportacion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Escribe un reporte fila por fila directamente sobre el OutputStream de la respuesta.
+ * Ninguna implementación acumula las filas: la memoria usada no depende del tamaño del reporte.
+ * {@link #finalizar()} escribe lo que falte del formato y hace flush, pero no cierra el stream.
+ */
+public interface EscritorReporte {
+
+    void encabezado(String titulo, List<String> columnas) throws IOException;
+
+    void fila(Object[] valores) throws IOException;
+
+    void finalizar() throws IOException;
+
+    static EscritorReporte para(FormatoExportacion formato, OutputStream salida) {
+        return switch (formato) {
+            case CSV -> new EscritorCsv(salida);
+            case EXCEL -> new EscritorXlsx(salida);
+            case PDF -> new EscritorPdf(salida);
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package ar.edu.unq.pdss22025.services.exportacion;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Planilla XLSX escrita como SpreadsheetML directamente dentro del zip de salida, sin armar
+ * el libro en memoria. Las celdas de texto van como inlineStr (no hace falta tabla de strings
+ * compartidos) y, al llegar al límite de filas de Excel, se continúa en una hoja nueva.
+ * El workbook y los archivos de relaciones se escriben al final, cuando ya se sabe cuántas hojas hubo.
+ */
+class EscritorXlsx implements EscritorReporte {
+
+    /** Límite de filas por hoja de Excel, incluida la fila de encabezado. */
+    static final int FILAS_POR_HOJA = 1_048_576;
+
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String NS_PKG_REL = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String XML_DECL = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final int filasPorHoja;
+
+    private String nombreHoja;
+    private List<String> columnas;
+    private int hojas;
+    private int filasEnHoja;
+
+    EscritorXlsx(OutputStream salida) {
+        this(salida, FILAS_POR_HOJA);
+    }
+
+    EscritorXlsx(OutputStream salida, int filasPorHoja) {
+        this.zip = new ZipOutputStream(new BufferedOutputStream(salida, 16 * 1024));
+        // El writer no debe cerrar el zip: se cierra cada entrada por separado
+        this.writer = new OutputStreamWriter(new FilterOutputStream(zip) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() {
+            }
+        }, StandardCharsets.UTF_8);
+        this.filasPorHoja = filasPorHoja;
+    }
+
+    @Override
+    public void encabezado(String titulo, List<String> columnas) throws IOException {
+        this.nombreHoja = nombreHojaValido(titulo);
+        this.columnas = columnas;
+        abrirHoja();
+    }
+
+    @Override
+    public void fila(Object[] valores) throws IOException {
+        if (filasEnHoja >= filasPorHoja) {
+            cerrarHoja();
+            abrirHoja();
+        }
+        escribirFila(valores);
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        cerrarHoja();
+        entrada("xl/workbook.xml", workbook());
+        entrada("xl/_rels/workbook.xml.rels", relacionesWorkbook());
+        entrada("_rels/.rels", XML_DECL + "<Relationships xmlns=\"" + NS_PKG_REL + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + NS_REL + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        entrada("[Content_Types].xml", tiposDeContenido());
+        zip.finish();
+        zip.flush();
+    }
+
+    private void abrirHoja() throws IOException {
+        hojas++;
+        filasEnHoja = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + hojas + ".xml"));
+        writer.write(XML_DECL);
+        writer.write("<worksheet xmlns=\"" + NS_MAIN + "\"><sheetData>");
+        escribirFila(columnas.toArray());
+    }
+
+    private void cerrarHoja() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void escribirFila(Object[] valores) throws IOException {
+        writer.write("<row>");
+        for (Object valor : valores) {
+            if (ValoresReporte.esNumero(valor)) {
+                writer.write("<c><v>");
+                writer.write(ValoresReporte.texto(valor));
+                writer.write("</v></c>");
+            } else {
+                writer.write("<c t=\"inlineStr\"><is><t>");
+                writer.write(escaparXml(ValoresReporte.texto(valor)));
+                writer.write("</t></is></c>");
+            }
+        }
+        writer.write("</row>");
+        filasEnHoja++;
+    }
+
+    private void entrada(String nombre, String contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(nombre));
+        writer.write(contenido);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private String workbook() {
+        StringBuilder xml = new StringBuilder(XML_DECL)
+                .append("<workbook xmlns=\"").append(NS_MAIN).append("\" xmlns:r=\"").append(NS_REL).append("\"><sheets>");
+        for (int i = 1; i <= hojas; i++) {
+            String nombre = hojas == 1 ? nombreHoja : recortar(nombreHoja, 27) + " (" + i + ")";
+            xml.append("<sheet name=\"").append(escaparXml(nombre)).append("\" sheetId=\"").append(i)
+                    .append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return xml.append("</sheets></workbook>").toString();
+    }
+
+    private String relacionesWorkbook() {
+        StringBuilder xml = new StringBuilder(XML_DECL).append("<Relationships xmlns=\"").append(NS_PKG_REL).append("\">");
+        for (int i = 1; i <= hojas; i++) {
+            xml.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(NS_REL)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        return xml.append("</Relationships>").toString();
+    }
+
+    private String tiposDeContenido() {
+        StringBuilder xml = new StringBuilder(XML_DECL)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        for (int i = 1; i <= hojas; i++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    /** Excel no admite []:*?/\ en el nombre de la hoja y lo limita a 31 caracteres. */
+    private static String nombreHojaValido(String titulo) {
+        String nombre = titulo == null ? "" : titulo.replaceAll("[\\[\\]:*?/\\\\]", " ").trim();
+        return nombre.isEmpty() ? "Reporte" : recortar(nombre, 31);
+    }
+
+    private static String recortar(String texto, int largo) {
+        return texto.length() <= largo ? texto : texto.substring(0, largo);
+    }
+
+    static String escaparXml(String texto) {
+        StringBuilder escapado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> escapado.append("&amp;");
+                case '<' -> escapado.append("&lt;");
+                case '>' -> escapado.append("&gt;");
+                case '"' -> escapado.append("&quot;");
+                default -> {
+                    // Los caracteres de control (salvo tab y saltos de línea) no son válidos en XML
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        escapado.append(c);
+                    }
+                }
+            }
+        }
+        return escapado.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package ar.edu.unq.pdss22025.services.exportacion;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Conversión a texto de los valores que devuelven las consultas nativas de reportes,
+ * común a todos los formatos. Las fechas se exportan en UTC.
+ */
+final class ValoresReporte {
+
+    private static final DateTimeFormatter FECHA_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private ValoresReporte() {
+    }
+
+    static String texto(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (valor instanceof Double || valor instanceof Float) {
+            return BigDecimal.valueOf(((Number) valor).doubleValue()).setScale(2, RoundingMode.HALF_UP).toPlainString();
+        }
+        Instant instante = instante(valor);
+        if (instante != null) {
+            return FECHA_HORA.format(instante.atOffset(ZoneOffset.UTC));
+        }
+        return valor.toString();
+    }
+
+    static boolean esNumero(Object valor) {
+        return valor instanceof Number;
+    }
+
+    private static Instant instante(Object valor) {
+        if (valor instanceof OffsetDateTime fecha) {
+            return fecha.toInstant();
+        }
+        if (valor instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        if (valor instanceof Instant instant) {
+            return instant;
+        }
+        if (valor instanceof LocalDateTime fecha) {
+            return fecha.toInstant(ZoneOffset.UTC);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,157 @@
+package ar.edu.unq.pdss22025.services.importacion;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Fila leída del archivo de catálogo: un auto (marca, modelo y año) y, opcionalmente, la oferta de una
+ * concesionaria para ese auto. Si la fila no se pudo interpretar, {@code error} dice por qué y el resto
+ * de los campos puede ser null.
+ * @param linea línea del archivo donde empieza la fila, desde 1
+ */
+public record FilaCatalogo(long linea, String marca, String modelo, Integer anioModelo,
+                           Long concesionariaId, Integer stock, BigDecimal precio, String moneda,
+                           String error) {
+
+    public static final String MARCA = "marca";
+    public static final String MODELO = "modelo";
+    public static final String ANIO_MODELO = "aniomodelo";
+    public static final String CONCESIONARIA_ID = "concesionariaid";
+    public static final String STOCK = "stock";
+    public static final String PRECIO = "precio";
+    public static final String MONEDA = "moneda";
+
+    private static final int LARGO_MAXIMO_TEXTO = 100;
+    private static final int LARGO_MAXIMO_MONEDA = 10;
+    private static final int DIGITOS_ENTEROS_PRECIO = 13;
+
+    public static FilaCatalogo invalida(long linea, String error) {
+        return new FilaCatalogo(linea, null, null, null, null, null, null, null, error);
+    }
+
+    /**
+     * Interpreta y valida los valores de una fila con las mismas reglas que el alta de autos y de ofertas.
+     * @param valor valor de cada campo (por nombre normalizado, ver {@link #normalizarCampo}), null si falta
+     */
+    public static FilaCatalogo desdeValores(long linea, Function<String, String> valor) {
+        try {
+            String marca = texto(valor.apply(MARCA), "La marca", "obligatoria", LARGO_MAXIMO_TEXTO);
+            String modelo = texto(valor.apply(MODELO), "El modelo", "obligatorio", LARGO_MAXIMO_TEXTO);
+            Integer anioModelo = entero(valor.apply(ANIO_MODELO), "El año del modelo");
+            if (anioModelo == null) {
+                throw new IllegalArgumentException("El año del modelo es obligatorio");
+            }
+            if (anioModelo < 1900) {
+                throw new IllegalArgumentException("El año del modelo debe ser mayor o igual a 1900");
+            }
+
+            String concesionaria = vacioANull(valor.apply(CONCESIONARIA_ID));
+            String stock = vacioANull(valor.apply(STOCK));
+            String precio = vacioANull(valor.apply(PRECIO));
+            String moneda = vacioANull(valor.apply(MONEDA));
+            if (concesionaria == null && stock == null && precio == null && moneda == null) {
+                return new FilaCatalogo(linea, marca, modelo, anioModelo, null, null, null, null, null);
+            }
+            if (concesionaria == null || stock == null || precio == null || moneda == null) {
+                throw new IllegalArgumentException("Los datos de la oferta están incompletos (se necesitan concesionaria, stock, precio y moneda)");
+            }
+            Integer cantidad = entero(stock, "El stock");
+            if (cantidad < 0) {
+                throw new IllegalArgumentException("El stock no puede ser negativo");
+            }
+            return new FilaCatalogo(linea, marca, modelo, anioModelo, identificador(concesionaria),
+                    cantidad, precio(precio), texto(moneda, "La moneda", "obligatoria", LARGO_MAXIMO_MONEDA), null);
+        } catch (IllegalArgumentException e) {
+            return invalida(linea, e.getMessage());
+        }
+    }
+
+    /**
+     * Nombre de campo sin mayúsculas, guiones ni espacios: "anio_modelo", "anioModelo" y "Anio Modelo"
+     * nombran el mismo campo en el encabezado CSV o en las claves JSON.
+     */
+    public static String normalizarCampo(String nombre) {
+        StringBuilder normalizado = new StringBuilder(nombre.length());
+        for (char c : nombre.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c != '_' && c != '-' && c != ' ') {
+                normalizado.append(c);
+            }
+        }
+        return normalizado.toString();
+    }
+
+    /**
+     * Clave del auto para deduplicar: marca y modelo sin distinguir mayúsculas, igual que el alta de autos.
+     */
+    public static String claveAuto(String marca, String modelo, Integer anioModelo) {
+        return marca.toUpperCase(Locale.ROOT) + '\u0000' + modelo.toUpperCase(Locale.ROOT) + '\u0000' + anioModelo;
+    }
+
+    public String claveAuto() {
+        return claveAuto(marca, modelo, anioModelo);
+    }
+
+    public boolean esValida() {
+        return error == null;
+    }
+
+    public boolean tieneOferta() {
+        return concesionariaId != null;
+    }
+
+    private static String texto(String valor, String campo, String obligatorio, int largoMaximo) {
+        String texto = vacioANull(valor);
+        if (texto == null) {
+            throw new IllegalArgumentException(campo + " es " + obligatorio);
+        }
+        if (texto.length() > largoMaximo) {
+            throw new IllegalArgumentException(campo + " supera los " + largoMaximo + " caracteres");
+        }
+        return texto;
+    }
+
+    private static Integer entero(String valor, String campo) {
+        String texto = vacioANull(valor);
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(campo + " no es un número entero: " + texto);
+        }
+    }
+
+    private static Long identificador(String valor) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La concesionaria no es un id válido: " + valor);
+        }
+    }
+
+    private static BigDecimal precio(String valor) {
+        BigDecimal precio;
+        try {
+            precio = new BigDecimal(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El precio no es un número: " + valor);
+        }
+        if (precio.signum() <= 0) {
+            throw new IllegalArgumentException("El precio debe ser mayor a cero");
+        }
+        if (precio.scale() > 2 || precio.precision() - precio.scale() > DIGITOS_ENTEROS_PRECIO) {
+            throw new IllegalArgumentException("El precio admite hasta " + DIGITOS_ENTEROS_PRECIO + " dígitos enteros y 2 decimales");
+        }
+        return precio;
+    }
+
+    private static String vacioANull(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String texto = valor.trim();
+        return texto.isEmpty() ? null : texto;
+    }
+}
@@ -0,0 +1,120 @@
+package ar.edu.unq.pdss22025.services.importacion;
+
+import ar.edu.unq.pdss22025.models.dto.ErrorFilaImportacionResponse;
+import ar.edu.unq.pdss22025.models.dto.FormatoImportacion;
+import ar.edu.unq.pdss22025.models.dto.ImportacionCatalogoResponse;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progreso de una importación de catálogo. Lo actualiza el hilo que importa (después de confirmar cada lote
+ * y por cada fila con error) y lo consultan los pedidos de estado, por eso todos sus métodos son sincronizados.
+ * Se guardan sólo los primeros {@link #MAXIMO_ERRORES} errores, así un archivo con todas sus filas
+ * mal formadas no llena la memoria; el total queda en filasConError.
+ */
+public class ImportacionCatalogo {
+
+    public static final int MAXIMO_ERRORES = 100;
+
+    public enum Estado { PENDIENTE, EN_CURSO, FINALIZADA, FALLIDA }
+
+    private final String id;
+    private final String archivo;
+    private final FormatoImportacion formato;
+    private final int tamanioLote;
+    private final OffsetDateTime creada = OffsetDateTime.now();
+
+    private Estado estado = Estado.PENDIENTE;
+    private long filasLeidas;
+    private long filasConError;
+    private long autosCreados;
+    private long autosExistentes;
+    private long ofertasCreadas;
+    private long ofertasActualizadas;
+    private final List<ErrorFilaImportacionResponse> errores = new ArrayList<>();
+    private String mensaje;
+    private OffsetDateTime iniciada;
+    private OffsetDateTime finalizada;
+
+    public ImportacionCatalogo(String id, String archivo, FormatoImportacion formato, int tamanioLote) {
+        this.id = id;
+        this.archivo = archivo;
+        this.formato = formato;
+        this.tamanioLote = tamanioLote;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    public synchronized long getAutosCreados() {
+        return autosCreados;
+    }
+
+    public synchronized long getOfertasImportadas() {
+        return ofertasCreadas + ofertasActualizadas;
+    }
+
+    synchronized void iniciar() {
+        estado = Estado.EN_CURSO;
+        iniciada = OffsetDateTime.now();
+    }
+
+    /**
+     * Suma las filas de un lote confirmado.
+     */
+    synchronized void registrarLote(int filas, int autosCreados, int autosExistentes,
+                                    int ofertasCreadas, int ofertasActualizadas) {
+        this.filasLeidas += filas;
+        this.autosCreados += autosCreados;
+        this.autosExistentes += autosExistentes;
+        this.ofertasCreadas += ofertasCreadas;
+        this.ofertasActualizadas += ofertasActualizadas;
+    }
+
+    synchronized void registrarError(long linea, String mensaje) {
+        filasLeidas++;
+        filasConError++;
+        if (errores.size() < MAXIMO_ERRORES) {
+            errores.add(new ErrorFilaImportacionResponse(linea, mensaje));
+        }
+    }
+
+    synchronized void finalizar() {
+        estado = Estado.FINALIZADA;
+        finalizada = OffsetDateTime.now();
+    }
+
+    synchronized void fallar(String mensaje) {
+        estado = Estado.FALLIDA;
+        this.mensaje = mensaje;
+        finalizada = OffsetDateTime.now();
+    }
+
+    public synchronized ImportacionCatalogoResponse aResponse() {
+        return ImportacionCatalogoResponse.builder()
+                .id(id)
+                .estado(estado.name())
+                .archivo(archivo)
+                .formato(formato)
+                .tamanioLote(tamanioLote)
+                .filasLeidas(filasLeidas)
+                .filasConError(filasConError)
+                .autosCreados(autosCreados)
+                .autosExistentes(autosExistentes)
+                .ofertasCreadas(ofertasCreadas)
+                .ofertasActualizadas(ofertasActualizadas)
+                .errores(List.copyOf(errores))
+                .mensaje(mensaje)
+                .creada(creada)
+                .iniciada(iniciada)
+                .finalizada(finalizada)
+                .build();
+    }
+}
@@ -0,0 +1,371 @@
+package ar.edu.unq.pdss22025.services.importacion;
+
+import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.dto.FormatoImportacion;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import ar.edu.unq.pdss22025.repositories.ConcesionariaRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.services.AutoService;
+import ar.edu.unq.pdss22025.services.StockLedger;
+import ar.edu.unq.pdss22025.services.eventos.OfertasImportadas;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Importación masiva del catálogo (autos y ofertas) desde un archivo CSV o JSON lines.
+ * <p>
+ * El archivo subido se copia a un temporal y se importa en un hilo aparte (de a una importación por vez),
+ * leyéndolo de a una fila: la memoria no depende del tamaño del archivo sino del tamaño del lote y de las
+ * claves de los autos. Al empezar se precargan las claves marca-modelo-año de los autos existentes y las
+ * concesionarias activas, así deduplicar y validar cada fila no consulta la base. Las filas se guardan en
+ * lotes de {@code tamanioLote}, cada uno en su propia transacción: los autos nuevos del lote se insertan
+ * con un saveAll (inserts en lotes JDBC gracias a las secuencias pooled) y las ofertas se buscan con una
+ * sola consulta por lote y se crean o se actualizan (stock, precio y moneda). Si un lote falla se vuelve
+ * a intentar fila por fila, para confirmar las filas buenas e informar el error de cada fila mala.
+ * Cada lote publica {@link OfertasImportadas} dentro de su transacción, así la vista de ofertas se
+ * actualiza junto con él y la búsqueda por facetas al confirmarlo.
+ * <p>
+ * El progreso queda en memoria ({@link ImportacionCatalogo}) y se consulta por id; se recuerdan las
+ * últimas {@link #IMPORTACIONES_RECORDADAS} importaciones.
+ */
+@Slf4j
+@Service
+public class ImportacionCatalogoService {
+
+    public static final int TAMANIO_LOTE_MAXIMO = 5000;
+    static final int IMPORTACIONES_RECORDADAS = 20;
+
+    private final AutoRepository autoRepository;
+    private final OfertaAutoRepository ofertaAutoRepository;
+    private final ConcesionariaRepository concesionariaRepository;
+    private final AutoService autoService;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventos;
+    private final TransactionTemplate transaccion;
+    private final TransactionTemplate lectura;
+    private final int tamanioLotePorDefecto;
+    private final ExecutorService ejecutor;
+    private final Map<String, ImportacionCatalogo> importaciones = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportacionCatalogo> masVieja) {
+            return size() > IMPORTACIONES_RECORDADAS;
+        }
+    };
+
+    public ImportacionCatalogoService(AutoRepository autoRepository,
+                                      OfertaAutoRepository ofertaAutoRepository,
+                                      ConcesionariaRepository concesionariaRepository,
+                                      AutoService autoService,
+                                      StockLedger stockLedger,
+                                      ApplicationEventPublisher eventos,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${catalogo.importacion.tamanio-lote:500}") int tamanioLotePorDefecto,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.autoRepository = autoRepository;
+        this.ofertaAutoRepository = ofertaAutoRepository;
+        this.concesionariaRepository = concesionariaRepository;
+        this.autoService = autoService;
+        this.stockLedger = stockLedger;
+        this.eventos = eventos;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.tamanioLotePorDefecto = tamanioLotePorDefecto;
+        this.ejecutor = Executors.newSingleThreadExecutor(hilosVirtuales
+                ? Thread.ofVirtual().name("importacion-catalogo").factory()
+                : Thread.ofPlatform().name("importacion-catalogo").daemon(true).factory());
+    }
+
+    /**
+     * Recibe el archivo y encola su importación. El formato y el encabezado del CSV se validan acá,
+     * así un archivo que no se puede leer se rechaza en el pedido en lugar de fallar en segundo plano.
+     * @param formato csv o jsonl; si es null se deduce de la extensión del archivo
+     * @param tamanioLote filas por transacción; si es null se usa {@code catalogo.importacion.tamanio-lote}
+     */
+    public ImportacionCatalogo iniciar(MultipartFile archivo, String formato, Integer tamanioLote) throws IOException {
+        if (archivo == null || archivo.isEmpty()) {
+            throw new RuntimeException("El archivo está vacío");
+        }
+        FormatoImportacion formatoArchivo = FormatoImportacion.desdeParametro(formato, archivo.getOriginalFilename());
+        int lote = tamanioLote(tamanioLote);
+
+        Path temporal = Files.createTempFile("importacion-catalogo-", "." + formatoArchivo.getExtension());
+        LectorCatalogo lector;
+        try {
+            archivo.transferTo(temporal);
+            lector = LectorCatalogo.para(formatoArchivo, new BufferedReader(
+                    new InputStreamReader(Files.newInputStream(temporal), StandardCharsets.UTF_8), 64 * 1024));
+        } catch (IOException | RuntimeException e) {
+            borrar(temporal);
+            throw e;
+        }
+
+        ImportacionCatalogo importacion = new ImportacionCatalogo(UUID.randomUUID().toString(),
+                archivo.getOriginalFilename(), formatoArchivo, lote);
+        synchronized (importaciones) {
+            importaciones.put(importacion.getId(), importacion);
+        }
+        ejecutor.execute(() -> {
+            try (lector) {
+                importar(lector, lote, importacion);
+            } catch (IOException | RuntimeException e) {
+                log.error("Falló la importación de catálogo {}", importacion.getId(), e);
+                importacion.fallar(e.getMessage());
+            } finally {
+                borrar(temporal);
+            }
+        });
+        return importacion;
+    }
+
+    public ImportacionCatalogo obtener(String id) {
+        synchronized (importaciones) {
+            ImportacionCatalogo importacion = importaciones.get(id);
+            if (importacion == null) {
+                throw new EntidadNoEncontradaException("Importación con ID " + id + " no encontrada");
+            }
+            return importacion;
+        }
+    }
+
+    /**
+     * Importa todas las filas del lector en lotes de {@code tamanioLote}, actualizando el progreso.
+     * Corre en el hilo que llama; no debe llamarse dentro de una transacción, porque cada lote se confirma
+     * por separado.
+     */
+    public void importar(LectorCatalogo lector, int tamanioLote, ImportacionCatalogo progreso) throws IOException {
+        progreso.iniciar();
+        Map<String, Long> autos = cargarClavesAutos();
+        Set<Long> concesionarias = new HashSet<>(concesionariaRepository.findIdsActivas());
+        log.info("Importación de catálogo {}: {} autos y {} concesionarias activas precargados",
+                progreso.getId(), autos.size(), concesionarias.size());
+
+        List<FilaCatalogo> lote = new ArrayList<>(tamanioLote);
+        FilaCatalogo fila;
+        try {
+            while ((fila = lector.siguiente()) != null) {
+                if (!fila.esValida()) {
+                    progreso.registrarError(fila.linea(), fila.error());
+                } else if (fila.tieneOferta() && !concesionarias.contains(fila.concesionariaId())) {
+                    progreso.registrarError(fila.linea(), "La concesionaria " + fila.concesionariaId() + " no existe o no está activa");
+                } else {
+                    lote.add(fila);
+                    if (lote.size() == tamanioLote) {
+                        procesar(lote, autos, progreso);
+                        lote.clear();
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                procesar(lote, autos, progreso);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Los lotes confirmados antes de la falla quedan en la base: el catálogo en memoria tiene que verlos
+            try {
+                refrescarCatalogo(progreso);
+            } catch (RuntimeException errorRefresco) {
+                e.addSuppressed(errorRefresco);
+            }
+            throw e;
+        }
+
+        refrescarCatalogo(progreso);
+        progreso.finalizar();
+        log.info("Importación de catálogo {} finalizada: {}", progreso.getId(), progreso.aResponse());
+    }
+
+    private void refrescarCatalogo(ImportacionCatalogo progreso) {
+        if (progreso.getAutosCreados() > 0) {
+            autoService.refrescarCatalogo();
+        }
+    }
+
+    private Map<String, Long> cargarClavesAutos() {
+        Map<String, Long> autos = new HashMap<>();
+        lectura.executeWithoutResult(status -> {
+            try (Stream<Object[]> filas = autoRepository.streamClaves()) {
+                filas.forEach(fila -> autos.put(FilaCatalogo.claveAuto((String) fila[1], (String) fila[2], (Integer) fila[3]),
+                        (Long) fila[0]));
+            }
+        });
+        return autos;
+    }
+
+    private void procesar(List<FilaCatalogo> filas, Map<String, Long> autos, ImportacionCatalogo progreso) {
+        try {
+            aplicar(transaccion.execute(status -> guardar(filas, autos)), autos, progreso);
+        } catch (RuntimeException e) {
+            log.warn("Falló un lote de {} filas de la importación {} ({}); se reintenta fila por fila",
+                    filas.size(), progreso.getId(), e.getMessage());
+            for (FilaCatalogo fila : filas) {
+                try {
+                    aplicar(transaccion.execute(status -> guardar(List.of(fila), autos)), autos, progreso);
+                } catch (RuntimeException errorFila) {
+                    progreso.registrarError(fila.linea(), mensaje(errorFila));
+                }
+            }
+        }
+    }
+
+    /**
+     * Guarda los autos nuevos y crea o actualiza las ofertas de las filas. No modifica las claves conocidas:
+     * los autos nuevos se agregan recién cuando se confirma la transacción (ver {@link #aplicar}).
+     */
+    private ResultadoLote guardar(List<FilaCatalogo> filas, Map<String, Long> autos) {
+        Map<String, Auto> nuevos = new LinkedHashMap<>();
+        int existentes = 0;
+        for (FilaCatalogo fila : filas) {
+            String clave = fila.claveAuto();
+            if (autos.containsKey(clave) || nuevos.containsKey(clave)) {
+                existentes++;
+            } else {
+                nuevos.put(clave, Auto.builder()
+                        .marca(fila.marca())
+                        .modelo(fila.modelo())
+                        .anioModelo(fila.anioModelo())
+                        .build());
+            }
+        }
+        autoRepository.saveAll(nuevos.values());
+
+        // Ofertas existentes de los autos que ya estaban en la base, con una consulta para todo el lote
+        Set<Long> concesionariaIds = new HashSet<>();
+        Set<Long> autoIdsExistentes = new HashSet<>();
+        for (FilaCatalogo fila : filas) {
+            if (fila.tieneOferta()) {
+                concesionariaIds.add(fila.concesionariaId());
+                Long autoId = autos.get(fila.claveAuto());
+                if (autoId != null) {
+                    autoIdsExistentes.add(autoId);
+                }
+            }
+        }
+        Map<ParOferta, OfertaAuto> ofertas = new HashMap<>();
+        if (!autoIdsExistentes.isEmpty()) {
+            for (OfertaAuto oferta : ofertaAutoRepository.findByConcesionariaIdInAndAutoIdIn(concesionariaIds, autoIdsExistentes)) {
+                ofertas.put(new ParOferta(oferta.getConcesionaria().getId(), oferta.getAuto().getId()), oferta);
+            }
+        }
+
+        List<OfertaAuto> ofertasNuevas = new ArrayList<>();
+        List<Long> ofertasImportadas = new ArrayList<>();
+        List<Long> ofertasConStock = new ArrayList<>();
+        int actualizadas = 0;
+        for (FilaCatalogo fila : filas) {
+            if (!fila.tieneOferta()) {
+                continue;
+            }
+            Auto nuevo = nuevos.get(fila.claveAuto());
+            Long autoId = nuevo != null ? nuevo.getId() : autos.get(fila.claveAuto());
+            ParOferta par = new ParOferta(fila.concesionariaId(), autoId);
+            OfertaAuto oferta = ofertas.get(par);
+            if (oferta == null) {
+                oferta = OfertaAuto.builder()
+                        .concesionaria(concesionariaRepository.getReferenceById(fila.concesionariaId()))
+                        .auto(nuevo != null ? nuevo : autoRepository.getReferenceById(autoId))
+                        .stock(fila.stock())
+                        .precioActual(fila.precio())
+                        .moneda(fila.moneda())
+                        .build();
+                ofertas.put(par, oferta);
+                ofertasNuevas.add(oferta);
+            } else {
+                oferta.setStock(fila.stock());
+                oferta.setPrecioActual(fila.precio());
+                oferta.setMoneda(fila.moneda());
+                actualizadas++;
+                if (oferta.getId() != null) {
+                    ofertasImportadas.add(oferta.getId());
+                    if (fila.stock() > 0) {
+                        ofertasConStock.add(oferta.getId());
+                    }
+                }
+            }
+        }
+        ofertaAutoRepository.saveAll(ofertasNuevas);
+        ofertasNuevas.forEach(oferta -> ofertasImportadas.add(oferta.getId()));
+        eventos.publishEvent(new OfertasImportadas(ofertasImportadas));
+
+        Map<String, Long> autosNuevos = new HashMap<>();
+        nuevos.forEach((clave, auto) -> autosNuevos.put(clave, auto.getId()));
+        return new ResultadoLote(filas.size(), autosNuevos, existentes, ofertasNuevas.size(), actualizadas, ofertasConStock);
+    }
+
+    /**
+     * Registra un lote ya confirmado: suma las claves de los autos creados y el progreso, y quita la marca
+     * de agotadas de las ofertas repuestas.
+     */
+    private void aplicar(ResultadoLote resultado, Map<String, Long> autos, ImportacionCatalogo progreso) {
+        autos.putAll(resultado.autosNuevos());
+        resultado.ofertasConStock().forEach(stockLedger::liberar);
+        progreso.registrarLote(resultado.filas(), resultado.autosNuevos().size(), resultado.autosExistentes(),
+                resultado.ofertasCreadas(), resultado.ofertasActualizadas());
+    }
+
+    private int tamanioLote(Integer pedido) {
+        int tamanio = pedido != null ? pedido : tamanioLotePorDefecto;
+        if (tamanio <= 0 || tamanio > TAMANIO_LOTE_MAXIMO) {
+            throw new RuntimeException("El tamaño de lote debe estar entre 1 y " + TAMANIO_LOTE_MAXIMO);
+        }
+        return tamanio;
+    }
+
+    private static String mensaje(RuntimeException e) {
+        Throwable causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        if (causa.getMessage() == null) {
+            return causa.getClass().getSimpleName();
+        }
+        // Los errores de la base suelen traer la sentencia SQL en las líneas siguientes
+        int finDeLinea = causa.getMessage().indexOf('\n');
+        return finDeLinea < 0 ? causa.getMessage() : causa.getMessage().substring(0, finDeLinea).trim();
+    }
+
+    private static void borrar(Path temporal) {
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el archivo temporal {} de la importación", temporal, e);
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    private record ParOferta(Long concesionariaId, Long autoId) {
+    }
+
+    private record ResultadoLote(int filas, Map<String, Long> autosNuevos, int autosExistentes,
+                                 int ofertasCreadas, int ofertasActualizadas, List<Long> ofertasConStock) {
+    }
+}
@@ -0,0 +1,32 @@
+package ar.edu.unq.pdss22025.services.importacion;
+
+import ar.edu.unq.pdss22025.models.dto.FormatoImportacion;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lee el archivo de catálogo de a una fila, sin cargarlo entero en memoria. Las filas que no se pueden
+ * interpretar se devuelven con su error para informarlas sin cortar la importación.
+ */
+public interface LectorCatalogo extends Closeable {
+
+    /**
+     * Siguiente fila del archivo, o null al llegar al final.
+     */
+    FilaCatalogo siguiente() throws IOException;
+
+    /**
+     * Lector para el formato indicado. Un CSV sin encabezado o sin las columnas obligatorias se rechaza
+     * acá, antes de empezar a importar.
+     */
+    static LectorCatalogo para(FormatoImportacion formato, Reader entrada) throws IOException {
+        BufferedReader lector = entrada instanceof BufferedReader buffered ? buffered : new BufferedReader(entrada);
+        return switch (formato) {
+            case CSV -> new LectorCsvCatalogo(lector);
+            case JSONL -> new LectorJsonLineasCatalogo(lector);
+        };
+    }
+}
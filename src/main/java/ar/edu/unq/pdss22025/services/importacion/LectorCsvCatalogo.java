@@ -0,0 +1,128 @@
+package ar.edu.unq.pdss22025.services.importacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV separado por comas con una fila de encabezado que nombra las columnas (marca, modelo, anio_modelo
+ * y, para la oferta, concesionaria_id, stock, precio y moneda, en cualquier orden). Los valores pueden ir
+ * entre comillas dobles, con comas, saltos de línea y comillas duplicadas ("") adentro.
+ */
+final class LectorCsvCatalogo implements LectorCatalogo {
+
+    private static final char SEPARADOR = ',';
+    private static final char COMILLA = '"';
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader entrada;
+    private final Map<String, Integer> columnas = new HashMap<>();
+    private final int cantidadColumnas;
+    private long linea = 1;
+    private boolean comillasSinCerrar;
+
+    LectorCsvCatalogo(BufferedReader entrada) throws IOException {
+        this.entrada = entrada;
+        // Marca de orden de bytes que agregan algunas planillas al guardar en UTF-8
+        entrada.mark(1);
+        if (entrada.read() != BOM) {
+            entrada.reset();
+        }
+        List<String> encabezado = leerRegistro();
+        if (encabezado == null) {
+            throw new RuntimeException("El archivo CSV está vacío");
+        }
+        cantidadColumnas = encabezado.size();
+        for (int i = 0; i < encabezado.size(); i++) {
+            columnas.putIfAbsent(FilaCatalogo.normalizarCampo(encabezado.get(i)), i);
+        }
+        for (String obligatoria : List.of(FilaCatalogo.MARCA, FilaCatalogo.MODELO, FilaCatalogo.ANIO_MODELO)) {
+            if (!columnas.containsKey(obligatoria)) {
+                throw new RuntimeException("Falta la columna obligatoria " + obligatoria + " en el encabezado del CSV");
+            }
+        }
+    }
+
+    @Override
+    public FilaCatalogo siguiente() throws IOException {
+        while (true) {
+            long inicio = linea;
+            List<String> valores = leerRegistro();
+            if (valores == null) {
+                return null;
+            }
+            if (comillasSinCerrar) {
+                return FilaCatalogo.invalida(inicio, "Hay comillas sin cerrar");
+            }
+            if (valores.size() == 1 && valores.get(0).isBlank()) {
+                continue;
+            }
+            if (valores.size() != cantidadColumnas) {
+                return FilaCatalogo.invalida(inicio, "La fila tiene " + valores.size() + " columnas y el encabezado " + cantidadColumnas);
+            }
+            return FilaCatalogo.desdeValores(inicio, campo -> {
+                Integer indice = columnas.get(campo);
+                return indice == null ? null : valores.get(indice);
+            });
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    /**
+     * Lee un registro completo (que puede ocupar varias líneas si tiene valores entre comillas),
+     * o null si no quedan registros.
+     */
+    private List<String> leerRegistro() throws IOException {
+        comillasSinCerrar = false;
+        int c = entrada.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> valores = new ArrayList<>();
+        StringBuilder valor = new StringBuilder();
+        boolean entreComillas = false;
+        while (c != -1) {
+            char caracter = (char) c;
+            if (entreComillas) {
+                if (caracter == COMILLA) {
+                    entrada.mark(1);
+                    int siguiente = entrada.read();
+                    if (siguiente == COMILLA) {
+                        valor.append(COMILLA);
+                    } else {
+                        entreComillas = false;
+                        if (siguiente != -1) {
+                            entrada.reset();
+                        }
+                    }
+                } else {
+                    if (caracter == '\n') {
+                        linea++;
+                    }
+                    valor.append(caracter);
+                }
+            } else if (caracter == COMILLA && valor.isEmpty()) {
+                entreComillas = true;
+            } else if (caracter == SEPARADOR) {
+                valores.add(valor.toString());
+                valor.setLength(0);
+            } else if (caracter == '\n') {
+                linea++;
+                break;
+            } else if (caracter != '\r') {
+                valor.append(caracter);
+            }
+            c = entrada.read();
+        }
+        comillasSinCerrar = entreComillas;
+        valores.add(valor.toString());
+        return valores;
+    }
+}
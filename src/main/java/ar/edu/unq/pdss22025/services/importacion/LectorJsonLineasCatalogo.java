@@ -0,0 +1,60 @@
+package ar.edu.unq.pdss22025.services.importacion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON lines: un objeto por línea con los campos marca, modelo, anioModelo y, para la oferta,
+ * concesionariaId, stock, precio y moneda. Las líneas vacías se ignoran.
+ */
+final class LectorJsonLineasCatalogo implements LectorCatalogo {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final BufferedReader entrada;
+    private long linea;
+
+    LectorJsonLineasCatalogo(BufferedReader entrada) {
+        this.entrada = entrada;
+    }
+
+    @Override
+    public FilaCatalogo siguiente() throws IOException {
+        String texto;
+        do {
+            texto = entrada.readLine();
+            if (texto == null) {
+                return null;
+            }
+            linea++;
+        } while (texto.isBlank());
+
+        JsonNode nodo;
+        try {
+            nodo = OBJECT_MAPPER.readTree(texto);
+        } catch (JsonProcessingException e) {
+            return FilaCatalogo.invalida(linea, "JSON inválido: " + e.getOriginalMessage());
+        }
+        if (nodo == null || !nodo.isObject()) {
+            return FilaCatalogo.invalida(linea, "La línea no es un objeto JSON");
+        }
+        Map<String, String> valores = new HashMap<>();
+        for (Map.Entry<String, JsonNode> campo : nodo.properties()) {
+            if (!campo.getValue().isNull()) {
+                valores.putIfAbsent(FilaCatalogo.normalizarCampo(campo.getKey()), campo.getValue().asText());
+            }
+        }
+        return FilaCatalogo.desdeValores(linea, valores::get);
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+}
@@ -0,0 +1,10 @@
+-- V10: Ids de compra con secuencia en bloques
+-- Base de datos: PostgreSQL
+-- Compra pasa de IDENTITY a una secuencia con optimizador pooled (allocationSize = 50): Hibernate reserva
+-- 50 ids por llamada a nextval y puede agrupar los INSERT de compras en lotes JDBC (hibernate.jdbc.batch_size).
+-- Se reutiliza la secuencia que creó BIGSERIAL; el DEFAULT de la columna sigue funcionando para inserts manuales.
+
+ALTER SEQUENCE compra_id_seq INCREMENT BY 50;
+
+-- La secuencia queda por encima del mayor id existente
+SELECT setval('compra_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM compra), 1));
@@ -0,0 +1,22 @@
+-- V11: Ids con secuencias en bloques para todo el modelo
+-- Base de datos: PostgreSQL
+-- Como compra en V10, el resto de las entidades pasa de IDENTITY a secuencias con optimizador pooled
+-- (allocationSize = 50): Hibernate reserva 50 ids por nextval y puede agrupar los INSERT en lotes JDBC,
+-- ordenados por entidad (hibernate.order_inserts / order_updates).
+-- Se reutilizan las secuencias de BIGSERIAL. Con pooled, nextval devuelve el tope del bloque reservado,
+-- así que los INSERT que usan el DEFAULT de la columna (scripts, seeds) no chocan con los ids de Hibernate.
+
+ALTER SEQUENCE usuario_id_seq INCREMENT BY 50;
+ALTER SEQUENCE concesionaria_id_seq INCREMENT BY 50;
+ALTER SEQUENCE auto_id_seq INCREMENT BY 50;
+ALTER SEQUENCE oferta_auto_id_seq INCREMENT BY 50;
+ALTER SEQUENCE resena_id_seq INCREMENT BY 50;
+ALTER SEQUENCE favorito_id_seq INCREMENT BY 50;
+
+-- Cada secuencia queda por encima del mayor id existente
+SELECT setval('usuario_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM usuario), 1));
+SELECT setval('concesionaria_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM concesionaria), 1));
+SELECT setval('auto_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM auto), 1));
+SELECT setval('oferta_auto_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM oferta_auto), 1));
+SELECT setval('resena_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM resena), 1));
+SELECT setval('favorito_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM favorito), 1));
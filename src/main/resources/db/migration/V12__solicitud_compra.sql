@@ -0,0 +1,26 @@
+-- V12: Solicitudes de compra con clave de idempotencia
+-- Base de datos: PostgreSQL
+-- Cola durable de las compras que se procesan en segundo plano (POST /compras/solicitudes). Un comprador
+-- no puede repetir una clave: el reintento de un pedido devuelve la solicitud original en lugar de crear
+-- otra compra. Los trabajadores toman las pendientes por (estado, id).
+
+CREATE TABLE IF NOT EXISTS solicitud_compra (
+    id BIGSERIAL PRIMARY KEY,
+    clave_idempotencia VARCHAR(100) NOT NULL,
+    comprador_id BIGINT NOT NULL,
+    oferta_id BIGINT NOT NULL,
+    precio_cerrado NUMERIC(15,2),
+    estado VARCHAR(20) NOT NULL,
+    compra_id BIGINT,
+    error VARCHAR(255),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT ux_solicitud_compra_comprador_clave UNIQUE (comprador_id, clave_idempotencia),
+    CONSTRAINT fk_solicitud_compra_comprador FOREIGN KEY (comprador_id) REFERENCES usuario(id),
+    CONSTRAINT fk_solicitud_compra_compra FOREIGN KEY (compra_id) REFERENCES compra(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_solicitud_compra_estado_id ON solicitud_compra(estado, id);
+
+-- Ids en bloques de 50, como el resto del modelo (ver V11)
+ALTER SEQUENCE solicitud_compra_id_seq INCREMENT BY 50;
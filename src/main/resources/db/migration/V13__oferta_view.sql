@@ -0,0 +1,44 @@
+-- V13: Modelo de lectura de ofertas (oferta_view)
+-- Base de datos: PostgreSQL
+-- Una fila por oferta con los datos de su auto y su concesionaria, la cantidad de favoritos y el resumen
+-- de reseñas del auto, para que el catálogo y el detalle lean una sola fila por oferta. La mantiene
+-- ProyeccionOfertaVista en la misma transacción que cada cambio; POST /ofertas/vista/reconstruir la
+-- vuelve a armar desde las tablas de origen.
+
+CREATE TABLE IF NOT EXISTS oferta_view (
+    id BIGINT PRIMARY KEY,
+    auto_id BIGINT NOT NULL,
+    marca VARCHAR(100) NOT NULL,
+    modelo VARCHAR(100) NOT NULL,
+    anio_modelo INT NOT NULL,
+    concesionaria_id BIGINT NOT NULL,
+    concesionaria_nombre VARCHAR(150) NOT NULL,
+    concesionaria_activa BOOLEAN NOT NULL,
+    stock INT NOT NULL,
+    precio_actual NUMERIC(15,2) NOT NULL,
+    moneda VARCHAR(10) NOT NULL,
+    cantidad_favoritos BIGINT NOT NULL DEFAULT 0,
+    cantidad_resenas BIGINT NOT NULL DEFAULT 0,
+    promedio_puntaje DOUBLE PRECISION NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT fk_oferta_view_oferta FOREIGN KEY (id) REFERENCES oferta_auto(id) ON DELETE CASCADE
+);
+
+-- Los mismos índices del catálogo que oferta_auto (ver V7) y el auto, para actualizar el puntaje de sus ofertas
+CREATE INDEX IF NOT EXISTS idx_oferta_view_auto ON oferta_view(auto_id);
+CREATE INDEX IF NOT EXISTS idx_oferta_view_precio_id ON oferta_view(precio_actual, id);
+CREATE INDEX IF NOT EXISTS idx_oferta_view_created_id ON oferta_view(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_oferta_view_moneda_precio_id ON oferta_view(moneda, precio_actual, id);
+
+-- Carga inicial a partir de las ofertas existentes
+INSERT INTO oferta_view (id, auto_id, marca, modelo, anio_modelo, concesionaria_id, concesionaria_nombre,
+                         concesionaria_activa, stock, precio_actual, moneda, cantidad_favoritos,
+                         cantidad_resenas, promedio_puntaje, created_at, updated_at)
+SELECT o.id, a.id, a.marca, a.modelo, a.anio_modelo, c.id, c.nombre, c.activa, o.stock, o.precio_actual, o.moneda,
+       (SELECT COUNT(*) FROM favorito f WHERE f.oferta_id = o.id),
+       COALESCE(r.cantidad, 0), COALESCE(r.promedio, 0), o.created_at, o.updated_at
+FROM oferta_auto o
+JOIN auto a ON a.id = o.auto_id
+JOIN concesionaria c ON c.id = o.concesionaria_id
+LEFT JOIN resumen_puntaje_auto r ON r.auto_id = a.id;
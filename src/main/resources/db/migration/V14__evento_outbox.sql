@@ -0,0 +1,17 @@
+-- V14: Outbox de eventos de dominio
+-- Base de datos: PostgreSQL
+-- Cada evento de dominio se guarda acá en la misma transacción que el cambio que lo originó, así no se
+-- pierde si la aplicación se cae después de confirmar. El relay de cada instancia toma filas con
+-- FOR UPDATE SKIP LOCKED (varias instancias reparten la tabla sin esperarse), las entrega a los
+-- consumidores y las borra. Las filas que fallaron eventos.outbox.maximo-intentos veces quedan para revisar.
+
+CREATE TABLE IF NOT EXISTS evento_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(100) NOT NULL,
+    payload VARCHAR(1000000) NOT NULL,
+    intentos INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Ids en bloques de 50, como el resto del modelo (ver V11)
+ALTER SEQUENCE evento_outbox_id_seq INCREMENT BY 50;
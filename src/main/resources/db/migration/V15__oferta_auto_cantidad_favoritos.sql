@@ -0,0 +1,9 @@
+-- Contador de favoritos desnormalizado en la oferta, para no contar la tabla favorito por oferta.
+-- Lo mantiene ContadorFavoritos acumulando en memoria y volcando por lotes; se reconcilia periódicamente.
+ALTER TABLE oferta_auto ADD COLUMN IF NOT EXISTS cantidad_favoritos BIGINT NOT NULL DEFAULT 0;
+
+UPDATE oferta_auto o
+SET cantidad_favoritos = (SELECT COUNT(*) FROM favorito f WHERE f.oferta_id = o.id);
+
+-- Orden del catálogo por más favoritos (desempate por id)
+CREATE INDEX IF NOT EXISTS idx_oferta_view_favoritos_id ON oferta_view(cantidad_favoritos, id);
@@ -0,0 +1,6 @@
+-- V16: Índice para filtrar el catálogo por marca y modelo
+-- Base de datos: PostgreSQL
+-- El catálogo filtra sin distinguir mayúsculas (lower(marca) = ? y lower(modelo) = ? sobre oferta_view), así que
+-- ni el índice único ux_auto_marca_modelo_anio de auto, que cita V7, ni un índice sobre las columnas sin
+-- transformar sirven para esa condición. El índice de expresiones sirve para la marca sola y para marca y modelo.
+CREATE INDEX IF NOT EXISTS idx_oferta_view_marca_modelo ON oferta_view(lower(marca), lower(modelo));
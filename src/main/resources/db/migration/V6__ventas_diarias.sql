@@ -0,0 +1,61 @@
+-- V6: Acumulados diarios de ventas para los reportes Top 5
+-- Base de datos: PostgreSQL
+-- Cada compra suma en el registro (fecha, dimensión) correspondiente; los reportes agregan
+-- sobre estos registros (a lo sumo uno por día y auto/comprador/concesionaria) en lugar de la tabla compra.
+
+-- a) Ventas diarias por auto
+CREATE TABLE IF NOT EXISTS venta_diaria_auto (
+    fecha DATE NOT NULL,
+    auto_id BIGINT NOT NULL,
+    cantidad BIGINT NOT NULL DEFAULT 0,
+    total NUMERIC(19,2) NOT NULL DEFAULT 0,
+    suma_precio_unitario NUMERIC(19,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (fecha, auto_id),
+    CONSTRAINT fk_venta_diaria_auto_auto FOREIGN KEY (auto_id) REFERENCES auto(id)
+);
+CREATE INDEX IF NOT EXISTS idx_venta_diaria_auto_auto ON venta_diaria_auto(auto_id);
+
+-- b) Compras diarias por comprador
+CREATE TABLE IF NOT EXISTS venta_diaria_comprador (
+    fecha DATE NOT NULL,
+    comprador_id BIGINT NOT NULL,
+    cantidad BIGINT NOT NULL DEFAULT 0,
+    total NUMERIC(19,2) NOT NULL DEFAULT 0,
+    suma_precio_unitario NUMERIC(19,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (fecha, comprador_id),
+    CONSTRAINT fk_venta_diaria_comprador_usuario FOREIGN KEY (comprador_id) REFERENCES usuario(id)
+);
+CREATE INDEX IF NOT EXISTS idx_venta_diaria_comprador_comprador ON venta_diaria_comprador(comprador_id);
+
+-- c) Ventas diarias por concesionaria
+CREATE TABLE IF NOT EXISTS venta_diaria_concesionaria (
+    fecha DATE NOT NULL,
+    concesionaria_id BIGINT NOT NULL,
+    cantidad BIGINT NOT NULL DEFAULT 0,
+    total NUMERIC(19,2) NOT NULL DEFAULT 0,
+    suma_precio_unitario NUMERIC(19,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (fecha, concesionaria_id),
+    CONSTRAINT fk_venta_diaria_concesionaria_concesionaria FOREIGN KEY (concesionaria_id) REFERENCES concesionaria(id)
+);
+CREATE INDEX IF NOT EXISTS idx_venta_diaria_concesionaria_concesionaria ON venta_diaria_concesionaria(concesionaria_id);
+
+-- d) Carga inicial a partir de las compras existentes (el día se toma en UTC)
+INSERT INTO venta_diaria_auto (fecha, auto_id, cantidad, total, suma_precio_unitario)
+SELECT CAST(c.fecha_compra AT TIME ZONE 'UTC' AS DATE), oa.auto_id,
+       COUNT(*), SUM(c.total), SUM(c.precio_unitario)
+FROM compra c
+INNER JOIN oferta_auto oa ON c.oferta_id = oa.id
+GROUP BY 1, 2;
+
+INSERT INTO venta_diaria_comprador (fecha, comprador_id, cantidad, total, suma_precio_unitario)
+SELECT CAST(c.fecha_compra AT TIME ZONE 'UTC' AS DATE), c.comprador_id,
+       COUNT(*), SUM(c.total), SUM(c.precio_unitario)
+FROM compra c
+GROUP BY 1, 2;
+
+INSERT INTO venta_diaria_concesionaria (fecha, concesionaria_id, cantidad, total, suma_precio_unitario)
+SELECT CAST(c.fecha_compra AT TIME ZONE 'UTC' AS DATE), oa.concesionaria_id,
+       COUNT(*), SUM(c.total), SUM(c.precio_unitario)
+FROM compra c
+INNER JOIN oferta_auto oa ON c.oferta_id = oa.id
+GROUP BY 1, 2;
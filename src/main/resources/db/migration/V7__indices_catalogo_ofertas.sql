@@ -0,0 +1,20 @@
+-- V7: Índices compuestos para el catálogo paginado de ofertas (paginación por keyset)
+-- Base de datos: PostgreSQL
+-- Cada orden del catálogo desempata por id, así que los índices incluyen id como última columna:
+-- la condición "(valor, id) después del cursor" se resuelve con un recorrido de rango del índice.
+
+-- a) Orden por precio (ascendente y descendente usan el mismo índice)
+CREATE INDEX IF NOT EXISTS idx_oferta_auto_precio_id ON oferta_auto(precio_actual, id);
+
+-- b) Orden por más recientes
+CREATE INDEX IF NOT EXISTS idx_oferta_auto_created_id ON oferta_auto(created_at, id);
+
+-- c) Filtro por moneda ordenando por precio (caso habitual del catálogo)
+CREATE INDEX IF NOT EXISTS idx_oferta_auto_moneda_precio_id ON oferta_auto(moneda, precio_actual, id);
+
+-- d) Versiones parciales para el catálogo por defecto (sólo ofertas con stock)
+CREATE INDEX IF NOT EXISTS idx_oferta_auto_con_stock_precio_id ON oferta_auto(precio_actual, id) WHERE stock > 0;
+CREATE INDEX IF NOT EXISTS idx_oferta_auto_con_stock_created_id ON oferta_auto(created_at, id) WHERE stock > 0;
+
+-- e) Filtros por año del auto (marca y modelo ya tienen el índice único ux_auto_marca_modelo_anio)
+CREATE INDEX IF NOT EXISTS idx_auto_anio_modelo ON auto(anio_modelo);
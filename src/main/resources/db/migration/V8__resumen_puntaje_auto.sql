@@ -0,0 +1,41 @@
+-- V8: Resumen de puntajes por auto
+-- Base de datos: PostgreSQL
+-- Cada alta, modificación o baja de reseña actualiza el resumen de su auto en la misma transacción;
+-- el promedio por auto y el ranking de mejor rankeados se leen de esta tabla en lugar de agregar resena.
+
+CREATE TABLE IF NOT EXISTS resumen_puntaje_auto (
+    auto_id BIGINT PRIMARY KEY,
+    cantidad BIGINT NOT NULL DEFAULT 0,
+    suma BIGINT NOT NULL DEFAULT 0,
+    promedio DOUBLE PRECISION NOT NULL DEFAULT 0,
+    puntaje_0 BIGINT NOT NULL DEFAULT 0,
+    puntaje_1 BIGINT NOT NULL DEFAULT 0,
+    puntaje_2 BIGINT NOT NULL DEFAULT 0,
+    puntaje_3 BIGINT NOT NULL DEFAULT 0,
+    puntaje_4 BIGINT NOT NULL DEFAULT 0,
+    puntaje_5 BIGINT NOT NULL DEFAULT 0,
+    puntaje_6 BIGINT NOT NULL DEFAULT 0,
+    puntaje_7 BIGINT NOT NULL DEFAULT 0,
+    puntaje_8 BIGINT NOT NULL DEFAULT 0,
+    puntaje_9 BIGINT NOT NULL DEFAULT 0,
+    puntaje_10 BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_resumen_puntaje_auto_auto FOREIGN KEY (auto_id) REFERENCES auto(id) ON DELETE CASCADE
+);
+
+-- Orden del ranking: promedio, cantidad de reseñas y auto como desempate
+CREATE INDEX IF NOT EXISTS idx_resumen_puntaje_auto_ranking
+    ON resumen_puntaje_auto(promedio DESC, cantidad DESC, auto_id);
+
+-- Carga inicial a partir de las reseñas existentes
+INSERT INTO resumen_puntaje_auto (auto_id, cantidad, suma, promedio,
+                                  puntaje_0, puntaje_1, puntaje_2, puntaje_3, puntaje_4, puntaje_5,
+                                  puntaje_6, puntaje_7, puntaje_8, puntaje_9, puntaje_10)
+SELECT r.auto_id, COUNT(*), SUM(r.rating), AVG(CAST(r.rating AS DOUBLE PRECISION)),
+       COUNT(*) FILTER (WHERE r.rating = 0), COUNT(*) FILTER (WHERE r.rating = 1),
+       COUNT(*) FILTER (WHERE r.rating = 2), COUNT(*) FILTER (WHERE r.rating = 3),
+       COUNT(*) FILTER (WHERE r.rating = 4), COUNT(*) FILTER (WHERE r.rating = 5),
+       COUNT(*) FILTER (WHERE r.rating = 6), COUNT(*) FILTER (WHERE r.rating = 7),
+       COUNT(*) FILTER (WHERE r.rating = 8), COUNT(*) FILTER (WHERE r.rating = 9),
+       COUNT(*) FILTER (WHERE r.rating = 10)
+FROM resena r
+GROUP BY r.auto_id;
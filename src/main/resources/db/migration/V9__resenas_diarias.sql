@@ -0,0 +1,22 @@
+-- V9: Acumulados diarios de reseñas por auto
+-- Base de datos: PostgreSQL
+-- Cada alta, modificación o baja de reseña actualiza el acumulado del día de creación de la reseña (en UTC)
+-- en la misma transacción; el ranking de autos mejores rankeados de un rango de fechas suma estos registros
+-- en lugar de agregar resena.
+
+CREATE TABLE IF NOT EXISTS resena_diaria_auto (
+    fecha DATE NOT NULL,
+    auto_id BIGINT NOT NULL,
+    cantidad BIGINT NOT NULL DEFAULT 0,
+    suma BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (fecha, auto_id),
+    CONSTRAINT fk_resena_diaria_auto_auto FOREIGN KEY (auto_id) REFERENCES auto(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_resena_diaria_auto_auto ON resena_diaria_auto(auto_id);
+
+-- Carga inicial a partir de las reseñas existentes
+INSERT INTO resena_diaria_auto (fecha, auto_id, cantidad, suma)
+SELECT CAST(r.created_at AT TIME ZONE 'UTC' AS DATE), r.auto_id, COUNT(*), SUM(r.rating)
+FROM resena r
+GROUP BY CAST(r.created_at AT TIME ZONE 'UTC' AS DATE), r.auto_id;
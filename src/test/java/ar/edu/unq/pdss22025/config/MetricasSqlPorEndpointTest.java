@@ -0,0 +1,127 @@
+package ar.edu.unq.pdss22025.config;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.dto.BusquedaOfertasResponse;
+import ar.edu.unq.pdss22025.models.dto.CatalogoOfertasResponse;
+import ar.edu.unq.pdss22025.models.dto.CompraLoteResponse;
+import ar.edu.unq.pdss22025.models.dto.OfertaFacetadaResponse;
+import ar.edu.unq.pdss22025.models.dto.OfertaVistaResponse;
+import ar.edu.unq.pdss22025.models.dto.ResultadoLineaCompraResponse;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(MetricasSqlHibernateConfig.class)
+class MetricasSqlPorEndpointTest {
+
+    @Autowired
+    private AutoRepository autoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MetricasSqlPorEndpointInterceptor interceptor;
+    private HandlerMethod handler;
+
+    /** Controller mínimo para armar el HandlerMethod que ve el interceptor. */
+    static class AutoControllerDePrueba {
+        public List<Auto> listar() {
+            return List.of();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new MetricasSqlPorEndpointInterceptor(meterRegistry);
+        handler = new HandlerMethod(new AutoControllerDePrueba(), AutoControllerDePrueba.class.getMethod("listar"));
+
+        for (int i = 0; i < 3; i++) {
+            autoRepository.save(Auto.builder().marca("Marca" + i).modelo("Modelo" + i).anioModelo(2020).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private DistributionSummary resumen(String nombre) {
+        return meterRegistry.get(nombre)
+                .tag("controlador", "AutoControllerDePrueba")
+                .tag("metodo", "listar")
+                .summary();
+    }
+
+    @Test
+    @DisplayName("Una request publica sentencias, tiempo JDBC, entidades cargadas y filas devueltas de su método")
+    void request_PublicaMetricasPorMetodo() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler));
+        List<Auto> autos = autoRepository.findAll();
+        new FilasDevueltasAdvice().beforeBodyWrite(autos, null, null, null, null, null);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(1, resumen(MetricasSqlPorEndpointInterceptor.METRICA_SENTENCIAS).count());
+        assertEquals(1.0, resumen(MetricasSqlPorEndpointInterceptor.METRICA_SENTENCIAS).totalAmount());
+        assertEquals(3.0, resumen(MetricasSqlPorEndpointInterceptor.METRICA_ENTIDADES).totalAmount());
+        assertEquals(3.0, resumen(MetricasSqlPorEndpointInterceptor.METRICA_FILAS).totalAmount());
+        Timer tiempoJdbc = meterRegistry.get(MetricasSqlPorEndpointInterceptor.METRICA_TIEMPO_JDBC)
+                .tag("controlador", "AutoControllerDePrueba").timer();
+        assertEquals(1, tiempoJdbc.count());
+        assertTrue(tiempoJdbc.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    @DisplayName("Las consultas fuera de una request no se acumulan en la siguiente medición")
+    void consultasFueraDeRequest_NoSeAcumulan() {
+        autoRepository.findAll();
+        assertNull(MedicionSql.finalizar());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(0.0, resumen(MetricasSqlPorEndpointInterceptor.METRICA_SENTENCIAS).totalAmount());
+        assertEquals(0.0, resumen(MetricasSqlPorEndpointInterceptor.METRICA_ENTIDADES).totalAmount());
+    }
+
+    @Test
+    @DisplayName("Las respuestas paginadas informan sus elementos como filas devueltas; cualquier otro cuerpo cuenta 1")
+    void filas_RespuestasConFilasDevueltas() {
+        assertEquals(2, FilasDevueltasAdvice.filas(CatalogoOfertasResponse.builder()
+                .items(List.of(new OfertaVistaResponse(), new OfertaVistaResponse())).build()));
+        assertEquals(1, FilasDevueltasAdvice.filas(BusquedaOfertasResponse.builder()
+                .total(40).items(List.of(new OfertaFacetadaResponse())).build()));
+        assertEquals(0, FilasDevueltasAdvice.filas(new CompraLoteResponse()));
+        assertEquals(3, FilasDevueltasAdvice.filas(CompraLoteResponse.builder()
+                .resultados(List.of(new ResultadoLineaCompraResponse(), new ResultadoLineaCompraResponse(),
+                        new ResultadoLineaCompraResponse())).build()));
+        assertEquals(1, FilasDevueltasAdvice.filas(new Auto()));
+    }
+}
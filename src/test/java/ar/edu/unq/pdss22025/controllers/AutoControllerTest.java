@@ -1,9 +1,12 @@
 package ar.edu.unq.pdss22025.controllers;
 
 import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.mapper.AutoMapperImpl;
 import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.dto.AutoResponse;
 import ar.edu.unq.pdss22025.models.dto.CrearAutoRequest;
 import ar.edu.unq.pdss22025.services.AutoService;
+import ar.edu.unq.pdss22025.services.IndiceAutos;
 import ar.edu.unq.pdss22025.services.JwtService;
 import ar.edu.unq.pdss22025.services.UsuarioDetailsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,11 +15,13 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -32,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class
 })
 @AutoConfigureMockMvc(addFilters = false)
+@Import(AutoMapperImpl.class)
 class AutoControllerTest {
 
     @Autowired
@@ -113,14 +119,7 @@ class AutoControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void listarAutos_ok() throws Exception {
-        Auto auto = Auto.builder()
-                .id(1L)
-                .marca("Toyota")
-                .modelo("Corolla")
-                .anioModelo(2024)
-                .createdAt(OffsetDateTime.now())
-                .updatedAt(OffsetDateTime.now())
-                .build();
+        AutoResponse auto = new AutoResponse(1L, "Toyota", "Corolla", 2024, LocalDateTime.now(), LocalDateTime.now());
 
         Mockito.when(autoService.listarAutos()).thenReturn(List.of(auto));
 
@@ -184,5 +183,38 @@ class AutoControllerTest {
                         .param("marca", "Ford"))
                 .andExpect(status().isOk());
     }
-}
 
+    @Test
+    @WithMockUser(roles = "COMPRADOR")
+    void buscarAutos_ok() throws Exception {
+        Mockito.when(autoService.buscarAutos("toyo cor", 10)).thenReturn(List.of(
+                new IndiceAutos.Sugerencia(1L, "Toyota", "Corolla", 2024, 160)));
+
+        mockMvc.perform(get("/autos/search")
+                        .param("q", "toyo cor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].marca").value("Toyota"))
+                .andExpect(jsonPath("$[0].modelo").value("Corolla"))
+                .andExpect(jsonPath("$[0].puntaje").value(160));
+    }
+
+    @Test
+    @WithMockUser(roles = "COMPRADOR")
+    void buscarAutos_limiteInvalido_deberiaRetornar400() throws Exception {
+        Mockito.when(autoService.buscarAutos("toyota", 0))
+                .thenThrow(new RuntimeException("El límite debe ser mayor a cero"));
+
+        mockMvc.perform(get("/autos/search")
+                        .param("q", "toyota")
+                        .param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "COMPRADOR")
+    void buscarAutos_sinConsulta_deberiaRetornar400() throws Exception {
+        mockMvc.perform(get("/autos/search"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,14 +2,22 @@ package ar.edu.unq.pdss22025.controllers;
 
 import ar.edu.unq.pdss22025.models.Concesionaria;
 import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.OfertaVista;
+import ar.edu.unq.pdss22025.models.dto.FiltroFacetasOfertas;
 import ar.edu.unq.pdss22025.models.dto.OfertaResponse;
+import ar.edu.unq.pdss22025.models.dto.OfertaVistaResponse;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
+import ar.edu.unq.pdss22025.services.BuscadorOfertas;
+import ar.edu.unq.pdss22025.services.PaginaOfertas;
 import ar.edu.unq.pdss22025.services.OfertaService;
+import ar.edu.unq.pdss22025.services.ProyeccionOfertaVista;
 import ar.edu.unq.pdss22025.services.UsuarioService;
 import ar.edu.unq.pdss22025.mapper.OfertaMapper;
 import ar.edu.unq.pdss22025.services.JwtService;
 import ar.edu.unq.pdss22025.services.UsuarioDetailsService;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioConcesionaria;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -17,9 +25,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = OfertaController.class, excludeAutoConfiguration = {
@@ -40,6 +53,8 @@ class OfertaControllerTest {
     private JwtService jwtService;
     @MockitoBean
     private UsuarioDetailsService usuarioDetailsService;
+    @MockitoBean
+    private ProyeccionOfertaVista proyeccionOfertaVista;
 
     @Test
     void getOfertasByConcesionaria_ok() throws Exception {
@@ -171,5 +186,72 @@ class OfertaControllerTest {
     // Nota: Los tests de autorización (403) requieren que la seguridad esté habilitada.
     // Como este test tiene excludeAutoConfiguration para SecurityAutoConfiguration,
     // @PreAuthorize no se aplica. Estos tests se validan en integración con seguridad habilitada.
-}
 
+    @Test
+    @WithMockUser(roles = "COMPRADOR")
+    void getCatalogo_ok() throws Exception {
+        OfertaVista oferta = new OfertaVista();
+        OfertaVistaResponse response = new OfertaVistaResponse();
+        Mockito.when(ofertaService.buscarCatalogo(Mockito.any(), Mockito.eq(OrdenCatalogoOfertas.PRECIO_ASC), Mockito.isNull(), Mockito.eq(10)))
+                .thenReturn(new PaginaOfertas(List.of(oferta), "cursor-siguiente"));
+        Mockito.when(ofertaMapper.toResponse(oferta)).thenReturn(response);
+        mockMvc.perform(get("/ofertas/catalogo?marca=Toyota&orden=precio_asc&limite=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.siguienteCursor").value("cursor-siguiente"))
+                .andExpect(jsonPath("$.hayMas").value(true));
+    }
+
+    @Test
+    @WithMockUser(roles = "COMPRADOR")
+    void getCatalogo_ordenInvalido_badRequest() throws Exception {
+        mockMvc.perform(get("/ofertas/catalogo?orden=cualquiera"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "COMPRADOR")
+    void getDetalle_ok() throws Exception {
+        OfertaVista oferta = OfertaVista.builder().id(10L).build();
+        OfertaVistaResponse response = OfertaVistaResponse.builder()
+                .id(10L).marca("Toyota").concesionaria("Sur Motors").cantidadFavoritos(4).promedioPuntaje(8.5).build();
+        Mockito.when(ofertaService.obtenerDetalle(10L)).thenReturn(oferta);
+        Mockito.when(ofertaMapper.toResponse(oferta)).thenReturn(response);
+        mockMvc.perform(get("/ofertas/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.marca").value("Toyota"))
+                .andExpect(jsonPath("$.concesionaria").value("Sur Motors"))
+                .andExpect(jsonPath("$.cantidadFavoritos").value(4))
+                .andExpect(jsonPath("$.promedioPuntaje").value(8.5));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void reconstruirVista_ok() throws Exception {
+        Mockito.when(proyeccionOfertaVista.reconstruir()).thenReturn(26);
+        mockMvc.perform(post("/ofertas/vista/reconstruir"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ofertas").value(26));
+    }
+
+    @Test
+    @WithMockUser(roles = "COMPRADOR")
+    void buscarPorFacetas_ok() throws Exception {
+        BuscadorOfertas.Oferta oferta = new BuscadorOfertas.Oferta(10L, 1L, "Toyota", "Corolla", 2024, 2L, "Sur Motors",
+                3, new BigDecimal("15000"), "USD", null);
+        BuscadorOfertas.Resultado resultado = new BuscadorOfertas.Resultado(1, List.of(oferta), Map.of(
+                BuscadorOfertas.FACETA_MARCA, List.of(new BuscadorOfertas.ValorFaceta("toyota", "Toyota", 1, true))));
+        ArgumentCaptor<FiltroFacetasOfertas> filtro = ArgumentCaptor.forClass(FiltroFacetasOfertas.class);
+        Mockito.when(ofertaService.buscarPorFacetas(filtro.capture(), Mockito.eq(OrdenCatalogoOfertas.RECIENTES), Mockito.eq(20), Mockito.isNull()))
+                .thenReturn(resultado);
+        mockMvc.perform(get("/ofertas/buscar?marca=toyota&marca=ford&anio=2024&desde=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].marca").value("Toyota"))
+                .andExpect(jsonPath("$.items[0].concesionaria").value("Sur Motors"))
+                .andExpect(jsonPath("$.facetas.marca[0].cantidad").value(1))
+                .andExpect(jsonPath("$.facetas.marca[0].seleccionado").value(true));
+        assertEquals(List.of("toyota", "ford"), filtro.getValue().getMarca());
+        assertEquals(List.of(2024), filtro.getValue().getAnio());
+    }
+}
@@ -1,7 +1,10 @@
 package ar.edu.unq.pdss22025.controllers;
 
 import ar.edu.unq.pdss22025.models.dto.ReporteTop5Response;
+import ar.edu.unq.pdss22025.models.dto.FormatoExportacion;
+import ar.edu.unq.pdss22025.models.dto.TipoReporte;
 import ar.edu.unq.pdss22025.services.JwtService;
+import ar.edu.unq.pdss22025.services.ReporteExportService;
 import ar.edu.unq.pdss22025.services.ReporteService;
 import ar.edu.unq.pdss22025.services.UsuarioDetailsService;
 import org.junit.jupiter.api.Test;
@@ -12,7 +15,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ReporteController.class, excludeAutoConfiguration = {
@@ -27,6 +37,9 @@ class ReporteControllerTest {
     @MockitoBean
     private ReporteService reporteService;
 
+    @MockitoBean
+    private ReporteExportService reporteExportService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -133,7 +146,44 @@ class ReporteControllerTest {
         mockMvc.perform(get("/reports/exportar")
                         .param("tipo", "autos-mas-vendidos")
                         .param("formato", "excel"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reporte-autos-mas-vendidos.xlsx\""));
+
+        Mockito.verify(reporteExportService).exportar(eq(TipoReporte.AUTOS_MAS_VENDIDOS), eq(FormatoExportacion.EXCEL),
+                eq(false), isNull(), isNull(), isNull(), any(OutputStream.class));
+    }
+
+    @Test
+    void exportarReporte_detalleDeComprasEnCsv_ok() throws Exception {
+        mockMvc.perform(get("/reports/exportar")
+                        .param("tipo", "compras")
+                        .param("formato", "csv")
+                        .param("detalle", "true")
+                        .param("periodo", "año"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"));
+
+        Mockito.verify(reporteExportService).exportar(eq(TipoReporte.COMPRAS), eq(FormatoExportacion.CSV),
+                eq(true), isNull(), isNull(), eq("año"), any(OutputStream.class));
+    }
+
+    @Test
+    void exportarReporte_formatoNoSoportado_badRequest() throws Exception {
+        mockMvc.perform(get("/reports/exportar")
+                        .param("tipo", "autos-mas-vendidos")
+                        .param("formato", "docx"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(reporteExportService);
+    }
+
+    @Test
+    void exportarReporte_tipoNoSoportado_badRequest() throws Exception {
+        mockMvc.perform(get("/reports/exportar")
+                        .param("tipo", "inexistente")
+                        .param("formato", "pdf"))
+                .andExpect(status().isBadRequest());
     }
 }
 
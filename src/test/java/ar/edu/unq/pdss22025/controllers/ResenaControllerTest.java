@@ -2,7 +2,6 @@ package ar.edu.unq.pdss22025.controllers;
 
 import ar.edu.unq.pdss22025.models.dto.ResenaResponse;
 import ar.edu.unq.pdss22025.models.Resena;
-import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
 import ar.edu.unq.pdss22025.services.ResenaService;
 import ar.edu.unq.pdss22025.mapper.ResenaMapper;
 import ar.edu.unq.pdss22025.services.JwtService;
@@ -42,11 +41,9 @@ class ResenaControllerTest {
 
     @Test
     void crearResena_ok() throws Exception {
-        UsuarioComprador usuario = new UsuarioComprador();
-        usuario.setId(1L);
         Resena resena = new Resena();
         ResenaResponse response = new ResenaResponse();
-        Mockito.when(usuarioService.obtenerUsuarioAutenticado()).thenReturn(Optional.of(usuario));
+        Mockito.when(usuarioService.obtenerIdUsuarioAutenticado()).thenReturn(Optional.of(1L));
         Mockito.when(resenaService.crearResenha(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyInt(), Mockito.anyString())).thenReturn(resena);
         Mockito.when(resenaMapper.toResponse(resena)).thenReturn(response);
         mockMvc.perform(post("/resenas")
@@ -57,9 +54,7 @@ class ResenaControllerTest {
 
     @Test
     void crearResena_notFound() throws Exception {
-        UsuarioComprador usuario = new UsuarioComprador();
-        usuario.setId(1L);
-        Mockito.when(usuarioService.obtenerUsuarioAutenticado()).thenReturn(Optional.of(usuario));
+        Mockito.when(usuarioService.obtenerIdUsuarioAutenticado()).thenReturn(Optional.of(1L));
         Mockito.when(resenaService.crearResenha(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyInt(), Mockito.anyString()))
                 .thenThrow(new ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException("Auto no encontrado"));
         mockMvc.perform(post("/resenas")
@@ -70,9 +65,7 @@ class ResenaControllerTest {
 
     @Test
     void crearResena_conflict() throws Exception {
-        UsuarioComprador usuario = new UsuarioComprador();
-        usuario.setId(1L);
-        Mockito.when(usuarioService.obtenerUsuarioAutenticado()).thenReturn(Optional.of(usuario));
+        Mockito.when(usuarioService.obtenerIdUsuarioAutenticado()).thenReturn(Optional.of(1L));
         Mockito.when(resenaService.crearResenha(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyInt(), Mockito.anyString()))
                 .thenThrow(new ar.edu.unq.pdss22025.exceptions.ResenaYaExisteException("Ya existe una reseña"));
         mockMvc.perform(post("/resenas")
@@ -0,0 +1,117 @@
+package ar.edu.unq.pdss22025.controllers;
+
+import ar.edu.unq.pdss22025.models.SolicitudCompra;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.repositories.SolicitudCompraRepository;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Los pedidos que esperan el resultado de una solicitud de compra no retienen conexiones: con más pedidos esperando
+ * que conexiones en el pool, el resto de la API sigue respondiendo.
+ * <p>
+ * El contexto (con un pool chico que ningún otro test comparte) se cierra al terminar: abierto, su auditoría JPA
+ * pisa las fechas de creación que fijan los tests de repositorios que corren después.
+ */
+@SpringBootTest
+@DirtiesContext
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:esperasolicitudes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.hikari.maximum-pool-size=" + SolicitudCompraEsperaTest.CONEXIONES,
+        "spring.datasource.hikari.connection-timeout=1000",
+        // Sin barrido la solicitud sigue pendiente y los pedidos esperan hasta el final
+        "compras.solicitudes.barrido-ms=600000"
+})
+class SolicitudCompraEsperaTest {
+
+    static final int CONEXIONES = 2;
+    private static final int ESPERA_MS = 3000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SolicitudCompraRepository solicitudCompraRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private final ExecutorService pedidos = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        pedidos.shutdownNow();
+        solicitudCompraRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Con más pedidos esperando el resultado que conexiones en el pool, otro endpoint sigue respondiendo")
+    void esperarSolicitud_noRetieneConexiones() throws Exception {
+        UsuarioComprador comprador = new UsuarioComprador();
+        comprador.setEmail("espera@test.com");
+        comprador.setPassword("password");
+        comprador.setNombre("Ana");
+        comprador.setApellido("López");
+        comprador = usuarioRepository.save(comprador);
+        Long id = solicitudCompraRepository.save(SolicitudCompra.builder()
+                .claveIdempotencia("clave-1")
+                .comprador(comprador)
+                .ofertaId(1L)
+                .estado(SolicitudCompra.Estado.PENDIENTE)
+                .build()).getId();
+
+        List<CompletableFuture<Integer>> esperando = new ArrayList<>();
+        for (int i = 0; i < CONEXIONES * 2; i++) {
+            esperando.add(CompletableFuture.supplyAsync(() -> comoAdmin(() -> mockMvc
+                    .perform(get("/compras/solicitudes/{id}", id).param("esperaMs", String.valueOf(ESPERA_MS)))
+                    .andReturn().getResponse().getStatus()), pedidos));
+        }
+        Thread.sleep(500);
+
+        int catalogo = comoAdmin(() -> mockMvc.perform(get("/ofertas/catalogo")).andReturn().getResponse().getStatus());
+
+        assertEquals(200, catalogo);
+        assertTrue(esperando.stream().noneMatch(CompletableFuture::isDone), "Los pedidos tenían que seguir esperando");
+        for (CompletableFuture<Integer> espera : esperando) {
+            assertEquals(202, espera.get());
+        }
+    }
+
+    private interface Pedido {
+        int ejecutar() throws Exception;
+    }
+
+    private static int comoAdmin(Pedido pedido) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        try {
+            return pedido.ejecutar();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import ar.edu.unq.pdss22025.models.usuario.menu.MenuItem;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = UsuarioController.class, excludeAutoConfiguration = {
@@ -261,4 +262,18 @@ class UsuarioControllerTest {
         )
         .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void cambiarEstado_ok() throws Exception {
+        Usuario usuario = Mockito.mock(Usuario.class);
+        Mockito.when(usuario.getId()).thenReturn(1L);
+        Mockito.when(usuario.getEmail()).thenReturn("test@test.com");
+        Mockito.when(usuario.getActivo()).thenReturn(false);
+        Mockito.when(usuarioService.cambiarEstado(1L, false)).thenReturn(usuario);
+        mockMvc.perform(
+                patch("/usuarios/1/estado").param("activo", "false")
+        ).andExpect(status().isOk())
+         .andExpect(jsonPath("$.activo").value(false));
+    }
 }
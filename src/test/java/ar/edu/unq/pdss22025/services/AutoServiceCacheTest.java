@@ -0,0 +1,179 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.config.CacheConfig;
+import ar.edu.unq.pdss22025.mapper.AutoMapperImpl;
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.support.ContadorSql;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.cache.CacheMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Caché de marcas, modelos y autos: lecturas sin SQL después de la primera, invalidación al confirmar
+ * altas y bajas, y métricas de la caché en el MeterRegistry.
+ * Las operaciones corren en transacciones propias para que las invalidaciones se confirmen.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({AutoService.class, IndiceAutos.class, CacheConfig.class, AutoMapperImpl.class})
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class, CacheMetricsAutoConfiguration.class})
+class AutoServiceCacheTest {
+
+    @Autowired
+    private AutoService autoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ContadorSql contadorSql;
+    private TransactionTemplate nuevaTransaccion;
+    private final List<Long> creados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        contadorSql = new ContadorSql(entityManagerFactory);
+        nuevaTransaccion = new TransactionTemplate(transactionManager);
+        nuevaTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        cacheManager.getCacheNames().forEach(nombre -> cacheManager.getCache(nombre).clear());
+        crear("Toyota", "Corolla", 2020);
+        crear("Toyota", "Hilux", 2022);
+        crear("Ford", "Focus", 2019);
+    }
+
+    @AfterEach
+    void tearDown() {
+        creados.forEach(id -> nuevaTransaccion.executeWithoutResult(status -> autoService.eliminarAuto(id)));
+        creados.clear();
+    }
+
+    private Auto crear(String marca, String modelo, int anio) {
+        Auto auto = nuevaTransaccion.execute(status -> autoService.crearAuto(marca, modelo, anio));
+        creados.add(auto.getId());
+        return auto;
+    }
+
+    private <T> long sentencias(Supplier<T> lectura) {
+        return contadorSql.contar(lectura::get);
+    }
+
+    @Test
+    @DisplayName("Después de la primera lectura, marcas, modelos y autos se sirven sin SQL")
+    void lecturasRepetidas_noConsultanLaBase() {
+        assertEquals(1, sentencias(autoService::obtenerMarcas));
+        assertEquals(1, sentencias(() -> autoService.obtenerModelosPorMarca("Toyota")));
+        assertEquals(1, sentencias(autoService::listarAutos));
+
+        assertEquals(0, sentencias(autoService::obtenerMarcas));
+        // La marca se compara sin distinguir mayúsculas, así que comparte la entrada
+        assertEquals(0, sentencias(() -> autoService.obtenerModelosPorMarca("TOYOTA")));
+        assertEquals(0, sentencias(autoService::listarAutos));
+
+        assertEquals(List.of("Ford", "Toyota"), autoService.obtenerMarcas());
+        assertEquals(List.of("Corolla", "Hilux"), autoService.obtenerModelosPorMarca("toyota"));
+        assertEquals(3, autoService.listarAutos().size());
+    }
+
+    @Test
+    @DisplayName("Un alta invalida marcas, autos y sólo los modelos de su marca")
+    void crearAuto_invalidaSoloLoAfectado() {
+        autoService.obtenerMarcas();
+        autoService.obtenerModelosPorMarca("Toyota");
+        autoService.obtenerModelosPorMarca("Ford");
+        autoService.listarAutos();
+
+        crear("Ford", "Ranger", 2023);
+
+        assertEquals(0, sentencias(() -> autoService.obtenerModelosPorMarca("Toyota")));
+        assertEquals(1, sentencias(() -> autoService.obtenerModelosPorMarca("Ford")));
+        assertEquals(List.of("Focus", "Ranger"), autoService.obtenerModelosPorMarca("Ford"));
+        assertEquals(1, sentencias(autoService::obtenerMarcas));
+        assertEquals(4, autoService.listarAutos().size());
+    }
+
+    @Test
+    @DisplayName("Una baja invalida la caché con el catálogo actualizado")
+    void eliminarAuto_invalidaCache() {
+        Auto fiesta = crear("Ford", "Fiesta", 2018);
+        assertEquals(List.of("Fiesta", "Focus"), autoService.obtenerModelosPorMarca("Ford"));
+        assertEquals(4, autoService.listarAutos().size());
+
+        nuevaTransaccion.executeWithoutResult(status -> autoService.eliminarAuto(fiesta.getId()));
+        creados.remove(fiesta.getId());
+
+        assertEquals(List.of("Focus"), autoService.obtenerModelosPorMarca("Ford"));
+        assertEquals(3, autoService.listarAutos().size());
+    }
+
+    @Test
+    @DisplayName("Un alta que se revierte no llega a la caché")
+    void altaRevertida_mantieneCache() {
+        assertEquals(List.of("Ford", "Toyota"), autoService.obtenerMarcas());
+
+        nuevaTransaccion.executeWithoutResult(status -> {
+            autoService.crearAuto("Fiat", "Cronos", 2024);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of("Ford", "Toyota"), autoService.obtenerMarcas());
+    }
+
+    @Test
+    @DisplayName("Las cachés publican aciertos, fallos y tamaño en el MeterRegistry")
+    void metricas_seRegistranEnElMeterRegistry() {
+        // Los contadores son acumulativos para todo el contexto, así que se miden diferencias
+        double aciertos = lecturasMarcas("hit");
+        double fallos = lecturasMarcas("miss");
+
+        autoService.obtenerMarcas();
+        autoService.obtenerMarcas();
+        autoService.obtenerMarcas();
+
+        assertEquals(2.0, lecturasMarcas("hit") - aciertos);
+        assertEquals(1.0, lecturasMarcas("miss") - fallos);
+        assertNotNull(meterRegistry.get("cache.evictions").tag("cache", CacheConfig.MODELOS_POR_MARCA).functionCounter());
+        assertNotNull(meterRegistry.get("cache.size").tag("cache", CacheConfig.AUTOS).gauge());
+    }
+
+    private double lecturasMarcas(String resultado) {
+        return meterRegistry.get("cache.gets").tag("cache", CacheConfig.MARCAS).tag("result", resultado)
+                .functionCounter().count();
+    }
+}
@@ -1,6 +1,8 @@
 package ar.edu.unq.pdss22025.services;
 
+import ar.edu.unq.pdss22025.config.CacheConfig;
 import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.mapper.AutoMapperImpl;
 import ar.edu.unq.pdss22025.models.Auto;
 import ar.edu.unq.pdss22025.repositories.AutoRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,9 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,7 +26,7 @@ import static org.junit.jupiter.api.Assertions.*;
         "spring.flyway.enabled=false",
         "spring.jpa.hibernate.ddl-auto=create-drop"
 })
-@Import(AutoService.class)
+@Import({AutoService.class, IndiceAutos.class, CacheConfig.class, AutoMapperImpl.class})
 class AutoServiceTest {
 
     @Autowired
@@ -30,9 +35,15 @@ class AutoServiceTest {
     @Autowired
     private AutoRepository autoRepository;
 
+    @Autowired
+    private IndiceAutos indiceAutos;
+
     @Autowired
     private TestEntityManager entityManager;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         entityManager.clear();
@@ -81,5 +92,38 @@ class AutoServiceTest {
 
         assertTrue(exception.getMessage().contains("Auto con ID 999 no encontrado"));
     }
-}
 
+    @Test
+    @DisplayName("El índice de búsqueda refleja las altas y bajas confirmadas")
+    void buscarAutos_reflejaAltasYBajas() {
+        // Cada operación en su propia transacción, para que se confirme y se aplique al índice
+        TransactionTemplate nuevaTransaccion = new TransactionTemplate(transactionManager);
+        nuevaTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Auto auto = nuevaTransaccion.execute(status -> autoService.crearAuto("Volkswagen", "Amarok", 2021));
+        try {
+            assertEquals(auto.getId(), autoService.buscarAutos("volks amar", 10).get(0).id());
+        } finally {
+            nuevaTransaccion.executeWithoutResult(status -> autoService.eliminarAuto(auto.getId()));
+        }
+
+        assertTrue(autoService.buscarAutos("amarok", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un alta que no se confirma no llega al índice")
+    void buscarAutos_altaSinConfirmar_noSeIndexa() {
+        indiceAutos.reconstruir();
+        autoService.crearAuto("Renault", "Kangoo", 2019);
+
+        assertTrue(autoService.buscarAutos("kangoo", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Buscar con límite inválido lanza excepción")
+    void buscarAutos_limiteInvalido() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> autoService.buscarAutos("ford", 0));
+
+        assertEquals("El límite debe ser mayor a cero", exception.getMessage());
+    }
+}
@@ -0,0 +1,243 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.dto.FiltroFacetasOfertas;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoAgregado;
+import ar.edu.unq.pdss22025.services.eventos.OfertaCreada;
+import ar.edu.unq.pdss22025.services.eventos.OfertasImportadas;
+import ar.edu.unq.pdss22025.services.eventos.StockDescontado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuscadorOfertasTest {
+
+    private static final OffsetDateTime AHORA = OffsetDateTime.parse("2025-10-01T10:00:00Z");
+
+    private final Concesionaria norte = concesionaria(1L, "Autos del Norte", true);
+    private final Concesionaria sur = concesionaria(2L, "Sur Motors", true);
+    private final Concesionaria cerrada = concesionaria(3L, "Cerrada", false);
+
+    private final List<OfertaAuto> ofertas = new ArrayList<>();
+    private OfertaAutoRepository repository;
+    private BuscadorOfertas buscador;
+
+    @BeforeEach
+    void setUp() {
+        Auto corolla2020 = auto(1L, "Toyota", "Corolla", 2020);
+        Auto corolla2024 = auto(2L, "Toyota", "Corolla", 2024);
+        Auto focus = auto(3L, "Ford", "Focus", 2020);
+        Auto hilux = auto(4L, "toyota", "Hilux", 2022);
+
+        ofertas.add(oferta(10L, norte, corolla2020, 3, "15000", "USD", 1));
+        ofertas.add(oferta(11L, norte, corolla2024, 1, "25000", "usd", 2));
+        ofertas.add(oferta(12L, sur, corolla2020, 2, "12000", "USD", 3));
+        ofertas.add(oferta(13L, sur, focus, 5, "9000", "USD", 4));
+        ofertas.add(oferta(14L, sur, hilux, 0, "40000", "USD", 5));
+        ofertas.add(oferta(15L, norte, focus, 4, "9500000", "ARS", 6));
+        ofertas.add(oferta(16L, cerrada, hilux, 7, "35000", "USD", 7));
+
+        repository = Mockito.mock(OfertaAutoRepository.class);
+        Mockito.when(repository.findAllConAutoYConcesionaria()).thenAnswer(i -> List.copyOf(ofertas));
+        Mockito.when(repository.findConAutoYConcesionariaByIdIn(Mockito.anyCollection())).thenAnswer(i -> {
+            Collection<Long> ids = i.getArgument(0);
+            return ofertas.stream().filter(o -> ids.contains(o.getId())).toList();
+        });
+        buscador = new BuscadorOfertas(repository, new String[]{"10000", "20000", "30000", "50000", "100000"});
+    }
+
+    private static Concesionaria concesionaria(Long id, String nombre, boolean activa) {
+        return Concesionaria.builder().id(id).nombre(nombre).cuit("20-" + id + "-9").activa(activa).build();
+    }
+
+    private static Auto auto(Long id, String marca, String modelo, int anio) {
+        return Auto.builder().id(id).marca(marca).modelo(modelo).anioModelo(anio).build();
+    }
+
+    private static OfertaAuto oferta(Long id, Concesionaria concesionaria, Auto auto, int stock, String precio,
+                                     String moneda, int minutos) {
+        return OfertaAuto.builder()
+                .id(id)
+                .concesionaria(concesionaria)
+                .auto(auto)
+                .stock(stock)
+                .precioActual(new BigDecimal(precio))
+                .moneda(moneda)
+                .createdAt(AHORA.plusMinutes(minutos))
+                .build();
+    }
+
+    private BuscadorOfertas.Resultado buscar(FiltroFacetasOfertas filtro) {
+        return buscador.buscar(filtro, OrdenCatalogoOfertas.PRECIO_ASC, 0, 100);
+    }
+
+    private static List<Long> ids(BuscadorOfertas.Resultado resultado) {
+        return resultado.ofertas().stream().map(BuscadorOfertas.Oferta::id).toList();
+    }
+
+    private static Map<String, Integer> conteos(BuscadorOfertas.Resultado resultado, String faceta) {
+        return resultado.facetas().get(faceta).stream()
+                .collect(Collectors.toMap(BuscadorOfertas.ValorFaceta::valor, BuscadorOfertas.ValorFaceta::cantidad));
+    }
+
+    @Test
+    @DisplayName("Sin filtros devuelve las ofertas con stock de concesionarias activas y cuenta cada faceta")
+    void buscar_sinFiltros() {
+        BuscadorOfertas.Resultado resultado = buscar(new FiltroFacetasOfertas());
+
+        assertEquals(5, resultado.total());
+        assertEquals(List.of(13L, 12L, 10L, 11L, 15L), ids(resultado));
+        assertEquals(Map.of("toyota", 3, "ford", 2), conteos(resultado, BuscadorOfertas.FACETA_MARCA));
+        assertEquals(Map.of("2020", 4, "2024", 1), conteos(resultado, BuscadorOfertas.FACETA_ANIO));
+        assertEquals(Map.of("1", 3, "2", 2), conteos(resultado, BuscadorOfertas.FACETA_CONCESIONARIA));
+        assertEquals(Map.of("USD", 4, "ARS", 1), conteos(resultado, BuscadorOfertas.FACETA_MONEDA));
+        assertEquals(Map.of("0-10000", 1, "10000-20000", 2, "20000-30000", 1, "100000+", 1),
+                conteos(resultado, BuscadorOfertas.FACETA_RANGO_PRECIO));
+    }
+
+    @Test
+    @DisplayName("Los valores de una faceta se combinan con OR y las facetas entre sí con AND")
+    void buscar_combinaFacetas() {
+        FiltroFacetasOfertas filtro = FiltroFacetasOfertas.builder()
+                .marca(List.of("TOYOTA", "ford"))
+                .anio(List.of(2020))
+                .moneda(List.of("usd"))
+                .build();
+
+        BuscadorOfertas.Resultado resultado = buscar(filtro);
+
+        assertEquals(List.of(13L, 12L, 10L), ids(resultado));
+        assertEquals(3, resultado.total());
+    }
+
+    @Test
+    @DisplayName("Cada faceta se cuenta con los filtros de las demás, no con el suyo")
+    void buscar_cuentaFacetasSinSuPropioFiltro() {
+        FiltroFacetasOfertas filtro = FiltroFacetasOfertas.builder()
+                .marca(List.of("toyota"))
+                .concesionaria(List.of(2L))
+                .build();
+
+        BuscadorOfertas.Resultado resultado = buscar(filtro);
+
+        assertEquals(List.of(12L), ids(resultado));
+        // Marcas de la concesionaria 2 y concesionarias con Toyota
+        assertEquals(Map.of("toyota", 1, "ford", 1), conteos(resultado, BuscadorOfertas.FACETA_MARCA));
+        assertEquals(Map.of("1", 2, "2", 1), conteos(resultado, BuscadorOfertas.FACETA_CONCESIONARIA));
+        assertEquals(Map.of("2020", 1), conteos(resultado, BuscadorOfertas.FACETA_ANIO));
+        assertTrue(resultado.facetas().get(BuscadorOfertas.FACETA_MARCA).stream()
+                .filter(BuscadorOfertas.ValorFaceta::seleccionado)
+                .allMatch(v -> v.valor().equals("toyota")));
+    }
+
+    @Test
+    @DisplayName("Muestra las etiquetas de los valores en orden y los elegidos aunque no tengan ofertas")
+    void buscar_etiquetasYElegidosSinOfertas() {
+        FiltroFacetasOfertas filtro = FiltroFacetasOfertas.builder()
+                .rangoPrecio(List.of("30000-50000"))
+                .build();
+
+        BuscadorOfertas.Resultado resultado = buscar(filtro);
+
+        assertEquals(0, resultado.total());
+        assertEquals(List.of(new BuscadorOfertas.ValorFaceta("30000-50000", "30000-50000", 0, true)),
+                resultado.facetas().get(BuscadorOfertas.FACETA_RANGO_PRECIO).stream()
+                        .filter(BuscadorOfertas.ValorFaceta::seleccionado).toList());
+        List<String> concesionarias = buscar(new FiltroFacetasOfertas()).facetas()
+                .get(BuscadorOfertas.FACETA_CONCESIONARIA).stream().map(BuscadorOfertas.ValorFaceta::etiqueta).toList();
+        assertEquals(List.of("Autos del Norte", "Sur Motors"), concesionarias);
+        assertEquals(List.of("0-10000", "10000-20000", "20000-30000", "30000-50000", "50000-100000", "100000+"),
+                buscador.rangosPrecio());
+    }
+
+    @Test
+    @DisplayName("Ordena por precio o por más recientes y pagina con desde y límite")
+    void buscar_ordenYPaginacion() {
+        FiltroFacetasOfertas todas = FiltroFacetasOfertas.builder().soloConStock(false).soloConcesionariasActivas(false).build();
+
+        assertEquals(List.of(15L, 14L, 16L, 11L, 10L, 12L, 13L),
+                ids(buscador.buscar(todas, OrdenCatalogoOfertas.PRECIO_DESC, 0, 100)));
+        assertEquals(List.of(16L, 15L, 14L),
+                ids(buscador.buscar(todas, OrdenCatalogoOfertas.RECIENTES, 0, 3)));
+        BuscadorOfertas.Resultado segunda = buscador.buscar(todas, OrdenCatalogoOfertas.PRECIO_ASC, 2, 2);
+        assertEquals(List.of(10L, 11L), ids(segunda));
+        assertEquals(7, segunda.total());
+    }
+
+    @Test
+    @DisplayName("Los descuentos de stock actualizan el índice y la oferta agotada deja de aparecer")
+    void descontarStock_actualizaIndice() {
+        buscar(new FiltroFacetasOfertas());
+
+        stock(11L, 0);
+        stock(10L, 2);
+        buscador.procesar(List.of(new StockDescontado(11L, 1), new StockDescontado(10L, 1),
+                new FavoritoAgregado(1L, 12L)));
+
+        BuscadorOfertas.Resultado resultado = buscar(new FiltroFacetasOfertas());
+        assertEquals(List.of(13L, 12L, 10L, 15L), ids(resultado));
+        assertEquals(2, resultado.ofertas().get(2).stock());
+        assertEquals(Map.of("2020", 4), conteos(resultado, BuscadorOfertas.FACETA_ANIO));
+    }
+
+    @Test
+    @DisplayName("Las ofertas nuevas se agregan al índice leyendo sólo esas ofertas")
+    void ofertaCreada_sumaOferta() {
+        buscar(new FiltroFacetasOfertas());
+
+        ofertas.add(oferta(20L, sur, auto(5L, "Honda", "Civic", 2024), 2, "22000", "USD", 8));
+        buscador.procesar(List.of(new OfertaCreada(20L)));
+
+        BuscadorOfertas.Resultado resultado = buscar(FiltroFacetasOfertas.builder().anio(List.of(2024)).build());
+        assertEquals(List.of(20L, 11L), ids(resultado));
+        assertEquals(Map.of("toyota", 1, "honda", 1), conteos(resultado, BuscadorOfertas.FACETA_MARCA));
+        Mockito.verify(repository).findAllConAutoYConcesionaria();
+        Mockito.verify(repository).findConAutoYConcesionariaByIdIn(List.of(20L));
+    }
+
+    @Test
+    @DisplayName("Las ofertas importadas reemplazan a las del índice aunque les cambie el precio")
+    void ofertasImportadas_reemplazanOfertas() {
+        buscar(new FiltroFacetasOfertas());
+
+        ofertas.set(3, oferta(13L, sur, auto(3L, "Ford", "Focus", 2020), 5, "60000", "USD", 4));
+        ofertas.add(oferta(21L, norte, auto(6L, "Fiat", "Cronos", 2023), 1, "11000", "USD", 9));
+        buscador.procesar(List.of(new OfertasImportadas(List.of(13L, 21L))));
+
+        BuscadorOfertas.Resultado resultado = buscar(new FiltroFacetasOfertas());
+        assertEquals(List.of(21L, 12L, 10L, 11L, 13L, 15L), ids(resultado));
+        assertEquals(Map.of("10000-20000", 3, "20000-30000", 1, "50000-100000", 1, "100000+", 1),
+                conteos(resultado, BuscadorOfertas.FACETA_RANGO_PRECIO));
+    }
+
+    private void stock(Long ofertaId, int stock) {
+        ofertas.stream().filter(o -> o.getId().equals(ofertaId)).findFirst().orElseThrow().setStock(stock);
+    }
+
+    @Test
+    @DisplayName("Operaciones sobre los mapas de bits")
+    void operacionesDeBits() {
+        long[] a = {0b1011L, 1L};
+        long[] b = {0b0110L};
+
+        assertArrayEquals(new long[]{0b0010L}, BuscadorOfertas.and(a, b));
+        assertArrayEquals(new long[]{0b1111L, 1L}, BuscadorOfertas.or(a, b));
+        assertEquals(4, BuscadorOfertas.cardinalidad(a));
+        assertEquals(1, BuscadorOfertas.cardinalidadInterseccion(a, b));
+    }
+}
@@ -0,0 +1,242 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraLoteRequest;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraRequest;
+import ar.edu.unq.pdss22025.models.dto.LineaCompraRequest;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import ar.edu.unq.pdss22025.repositories.CompraRepository;
+import ar.edu.unq.pdss22025.repositories.ConcesionariaRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaCompradorRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaConcesionariaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de estrés: muchos compradores concurrentes sobre la misma oferta, y lotes concurrentes que
+ * comparten autos y concesionarias.
+ * Las compras se commitean de verdad (sin la transacción envolvente de @DataJpaTest),
+ * por eso los datos se limpian a mano al terminar.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=10000",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({CompraService.class, ReservaStockService.class, StockLedger.class, VentaDiariaService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CompraServiceConcurrenciaTest {
+
+    private static final int STOCK_INICIAL = 25;
+    private static final int COMPRADORES = 200;
+
+    @Autowired
+    private CompraService compraService;
+
+    @Autowired
+    private CompraRepository compraRepository;
+
+    @Autowired
+    private VentaDiariaAutoRepository ventaDiariaAutoRepository;
+
+    @Autowired
+    private VentaDiariaCompradorRepository ventaDiariaCompradorRepository;
+
+    @Autowired
+    private VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository;
+
+    @Autowired
+    private OfertaAutoRepository ofertaAutoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private AutoRepository autoRepository;
+
+    @Autowired
+    private ConcesionariaRepository concesionariaRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    private UsuarioComprador comprador;
+    private OfertaAuto oferta;
+
+    @BeforeEach
+    void setUp() {
+        comprador = new UsuarioComprador();
+        comprador.setEmail("concurrente@test.com");
+        comprador.setPassword("password");
+        comprador.setNombre("Ana");
+        comprador.setApellido("López");
+        comprador.setActivo(true);
+        comprador = usuarioRepository.save(comprador);
+
+        Concesionaria concesionaria = concesionariaRepository.save(Concesionaria.builder()
+                .nombre("Concesionaria Concurrente")
+                .cuit("20-99999999-9")
+                .activa(true)
+                .build());
+
+        Auto auto = autoRepository.save(Auto.builder()
+                .marca("Fiat")
+                .modelo("Cronos")
+                .anioModelo(2024)
+                .build());
+
+        oferta = ofertaAutoRepository.save(OfertaAuto.builder()
+                .concesionaria(concesionaria)
+                .auto(auto)
+                .stock(STOCK_INICIAL)
+                .precioActual(new BigDecimal("18000.00"))
+                .moneda("USD")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ventaDiariaAutoRepository.deleteAll();
+        ventaDiariaCompradorRepository.deleteAll();
+        ventaDiariaConcesionariaRepository.deleteAll();
+        compraRepository.deleteAll();
+        ofertaAutoRepository.deleteAll();
+        autoRepository.deleteAll();
+        concesionariaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Compras concurrentes sobre la misma oferta no sobrevenden")
+    void crear_ConcurrenteSobreMismaOferta_NoDeberiaSobrevender() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger exitosas = new AtomicInteger();
+        AtomicInteger sinStock = new AtomicInteger();
+        List<Future<?>> tareas = new ArrayList<>();
+
+        for (int i = 0; i < COMPRADORES; i++) {
+            tareas.add(executor.submit(() -> {
+                CrearCompraRequest request = new CrearCompraRequest();
+                request.setOfertaId(oferta.getId());
+                request.setCompradorId(comprador.getId());
+                largada.await();
+                try {
+                    compraService.crear(request);
+                    exitosas.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    sinStock.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(STOCK_INICIAL, exitosas.get());
+        assertEquals(COMPRADORES - STOCK_INICIAL, sinStock.get());
+        assertEquals(STOCK_INICIAL, compraRepository.count());
+        assertEquals(0, ofertaAutoRepository.findById(oferta.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    @DisplayName("Un lote que deja la oferta sin stock la marca como agotada al confirmarse")
+    void crearLote_QueAgotaLaOferta_DeberiaMarcarlaAgotada() {
+        CrearCompraLoteRequest request = new CrearCompraLoteRequest();
+        request.setCompradorId(comprador.getId());
+        request.setLineas(List.of(new LineaCompraRequest(oferta.getId(), STOCK_INICIAL, null)));
+
+        compraService.crearLote(request);
+
+        assertTrue(stockLedger.estaAgotada(oferta.getId()));
+    }
+
+    @Test
+    @DisplayName("Lotes concurrentes con los mismos autos en orden inverso no se bloquean entre sí")
+    void crearLote_ConcurrentesEnOrdenInverso_NoDeberianTrabarse() throws Exception {
+        Concesionaria norte = concesionariaRepository.save(Concesionaria.builder()
+                .nombre("Norte").cuit("20-11111111-1").activa(true).build());
+        Concesionaria sur = concesionariaRepository.save(Concesionaria.builder()
+                .nombre("Sur").cuit("20-22222222-2").activa(true).build());
+        Auto corolla = autoRepository.save(Auto.builder().marca("Toyota").modelo("Corolla").anioModelo(2024).build());
+        Auto civic = autoRepository.save(Auto.builder().marca("Honda").modelo("Civic").anioModelo(2024).build());
+        // Ofertas distintas (no se esperan en el bloqueo de las ofertas) sobre los mismos autos y concesionarias
+        CrearCompraLoteRequest corollaPrimero = lote(nuevaOferta(norte, corolla), nuevaOferta(sur, civic));
+        CrearCompraLoteRequest civicPrimero = lote(nuevaOferta(norte, civic), nuevaOferta(sur, corolla));
+        int rondas = 30;
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < rondas; i++) {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<?>> tareas = new ArrayList<>();
+            for (CrearCompraLoteRequest lote : List.of(corollaPrimero, civicPrimero)) {
+                tareas.add(executor.submit(() -> {
+                    largada.await();
+                    return compraService.crearLote(lote);
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(60, TimeUnit.SECONDS);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(rondas * 4L, compraRepository.count());
+        assertEquals(2, ventaDiariaAutoRepository.count());
+        ventaDiariaAutoRepository.findAll().forEach(venta -> assertEquals(rondas * 2L, venta.getCantidad()));
+    }
+
+    private Long nuevaOferta(Concesionaria concesionaria, Auto auto) {
+        return ofertaAutoRepository.save(OfertaAuto.builder()
+                .concesionaria(concesionaria)
+                .auto(auto)
+                .stock(1000)
+                .precioActual(new BigDecimal("20000.00"))
+                .moneda("USD")
+                .build()).getId();
+    }
+
+    private CrearCompraLoteRequest lote(Long... ofertaIds) {
+        CrearCompraLoteRequest request = new CrearCompraLoteRequest();
+        request.setCompradorId(comprador.getId());
+        List<LineaCompraRequest> lineas = new ArrayList<>();
+        for (Long ofertaId : ofertaIds) {
+            lineas.add(new LineaCompraRequest(ofertaId, 1, null));
+        }
+        request.setLineas(lineas);
+        return request;
+    }
+}
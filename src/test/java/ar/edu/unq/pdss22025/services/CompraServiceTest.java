@@ -6,11 +6,22 @@ import ar.edu.unq.pdss22025.models.OfertaAuto;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
 import ar.edu.unq.pdss22025.models.Auto;
 import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.VentaDiariaAuto;
+import ar.edu.unq.pdss22025.models.VentaDiariaComprador;
+import ar.edu.unq.pdss22025.models.VentaDiariaConcesionaria;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraLoteRequest;
 import ar.edu.unq.pdss22025.models.dto.CrearCompraRequest;
+import ar.edu.unq.pdss22025.models.dto.LineaCompraRequest;
+import ar.edu.unq.pdss22025.repositories.CompraRepository;
 import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
 import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
 import ar.edu.unq.pdss22025.repositories.AutoRepository;
 import ar.edu.unq.pdss22025.repositories.ConcesionariaRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaCompradorRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaConcesionariaRepository;
+import ar.edu.unq.pdss22025.support.ContadorSql;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +31,9 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,9 +43,11 @@ import static org.junit.jupiter.api.Assertions.*;
         "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
         // Deshabilitar Flyway en tests y generar esquema con Hibernate
         "spring.flyway.enabled=false",
-        "spring.jpa.hibernate.ddl-auto=create-drop"
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
 })
-@Import(CompraService.class)
+@Import({CompraService.class, ReservaStockService.class, StockLedger.class, VentaDiariaService.class})
 class CompraServiceTest {
 
     @Autowired
@@ -52,6 +68,21 @@ class CompraServiceTest {
     @Autowired
     private ConcesionariaRepository concesionariaRepository;
 
+    @Autowired
+    private VentaDiariaAutoRepository ventaDiariaAutoRepository;
+
+    @Autowired
+    private VentaDiariaCompradorRepository ventaDiariaCompradorRepository;
+
+    @Autowired
+    private VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository;
+
+    @Autowired
+    private CompraRepository compraRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private UsuarioComprador comprador;
     private OfertaAuto oferta;
 
@@ -185,4 +216,131 @@ class CompraServiceTest {
         assertEquals(1, compras.size());
         assertEquals(comprador.getId(), compras.get(0).getComprador().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void crearCompra_DeberiaAcumularVentasDiarias() {
+        // Given
+        CrearCompraRequest request = new CrearCompraRequest();
+        request.setOfertaId(oferta.getId());
+        request.setCompradorId(comprador.getId());
+        request.setPrecioCerrado(new BigDecimal("24000.00"));
+
+        // When
+        Compra primera = compraService.crear(request);
+        request.setPrecioCerrado(new BigDecimal("26000.00"));
+        compraService.crear(request);
+        entityManager.clear();
+
+        // Then
+        var fecha = primera.getFechaCompra().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+        Long autoId = oferta.getAuto().getId();
+        Long concesionariaId = oferta.getConcesionaria().getId();
+
+        VentaDiariaAuto porAuto = ventaDiariaAutoRepository
+                .findById(new VentaDiariaAuto.Clave(fecha, autoId)).orElseThrow();
+        assertEquals(2L, porAuto.getCantidad());
+        assertEquals(0, new BigDecimal("50000.00").compareTo(porAuto.getTotal()));
+        assertEquals(0, new BigDecimal("50000.00").compareTo(porAuto.getSumaPrecioUnitario()));
+
+        VentaDiariaComprador porComprador = ventaDiariaCompradorRepository
+                .findById(new VentaDiariaComprador.Clave(fecha, comprador.getId())).orElseThrow();
+        assertEquals(2L, porComprador.getCantidad());
+
+        VentaDiariaConcesionaria porConcesionaria = ventaDiariaConcesionariaRepository
+                .findById(new VentaDiariaConcesionaria.Clave(fecha, concesionariaId)).orElseThrow();
+        assertEquals(2L, porConcesionaria.getCantidad());
+        assertEquals(0, new BigDecimal("50000.00").compareTo(porConcesionaria.getTotal()));
+    }
+
+    @Test
+    void crearLote_DeberiaRepartirElStockEnOrdenYRechazarLineasSinStock() {
+        // Given: una segunda oferta de la misma concesionaria con stock 3
+        Auto otroAuto = autoRepository.save(Auto.builder().marca("Ford").modelo("Focus").anioModelo(2022).build());
+        OfertaAuto otraOferta = ofertaAutoRepository.save(OfertaAuto.builder()
+                .concesionaria(oferta.getConcesionaria())
+                .auto(otroAuto)
+                .stock(3)
+                .precioActual(new BigDecimal("18000.00"))
+                .moneda("USD")
+                .build());
+        CrearCompraLoteRequest request = new CrearCompraLoteRequest();
+        request.setCompradorId(comprador.getId());
+        request.setLineas(List.of(
+                new LineaCompraRequest(oferta.getId(), 2, new BigDecimal("24000.00")),
+                new LineaCompraRequest(otraOferta.getId(), 3, null),
+                new LineaCompraRequest(oferta.getId(), 4, null),
+                new LineaCompraRequest(999L, 1, null),
+                new LineaCompraRequest(oferta.getId(), 3, null)));
+
+        // When
+        List<ResultadoLineaCompra> resultados = compraService.crearLote(request);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then: la tercera línea no entra (quedan 3 de 5) pero la quinta sí
+        assertEquals(List.of(true, true, false, false, true), resultados.stream().map(ResultadoLineaCompra::esCreada).toList());
+        assertEquals("Oferta sin stock disponible", resultados.get(2).error());
+        assertEquals("Oferta no encontrada", resultados.get(3).error());
+        Compra primera = resultados.get(0).compra();
+        assertNotNull(primera.getId());
+        assertEquals(Integer.valueOf(2), primera.getCantidad());
+        assertEquals(0, new BigDecimal("48000.00").compareTo(primera.getTotal()));
+        assertEquals(0, new BigDecimal("54000.00").compareTo(resultados.get(1).compra().getTotal()));
+        assertEquals(Integer.valueOf(0), ofertaAutoRepository.findById(oferta.getId()).orElseThrow().getStock());
+        assertEquals(Integer.valueOf(0), ofertaAutoRepository.findById(otraOferta.getId()).orElseThrow().getStock());
+        assertEquals(3, compraService.listarPorCompradorId(comprador.getId()).size());
+
+        // Los acumulados diarios cuentan una venta por compra creada
+        var fecha = primera.getFechaCompra().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+        VentaDiariaComprador porComprador = ventaDiariaCompradorRepository
+                .findById(new VentaDiariaComprador.Clave(fecha, comprador.getId())).orElseThrow();
+        assertEquals(3L, porComprador.getCantidad());
+        assertEquals(0, new BigDecimal("177000.00").compareTo(porComprador.getTotal()));
+        VentaDiariaAuto porAuto = ventaDiariaAutoRepository
+                .findById(new VentaDiariaAuto.Clave(fecha, oferta.getAuto().getId())).orElseThrow();
+        assertEquals(2L, porAuto.getCantidad());
+    }
+
+    @Test
+    void crearLote_ConCompradorInexistente_DeberiaLanzarExcepcion() {
+        CrearCompraLoteRequest request = new CrearCompraLoteRequest();
+        request.setCompradorId(999L);
+        request.setLineas(List.of(new LineaCompraRequest(oferta.getId(), 1, null)));
+
+        EntidadNoEncontradaException exception = assertThrows(
+                EntidadNoEncontradaException.class,
+                () -> compraService.crearLote(request)
+        );
+        assertEquals("Comprador no encontrado", exception.getMessage());
+        assertEquals(Integer.valueOf(5), ofertaAutoRepository.findById(oferta.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void crearLote_DeberiaInsertarLasComprasEnLotes() {
+        // Given: 40 líneas de una unidad sobre una oferta con stock suficiente
+        oferta.setStock(100);
+        ofertaAutoRepository.save(oferta);
+        entityManager.flush();
+        entityManager.clear();
+        List<LineaCompraRequest> lineas = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            lineas.add(new LineaCompraRequest(oferta.getId(), 1, null));
+        }
+        CrearCompraLoteRequest request = new CrearCompraLoteRequest();
+        request.setCompradorId(comprador.getId());
+        request.setLineas(lineas);
+        ContadorSql contadorSql = new ContadorSql(entityManagerFactory);
+
+        // When: con ids de secuencia los INSERT van en un lote JDBC en lugar de uno por compra
+        long sentencias = contadorSql.contar(() -> {
+            compraService.crearLote(request);
+            entityManager.flush();
+        });
+
+        // Then
+        assertTrue(sentencias < 20, "Sentencias preparadas: " + sentencias);
+        entityManager.clear();
+        assertEquals(40, compraRepository.findByCompradorId(comprador.getId()).size());
+        assertEquals(Integer.valueOf(60), ofertaAutoRepository.findById(oferta.getId()).orElseThrow().getStock());
+    }
+}
@@ -25,7 +25,7 @@ import static org.junit.jupiter.api.Assertions.*;
         "spring.flyway.enabled=false",
         "spring.jpa.hibernate.ddl-auto=create-drop"
 })
-@Import(ConcesionariaService.class)
+@Import({ConcesionariaService.class, EstadoUsuarioCache.class})
 class ConcesionariaServiceTest {
 
     @Autowired
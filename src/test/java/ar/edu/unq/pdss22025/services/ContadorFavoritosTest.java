@@ -0,0 +1,177 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.Favorito;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaVistaRepository;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoAgregado;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoEliminado;
+import ar.edu.unq.pdss22025.services.eventos.OfertaCreada;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ContadorFavoritosTest {
+
+    @Autowired
+    private OfertaAutoRepository ofertaAutoRepository;
+
+    @Autowired
+    private OfertaVistaRepository ofertaVistaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ContadorFavoritos contador;
+    private OfertaAuto corolla;
+    private OfertaAuto civic;
+
+    @BeforeEach
+    void setUp() {
+        contador = new ContadorFavoritos(ofertaAutoRepository, ofertaVistaRepository, transactionManager, meterRegistry, 0);
+        Concesionaria concesionaria = entityManager.persist(Concesionaria.builder()
+                .nombre("Autos del Norte").cuit("20-11111111-1").activa(true).build());
+        corolla = oferta(concesionaria, "Corolla");
+        civic = oferta(concesionaria, "Civic");
+        entityManager.flush();
+        ofertaVistaRepository.proyectar(List.of(corolla.getId(), civic.getId()));
+    }
+
+    private OfertaAuto oferta(Concesionaria concesionaria, String modelo) {
+        Auto auto = entityManager.persist(Auto.builder().marca("Marca").modelo(modelo).anioModelo(2024).build());
+        return entityManager.persist(OfertaAuto.builder()
+                .concesionaria(concesionaria).auto(auto).stock(1)
+                .precioActual(new BigDecimal("20000.00")).moneda("USD").build());
+    }
+
+    /**
+     * Favoritos de la oferta en oferta_auto y en oferta_view, leídos de la base.
+     */
+    private long[] favoritos(Long ofertaId) {
+        entityManager.flush();
+        entityManager.clear();
+        return new long[]{
+                ofertaAutoRepository.findById(ofertaId).orElseThrow().getCantidadFavoritos(),
+                ofertaVistaRepository.findById(ofertaId).orElseThrow().getCantidadFavoritos()};
+    }
+
+    @Test
+    @DisplayName("El volcado suma la diferencia acumulada de cada oferta en oferta_auto y en la vista")
+    void volcar_sumaLasDiferencias() {
+        contador.procesar(List.of(
+                new FavoritoAgregado(1L, corolla.getId()),
+                new FavoritoAgregado(2L, corolla.getId()),
+                new OfertaCreada(civic.getId()),
+                new FavoritoAgregado(3L, corolla.getId()),
+                new FavoritoEliminado(1L, corolla.getId()),
+                new FavoritoAgregado(1L, civic.getId()),
+                new FavoritoEliminado(1L, civic.getId())));
+
+        // El civic quedó en 0: no se escribe
+        assertEquals(1, contador.volcar());
+        assertEquals(0, contador.volcar());
+
+        assertArrayEquals(new long[]{2, 2}, favoritos(corolla.getId()));
+        assertArrayEquals(new long[]{0, 0}, favoritos(civic.getId()));
+        assertEquals(0.0, meterRegistry.get(ContadorFavoritos.METRICA_PENDIENTES).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Los favoritos sumados mientras se vuelca no se pierden")
+    void volcar_conSumasConcurrentes_noPierdeFavoritos() {
+        Long ofertaId = corolla.getId();
+        List<CompletableFuture<Void>> productores = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            productores.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 5000; j++) {
+                    contador.sumar(ofertaId, 1);
+                }
+            }));
+        }
+        CompletableFuture<Void> todos = CompletableFuture.allOf(productores.toArray(new CompletableFuture[0]));
+        while (!todos.isDone()) {
+            contador.volcar();
+        }
+        todos.join();
+        contador.volcar();
+
+        assertArrayEquals(new long[]{20000, 20000}, favoritos(ofertaId));
+    }
+
+    private void favorito(String email, OfertaAuto oferta) {
+        UsuarioComprador comprador = new UsuarioComprador();
+        comprador.setEmail(email);
+        comprador.setPassword("password");
+        comprador.setNombre("Comprador");
+        comprador.setApellido(email);
+        entityManager.persist(comprador);
+        entityManager.persist(Favorito.builder().usuario(comprador).oferta(oferta).build());
+    }
+
+    @Test
+    @DisplayName("La reconciliación corrige el contador contra la tabla favorito y cuenta los desvíos")
+    void reconciliar_corrigeDesvios() {
+        favorito("juan@test.com", corolla);
+        favorito("maria@test.com", corolla);
+        // El civic se volcó de más (por ejemplo, eventos repetidos) y los favoritos del corolla nunca llegaron
+        contador.sumar(civic.getId(), 3);
+
+        assertEquals(2, contador.reconciliar());
+        assertEquals(0, contador.reconciliar());
+
+        assertArrayEquals(new long[]{2, 2}, favoritos(corolla.getId()));
+        assertArrayEquals(new long[]{0, 0}, favoritos(civic.getId()));
+        assertEquals(2.0, meterRegistry.get(ContadorFavoritos.METRICA_DESVIOS).counter().count());
+    }
+
+    @Test
+    @DisplayName("La reconciliación no corrige las ofertas con eventos en camino, que se contarían dos veces")
+    void reconciliar_conEventoEnCamino_noCuentaDosVeces() throws Exception {
+        ContadorFavoritos conMargen = new ContadorFavoritos(
+                ofertaAutoRepository, ofertaVistaRepository, transactionManager, meterRegistry, 500);
+        // El favorito ya está confirmado en la tabla; su evento llega durante el margen de la reconciliación
+        favorito("juan@test.com", civic);
+        CompletableFuture<Void> evento = CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            conMargen.procesar(List.of(new FavoritoAgregado(1L, civic.getId())));
+        });
+
+        assertEquals(0, conMargen.reconciliar());
+        evento.get();
+        assertEquals(1, conMargen.volcar());
+
+        assertArrayEquals(new long[]{1, 1}, favoritos(civic.getId()));
+        assertEquals(0, conMargen.reconciliar());
+    }
+}
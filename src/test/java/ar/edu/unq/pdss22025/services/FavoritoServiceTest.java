@@ -10,12 +10,15 @@ import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
 import ar.edu.unq.pdss22025.repositories.FavoritoRepository;
 import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
 import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoAgregado;
+import ar.edu.unq.pdss22025.services.eventos.FavoritoEliminado;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -38,6 +41,9 @@ class FavoritoServiceTest {
     @Mock
     private OfertaAutoRepository ofertaAutoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private FavoritoService favoritoService;
 
@@ -85,6 +91,7 @@ class FavoritoServiceTest {
         assertEquals(usuarioComprador, resultado.getUsuario());
         assertEquals(oferta, resultado.getOferta());
         verify(favoritoRepository, times(1)).save(any(Favorito.class));
+        verify(eventos).publishEvent(new FavoritoAgregado(1L, 1L));
     }
 
     @Test
@@ -126,6 +133,7 @@ class FavoritoServiceTest {
 
         // Assert
         verify(favoritoRepository, times(1)).delete(favorito);
+        verify(eventos).publishEvent(new FavoritoEliminado(1L, 1L));
     }
 
     @Test
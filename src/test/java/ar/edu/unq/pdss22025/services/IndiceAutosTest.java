@@ -0,0 +1,110 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceAutosTest {
+
+    private AutoRepository autoRepository;
+    private IndiceAutos indice;
+
+    @BeforeEach
+    void setUp() {
+        autoRepository = Mockito.mock(AutoRepository.class);
+        Mockito.when(autoRepository.findAll()).thenReturn(List.of(
+                auto(1L, "Toyota", "Corolla", 2020),
+                auto(2L, "Toyota", "Corolla", 2024),
+                auto(3L, "Toyota", "Hilux", 2022),
+                auto(4L, "Honda", "CR-V", 2023),
+                auto(5L, "Citroën", "C3", 2021),
+                auto(6L, "Ford", "Focus", 2019)
+        ));
+        indice = new IndiceAutos(autoRepository);
+    }
+
+    private static Auto auto(Long id, String marca, String modelo, int anio) {
+        return Auto.builder().id(id).marca(marca).modelo(modelo).anioModelo(anio).build();
+    }
+
+    private List<Long> ids(String consulta, int limite) {
+        return indice.buscar(consulta, limite).stream().map(IndiceAutos.Sugerencia::id).toList();
+    }
+
+    @Test
+    @DisplayName("Busca por prefijo de varios términos, mejores resultados primero")
+    void buscar_porPrefijo() {
+        assertEquals(List.of(2L, 1L, 3L), ids("toyo", 10));
+        assertEquals(List.of(2L, 1L), ids("toyota cor", 10));
+        assertEquals(List.of(1L), ids("corolla 2020", 10));
+    }
+
+    @Test
+    @DisplayName("La coincidencia exacta puntúa más que el prefijo y que la aproximada")
+    void buscar_ordenaPorTipoDeCoincidencia() {
+        List<IndiceAutos.Sugerencia> exacta = indice.buscar("hilux", 10);
+        List<IndiceAutos.Sugerencia> prefijo = indice.buscar("hil", 10);
+        List<IndiceAutos.Sugerencia> aproximada = indice.buscar("hilix", 10);
+
+        assertEquals(3L, exacta.get(0).id());
+        assertEquals(3L, prefijo.get(0).id());
+        assertEquals(3L, aproximada.get(0).id());
+        assertTrue(exacta.get(0).puntaje() > prefijo.get(0).puntaje());
+        assertTrue(prefijo.get(0).puntaje() > aproximada.get(0).puntaje());
+    }
+
+    @Test
+    @DisplayName("Tolera errores de tipeo, también mientras se escribe")
+    void buscar_conErroresDeTipeo() {
+        assertEquals(List.of(2L, 1L), ids("corola", 10));
+        assertEquals(List.of(2L, 1L, 3L), ids("tyoota", 10));
+        assertEquals(List.of(2L, 1L, 3L), ids("toyt", 10));
+        // Los años no admiten errores
+        assertTrue(ids("corolla 2021", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ignora mayúsculas, acentos y separadores")
+    void buscar_normalizaTexto() {
+        assertEquals(List.of(5L), ids("CITROEN", 10));
+        assertEquals(List.of(4L), ids("crv", 10));
+        assertEquals(List.of(4L), ids("cr-v", 10));
+    }
+
+    @Test
+    @DisplayName("Respeta el límite y devuelve vacío para consultas sin términos")
+    void buscar_limiteYConsultaVacia() {
+        assertEquals(List.of(2L), ids("toyota", 1));
+        assertTrue(ids("  ", 10).isEmpty());
+        assertTrue(ids(null, 10).isEmpty());
+        assertTrue(ids("peugeot", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Carga el índice una sola vez y aplica altas y bajas sin volver a la base")
+    void agregarYQuitar_actualizanElIndice() {
+        assertEquals(List.of(6L), ids("focus", 10));
+
+        indice.agregar(auto(7L, "Ford", "Fiesta", 2018));
+        indice.quitar(6L);
+
+        assertEquals(List.of(7L), ids("ford", 10));
+        Mockito.verify(autoRepository, Mockito.times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Distancia de edición acotada con transposiciones")
+    void distancia() {
+        assertEquals(0, IndiceAutos.distancia("focus", "focus", 5, 2));
+        assertEquals(1, IndiceAutos.distancia("fcous", "focus", 5, 2));
+        assertEquals(1, IndiceAutos.distancia("focs", "focus", 5, 2));
+        assertEquals(3, IndiceAutos.distancia("abcdef", "focus", 5, 2));
+    }
+}
@@ -0,0 +1,114 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.usuario.Rol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "MiClaveSecretaMuyLargaParaJWTQueDebeSerAlMenos256BitsParaHS256";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000L, 100);
+    }
+
+    @Test
+    @DisplayName("verificar devuelve subject, userId, rol y expiración en una sola llamada")
+    void verificar_TokenValido_DevuelveTodosLosDatos() {
+        String token = jwtService.generateToken(7L, "comprador@test.com", Rol.COMPRADOR);
+
+        Optional<TokenVerificado> verificado = jwtService.verificar(token);
+
+        assertTrue(verificado.isPresent());
+        assertEquals("comprador@test.com", verificado.get().subject());
+        assertEquals(7L, verificado.get().userId());
+        assertEquals(Rol.COMPRADOR, verificado.get().rol());
+        assertTrue(verificado.get().expiracion().isAfter(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Un token repetido se resuelve desde la caché")
+    void verificar_MismoToken_UsaCache() {
+        String token = jwtService.generateToken(7L, "comprador@test.com", Rol.COMPRADOR);
+
+        TokenVerificado primero = jwtService.verificar(token).orElseThrow();
+        TokenVerificado segundo = jwtService.verificar(token).orElseThrow();
+
+        assertSame(primero, segundo);
+    }
+
+    @Test
+    @DisplayName("Un token con la firma alterada no se verifica")
+    void verificar_FirmaAlterada_DevuelveVacio() {
+        String token = jwtService.generateToken(7L, "comprador@test.com", Rol.COMPRADOR);
+        String alterado = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtService.verificar(alterado).isEmpty());
+        assertTrue(jwtService.verificar("no-es-un-jwt").isEmpty());
+        assertTrue(jwtService.verificar(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un token firmado con otra clave no se verifica")
+    void verificar_OtraClave_DevuelveVacio() {
+        JwtService otro = new JwtService(SECRET + "Distinta", 60_000L, 100);
+        String token = otro.generateToken(7L, "comprador@test.com", Rol.COMPRADOR);
+
+        assertTrue(jwtService.verificar(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un token expirado no se verifica")
+    void verificar_TokenExpirado_DevuelveVacio() {
+        JwtService expirado = new JwtService(SECRET, -1_000L, 100);
+        String token = expirado.generateToken(7L, "comprador@test.com", Rol.COMPRADOR);
+
+        assertTrue(jwtService.verificar(token).isEmpty());
+        assertFalse(jwtService.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("La caché acotada sigue verificando tokens cuando se llena")
+    void verificar_CacheLlena_SigueFuncionando() {
+        JwtService chico = new JwtService(SECRET, 60_000L, 2);
+        for (long id = 1; id <= 5; id++) {
+            String token = chico.generateToken(id, "usuario" + id + "@test.com", Rol.COMPRADOR);
+            assertEquals(id, chico.verificar(token).orElseThrow().userId());
+        }
+    }
+
+    @Test
+    @DisplayName("Un token en caché deja de verificarse cuando expira")
+    void verificar_TokenEnCacheExpirado_DevuelveVacio() throws InterruptedException {
+        // El exp del token se trunca al segundo: con 2s de duración sigue vigente al menos 1s después de crearlo
+        JwtService corto = new JwtService(SECRET, 2_000L, 100);
+        String token = corto.generateToken(7L, "comprador@test.com", Rol.COMPRADOR);
+        assertTrue(corto.verificar(token).isPresent());
+
+        Thread.sleep(2_100);
+
+        assertTrue(corto.verificar(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("validateToken compara el subject del token con el usuario")
+    void validateToken_ComparaUsuario() {
+        String token = jwtService.generateToken(7L, "comprador@test.com", Rol.ADMIN);
+
+        assertTrue(jwtService.validateToken(token, "comprador@test.com"));
+        assertFalse(jwtService.validateToken(token, "otro@test.com"));
+        assertFalse(jwtService.validateToken(token, null));
+        assertEquals("comprador@test.com", jwtService.extractUsername(token));
+        assertEquals(Rol.ADMIN, jwtService.extractRol(token));
+    }
+}
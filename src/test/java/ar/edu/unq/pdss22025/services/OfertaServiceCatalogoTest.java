@@ -0,0 +1,217 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.OfertaVista;
+import ar.edu.unq.pdss22025.models.dto.FiltroCatalogoOfertas;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import ar.edu.unq.pdss22025.repositories.ConcesionariaRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({OfertaService.class, BuscadorOfertas.class, ProyeccionOfertaVista.class})
+class OfertaServiceCatalogoTest {
+
+    @Autowired
+    private OfertaService ofertaService;
+
+    @Autowired
+    private ProyeccionOfertaVista proyeccionOfertaVista;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OfertaAutoRepository ofertaAutoRepository;
+
+    @Autowired
+    private AutoRepository autoRepository;
+
+    @Autowired
+    private ConcesionariaRepository concesionariaRepository;
+
+    private Concesionaria activa;
+    private Concesionaria inactiva;
+
+    @BeforeEach
+    void setUp() {
+        activa = concesionariaRepository.save(Concesionaria.builder()
+                .nombre("Activa").cuit("20-11111111-1").activa(true).build());
+        inactiva = concesionariaRepository.save(Concesionaria.builder()
+                .nombre("Inactiva").cuit("20-22222222-2").activa(false).build());
+
+        OffsetDateTime base = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+        // 25 autos con ofertas en la concesionaria activa; varios precios repetidos para probar el desempate por id
+        for (int i = 0; i < 25; i++) {
+            Auto auto = autoRepository.save(Auto.builder()
+                    .marca(i % 2 == 0 ? "Toyota" : "Ford")
+                    .modelo("Modelo" + i)
+                    .anioModelo(2015 + (i % 10))
+                    .build());
+            ofertaAutoRepository.save(OfertaAuto.builder()
+                    .concesionaria(activa)
+                    .auto(auto)
+                    .stock(i % 5 == 0 ? 0 : 3)
+                    .precioActual(new BigDecimal(10000 + (i % 7) * 1000))
+                    .moneda(i % 3 == 0 ? "ARS" : "USD")
+                    .createdAt(base.plusHours(i))
+                    .build());
+        }
+        Auto autoInactiva = autoRepository.save(Auto.builder().marca("Toyota").modelo("Otro").anioModelo(2020).build());
+        ofertaAutoRepository.save(OfertaAuto.builder()
+                .concesionaria(inactiva)
+                .auto(autoInactiva)
+                .stock(5)
+                .precioActual(new BigDecimal("1.00"))
+                .moneda("USD")
+                .build());
+
+        entityManager.flush();
+        entityManager.clear();
+        proyeccionOfertaVista.reconstruir();
+    }
+
+    private List<OfertaVista> recorrerCatalogo(FiltroCatalogoOfertas filtro, OrdenCatalogoOfertas orden, int limite) {
+        List<OfertaVista> todas = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            PaginaOfertas pagina = ofertaService.buscarCatalogo(filtro, orden, cursor, limite);
+            assertTrue(pagina.items().size() <= limite);
+            todas.addAll(pagina.items());
+            cursor = pagina.siguienteCursor();
+            assertTrue(++paginas < 100, "El recorrido del catálogo no termina");
+        } while (cursor != null);
+        return todas;
+    }
+
+    @Test
+    @DisplayName("Recorrer el catálogo por precio devuelve todas las ofertas en orden y sin repetir")
+    void buscarCatalogo_PorPrecioAsc_RecorreTodoSinRepetir() {
+        FiltroCatalogoOfertas filtro = FiltroCatalogoOfertas.builder().soloConStock(false).build();
+
+        List<OfertaVista> todas = recorrerCatalogo(filtro, OrdenCatalogoOfertas.PRECIO_ASC, 4);
+
+        assertEquals(25, todas.size());
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < todas.size(); i++) {
+            assertTrue(ids.add(todas.get(i).getId()));
+            if (i > 0) {
+                OfertaVista anterior = todas.get(i - 1);
+                OfertaVista actual = todas.get(i);
+                int cmp = anterior.getPrecioActual().compareTo(actual.getPrecioActual());
+                assertTrue(cmp < 0 || (cmp == 0 && anterior.getId() < actual.getId()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("El orden por precio descendente y por recientes también pagina completo")
+    void buscarCatalogo_OtrosOrdenes_RecorrenTodo() {
+        FiltroCatalogoOfertas filtro = FiltroCatalogoOfertas.builder().soloConStock(false).build();
+
+        List<OfertaVista> desc = recorrerCatalogo(filtro, OrdenCatalogoOfertas.PRECIO_DESC, 6);
+        List<OfertaVista> recientes = recorrerCatalogo(filtro, OrdenCatalogoOfertas.RECIENTES, 7);
+
+        assertEquals(25, desc.size());
+        assertEquals(25, new HashSet<>(desc.stream().map(OfertaVista::getId).toList()).size());
+        assertEquals(25, recientes.size());
+        for (int i = 1; i < recientes.size(); i++) {
+            assertFalse(recientes.get(i - 1).getCreatedAt().isBefore(recientes.get(i).getCreatedAt()));
+        }
+    }
+
+    @Test
+    @DisplayName("El orden por favoritos va de más a menos favoritos, desempata por id y pagina completo")
+    void buscarCatalogo_PorFavoritos_RecorreTodoEnOrden() {
+        List<Long> ids = ofertaAutoRepository.findAll().stream().map(OfertaAuto::getId).sorted().toList();
+        for (int i = 0; i < ids.size(); i++) {
+            // Varias ofertas con la misma cantidad, para probar el desempate
+            ofertaAutoRepository.sumarFavoritos(ids.get(i), i % 4);
+        }
+        proyeccionOfertaVista.reconstruir();
+        FiltroCatalogoOfertas filtro = FiltroCatalogoOfertas.builder().soloConStock(false).build();
+
+        List<OfertaVista> todas = recorrerCatalogo(filtro, OrdenCatalogoOfertas.FAVORITOS, 4);
+
+        assertEquals(25, todas.size());
+        assertEquals(3, todas.get(0).getCantidadFavoritos());
+        for (int i = 1; i < todas.size(); i++) {
+            OfertaVista anterior = todas.get(i - 1);
+            OfertaVista actual = todas.get(i);
+            assertTrue(anterior.getCantidadFavoritos() > actual.getCantidadFavoritos()
+                    || (anterior.getCantidadFavoritos() == actual.getCantidadFavoritos() && anterior.getId() > actual.getId()));
+        }
+        assertThrows(RuntimeException.class,
+                () -> ofertaService.buscarPorFacetas(null, OrdenCatalogoOfertas.FAVORITOS, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Los filtros excluyen concesionarias inactivas, ofertas sin stock y aplican marca, año, precio y moneda")
+    void buscarCatalogo_ConFiltros_FiltraOfertas() {
+        FiltroCatalogoOfertas filtro = FiltroCatalogoOfertas.builder()
+                .marca("toyota")
+                .anioDesde(2016)
+                .precioMax(new BigDecimal("14000"))
+                .moneda("usd")
+                .build();
+
+        List<OfertaVista> resultado = recorrerCatalogo(filtro, OrdenCatalogoOfertas.PRECIO_ASC, 50);
+
+        assertFalse(resultado.isEmpty());
+        for (OfertaVista oferta : resultado) {
+            assertEquals("Toyota", oferta.getMarca());
+            assertTrue(oferta.getAnioModelo() >= 2016);
+            assertTrue(oferta.getPrecioActual().compareTo(new BigDecimal("14000")) <= 0);
+            assertEquals("USD", oferta.getMoneda());
+            assertTrue(oferta.getStock() > 0);
+            assertEquals(activa.getId(), oferta.getConcesionariaId());
+            assertTrue(oferta.getConcesionariaActiva());
+        }
+    }
+
+    @Test
+    @DisplayName("El tamaño de página se acota al máximo permitido")
+    void buscarCatalogo_LimiteExcesivo_SeAcota() {
+        PaginaOfertas pagina = ofertaService.buscarCatalogo(null, OrdenCatalogoOfertas.RECIENTES, null, 10_000);
+
+        assertTrue(pagina.items().size() <= OfertaService.LIMITE_CATALOGO_MAXIMO);
+        assertFalse(pagina.hayMas());
+    }
+
+    @Test
+    @DisplayName("Un cursor inválido o de otro orden se rechaza")
+    void buscarCatalogo_CursorInvalido_LanzaExcepcion() {
+        PaginaOfertas primera = ofertaService.buscarCatalogo(null, OrdenCatalogoOfertas.PRECIO_ASC, null, 2);
+
+        assertThrows(RuntimeException.class,
+                () -> ofertaService.buscarCatalogo(null, OrdenCatalogoOfertas.PRECIO_ASC, "no-es-un-cursor", 2));
+        assertThrows(RuntimeException.class,
+                () -> ofertaService.buscarCatalogo(null, OrdenCatalogoOfertas.RECIENTES, primera.siguienteCursor(), 2));
+    }
+}
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -32,6 +33,12 @@ class OfertaServiceTest {
     @Mock
     private AutoRepository autoRepository;
 
+    @Mock
+    private BuscadorOfertas buscadorOfertas;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private OfertaService ofertaService;
 
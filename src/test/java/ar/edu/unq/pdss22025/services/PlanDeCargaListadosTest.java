@@ -0,0 +1,342 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.mapper.CompraMapperImpl;
+import ar.edu.unq.pdss22025.mapper.FavoritoMapperImpl;
+import ar.edu.unq.pdss22025.mapper.OfertaMapperImpl;
+import ar.edu.unq.pdss22025.mapper.ResenaMapperImpl;
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Compra;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.Favorito;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.Resena;
+import ar.edu.unq.pdss22025.models.dto.OrdenCatalogoOfertas;
+import ar.edu.unq.pdss22025.models.usuario.Usuario;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioConcesionaria;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.support.ContadorSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que los listados más usados resuelvan service + mapper con una cantidad de sentencias SQL
+ * que no depende de la cantidad de filas (sin N+1 al leer asociaciones desde los mappers).
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ResenaService.class, ResumenPuntajeService.class, RankingAutos.class, ResenaDiariaService.class, FavoritoService.class, CompraService.class, OfertaService.class,
+        ReservaStockService.class, StockLedger.class, BuscadorOfertas.class, VentaDiariaService.class, ProyeccionOfertaVista.class,
+        ResenaMapperImpl.class, FavoritoMapperImpl.class, CompraMapperImpl.class, OfertaMapperImpl.class})
+class PlanDeCargaListadosTest {
+
+    private static final int POCOS = 2;
+    private static final int MUCHOS = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ResenaService resenaService;
+
+    @Autowired
+    private FavoritoService favoritoService;
+
+    @Autowired
+    private CompraService compraService;
+
+    @Autowired
+    private OfertaService ofertaService;
+
+    @Autowired
+    private ProyeccionOfertaVista proyeccionOfertaVista;
+
+    @Autowired
+    private OfertaAutoRepository ofertaAutoRepository;
+
+    @Autowired
+    private ResenaMapperImpl resenaMapper;
+
+    @Autowired
+    private FavoritoMapperImpl favoritoMapper;
+
+    @Autowired
+    private CompraMapperImpl compraMapper;
+
+    @Autowired
+    private OfertaMapperImpl ofertaMapper;
+
+    private ContadorSql contadorSql;
+    private int secuencia;
+
+    @BeforeEach
+    void setUp() {
+        contadorSql = new ContadorSql(entityManagerFactory);
+    }
+
+    /**
+     * Carga el escenario con cada cantidad de filas y devuelve las sentencias que ejecutó el listado en cada caso.
+     */
+    private long[] medir(IntFunction<Runnable> escenario) {
+        long[] sentencias = new long[2];
+        int[] cantidades = {POCOS, MUCHOS};
+        for (int i = 0; i < cantidades.length; i++) {
+            Runnable listado = escenario.apply(cantidades[i]);
+            entityManager.flush();
+            entityManager.clear();
+            sentencias[i] = contadorSql.contar(listado);
+        }
+        return sentencias;
+    }
+
+    private void assertSentenciasConstantes(long[] sentencias) {
+        assertEquals(sentencias[0], sentencias[1],
+                "Las sentencias SQL crecen con la cantidad de filas: " + POCOS + " filas -> " + sentencias[0]
+                        + ", " + MUCHOS + " filas -> " + sentencias[1]);
+    }
+
+    @Test
+    @DisplayName("Listar reseñas de un auto no ejecuta una consulta por reseña")
+    void listarReseñasDeAuto_SentenciasConstantes() {
+        long[] sentencias = medir(n -> {
+            Auto auto = crearAuto();
+            for (int i = 0; i < n; i++) {
+                crearResena(crearComprador(), auto);
+            }
+            return () -> {
+                List<Resena> resenas = resenaService.listarReseñasDeAuto(auto.getId());
+                assertEquals(n, resenas.stream().map(resenaMapper::toResponse)
+                        .filter(r -> r.getUsuarioNombre() != null && r.getAutoMarca() != null).count());
+            };
+        });
+
+        assertSentenciasConstantes(sentencias);
+    }
+
+    @Test
+    @DisplayName("Listar reseñas de un usuario no ejecuta una consulta por reseña")
+    void listarReseñasDeUsuario_SentenciasConstantes() {
+        long[] sentencias = medir(n -> {
+            Usuario comprador = crearComprador();
+            for (int i = 0; i < n; i++) {
+                crearResena(comprador, crearAuto());
+            }
+            return () -> assertEquals(n, resenaService.listarReseñasDeUsuario(comprador.getId()).stream()
+                    .map(resenaMapper::toResponse).filter(r -> r.getAutoModelo() != null).count());
+        });
+
+        assertSentenciasConstantes(sentencias);
+    }
+
+    @Test
+    @DisplayName("Listar todas las reseñas no ejecuta una consulta por reseña")
+    void listarTodasLasReseñas_SentenciasConstantes() {
+        long[] sentencias = medir(n -> {
+            for (int i = 0; i < n; i++) {
+                crearResena(crearComprador(), crearAuto());
+            }
+            return () -> resenaService.listarTodasLasReseñas().forEach(resenaMapper::toResponse);
+        });
+
+        assertSentenciasConstantes(sentencias);
+    }
+
+    @Test
+    @DisplayName("Listar favoritos de un usuario no ejecuta una consulta por favorito")
+    void listarFavoritosDeUsuario_SentenciasConstantes() {
+        long[] sentencias = medir(n -> {
+            Usuario comprador = crearComprador();
+            for (int i = 0; i < n; i++) {
+                crearFavorito(comprador, crearOferta());
+            }
+            return () -> assertEquals(n, favoritoService.listarFavoritosDeUsuario(comprador.getId()).stream()
+                    .map(favoritoMapper::toResponse)
+                    .filter(f -> f.getConcesionariaNombre() != null && f.getAutoMarca() != null).count());
+        });
+
+        assertSentenciasConstantes(sentencias);
+    }
+
+    @Test
+    @DisplayName("Listar favoritos de una oferta y todos los favoritos no ejecuta una consulta por favorito")
+    void listarFavoritosPorOfertaYTodos_SentenciasConstantes() {
+        long[] porOferta = medir(n -> {
+            OfertaAuto oferta = crearOferta();
+            for (int i = 0; i < n; i++) {
+                crearFavorito(crearComprador(), oferta);
+            }
+            return () -> favoritoService.listarFavoritosPorOferta(oferta.getId()).forEach(favoritoMapper::toResponse);
+        });
+        long[] todos = medir(n -> {
+            for (int i = 0; i < n; i++) {
+                crearFavorito(crearComprador(), crearOferta());
+            }
+            return () -> favoritoService.listarTodosLosFavoritos().forEach(favoritoMapper::toResponse);
+        });
+
+        assertSentenciasConstantes(porOferta);
+        assertSentenciasConstantes(todos);
+    }
+
+    @Test
+    @DisplayName("Listar compras de un comprador no ejecuta una consulta por compra")
+    void listarPorComprador_SentenciasConstantes() {
+        long[] sentencias = medir(n -> {
+            Usuario comprador = crearComprador();
+            for (int i = 0; i < n; i++) {
+                crearCompra(comprador, crearOferta());
+            }
+            return () -> assertEquals(n, compraService.listarPorComprador(comprador.getId()).stream()
+                    .map(compraMapper::toResponse).filter(c -> c.getOfertaId() != null).count());
+        });
+
+        assertSentenciasConstantes(sentencias);
+    }
+
+    @Test
+    @DisplayName("Los listados de ofertas no ejecutan una consulta por oferta")
+    void listadosDeOfertas_SentenciasConstantes() {
+        long[] porConcesionaria = medir(n -> {
+            Concesionaria concesionaria = crearConcesionaria();
+            for (int i = 0; i < n; i++) {
+                crearOferta(concesionaria, crearAuto());
+            }
+            return () -> ofertaService.listarPorConcesionaria(concesionaria.getId()).forEach(ofertaMapper::toResponse);
+        });
+        long[] porAuto = medir(n -> {
+            Auto auto = crearAuto();
+            for (int i = 0; i < n; i++) {
+                crearOferta(crearConcesionaria(), auto);
+            }
+            return () -> ofertaService.listarPorAuto(auto.getId()).forEach(ofertaMapper::toResponse);
+        });
+        long[] todas = medir(n -> {
+            for (int i = 0; i < n; i++) {
+                crearOferta();
+            }
+            return () -> ofertaService.listarTodasLasOfertas().forEach(ofertaMapper::toResponse);
+        });
+
+        assertSentenciasConstantes(porConcesionaria);
+        assertSentenciasConstantes(porAuto);
+        assertSentenciasConstantes(todas);
+    }
+
+    @Test
+    @DisplayName("El catálogo y el detalle de ofertas leen sólo la vista de ofertas, con una única consulta")
+    void catalogoYDetalle_UnaSentencia() {
+        long[] catalogo = medir(n -> {
+            for (int i = 0; i < n; i++) {
+                OfertaAuto oferta = crearOferta();
+                crearFavorito(crearComprador(), oferta);
+            }
+            proyeccionOfertaVista.reconstruir();
+            return () -> assertTrue(ofertaService.buscarCatalogo(null, OrdenCatalogoOfertas.RECIENTES, null, 100).items().stream()
+                    .map(ofertaMapper::toResponse)
+                    .allMatch(o -> o.getMarca() != null && o.getConcesionaria() != null && o.getCantidadFavoritos() == 1));
+        });
+        long[] detalle = medir(n -> {
+            OfertaAuto oferta = crearOferta();
+            for (int i = 0; i < n; i++) {
+                crearFavorito(crearComprador(), oferta);
+            }
+            proyeccionOfertaVista.reconstruir();
+            return () -> assertEquals(n, ofertaMapper.toResponse(ofertaService.obtenerDetalle(oferta.getId())).getCantidadFavoritos());
+        });
+
+        assertEquals(1, catalogo[0]);
+        assertSentenciasConstantes(catalogo);
+        assertEquals(1, detalle[0]);
+        assertSentenciasConstantes(detalle);
+    }
+
+    private Auto crearAuto() {
+        int i = ++secuencia;
+        return entityManager.persist(Auto.builder().marca("Marca" + i).modelo("Modelo" + i).anioModelo(2020).build());
+    }
+
+    /**
+     * Crea una concesionaria con su usuario vinculado, como en producción, para que el plan de carga
+     * también cubra la relación uno a uno entre ambos.
+     */
+    private Concesionaria crearConcesionaria() {
+        int i = ++secuencia;
+        Concesionaria concesionaria = entityManager.persist(Concesionaria.builder()
+                .nombre("Concesionaria " + i).cuit("20-" + (10000000 + i) + "-1").activa(true).build());
+        UsuarioConcesionaria usuario = new UsuarioConcesionaria();
+        usuario.setEmail("concesionaria" + i + "@test.com");
+        usuario.setPassword("password");
+        usuario.setNombre("Concesionaria");
+        usuario.setApellido(String.valueOf(i));
+        usuario.setConcesionaria(concesionaria);
+        entityManager.persist(usuario);
+        concesionaria.setUsuario(usuario);
+        return concesionaria;
+    }
+
+    private Usuario crearComprador() {
+        int i = ++secuencia;
+        UsuarioComprador comprador = new UsuarioComprador();
+        comprador.setEmail("comprador" + i + "@test.com");
+        comprador.setPassword("password");
+        comprador.setNombre("Comprador");
+        comprador.setApellido(String.valueOf(i));
+        return entityManager.persist(comprador);
+    }
+
+    private OfertaAuto crearOferta() {
+        return crearOferta(crearConcesionaria(), crearAuto());
+    }
+
+    private OfertaAuto crearOferta(Concesionaria concesionaria, Auto auto) {
+        return entityManager.persist(OfertaAuto.builder()
+                .concesionaria(concesionaria)
+                .auto(auto)
+                .stock(5)
+                .precioActual(new BigDecimal("1000.00"))
+                .moneda("USD")
+                .build());
+    }
+
+    private void crearResena(Usuario usuario, Auto auto) {
+        entityManager.persist(Resena.builder().usuario(usuario).auto(auto).rating(8).comentario("Bueno").build());
+    }
+
+    private void crearFavorito(Usuario usuario, OfertaAuto oferta) {
+        entityManager.persist(Favorito.builder().usuario(usuario).oferta(oferta).build());
+        // Lo que volcaría el contador de favoritos al recibir el evento
+        ofertaAutoRepository.sumarFavoritos(oferta.getId(), 1);
+    }
+
+    private void crearCompra(Usuario comprador, OfertaAuto oferta) {
+        entityManager.persist(Compra.builder()
+                .oferta(oferta)
+                .comprador(comprador)
+                .precioUnitario(oferta.getPrecioActual())
+                .cantidad(1)
+                .total(oferta.getPrecioActual())
+                .build());
+    }
+}
@@ -0,0 +1,183 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.OfertaVista;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraLoteRequest;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraRequest;
+import ar.edu.unq.pdss22025.models.dto.LineaCompraRequest;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioConcesionaria;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaVistaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ProyeccionOfertaVista.class, OfertaService.class, BuscadorOfertas.class, FavoritoService.class,
+        ResenaService.class, ResumenPuntajeService.class, RankingAutos.class, ResenaDiariaService.class,
+        CompraService.class, ReservaStockService.class, StockLedger.class, VentaDiariaService.class})
+class ProyeccionOfertaVistaTest {
+
+    @Autowired
+    private ProyeccionOfertaVista proyeccionOfertaVista;
+
+    @Autowired
+    private OfertaVistaRepository ofertaVistaRepository;
+
+    @Autowired
+    private OfertaService ofertaService;
+
+    @Autowired
+    private FavoritoService favoritoService;
+
+    @Autowired
+    private ResenaService resenaService;
+
+    @Autowired
+    private CompraService compraService;
+
+    @Autowired
+    private OfertaAutoRepository ofertaAutoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Concesionaria concesionaria;
+    private UsuarioConcesionaria vendedor;
+    private UsuarioComprador juan;
+    private UsuarioComprador maria;
+    private Auto corolla;
+
+    @BeforeEach
+    void setUp() {
+        concesionaria = entityManager.persist(Concesionaria.builder()
+                .nombre("Autos del Norte").cuit("20-11111111-1").activa(true).build());
+        vendedor = new UsuarioConcesionaria();
+        vendedor.setEmail("norte@test.com");
+        vendedor.setPassword("password");
+        vendedor.setNombre("Autos");
+        vendedor.setApellido("Norte");
+        vendedor.setConcesionaria(concesionaria);
+        entityManager.persist(vendedor);
+        juan = comprador("juan@test.com");
+        maria = comprador("maria@test.com");
+        corolla = entityManager.persist(Auto.builder().marca("Toyota").modelo("Corolla").anioModelo(2024).build());
+        entityManager.flush();
+    }
+
+    private UsuarioComprador comprador(String email) {
+        UsuarioComprador comprador = new UsuarioComprador();
+        comprador.setEmail(email);
+        comprador.setPassword("password");
+        comprador.setNombre("Comprador");
+        comprador.setApellido(email);
+        return entityManager.persist(comprador);
+    }
+
+    /**
+     * Lee la fila desde la base: los eventos la actualizan con sentencias que no pasan por el contexto de persistencia.
+     */
+    private OfertaVista vista(Long ofertaId) {
+        entityManager.flush();
+        entityManager.clear();
+        return ofertaVistaRepository.findById(ofertaId).orElseThrow();
+    }
+
+    private ContadorFavoritos contador() {
+        return new ContadorFavoritos(ofertaAutoRepository, ofertaVistaRepository, transactionManager, new SimpleMeterRegistry(), 0);
+    }
+
+    @Test
+    @DisplayName("Crear una oferta arma su fila con los datos del auto y de la concesionaria")
+    void crearOferta_proyectaLaFila() {
+        OfertaAuto oferta = ofertaService.crearOferta(vendedor, corolla.getId(), 3, new BigDecimal("25000.00"), "USD");
+
+        OfertaVista fila = vista(oferta.getId());
+        assertEquals(corolla.getId(), fila.getAutoId());
+        assertEquals("Toyota", fila.getMarca());
+        assertEquals("Corolla", fila.getModelo());
+        assertEquals(2024, fila.getAnioModelo());
+        assertEquals(concesionaria.getId(), fila.getConcesionariaId());
+        assertEquals("Autos del Norte", fila.getConcesionariaNombre());
+        assertTrue(fila.getConcesionariaActiva());
+        assertEquals(3, fila.getStock());
+        assertEquals(0, new BigDecimal("25000.00").compareTo(fila.getPrecioActual()));
+        assertEquals(0, fila.getCantidadFavoritos());
+        assertEquals(0, fila.getCantidadResenas());
+    }
+
+    @Test
+    @DisplayName("Reseñas, compras y el contador de favoritos actualizan la fila de la oferta")
+    void eventos_actualizanLaFila() {
+        Long ofertaId = ofertaService.crearOferta(vendedor, corolla.getId(), 5, new BigDecimal("25000.00"), "USD").getId();
+
+        favoritoService.agregarFavorito(juan.getId(), ofertaId);
+        favoritoService.agregarFavorito(maria.getId(), ofertaId);
+        favoritoService.eliminarFavorito(juan.getId(), ofertaId);
+        resenaService.crearResenha(juan.getId(), corolla.getId(), 9, "Excelente");
+        resenaService.crearResenha(maria.getId(), corolla.getId(), 6, "Regular");
+        resenaService.actualizarReseña(maria.getId(), corolla.getId(), 8, "Mejor de lo que pensaba");
+
+        CrearCompraRequest compra = new CrearCompraRequest();
+        compra.setOfertaId(ofertaId);
+        compra.setCompradorId(juan.getId());
+        compraService.crear(compra);
+        CrearCompraLoteRequest lote = new CrearCompraLoteRequest();
+        lote.setCompradorId(maria.getId());
+        lote.setLineas(List.of(new LineaCompraRequest(ofertaId, 2, null)));
+        compraService.crearLote(lote);
+        // Sin el bus de eventos los favoritos no llegan al contador: los toma la reconciliación
+        contador().reconciliar();
+
+        OfertaVista fila = vista(ofertaId);
+        assertEquals(1, fila.getCantidadFavoritos());
+        assertEquals(2, fila.getCantidadResenas());
+        assertEquals(8.5, fila.getPromedioPuntaje(), 1e-9);
+        assertEquals(2, fila.getStock());
+    }
+
+    @Test
+    @DisplayName("Reconstruir vuelve a armar la vista desde las tablas de origen")
+    void reconstruir_corrigeDesvios() {
+        Long ofertaId = ofertaService.crearOferta(vendedor, corolla.getId(), 5, new BigDecimal("25000.00"), "USD").getId();
+        favoritoService.agregarFavorito(juan.getId(), ofertaId);
+        contador().reconciliar();
+        // Oferta cargada sin pasar por el servicio: no tiene fila
+        Auto civic = entityManager.persist(Auto.builder().marca("Honda").modelo("Civic").anioModelo(2023).build());
+        OfertaAuto sinFila = entityManager.persist(OfertaAuto.builder()
+                .concesionaria(concesionaria).auto(civic).stock(1)
+                .precioActual(new BigDecimal("20000.00")).moneda("USD").build());
+        // Fila desviada
+        ofertaVistaRepository.sumarFavoritos(ofertaId, 10);
+
+        int proyectadas = proyeccionOfertaVista.reconstruir();
+
+        assertEquals(2, proyectadas);
+        assertEquals(1, vista(ofertaId).getCantidadFavoritos());
+        assertEquals("Civic", vista(sinFila.getId()).getModelo());
+    }
+}
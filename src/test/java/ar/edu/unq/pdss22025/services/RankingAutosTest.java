@@ -0,0 +1,130 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.ResumenPuntajeAuto;
+import ar.edu.unq.pdss22025.models.dto.AutoRankingDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ranking en memoria: orden por puntaje bayesiano, filtros por marca y año, y cambios aplicados al confirmar.
+ * Los resúmenes se cargan directamente y el ranking se reconstruye dentro de la transacción del test.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(RankingAutos.class)
+class RankingAutosTest {
+
+    @Autowired
+    private RankingAutos rankingAutos;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Un auto con una única reseña de 10 no supera a uno con muchas reseñas de 9")
+    void mejores_ponderaPorCantidadDeResenas() {
+        Auto unico = crearAuto("Fiat", "Cronos", 2022, puntajes(10, 1));
+        Auto consolidado = crearAuto("Toyota", "Corolla", 2020, puntajes(9, 50));
+        Auto regular = crearAuto("Ford", "Ka", 2018, puntajes(5, 30));
+        crearAuto("Renault", "Kwid", 2023, new long[ResumenPuntajeAuto.PUNTAJE_MAXIMO + 1]);
+        rankingAutos.reconstruir();
+
+        List<AutoRankingDTO> ranking = rankingAutos.mejores(5, null, null);
+
+        assertEquals(List.of(consolidado.getId(), unico.getId(), regular.getId()),
+                ranking.stream().map(AutoRankingDTO::getAutoId).toList());
+        AutoRankingDTO segundo = ranking.get(1);
+        assertEquals(10.0, segundo.getPromedioPuntaje());
+        assertEquals(1L, segundo.getCantidadResenas());
+        assertTrue(segundo.getPuntajeRanking() < ranking.get(0).getPuntajeRanking());
+        assertTrue(segundo.getPuntajeRanking() < 10.0);
+    }
+
+    @Test
+    @DisplayName("Filtra por marca sin distinguir mayúsculas, por año y corta en el límite pedido")
+    void mejores_filtraPorMarcaYAnio() {
+        Auto corolla = crearAuto("Toyota", "Corolla", 2020, puntajes(9, 10));
+        Auto hilux = crearAuto("Toyota", "Hilux", 2022, puntajes(8, 10));
+        Auto focus = crearAuto("Ford", "Focus", 2020, puntajes(7, 10));
+        rankingAutos.reconstruir();
+
+        assertEquals(List.of(corolla.getId(), hilux.getId()), ids(rankingAutos.mejores(10, "TOYOTA", null)));
+        assertEquals(List.of(corolla.getId(), focus.getId()), ids(rankingAutos.mejores(10, null, 2020)));
+        assertEquals(List.of(hilux.getId()), ids(rankingAutos.mejores(10, "toyota", 2022)));
+        assertEquals(List.of(corolla.getId()), ids(rankingAutos.mejores(1, null, null)));
+        assertTrue(rankingAutos.mejores(10, "Peugeot", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Los cambios de reseñas se aplican al confirmar y no si la transacción se revierte")
+    void cambios_seAplicanAlConfirmar() {
+        Auto corolla = crearAuto("Toyota", "Corolla", 2020, puntajes(9, 10));
+        Auto focus = crearAuto("Ford", "Focus", 2020, puntajes(8, 10));
+        Auto nuevo = crearAuto("Honda", "Civic", 2021, null);
+        rankingAutos.reconstruir();
+        TransactionTemplate nuevaTransaccion = new TransactionTemplate(transactionManager);
+        nuevaTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        nuevaTransaccion.executeWithoutResult(status -> {
+            for (int i = 0; i < 10; i++) {
+                rankingAutos.acumular(focus.getId(), 10, 1);
+            }
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of(corolla.getId(), focus.getId()), ids(rankingAutos.mejores(5, null, null)));
+
+        nuevaTransaccion.executeWithoutResult(status -> {
+            for (int i = 0; i < 10; i++) {
+                rankingAutos.acumular(focus.getId(), 10, 1);
+            }
+            rankingAutos.acumular(corolla.getId(), 9, -1);
+            rankingAutos.sumar(nuevo, 7);
+        });
+        List<AutoRankingDTO> ranking = rankingAutos.mejores(5, null, null);
+        assertEquals(List.of(focus.getId(), corolla.getId(), nuevo.getId()), ids(ranking));
+        assertEquals(20L, ranking.get(0).getCantidadResenas());
+        assertEquals(9.0, ranking.get(0).getPromedioPuntaje());
+        assertEquals(9L, ranking.get(1).getCantidadResenas());
+        assertEquals("Civic", ranking.get(2).getModelo());
+    }
+
+    private Auto crearAuto(String marca, String modelo, int anio, long[] histograma) {
+        Auto auto = entityManager.persist(Auto.builder().marca(marca).modelo(modelo).anioModelo(anio).build());
+        if (histograma != null) {
+            entityManager.persist(ResumenPuntajeAuto.desdeHistograma(auto.getId(), histograma));
+        }
+        entityManager.flush();
+        return auto;
+    }
+
+    private static long[] puntajes(int puntaje, long cantidad) {
+        long[] histograma = new long[ResumenPuntajeAuto.PUNTAJE_MAXIMO + 1];
+        histograma[puntaje] = cantidad;
+        return histograma;
+    }
+
+    private static List<Long> ids(List<AutoRankingDTO> ranking) {
+        return ranking.stream().map(AutoRankingDTO::getAutoId).toList();
+    }
+}
@@ -0,0 +1,198 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Compra;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.Resena;
+import ar.edu.unq.pdss22025.models.dto.FormatoExportacion;
+import ar.edu.unq.pdss22025.models.dto.TipoReporte;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.repositories.CompraRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ReporteExportService.class, VentaDiariaService.class, ResenaDiariaService.class, RankingAutos.class})
+class ReporteExportServiceTest {
+
+    private static final OffsetDateTime ENERO = OffsetDateTime.of(2024, 1, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime JUNIO = OffsetDateTime.of(2024, 6, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private ReporteExportService reporteExportService;
+
+    @Autowired
+    private VentaDiariaService ventaDiariaService;
+
+    @Autowired
+    private ResenaDiariaService resenaDiariaService;
+
+    @Autowired
+    private CompraRepository compraRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<Auto> autos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        UsuarioComprador comprador = new UsuarioComprador();
+        comprador.setEmail("comprador@test.com");
+        comprador.setPassword("password");
+        comprador.setNombre("Juan");
+        comprador.setApellido("Pérez");
+        comprador.setActivo(true);
+        entityManager.persist(comprador);
+
+        Concesionaria concesionaria = entityManager.persist(Concesionaria.builder()
+                .nombre("Autos, del Sur").cuit("20-11111111-1").activa(true).build());
+
+        // 7 autos: el auto i tiene i compras en enero y una en junio
+        for (int i = 1; i <= 7; i++) {
+            Auto auto = entityManager.persist(Auto.builder().marca("Marca" + i).modelo("Modelo" + i).anioModelo(2020).build());
+            autos.add(auto);
+            OfertaAuto oferta = entityManager.persist(OfertaAuto.builder()
+                    .concesionaria(concesionaria).auto(auto).stock(100)
+                    .precioActual(new BigDecimal("1000.00")).moneda("USD").build());
+            for (int j = 0; j < i; j++) {
+                crearCompra(oferta, comprador, ENERO.plusMinutes(i * 10L + j));
+            }
+            crearCompra(oferta, comprador, JUNIO);
+            Resena resena = entityManager.persist(Resena.builder().usuario(comprador).auto(auto).rating(i).comentario("ok")
+                    .createdAt(i % 2 == 0 ? ENERO : JUNIO).build());
+            resenaDiariaService.registrarAlta(resena);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void crearCompra(OfertaAuto oferta, UsuarioComprador comprador, OffsetDateTime fecha) {
+        Compra compra = compraRepository.save(Compra.builder()
+                .oferta(oferta).comprador(comprador)
+                .precioUnitario(oferta.getPrecioActual()).cantidad(1).total(oferta.getPrecioActual())
+                .fechaCompra(fecha)
+                .build());
+        ventaDiariaService.registrarVenta(compra);
+    }
+
+    private byte[] exportar(TipoReporte tipo, FormatoExportacion formato, boolean detalle,
+                            String fechaDesde, String fechaHasta) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        reporteExportService.exportar(tipo, formato, detalle, fechaDesde, fechaHasta, null, salida);
+        return salida.toByteArray();
+    }
+
+    private List<String> lineasCsv(byte[] contenido) {
+        String texto = new String(contenido, StandardCharsets.UTF_8);
+        assertTrue(texto.startsWith("\uFEFF"), "El CSV debe empezar con BOM");
+        return List.of(texto.substring(1).split("\r\n"));
+    }
+
+    @Test
+    @DisplayName("Sin detalle se exporta el Top 5 del ranking, igual que el reporte JSON")
+    void exportar_RankingSinDetalle_ExportaTop5() throws IOException {
+        List<String> lineas = lineasCsv(exportar(TipoReporte.AUTOS_MAS_VENDIDOS, FormatoExportacion.CSV, false, null, null));
+
+        assertEquals(6, lineas.size());
+        assertEquals(String.join(",", TipoReporte.AUTOS_MAS_VENDIDOS.getColumnas()), lineas.get(0));
+        assertEquals(autos.get(6).getId() + ",Marca7,Modelo7,2020,8,1000.00,8000.00", lineas.get(1));
+    }
+
+    @Test
+    @DisplayName("Con detalle se exporta el ranking completo")
+    void exportar_RankingConDetalle_ExportaTodasLasFilas() throws IOException {
+        assertEquals(8, lineasCsv(exportar(TipoReporte.AUTOS_MAS_VENDIDOS, FormatoExportacion.CSV, true, null, null)).size());
+        assertEquals(2, lineasCsv(exportar(TipoReporte.USUARIOS_MAS_COMPRAS, FormatoExportacion.CSV, true, null, null)).size());
+        List<String> agencias = lineasCsv(exportar(TipoReporte.AGENCIAS_MAS_VENTAS, FormatoExportacion.CSV, true, null, null));
+        assertEquals(2, agencias.size());
+        // El nombre con coma va entre comillas
+        assertTrue(agencias.get(1).contains("\"Autos, del Sur\",35,35000.00"), agencias.get(1));
+    }
+
+    @Test
+    @DisplayName("El rango de fechas filtra rankings, reseñas y detalle de compras")
+    void exportar_ConRangoDeFechas_FiltraFilas() throws IOException {
+        List<String> autosJunio = lineasCsv(exportar(TipoReporte.AUTOS_MAS_VENDIDOS, FormatoExportacion.CSV, true, "2024-06-01", "2024-06-30"));
+        assertEquals(8, autosJunio.size());
+        assertTrue(autosJunio.stream().skip(1).allMatch(l -> l.contains(",1,1000.00,1000.00")));
+
+        List<String> comprasEnero = lineasCsv(exportar(TipoReporte.COMPRAS, FormatoExportacion.CSV, false, "2024-01-01", "2024-01-31"));
+        assertEquals(1 + 28, comprasEnero.size());
+        assertTrue(comprasEnero.get(1).contains("2024-01-15 12:10:00"), comprasEnero.get(1));
+
+        List<String> resenasEnero = lineasCsv(exportar(TipoReporte.AUTOS_MEJORES_RANKEADOS, FormatoExportacion.CSV, true, "2024-01-01", "2024-01-31"));
+        assertEquals(4, resenasEnero.size());
+        assertTrue(resenasEnero.get(1).startsWith(autos.get(5).getId() + ",Marca6,Modelo6,2020,6.00,1"), resenasEnero.get(1));
+    }
+
+    @Test
+    @DisplayName("Sin fechas el detalle de compras incluye todas")
+    void exportar_DetalleDeComprasSinFechas_IncluyeTodas() throws IOException {
+        assertEquals(1 + 35, lineasCsv(exportar(TipoReporte.COMPRAS, FormatoExportacion.CSV, false, null, null)).size());
+    }
+
+    @Test
+    @DisplayName("La exportación a Excel genera un xlsx con una fila por registro")
+    void exportar_Excel_GeneraXlsx() throws IOException {
+        byte[] xlsx = exportar(TipoReporte.COMPRAS, FormatoExportacion.EXCEL, false, null, null);
+
+        Map<String, String> entradas = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx))) {
+            ZipEntry entrada;
+            while ((entrada = zip.getNextEntry()) != null) {
+                entradas.put(entrada.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertTrue(entradas.keySet().containsAll(List.of("[Content_Types].xml", "_rels/.rels",
+                "xl/workbook.xml", "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml")));
+        String hoja = entradas.get("xl/worksheets/sheet1.xml");
+        assertEquals(1 + 35, hoja.split("<row>", -1).length - 1);
+        assertTrue(hoja.contains("<t>Autos, del Sur</t>"));
+        assertTrue(entradas.get("xl/workbook.xml").contains("name=\"Detalle de compras\""));
+    }
+
+    @Test
+    @DisplayName("La exportación a PDF genera un documento con xref válido")
+    void exportar_Pdf_GeneraDocumento() throws IOException {
+        byte[] pdf = exportar(TipoReporte.COMPRAS, FormatoExportacion.PDF, false, null, null);
+        String texto = new String(pdf, StandardCharsets.ISO_8859_1);
+
+        assertTrue(texto.startsWith("%PDF-1.4"));
+        assertTrue(texto.endsWith("%%EOF\n"));
+        int startxref = Integer.parseInt(texto.substring(texto.lastIndexOf("startxref\n") + 10, texto.lastIndexOf("\n%%EOF")).trim());
+        assertTrue(texto.startsWith("xref", startxref));
+        assertTrue(texto.contains("/Count 1"));
+        assertTrue(texto.contains("(Detalle de compras) Tj"));
+    }
+}
@@ -32,7 +32,8 @@ import static org.junit.jupiter.api.Assertions.*;
         "spring.flyway.enabled=false",
         "spring.jpa.hibernate.ddl-auto=create-drop"
 })
-@Import(ReporteService.class)
+@Import({ReporteService.class, VentaDiariaService.class, ResumenPuntajeService.class, RankingAutos.class,
+        ResenaDiariaService.class})
 class ReporteServiceTest {
 
     @Autowired
@@ -44,9 +45,21 @@ class ReporteServiceTest {
     @Autowired
     private CompraRepository compraRepository;
 
+    @Autowired
+    private VentaDiariaService ventaDiariaService;
+
     @Autowired
     private ResenaRepository resenaRepository;
 
+    @Autowired
+    private ResumenPuntajeService resumenPuntajeService;
+
+    @Autowired
+    private RankingAutos rankingAutos;
+
+    @Autowired
+    private ResenaDiariaService resenaDiariaService;
+
     @Autowired
     private AutoRepository autoRepository;
 
@@ -320,6 +333,8 @@ class ReporteServiceTest {
 
         entityManager.flush();
         entityManager.clear();
+        // Las reseñas del test no se confirman, así que el ranking se arma leyéndolas en esta transacción
+        rankingAutos.reconstruir();
 
         // When
         ReporteTop5Response response = reporteService.obtenerAutosMejoresRankeados(null, null, null);
@@ -338,6 +353,59 @@ class ReporteServiceTest {
         assertTrue(topAuto.getPromedioPuntaje() > 8.0);
     }
 
+    @Test
+    @DisplayName("Autos mejores rankeados con rango de fechas: sólo cuentan las reseñas creadas en el rango")
+    void obtenerAutosMejoresRankeados_ConRangoDeFechas_DeberiaUsarLasResenasDelRango() {
+        OffsetDateTime enero = OffsetDateTime.of(2024, 1, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime febrero = OffsetDateTime.of(2024, 2, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+        crearResena(comprador1, auto2, 9, "Muy bueno", enero);
+        crearResena(comprador2, auto2, 7, "Bueno", enero.plusDays(3));
+        crearResena(comprador1, auto3, 4, "Malo", enero.plusDays(5));
+        crearResena(comprador1, auto1, 10, "Excelente", febrero);
+        crearResena(comprador2, auto1, 10, "Excelente", febrero);
+
+        @SuppressWarnings("unchecked")
+        List<AutoRankingDTO> eneroItems = (List<AutoRankingDTO>) reporteService
+                .obtenerAutosMejoresRankeados("2024-01-01", "2024-01-31", null).getItems();
+        assertEquals(List.of(auto2.getId(), auto3.getId()), eneroItems.stream().map(AutoRankingDTO::getAutoId).toList());
+        assertEquals(8.0, eneroItems.get(0).getPromedioPuntaje(), 1e-9);
+        assertEquals(2L, eneroItems.get(0).getCantidadResenas());
+        // Puntaje bayesiano con el promedio general del rango (20 / 3)
+        double pesoPrevio = rankingAutos.getPesoPrevio();
+        assertEquals((pesoPrevio * 20.0 / 3 + 16) / (pesoPrevio + 2), eneroItems.get(0).getPuntajeRanking(), 1e-9);
+
+        @SuppressWarnings("unchecked")
+        List<AutoRankingDTO> febreroItems = (List<AutoRankingDTO>) reporteService
+                .obtenerAutosMejoresRankeados("2024-02-01", "2024-02-29", null).getItems();
+        assertEquals(List.of(auto1.getId()), febreroItems.stream().map(AutoRankingDTO::getAutoId).toList());
+    }
+
+    @Test
+    @DisplayName("Autos mejores rankeados con rango de fechas: los cambios y bajas de reseñas se reflejan en su día")
+    void obtenerAutosMejoresRankeados_ConRangoDeFechas_DeberiaReflejarCambiosYBajas() {
+        OffsetDateTime enero = OffsetDateTime.of(2024, 1, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+        Resena deAuto2 = crearResena(comprador1, auto2, 9, "Muy bueno", enero);
+        Resena deAuto3 = crearResena(comprador1, auto3, 8, "Bueno", enero);
+
+        deAuto2.setRating(2);
+        resenaRepository.save(deAuto2);
+        resenaDiariaService.registrarCambio(deAuto2, 9);
+
+        @SuppressWarnings("unchecked")
+        List<AutoRankingDTO> items = (List<AutoRankingDTO>) reporteService
+                .obtenerAutosMejoresRankeados("2024-01-01", "2024-01-31", null).getItems();
+        assertEquals(List.of(auto3.getId(), auto2.getId()), items.stream().map(AutoRankingDTO::getAutoId).toList());
+        assertEquals(2.0, items.get(1).getPromedioPuntaje(), 1e-9);
+
+        resenaRepository.delete(deAuto3);
+        resenaDiariaService.registrarBaja(deAuto3);
+
+        @SuppressWarnings("unchecked")
+        List<AutoRankingDTO> sinBaja = (List<AutoRankingDTO>) reporteService
+                .obtenerAutosMejoresRankeados("2024-01-01", "2024-01-31", null).getItems();
+        assertEquals(List.of(auto2.getId()), sinBaja.stream().map(AutoRankingDTO::getAutoId).toList());
+    }
+
     @Test
     @DisplayName("Obtener agencias con más ventas sin filtros")
     void obtenerAgenciasMasVentas_SinFiltros_DeberiaRetornarTop5() {
@@ -431,17 +499,28 @@ class ReporteServiceTest {
                 .total(precioUnitario)
                 .fechaCompra(fechaCompra)
                 .build();
-        return compraRepository.save(compra);
+        Compra guardada = compraRepository.save(compra);
+        ventaDiariaService.registrarVenta(guardada);
+        return guardada;
     }
 
     private Resena crearResena(UsuarioComprador usuario, Auto auto, Integer rating, String comentario) {
+        return crearResena(usuario, auto, rating, comentario, null);
+    }
+
+    private Resena crearResena(UsuarioComprador usuario, Auto auto, Integer rating, String comentario,
+                               OffsetDateTime fechaCreacion) {
         Resena resena = Resena.builder()
                 .usuario(usuario)
                 .auto(auto)
                 .rating(rating)
                 .comentario(comentario)
+                .createdAt(fechaCreacion)
                 .build();
-        return resenaRepository.save(resena);
+        Resena guardada = resenaRepository.save(resena);
+        resumenPuntajeService.sumar(auto.getId(), rating);
+        resenaDiariaService.registrarAlta(guardada);
+        return guardada;
     }
 }
 
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +36,18 @@ class ResenaServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private ResumenPuntajeService resumenPuntajeService;
+
+    @Mock
+    private RankingAutos rankingAutos;
+
+    @Mock
+    private ResenaDiariaService resenaDiariaService;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private ResenaService resenaService;
 
@@ -79,6 +92,8 @@ class ResenaServiceTest {
         assertEquals(usuario, resultado.getUsuario());
         assertEquals(auto, resultado.getAuto());
         verify(resenaRepository, times(1)).save(any(Resena.class));
+        verify(resumenPuntajeService).sumar(1L, 8);
+        verify(resenaDiariaService).registrarAlta(resultado);
     }
 
     @Test
@@ -130,6 +145,8 @@ class ResenaServiceTest {
         assertEquals(9, resultado.getRating());
         assertEquals("Comentario nuevo", resultado.getComentario());
         verify(resenaRepository, times(1)).save(resena);
+        verify(resumenPuntajeService).cambiar(1L, 5, 9);
+        verify(resenaDiariaService).registrarCambio(resena, 5);
     }
 
     @Test
@@ -156,6 +173,8 @@ class ResenaServiceTest {
 
         // Assert
         verify(resenaRepository, times(1)).delete(resena);
+        verify(resumenPuntajeService).restar(1L, 8);
+        verify(resenaDiariaService).registrarBaja(resena);
     }
 
     @Test
@@ -178,7 +197,7 @@ class ResenaServiceTest {
     void obtenerPromedioPuntajeAuto_AutoConResenas_DeberiaCalcularPromedio() {
         // Arrange
         when(autoRepository.findById(1L)).thenReturn(Optional.of(auto));
-        when(resenaRepository.calcularPromedioPuntajePorAutoId(1L)).thenReturn(8.5);
+        when(resumenPuntajeService.obtenerPromedio(1L)).thenReturn(8.5);
 
         // Act
         double promedio = resenaService.obtenerPromedioPuntajeAuto(1L);
@@ -191,7 +210,7 @@ class ResenaServiceTest {
     void obtenerPromedioPuntajeAuto_AutoSinResenas_DeberiaRetornarCero() {
         // Arrange
         when(autoRepository.findById(1L)).thenReturn(Optional.of(auto));
-        when(resenaRepository.calcularPromedioPuntajePorAutoId(1L)).thenReturn(null);
+        when(resumenPuntajeService.obtenerPromedio(1L)).thenReturn(0.0);
 
         // Act
         double promedio = resenaService.obtenerPromedioPuntajeAuto(1L);
@@ -199,4 +218,13 @@ class ResenaServiceTest {
         // Assert
         assertEquals(0.0, promedio);
     }
+
+    @Test
+    void autosMejorRanqueados_LimiteInvalido_DeberiaLanzarExcepcion() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> resenaService.autosMejorRanqueados(0, null, null));
+
+        assertEquals("El límite debe ser mayor a cero", exception.getMessage());
+        verifyNoInteractions(rankingAutos);
+    }
 }
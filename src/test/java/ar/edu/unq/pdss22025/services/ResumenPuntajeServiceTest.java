@@ -0,0 +1,170 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Resena;
+import ar.edu.unq.pdss22025.models.ResumenPuntajeAuto;
+import ar.edu.unq.pdss22025.models.dto.AutoRankingDTO;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import ar.edu.unq.pdss22025.repositories.ResenaRepository;
+import ar.edu.unq.pdss22025.repositories.ResumenPuntajeAutoRepository;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ResenaService.class, ResumenPuntajeService.class, RankingAutos.class, ResenaDiariaService.class})
+class ResumenPuntajeServiceTest {
+
+    @Autowired
+    private ResenaService resenaService;
+
+    @Autowired
+    private ResumenPuntajeService resumenPuntajeService;
+
+    @Autowired
+    private RankingAutos rankingAutos;
+
+    @Autowired
+    private ResumenPuntajeAutoRepository resumenPuntajeAutoRepository;
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    @Autowired
+    private AutoRepository autoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Alta, modificación y baja de reseñas mantienen cantidad, suma, promedio e histograma")
+    void resenas_mantienenElResumen() {
+        Auto auto = crearAuto("Toyota", "Corolla");
+        UsuarioComprador juan = crearComprador("juan@test.com");
+        UsuarioComprador maria = crearComprador("maria@test.com");
+
+        resenaService.crearResenha(juan.getId(), auto.getId(), 9, "Excelente");
+        resenaService.crearResenha(maria.getId(), auto.getId(), 6, "Regular");
+        ResumenPuntajeAuto resumen = resumen(auto.getId());
+        assertEquals(2, resumen.getCantidad());
+        assertEquals(15, resumen.getSuma());
+        assertEquals(7.5, resumen.getPromedio(), 1e-9);
+        assertEquals(1, resumen.getPuntaje9());
+        assertEquals(1, resumen.getPuntaje6());
+
+        resenaService.actualizarReseña(maria.getId(), auto.getId(), 8, "Mejor de lo que pensaba");
+        resumen = resumen(auto.getId());
+        assertEquals(2, resumen.getCantidad());
+        assertEquals(8.5, resumen.getPromedio(), 1e-9);
+        assertEquals(0, resumen.getPuntaje6());
+        assertEquals(1, resumen.getPuntaje8());
+
+        resenaService.eliminarReseña(juan.getId(), auto.getId());
+        resenaService.eliminarReseña(maria.getId(), auto.getId());
+        resumen = resumen(auto.getId());
+        assertEquals(0, resumen.getCantidad());
+        assertEquals(0, resumen.getSuma());
+        assertEquals(0.0, resumen.getPromedio());
+        assertEquals(0.0, resenaService.obtenerPromedioPuntajeAuto(auto.getId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("La reconciliación corrige resúmenes desviados, publica la cantidad en la métrica y reconstruye el ranking")
+    void reconciliar_corrigeDesvios() {
+        // Sin la transacción del test: los datos se confirman para que la reconciliación, que corre en
+        // transacciones propias, los vea, y las lecturas posteriores ven lo que corrigió
+        TransactionTemplate nuevaTransaccion = new TransactionTemplate(transactionManager);
+        nuevaTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long[] ids = nuevaTransaccion.execute(status -> {
+            Auto corolla = crearAuto("Toyota", "Corolla");
+            Auto civic = crearAuto("Honda", "Civic");
+            UsuarioComprador juan = crearComprador("juan@test.com");
+            UsuarioComprador maria = crearComprador("maria@test.com");
+            resenaService.crearResenha(juan.getId(), corolla.getId(), 9, "Excelente");
+            resenaService.crearResenha(juan.getId(), civic.getId(), 7, "Bueno");
+            // Reseña que no pasó por el servicio: el resumen del Corolla queda desviado
+            resenaRepository.save(Resena.builder().usuario(maria).auto(corolla).rating(3).comentario("Malo").build());
+            return new Long[]{corolla.getId(), civic.getId(), juan.getId(), maria.getId()};
+        });
+        try {
+            nuevaTransaccion.executeWithoutResult(status -> {
+                ResumenPuntajeAuto civic = resumenPuntajeAutoRepository.findById(ids[1]).orElseThrow();
+                civic.setCantidad(5);
+            });
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            ReconciliacionPuntajesJob job = new ReconciliacionPuntajesJob(resumenPuntajeService, rankingAutos, meterRegistry);
+
+            assertEquals(2, job.reconciliar());
+            assertEquals(2.0, meterRegistry.get(ReconciliacionPuntajesJob.METRICA_DESVIOS).counter().count());
+
+            ResumenPuntajeAuto corolla = resumenPuntajeAutoRepository.findById(ids[0]).orElseThrow();
+            assertEquals(2, corolla.getCantidad());
+            assertEquals(6.0, corolla.getPromedio(), 1e-9);
+            assertEquals(1, corolla.getPuntaje3());
+            assertEquals(1, resumenPuntajeAutoRepository.findById(ids[1]).orElseThrow().getCantidad());
+            // El job reconstruye el ranking con los resúmenes corregidos
+            AutoRankingDTO enRanking = resenaService.autosMejorRanqueados(5, "toyota", null).get(0);
+            assertEquals(ids[0], enRanking.getAutoId());
+            assertEquals(2L, enRanking.getCantidadResenas());
+            assertEquals(0, job.reconciliar());
+        } finally {
+            nuevaTransaccion.executeWithoutResult(status -> {
+                resenaRepository.deleteAll(resenaRepository.findAll().stream()
+                        .filter(r -> r.getAuto().getId().equals(ids[0]) || r.getAuto().getId().equals(ids[1]))
+                        .toList());
+                resumenPuntajeAutoRepository.deleteAllById(List.of(ids[0], ids[1]));
+                autoRepository.deleteAllById(List.of(ids[0], ids[1]));
+                usuarioRepository.deleteAllById(List.of(ids[2], ids[3]));
+            });
+        }
+    }
+
+    private ResumenPuntajeAuto resumen(Long autoId) {
+        entityManager.flush();
+        entityManager.clear();
+        return resumenPuntajeAutoRepository.findById(autoId).orElseThrow();
+    }
+
+    private Auto crearAuto(String marca, String modelo) {
+        return autoRepository.save(Auto.builder().marca(marca).modelo(modelo).anioModelo(2023).build());
+    }
+
+    private UsuarioComprador crearComprador(String email) {
+        UsuarioComprador comprador = new UsuarioComprador();
+        comprador.setEmail(email);
+        comprador.setPassword("password");
+        comprador.setNombre("Nombre");
+        comprador.setApellido("Apellido");
+        comprador.setActivo(true);
+        return usuarioRepository.save(comprador);
+    }
+}
@@ -0,0 +1,274 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.exceptions.ServicioSaturadoException;
+import ar.edu.unq.pdss22025.mapper.CompraMapper;
+import ar.edu.unq.pdss22025.mapper.CompraMapperImpl;
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.dto.CrearCompraRequest;
+import ar.edu.unq.pdss22025.models.dto.SolicitudCompraResponse;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import ar.edu.unq.pdss22025.repositories.CompraRepository;
+import ar.edu.unq.pdss22025.repositories.ConcesionariaRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.SolicitudCompraRepository;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaAutoRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaCompradorRepository;
+import ar.edu.unq.pdss22025.repositories.VentaDiariaConcesionariaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Solicitudes de compra con clave de idempotencia. Cada test arma su propio servicio para controlar la
+ * capacidad de la cola y cuándo arrancan los trabajadores; las compras se commitean de verdad,
+ * por eso los datos se limpian a mano al terminar.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=10000",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({CompraService.class, ReservaStockService.class, StockLedger.class, VentaDiariaService.class, CompraMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SolicitudCompraServiceTest {
+
+    @Autowired
+    private CompraService compraService;
+
+    @Autowired
+    private CompraMapper compraMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SolicitudCompraRepository solicitudCompraRepository;
+
+    @Autowired
+    private CompraRepository compraRepository;
+
+    @Autowired
+    private VentaDiariaAutoRepository ventaDiariaAutoRepository;
+
+    @Autowired
+    private VentaDiariaCompradorRepository ventaDiariaCompradorRepository;
+
+    @Autowired
+    private VentaDiariaConcesionariaRepository ventaDiariaConcesionariaRepository;
+
+    @Autowired
+    private OfertaAutoRepository ofertaAutoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private AutoRepository autoRepository;
+
+    @Autowired
+    private ConcesionariaRepository concesionariaRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SolicitudCompraService service;
+    private UsuarioComprador comprador;
+    private OfertaAuto oferta;
+
+    @BeforeEach
+    void setUp() {
+        service = nuevoServicio(10);
+
+        comprador = new UsuarioComprador();
+        comprador.setEmail("solicitudes@test.com");
+        comprador.setPassword("password");
+        comprador.setNombre("Ana");
+        comprador.setApellido("López");
+        comprador.setActivo(true);
+        comprador = usuarioRepository.save(comprador);
+
+        Concesionaria concesionaria = concesionariaRepository.save(Concesionaria.builder()
+                .nombre("Concesionaria Solicitudes")
+                .cuit("20-88888888-8")
+                .activa(true)
+                .build());
+
+        Auto auto = autoRepository.save(Auto.builder()
+                .marca("Fiat")
+                .modelo("Cronos")
+                .anioModelo(2024)
+                .build());
+
+        oferta = ofertaAutoRepository.save(OfertaAuto.builder()
+                .concesionaria(concesionaria)
+                .auto(auto)
+                .stock(2)
+                .precioActual(new BigDecimal("18000.00"))
+                .moneda("USD")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.detener();
+        solicitudCompraRepository.deleteAll();
+        ventaDiariaAutoRepository.deleteAll();
+        ventaDiariaCompradorRepository.deleteAll();
+        ventaDiariaConcesionariaRepository.deleteAll();
+        compraRepository.deleteAll();
+        ofertaAutoRepository.deleteAll();
+        autoRepository.deleteAll();
+        concesionariaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Reintentar con la misma clave devuelve la misma solicitud y no crea otra compra")
+    void solicitar_MismaClave_DeberiaSerIdempotente() {
+        SolicitudCompraResponse primera = service.solicitar("clave-1", request(null), 0);
+        assertEquals("PENDIENTE", primera.getEstado());
+
+        service.procesar(List.of(primera.getId()));
+        SolicitudCompraResponse reintento = service.solicitar("clave-1", request(null), 0);
+
+        assertEquals(primera.getId(), reintento.getId());
+        assertEquals("COMPLETADA", reintento.getEstado());
+        assertNotNull(reintento.getCompra());
+        assertEquals(1, compraRepository.count());
+        assertEquals(1, solicitudCompraRepository.count());
+        assertEquals(1, ofertaAutoRepository.findById(oferta.getId()).orElseThrow().getStock());
+        assertEquals(1.0, meterRegistry.get("compras.solicitudes.procesadas").tag("estado", "completada").counter().count());
+    }
+
+    @Test
+    @DisplayName("Una clave usada para otro pedido se rechaza")
+    void solicitar_MismaClaveOtroPedido_DeberiaFallar() {
+        service.solicitar("clave-1", request(null), 0);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> service.solicitar("clave-1", request(new BigDecimal("17000.00")), 0));
+        assertTrue(ex.getMessage().contains("no puede reutilizarse"));
+        assertEquals(1, solicitudCompraRepository.count());
+    }
+
+    @Test
+    @DisplayName("Sin clave de idempotencia la solicitud se rechaza")
+    void solicitar_SinClave_DeberiaFallar() {
+        assertThrows(RuntimeException.class, () -> service.solicitar("  ", request(null), 0));
+        assertEquals(0, solicitudCompraRepository.count());
+    }
+
+    @Test
+    @DisplayName("Un lote sobre la misma oferta descuenta el stock una vez y rechaza las que no alcanzan")
+    void procesar_LoteSobreMismaOferta_DeberiaRechazarLasQueExcedenElStock() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(service.solicitar("clave-" + i, request(null), 0).getId());
+        }
+
+        service.procesar(ids);
+
+        assertEquals("COMPLETADA", service.obtener(ids.get(0)).getEstado());
+        assertEquals("COMPLETADA", service.obtener(ids.get(1)).getEstado());
+        SolicitudCompraResponse rechazada = service.obtener(ids.get(2));
+        assertEquals("RECHAZADA", rechazada.getEstado());
+        assertEquals("Oferta sin stock disponible", rechazada.getError());
+        assertEquals("RECHAZADA", service.obtener(ids.get(3)).getEstado());
+        assertEquals(2, compraRepository.count());
+        assertEquals(0, ofertaAutoRepository.findById(oferta.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    @DisplayName("Con la cola llena responde saturado y no guarda el pedido")
+    void solicitar_ColaLlena_DeberiaResponderSaturado() {
+        service = nuevoServicio(1);
+        service.solicitar("clave-1", request(null), 0);
+
+        ServicioSaturadoException ex = assertThrows(ServicioSaturadoException.class,
+                () -> service.solicitar("clave-2", request(null), 0));
+        assertTrue(ex.getReintentarEnSegundos() > 0);
+        assertEquals(1, solicitudCompraRepository.count());
+    }
+
+    @Test
+    @DisplayName("Con los trabajadores activos la espera devuelve la solicitud procesada")
+    void solicitar_ConEspera_DeberiaDevolverElResultado() {
+        service.iniciar();
+
+        SolicitudCompraResponse respuesta = service.solicitar("clave-1", request(null), 10_000);
+
+        assertEquals("COMPLETADA", respuesta.getEstado());
+        assertNotNull(respuesta.getCompra());
+        assertEquals(1, compraRepository.count());
+    }
+
+    @Test
+    @DisplayName("Esperar una solicitud inexistente falla sin dejar la espera registrada")
+    void obtener_ConEsperaYSolicitudInexistente_NoDeberiaDejarEsperas() {
+        assertThrows(EntidadNoEncontradaException.class, () -> service.obtener(999_999L, 1_000));
+
+        assertEquals(0, service.esperasRegistradas());
+    }
+
+    @Test
+    @DisplayName("Una espera vencida devuelve la solicitud pendiente y no queda registrada")
+    void obtener_EsperaVencida_NoDeberiaDejarEsperas() {
+        Long id = service.solicitar("clave-1", request(null), 0).getId();
+
+        assertEquals("PENDIENTE", service.obtener(id, 50).getEstado());
+        assertEquals(0, service.esperasRegistradas());
+    }
+
+    @Test
+    @DisplayName("El barrido retoma las solicitudes pendientes que no estaban en la cola")
+    void iniciar_ConPendientesGuardadas_DeberiaProcesarlas() {
+        Long id = service.solicitar("clave-1", request(null), 0).getId();
+
+        // Otro servicio, como después de un reinicio: la solicitud sólo está en la base
+        service = nuevoServicio(10);
+        service.iniciar();
+
+        assertEquals("COMPLETADA", service.obtener(id, 10_000).getEstado());
+    }
+
+    private SolicitudCompraService nuevoServicio(int capacidadCola) {
+        if (service != null) {
+            service.detener();
+        }
+        return new SolicitudCompraService(solicitudCompraRepository, usuarioRepository, compraService, compraMapper,
+                entityManager, transactionManager, meterRegistry, 1, 10, capacidadCola, false);
+    }
+
+    private CrearCompraRequest request(BigDecimal precio) {
+        CrearCompraRequest request = new CrearCompraRequest();
+        request.setOfertaId(oferta.getId());
+        request.setCompradorId(comprador.getId());
+        request.setPrecioCerrado(precio);
+        return request;
+    }
+}
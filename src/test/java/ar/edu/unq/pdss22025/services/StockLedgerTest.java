@@ -0,0 +1,34 @@
+package ar.edu.unq.pdss22025.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockLedgerTest {
+
+    @Test
+    @DisplayName("La marca de agotada vence y la oferta vuelve a consultarse en la base")
+    void estaAgotada_MarcaVencida_DeberiaDevolverFalse() throws InterruptedException {
+        StockLedger ledger = new StockLedger(Duration.ofMillis(500));
+        ledger.marcarAgotada(1L);
+        assertTrue(ledger.estaAgotada(1L));
+
+        Thread.sleep(600);
+
+        assertFalse(ledger.estaAgotada(1L));
+    }
+
+    @Test
+    @DisplayName("Liberar quita la marca antes de que venza")
+    void liberar_DeberiaQuitarLaMarca() {
+        StockLedger ledger = new StockLedger(Duration.ofMinutes(1));
+        ledger.marcarAgotada(1L);
+
+        ledger.liberar(1L);
+
+        assertFalse(ledger.estaAgotada(1L));
+    }
+}
@@ -0,0 +1,68 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.models.usuario.EstadoUsuario;
+import ar.edu.unq.pdss22025.models.usuario.Rol;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioAutenticado;
+import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsuarioDetailsServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private EstadoUsuarioCache estadoUsuarioCache;
+
+    @InjectMocks
+    private UsuarioDetailsService usuarioDetailsService;
+
+    private TokenVerificado token(Long userId, Rol rol) {
+        return new TokenVerificado("usuario@test.com", userId, rol, Instant.now().plusSeconds(60));
+    }
+
+    @Test
+    @DisplayName("El principal se arma con los claims del token sin cargar la entidad")
+    void cargarDesdeToken_UsuarioActivo_DeberiaArmarPrincipal() {
+        when(estadoUsuarioCache.obtener(5L)).thenReturn(Optional.of(new EstadoUsuario(5L, true, 9L)));
+
+        Optional<UserDetails> resultado = usuarioDetailsService.cargarDesdeToken(token(5L, Rol.CONCESIONARIA));
+
+        assertTrue(resultado.isPresent());
+        UsuarioAutenticado principal = assertInstanceOf(UsuarioAutenticado.class, resultado.get());
+        assertEquals(5L, principal.getId());
+        assertEquals("usuario@test.com", principal.getUsername());
+        assertEquals(9L, principal.getConcesionariaId());
+        assertEquals("ROLE_CONCESIONARIA", principal.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    @DisplayName("Un usuario inactivo no se autentica")
+    void cargarDesdeToken_UsuarioInactivo_DeberiaRetornarVacio() {
+        when(estadoUsuarioCache.obtener(5L)).thenReturn(Optional.of(new EstadoUsuario(5L, false, null)));
+
+        assertTrue(usuarioDetailsService.cargarDesdeToken(token(5L, Rol.COMPRADOR)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un usuario inexistente no se autentica")
+    void cargarDesdeToken_UsuarioInexistente_DeberiaRetornarVacio() {
+        when(estadoUsuarioCache.obtener(5L)).thenReturn(Optional.empty());
+
+        assertTrue(usuarioDetailsService.cargarDesdeToken(token(5L, Rol.COMPRADOR)).isEmpty());
+    }
+}
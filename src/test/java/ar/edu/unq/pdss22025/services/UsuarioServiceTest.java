@@ -1,11 +1,16 @@
 package ar.edu.unq.pdss22025.services;
 
 import ar.edu.unq.pdss22025.exceptions.CredencialesInvalidasException;
+import ar.edu.unq.pdss22025.exceptions.EntidadNoEncontradaException;
+import ar.edu.unq.pdss22025.models.usuario.Rol;
 import ar.edu.unq.pdss22025.models.usuario.Usuario;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioAdmin;
+import ar.edu.unq.pdss22025.models.usuario.UsuarioAutenticado;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioComprador;
 import ar.edu.unq.pdss22025.models.usuario.UsuarioConcesionaria;
 import ar.edu.unq.pdss22025.repositories.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,7 +40,7 @@ import static org.mockito.Mockito.*;
         "spring.flyway.enabled=false",
         "spring.jpa.hibernate.ddl-auto=create-drop"
 })
-@Import({UsuarioService.class, UsuarioServiceTest.TestConfig.class})
+@Import({UsuarioService.class, EstadoUsuarioCache.class, VerificadorPasswords.class, UsuarioServiceTest.TestConfig.class})
 class UsuarioServiceTest {
 
     @TestConfiguration
@@ -44,6 +49,11 @@ class UsuarioServiceTest {
         public PasswordEncoder passwordEncoder() {
             return new BCryptPasswordEncoder();
         }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
     }
 
     @Autowired
@@ -55,6 +65,9 @@ class UsuarioServiceTest {
     @Autowired
     private TestEntityManager entityManager;
 
+    @Autowired
+    private EstadoUsuarioCache estadoUsuarioCache;
+
     @BeforeEach
     void setUp() {
         entityManager.clear();
@@ -382,6 +395,44 @@ class UsuarioServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Autenticar con un hash de costo menor al configurado lo regenera")
+    void autenticar_HashConCostoMenor_DeberiaRegenerarHash() {
+        // Arrange - Usuario con un hash generado con costo 4 (el configurado es 10)
+        UsuarioComprador usuario = new UsuarioComprador();
+        usuario.setEmail("costo@test.com");
+        usuario.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        usuario.setNombre("Juan");
+        usuario.setApellido("Pérez");
+        usuario.setActivo(true);
+        entityManager.persistAndFlush(usuario);
+
+        // Act
+        usuarioService.autenticar("costo@test.com", "password123");
+
+        // Assert
+        entityManager.clear();
+        String hash = usuarioRepository.findByEmail("costo@test.com").orElseThrow().getPassword();
+        assertTrue(hash.startsWith("$2a$10$"));
+        assertTrue(new BCryptPasswordEncoder().matches("password123", hash));
+        assertEquals(usuario.getId(), usuarioService.autenticar("costo@test.com", "password123").getId());
+    }
+
+    @Test
+    @DisplayName("Autenticar con un hash del costo configurado no lo modifica")
+    void autenticar_HashConCostoActual_NoDeberiaRegenerarHash() {
+        // Arrange
+        Usuario usuario = usuarioService.crearUsuario("vigente@test.com", "password123", "Juan", "Pérez", "COMPRADOR");
+        String hashOriginal = usuario.getPassword();
+
+        // Act
+        usuarioService.autenticar("vigente@test.com", "password123");
+
+        // Assert
+        entityManager.clear();
+        assertEquals(hashOriginal, usuarioRepository.findByEmail("vigente@test.com").orElseThrow().getPassword());
+    }
+
 
     // ========== Tests para obtenerUsuariosConFiltros ==========
 
@@ -597,5 +648,82 @@ class UsuarioServiceTest {
         // Cleanup
         SecurityContextHolder.clearContext();
     }
-}
 
+    @Test
+    @DisplayName("Obtener usuario autenticado desde el principal armado con el token")
+    void obtenerUsuarioAutenticado_PrincipalDelToken_DeberiaBuscarPorId() {
+        // Arrange
+        Usuario usuarioCreado = usuarioService.crearUsuario("token@test.com", "password123", "Ana", "Gómez", "COMPRADOR");
+        UsuarioAutenticado principal = new UsuarioAutenticado(usuarioCreado.getId(), "token@test.com", Rol.COMPRADOR, null);
+
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(principal);
+
+        // Act
+        Optional<Usuario> resultado = usuarioService.obtenerUsuarioAutenticado();
+
+        // Assert
+        assertTrue(resultado.isPresent());
+        assertEquals(usuarioCreado.getId(), resultado.get().getId());
+
+        // Cleanup
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Obtener el id del usuario autenticado desde la caché de estados, sin consultar la base")
+    void obtenerIdUsuarioAutenticado_PrincipalDelToken_DeberiaUsarLaCache() {
+        // Arrange
+        Usuario usuarioCreado = usuarioService.crearUsuario("cache@test.com", "password123", "Ana", "Gómez", "COMPRADOR");
+        assertTrue(estadoUsuarioCache.obtener(usuarioCreado.getId()).isPresent());
+        // Borrado por fuera del servicio: la caché sigue respondiendo hasta que vence
+        usuarioRepository.deleteById(usuarioCreado.getId());
+        entityManager.flush();
+        UsuarioAutenticado principal = new UsuarioAutenticado(usuarioCreado.getId(), "cache@test.com", Rol.COMPRADOR, null);
+
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(principal);
+
+        // Act
+        Optional<Long> resultado = usuarioService.obtenerIdUsuarioAutenticado();
+
+        // Assert
+        assertEquals(Optional.of(usuarioCreado.getId()), resultado);
+        assertTrue(usuarioService.obtenerUsuarioAutenticado().isEmpty());
+
+        // Cleanup
+        SecurityContextHolder.clearContext();
+    }
+
+    // ========== Tests para cambiarEstado ==========
+
+    @Test
+    @DisplayName("Desactivar usuario invalida su estado cacheado")
+    void cambiarEstado_Desactivar_DeberiaInvalidarEstadoCacheado() {
+        // Arrange
+        Usuario usuario = usuarioService.crearUsuario("activo@test.com", "password123", "Luis", "Díaz", "COMPRADOR");
+        assertTrue(estadoUsuarioCache.obtener(usuario.getId()).orElseThrow().activo());
+
+        // Act
+        Usuario resultado = usuarioService.cambiarEstado(usuario.getId(), false);
+        entityManager.flush();
+
+        // Assert
+        assertFalse(resultado.getActivo());
+        assertFalse(estadoUsuarioCache.obtener(usuario.getId()).orElseThrow().activo());
+    }
+
+    @Test
+    @DisplayName("Cambiar estado de un usuario inexistente lanza excepción")
+    void cambiarEstado_UsuarioInexistente_DeberiaLanzarExcepcion() {
+        assertThrows(EntidadNoEncontradaException.class, () -> usuarioService.cambiarEstado(999L, false));
+    }
+}
@@ -0,0 +1,91 @@
+package ar.edu.unq.pdss22025.services;
+
+import ar.edu.unq.pdss22025.exceptions.ServicioSaturadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificadorPasswordsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VerificadorPasswords verificador;
+
+    @AfterEach
+    void tearDown() {
+        if (verificador != null) {
+            verificador.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("Verifica y codifica con el encoder y registra la duración del hash")
+    void coincide_DeberiaVerificarEnElPool() {
+        verificador = new VerificadorPasswords(new BCryptPasswordEncoder(4), meterRegistry, 1, 4);
+
+        String hash = verificador.codificar("password123");
+
+        assertTrue(verificador.coincide("password123", hash));
+        assertFalse(verificador.coincide("otra", hash));
+        assertEquals(2, meterRegistry.get(VerificadorPasswords.METRICA_HASH).tag("operacion", "verificar").timer().count());
+        assertEquals(1, meterRegistry.get(VerificadorPasswords.METRICA_HASH).tag("operacion", "codificar").timer().count());
+        assertEquals(3, meterRegistry.get(VerificadorPasswords.METRICA_ESPERA).timer().count());
+    }
+
+    @Test
+    @DisplayName("Con el hilo ocupado y la cola llena rechaza enseguida")
+    void coincide_ColaLlena_DeberiaRechazar() throws Exception {
+        CountDownLatch ocupado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        PasswordEncoder lento = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                ocupado.countDown();
+                try {
+                    liberar.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        verificador = new VerificadorPasswords(lento, meterRegistry, 1, 1);
+
+        CompletableFuture<Boolean> enCurso = CompletableFuture.supplyAsync(() -> verificador.coincide("a", "a"));
+        assertTrue(ocupado.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> encolado = CompletableFuture.supplyAsync(() -> verificador.coincide("b", "b"));
+        while (meterRegistry.get(VerificadorPasswords.METRICA_EN_COLA).gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        ServicioSaturadoException ex = assertThrows(ServicioSaturadoException.class, () -> verificador.coincide("c", "c"));
+        assertTrue(ex.getReintentarEnSegundos() > 0);
+        assertEquals(1.0, meterRegistry.get(VerificadorPasswords.METRICA_RECHAZADOS).counter().count());
+
+        liberar.countDown();
+        assertTrue(enCurso.get(10, TimeUnit.SECONDS));
+        assertTrue(encolado.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Pide regenerar los hashes de costo menor al configurado")
+    void requiereRehash_DeberiaCompararElCosto() {
+        verificador = new VerificadorPasswords(new BCryptPasswordEncoder(5), meterRegistry, 1, 1);
+
+        assertTrue(verificador.requiereRehash(new BCryptPasswordEncoder(4).encode("password123")));
+        assertFalse(verificador.requiereRehash(new BCryptPasswordEncoder(5).encode("password123")));
+    }
+}
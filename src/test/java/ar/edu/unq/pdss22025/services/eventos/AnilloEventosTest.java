@@ -0,0 +1,109 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnilloEventosTest {
+
+    @Test
+    @DisplayName("Cada lector recibe todos los eventos en orden y en lotes de hasta el máximo pedido")
+    void lectores_recibenTodosEnOrden() {
+        AnilloEventos anillo = new AnilloEventos(8, 2);
+        for (long i = 1; i <= 5; i++) {
+            assertTrue(anillo.publicar(new OfertaCreada(i), 0));
+        }
+
+        List<EventoDominio> lote = new ArrayList<>();
+        anillo.lector(0).tomar(lote, 3);
+        assertEquals(List.of(new OfertaCreada(1L), new OfertaCreada(2L), new OfertaCreada(3L)), lote);
+        anillo.lector(0).confirmar(lote.size());
+        assertEquals(2, anillo.lector(0).pendientes());
+        assertEquals(5, anillo.lector(1).pendientes());
+
+        lote.clear();
+        anillo.lector(0).tomar(lote, 10);
+        assertEquals(List.of(new OfertaCreada(4L), new OfertaCreada(5L)), lote);
+
+        lote.clear();
+        anillo.lector(1).tomar(lote, 10);
+        assertEquals(5, lote.size());
+    }
+
+    @Test
+    @DisplayName("Con el anillo lleno publicar espera al lector más atrasado y descarta al vencer la espera")
+    void anilloLleno_descartaAlVencerLaEspera() {
+        AnilloEventos anillo = new AnilloEventos(4, 2);
+        for (long i = 1; i <= 4; i++) {
+            assertTrue(anillo.publicar(new OfertaCreada(i), 0));
+        }
+        List<EventoDominio> lote = new ArrayList<>();
+        anillo.lector(0).tomar(lote, 4);
+        anillo.lector(0).confirmar(4);
+
+        // El segundo lector todavía retiene los cuatro casilleros
+        assertFalse(anillo.publicar(new OfertaCreada(5L), TimeUnit.MILLISECONDS.toNanos(20)));
+
+        anillo.lector(1).confirmar(1);
+        assertTrue(anillo.publicar(new OfertaCreada(5L), 0));
+        lote.clear();
+        anillo.lector(0).tomar(lote, 4);
+        assertEquals(List.of(new OfertaCreada(5L)), lote);
+    }
+
+    @Test
+    @DisplayName("Con varios productores no se pierden ni se repiten eventos y cada productor conserva su orden")
+    void variosProductores_conservanElOrdenDeCadaUno() throws Exception {
+        int productores = 4;
+        int porProductor = 20_000;
+        AnilloEventos anillo = new AnilloEventos(256, 1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(productores);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int p = 0; p < productores; p++) {
+            long productor = p;
+            tareas.add(ejecutor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < porProductor; i++) {
+                    assertTrue(anillo.publicar(new StockDescontado(productor, i), TimeUnit.SECONDS.toNanos(10)));
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        Map<Long, Integer> siguiente = new HashMap<>();
+        List<EventoDominio> lote = new ArrayList<>();
+        int recibidos = 0;
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (recibidos < productores * porProductor && System.nanoTime() < limite) {
+            anillo.lector(0).tomar(lote, 64);
+            for (EventoDominio evento : lote) {
+                StockDescontado descontado = (StockDescontado) evento;
+                assertEquals(siguiente.getOrDefault(descontado.ofertaId(), 0), descontado.cantidad());
+                siguiente.put(descontado.ofertaId(), descontado.cantidad() + 1);
+            }
+            anillo.lector(0).confirmar(lote.size());
+            recibidos += lote.size();
+            lote.clear();
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get(10, TimeUnit.SECONDS);
+        }
+        ejecutor.shutdown();
+
+        assertEquals(productores * porProductor, recibidos);
+        assertEquals(0, anillo.lector(0).pendientes());
+    }
+}
@@ -0,0 +1,160 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusEventosTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<EventoDominio> recibidos = new CopyOnWriteArrayList<>();
+    private BusEventos bus;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (bus != null) {
+            bus.detener();
+        }
+    }
+
+    private BusEventos crearBus(int capacidad, ConsumidorEventos... consumidores) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        for (ConsumidorEventos consumidor : consumidores) {
+            beans.addBean(consumidor.nombre(), consumidor);
+        }
+        return new BusEventos(beans.getBeanProvider(ConsumidorEventos.class), meterRegistry, capacidad, 16, 10, false);
+    }
+
+    private ConsumidorEventos registrador() {
+        return new ConsumidorEventos() {
+            @Override
+            public String nombre() {
+                return "registrador";
+            }
+
+            @Override
+            public void procesar(List<EventoDominio> lote) {
+                recibidos.addAll(lote);
+            }
+        };
+    }
+
+    private void esperarProcesados(String consumidor, double cantidad) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.get(BusEventos.METRICA_PROCESADOS).tag("consumidor", consumidor).counter().count() < cantidad
+                && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción los eventos se entregan recién al confirmarla y en orden")
+    void transaccion_entregaAlConfirmar() throws Exception {
+        bus = crearBus(64, registrador());
+        bus.iniciar();
+
+        TransactionSynchronizationManager.initSynchronization();
+        bus.alPublicar(new OfertaCreada(1L));
+        bus.alPublicar(new StockDescontado(1L, 2));
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        Thread.sleep(50);
+        assertTrue(recibidos.isEmpty());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clearSynchronization();
+        esperarProcesados("registrador", 2);
+
+        assertEquals(List.of(new OfertaCreada(1L), new StockDescontado(1L, 2)), recibidos);
+        assertEquals(1.0, meterRegistry.get(BusEventos.METRICA_PUBLICADOS).tag("tipo", "OfertaCreada").counter().count());
+        assertEquals(0.0, meterRegistry.get(BusEventos.METRICA_PENDIENTES).tag("consumidor", "registrador").gauge().value());
+        assertTrue(meterRegistry.get(BusEventos.METRICA_DEMORA).tag("consumidor", "registrador").timer().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Si la transacción se revierte los eventos no se publican")
+    void transaccionRevertida_noPublica() throws Exception {
+        bus = crearBus(64, registrador());
+        bus.iniciar();
+
+        TransactionSynchronizationManager.initSynchronization();
+        bus.alPublicar(new FavoritoAgregado(1L, 2L));
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(sincronizaciones, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        bus.alPublicar(new FavoritoEliminado(1L, 2L));
+        esperarProcesados("registrador", 1);
+
+        assertEquals(List.of(new FavoritoEliminado(1L, 2L)), recibidos);
+    }
+
+    @Test
+    @DisplayName("Un consumidor que falla no frena a los demás y los eventos del lote se cuentan como perdidos")
+    void consumidorQueFalla_noFrenaALosDemas() throws Exception {
+        ConsumidorEventos roto = new ConsumidorEventos() {
+            @Override
+            public String nombre() {
+                return "roto";
+            }
+
+            @Override
+            public void procesar(List<EventoDominio> lote) {
+                throw new IllegalStateException("falla");
+            }
+        };
+        bus = crearBus(64, roto, registrador());
+        bus.iniciar();
+
+        for (long i = 1; i <= 3; i++) {
+            bus.alPublicar(new OfertaCreada(i));
+        }
+        esperarProcesados("roto", 3);
+        esperarProcesados("registrador", 3);
+
+        assertEquals(3, recibidos.size());
+        assertTrue(meterRegistry.get(BusEventos.METRICA_ERRORES).tag("consumidor", "roto").counter().count() >= 1);
+        assertEquals(3.0, meterRegistry.get(BusEventos.METRICA_PERDIDOS).tag("consumidor", "roto").counter().count());
+        assertEquals(0.0, meterRegistry.get(BusEventos.METRICA_PERDIDOS).tag("consumidor", "registrador").counter().count());
+        assertEquals(0.0, meterRegistry.get(BusEventos.METRICA_PENDIENTES).tag("consumidor", "roto").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Sin consumidores iniciados el anillo se llena y los eventos siguientes se descartan")
+    void anilloLleno_descarta() {
+        bus = crearBus(4, registrador());
+
+        for (long i = 1; i <= 5; i++) {
+            bus.alPublicar(new OfertaCreada(i));
+        }
+
+        assertEquals(1.0, meterRegistry.get(BusEventos.METRICA_DESCARTADOS).counter().count());
+        assertEquals(4.0, meterRegistry.get(BusEventos.METRICA_PENDIENTES).tag("consumidor", "registrador").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Los eventos publicados después de detener el bus se descartan")
+    void detenido_descarta() {
+        bus = crearBus(4, registrador());
+        bus.iniciar();
+        bus.detener();
+
+        assertFalse(bus.publicar(new OfertaCreada(1L)));
+
+        assertEquals(1.0, meterRegistry.get(BusEventos.METRICA_DESCARTADOS).counter().count());
+        assertEquals(0.0, meterRegistry.get(BusEventos.METRICA_PENDIENTES).tag("consumidor", "registrador").gauge().value());
+    }
+}
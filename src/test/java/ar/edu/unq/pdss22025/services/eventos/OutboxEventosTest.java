@@ -0,0 +1,186 @@
+package ar.edu.unq.pdss22025.services.eventos;
+
+import ar.edu.unq.pdss22025.repositories.EventoOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Outbox de eventos sobre H2. Las transacciones se confirman de verdad (como las de los relays), por eso
+ * la tabla se limpia a mano al terminar.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxEventosTest {
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<EventoDominio> recibidos = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        eventoOutboxRepository.deleteAll();
+    }
+
+    private OutboxEventos outbox(int tamanioLote, ConsumidorOutbox... consumidores) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        for (ConsumidorOutbox consumidor : consumidores) {
+            beans.addBean(consumidor.nombre(), consumidor);
+        }
+        return new OutboxEventos(eventoOutboxRepository, beans.getBeanProvider(ConsumidorOutbox.class), new ObjectMapper(),
+                transactionManager, meterRegistry, 1, tamanioLote, 100, 2, false);
+    }
+
+    @SafeVarargs
+    private ConsumidorOutbox registrador(Class<? extends EventoDominio>... tipos) {
+        return new ConsumidorOutbox() {
+            @Override
+            public String nombre() {
+                return "registrador";
+            }
+
+            @Override
+            public Set<Class<? extends EventoDominio>> tipos() {
+                return Set.of(tipos);
+            }
+
+            @Override
+            public void procesar(List<EventoDominio> lote) {
+                recibidos.addAll(lote);
+            }
+        };
+    }
+
+    private double metrica(String nombre) {
+        return meterRegistry.get(nombre).counter().count();
+    }
+
+    @Test
+    @DisplayName("Los eventos se guardan con la transacción que los publica y no si se revierte")
+    void alPublicar_guardaConLaTransaccion() {
+        OutboxEventos outbox = outbox(10, registrador(CompraCreada.class, OfertasImportadas.class, FavoritoAgregado.class));
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+        transaccion.executeWithoutResult(status -> {
+            outbox.alPublicar(new CompraCreada(1L, 2L, 3L, 1, new BigDecimal("25000.00")));
+            outbox.alPublicar(new OfertasImportadas(List.of(4L, 5L)));
+        });
+        transaccion.executeWithoutResult(status -> {
+            outbox.alPublicar(new FavoritoAgregado(3L, 2L));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(2, eventoOutboxRepository.count());
+        outbox.contarPendientes();
+        assertEquals(2.0, meterRegistry.get(OutboxEventos.METRICA_PENDIENTES).gauge().value());
+        assertEquals(1.0, meterRegistry.get(OutboxEventos.METRICA_ESCRITOS).tag("tipo", "CompraCreada").counter().count());
+    }
+
+    @Test
+    @DisplayName("Los tipos de evento que ningún consumidor procesa no se guardan")
+    void alPublicar_sinConsumidorDelTipo_noGuarda() {
+        OutboxEventos outbox = outbox(10, registrador(CompraCreada.class));
+
+        outbox.alPublicar(new OfertaCreada(1L));
+        outbox.alPublicar(new FavoritoAgregado(3L, 2L));
+        outbox.alPublicar(new CompraCreada(1L, 2L, 3L, 1, new BigDecimal("25000.00")));
+
+        assertEquals(1, eventoOutboxRepository.count());
+        assertEquals(1, outbox.relevar());
+        assertEquals(List.of(new CompraCreada(1L, 2L, 3L, 1, new BigDecimal("25000.00"))), recibidos);
+    }
+
+    @Test
+    @DisplayName("El relay entrega los eventos en lotes, en orden, y los borra")
+    void relevar_entregaEnLotesYBorra() {
+        OutboxEventos outbox = outbox(2, registrador(OfertaCreada.class));
+        for (long i = 1; i <= 3; i++) {
+            outbox.alPublicar(new OfertaCreada(i));
+        }
+
+        assertEquals(2, outbox.relevar());
+        assertEquals(1, outbox.relevar());
+        assertEquals(0, outbox.relevar());
+
+        assertEquals(List.of(new OfertaCreada(1L), new OfertaCreada(2L), new OfertaCreada(3L)), recibidos);
+        assertEquals(0, eventoOutboxRepository.count());
+        assertEquals(3.0, metrica(OutboxEventos.METRICA_ENTREGADOS));
+        assertEquals(2, meterRegistry.get(OutboxEventos.METRICA_LOTE).summary().count());
+        assertEquals(3, meterRegistry.get(OutboxEventos.METRICA_DEMORA).timer().count());
+    }
+
+    @Test
+    @DisplayName("Si un evento falla se entregan los demás y, agotados los intentos, deja de entregarse")
+    void relevar_eventoQueFalla_quedaParaRevisar() {
+        List<EventoDominio> confirmados = new ArrayList<>();
+        ConsumidorOutbox quisquilloso = new ConsumidorOutbox() {
+            @Override
+            public String nombre() {
+                return "quisquilloso";
+            }
+
+            @Override
+            public Set<Class<? extends EventoDominio>> tipos() {
+                return Set.of(StockDescontado.class);
+            }
+
+            @Override
+            public void procesar(List<EventoDominio> lote) {
+                if (lote.contains(new StockDescontado(2L, 1))) {
+                    throw new IllegalStateException("no se puede procesar");
+                }
+                confirmados.addAll(lote);
+            }
+        };
+        OutboxEventos outbox = outbox(10, quisquilloso);
+        outbox.alPublicar(new StockDescontado(1L, 1));
+        outbox.alPublicar(new StockDescontado(2L, 1));
+        outbox.alPublicar(new StockDescontado(3L, 1));
+
+        assertEquals(3, outbox.relevar());
+        assertEquals(List.of(new StockDescontado(1L, 1), new StockDescontado(3L, 1)), confirmados);
+        assertEquals(1, eventoOutboxRepository.count());
+        assertEquals(0.0, metrica(OutboxEventos.METRICA_FALLIDOS));
+        // El lote y después el evento solo: los dos errores son del consumidor, ninguno del relay
+        assertEquals(2.0, meterRegistry.get(OutboxEventos.METRICA_ERRORES).tag("consumidor", "quisquilloso").counter().count());
+        assertEquals(0.0, meterRegistry.get(OutboxEventos.METRICA_ERRORES)
+                .tag("consumidor", OutboxEventos.SIN_CONSUMIDOR).counter().count());
+
+        assertEquals(1, outbox.relevar());
+        assertEquals(1.0, metrica(OutboxEventos.METRICA_FALLIDOS));
+        assertEquals(0, outbox.relevar());
+        outbox.contarPendientes();
+        assertEquals(0.0, meterRegistry.get(OutboxEventos.METRICA_PENDIENTES).gauge().value());
+        assertEquals(1, eventoOutboxRepository.count());
+        assertEquals(2.0, meterRegistry.get(OutboxEventos.METRICA_ENTREGADOS).tag("consumidor", "quisquilloso").counter().count());
+    }
+}
@@ -0,0 +1,102 @@
+package ar.edu.unq.pdss22025.services.exportacion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EscritoresReporteTest {
+
+    private static final List<String> COLUMNAS = List.of("ID", "Nombre", "Total");
+
+    @Test
+    @DisplayName("CSV escapa comas, comillas y saltos de línea y neutraliza fórmulas")
+    void csv_EscapaCeldas() {
+        assertEquals("simple", EscritorCsv.celda("simple"));
+        assertEquals("\"a,b\"", EscritorCsv.celda("a,b"));
+        assertEquals("\"dice \"\"hola\"\"\"", EscritorCsv.celda("dice \"hola\""));
+        assertEquals("\"dos\nlineas\"", EscritorCsv.celda("dos\nlineas"));
+        assertEquals("'=SUMA(A1)", EscritorCsv.celda("=SUMA(A1)"));
+        assertEquals("-5", EscritorCsv.celda(-5L));
+        assertEquals("10.50", EscritorCsv.celda(new BigDecimal("10.50")));
+        assertEquals("", EscritorCsv.celda(null));
+    }
+
+    @Test
+    @DisplayName("XLSX continúa en una hoja nueva al llegar al límite de filas")
+    void xlsx_AlLlegarAlLimite_AbreOtraHoja() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        EscritorXlsx escritor = new EscritorXlsx(salida, 3);
+        escritor.encabezado("Reporte <prueba>", COLUMNAS);
+        for (int i = 0; i < 5; i++) {
+            escritor.fila(new Object[]{i, "Fila & " + i, new BigDecimal("1.5")});
+        }
+        escritor.finalizar();
+
+        List<String> nombres = new ArrayList<>();
+        String workbook = null;
+        String hoja1 = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(salida.toByteArray()))) {
+            ZipEntry entrada;
+            while ((entrada = zip.getNextEntry()) != null) {
+                nombres.add(entrada.getName());
+                String contenido = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                if (entrada.getName().equals("xl/workbook.xml")) {
+                    workbook = contenido;
+                } else if (entrada.getName().equals("xl/worksheets/sheet1.xml")) {
+                    hoja1 = contenido;
+                }
+            }
+        }
+
+        // 3 filas por hoja incluyendo el encabezado: 2 + 2 + 1 filas de datos
+        assertTrue(nombres.containsAll(List.of("xl/worksheets/sheet1.xml", "xl/worksheets/sheet2.xml", "xl/worksheets/sheet3.xml")));
+        assertFalse(nombres.contains("xl/worksheets/sheet4.xml"));
+        assertTrue(workbook.contains("name=\"Reporte &lt;prueba&gt; (3)\""));
+        assertTrue(hoja1.contains("<t>Fila &amp; 0</t>"));
+        assertTrue(hoja1.contains("<c><v>1.5</v></c>"));
+    }
+
+    @Test
+    @DisplayName("PDF reparte las filas en varias páginas repitiendo el encabezado")
+    void pdf_MuchasFilas_GeneraVariasPaginas() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        EscritorPdf escritor = new EscritorPdf(salida);
+        escritor.encabezado("Reporte", COLUMNAS);
+        int filas = EscritorPdf.LINEAS_POR_PAGINA * 2;
+        for (int i = 0; i < filas; i++) {
+            escritor.fila(new Object[]{i, "Nombre (" + i + ")", i * 10});
+        }
+        escritor.finalizar();
+
+        String pdf = new String(salida.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.contains("/Count 3"));
+        assertEquals(3, pdf.split("\\(Reporte\\) Tj", -1).length - 1);
+        assertTrue(pdf.contains("Nombre \\(0\\)"));
+        int startxref = Integer.parseInt(pdf.substring(pdf.lastIndexOf("startxref\n") + 10, pdf.lastIndexOf("\n%%EOF")).trim());
+        assertTrue(pdf.startsWith("xref", startxref));
+    }
+
+    @Test
+    @DisplayName("PDF sin filas genera igualmente una página")
+    void pdf_SinFilas_GeneraUnaPagina() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        EscritorPdf escritor = new EscritorPdf(salida);
+        escritor.encabezado("Vacío", COLUMNAS);
+        escritor.finalizar();
+
+        String pdf = new String(salida.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.contains("/Count 1"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+    }
+}
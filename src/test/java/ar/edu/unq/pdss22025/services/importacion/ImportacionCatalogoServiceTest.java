@@ -0,0 +1,273 @@
+package ar.edu.unq.pdss22025.services.importacion;
+
+import ar.edu.unq.pdss22025.config.CacheConfig;
+import ar.edu.unq.pdss22025.mapper.AutoMapperImpl;
+import ar.edu.unq.pdss22025.models.Auto;
+import ar.edu.unq.pdss22025.models.Concesionaria;
+import ar.edu.unq.pdss22025.models.OfertaAuto;
+import ar.edu.unq.pdss22025.models.dto.ErrorFilaImportacionResponse;
+import ar.edu.unq.pdss22025.models.dto.FormatoImportacion;
+import ar.edu.unq.pdss22025.models.dto.ImportacionCatalogoResponse;
+import ar.edu.unq.pdss22025.repositories.AutoRepository;
+import ar.edu.unq.pdss22025.repositories.ConcesionariaRepository;
+import ar.edu.unq.pdss22025.repositories.OfertaAutoRepository;
+import ar.edu.unq.pdss22025.services.AutoService;
+import ar.edu.unq.pdss22025.services.IndiceAutos;
+import ar.edu.unq.pdss22025.services.StockLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Importación masiva del catálogo: deduplicación de autos, alta y actualización de ofertas, errores por fila
+ * y reintento fila por fila de un lote que falla. Corre sin la transacción del test, porque cada lote se
+ * confirma en su propia transacción; los datos se borran al terminar cada test.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ImportacionCatalogoService.class, AutoService.class, IndiceAutos.class, CacheConfig.class, StockLedger.class, AutoMapperImpl.class})
+class ImportacionCatalogoServiceTest {
+
+    private static final String ENCABEZADO = "marca,modelo,anio_modelo,concesionaria_id,stock,precio,moneda\n";
+
+    @Autowired
+    private ImportacionCatalogoService importacionCatalogoService;
+
+    @Autowired
+    private AutoService autoService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private AutoRepository autoRepository;
+
+    @Autowired
+    private OfertaAutoRepository ofertaAutoRepository;
+
+    @Autowired
+    private ConcesionariaRepository concesionariaRepository;
+
+    private Concesionaria norte;
+    private Concesionaria sur;
+
+    @BeforeEach
+    void setUp() {
+        norte = concesionariaRepository.save(Concesionaria.builder().nombre("Norte").cuit("20-1").build());
+        sur = concesionariaRepository.save(Concesionaria.builder().nombre("Sur").cuit("20-2").build());
+    }
+
+    @AfterEach
+    void limpiar() {
+        ofertaAutoRepository.deleteAll();
+        autoRepository.deleteAll();
+        concesionariaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deduplica autos contra la base y dentro del archivo, y crea o actualiza la oferta de cada concesionaria")
+    void importar_DeduplicaAutosYHaceUpsertDeOfertas() throws IOException {
+        Auto corolla = autoRepository.save(Auto.builder().marca("Toyota").modelo("Corolla").anioModelo(2020).build());
+        OfertaAuto existente = ofertaAutoRepository.save(OfertaAuto.builder().concesionaria(norte).auto(corolla)
+                .stock(0).precioActual(new BigDecimal("20000")).moneda("USD").build());
+        stockLedger.marcarAgotada(existente.getId());
+        autoService.listarAutos();
+
+        String csv = ENCABEZADO
+                + "TOYOTA,corolla,2020," + norte.getId() + ",4,21000.00,USD\n"
+                + "Toyota,Corolla,2020," + sur.getId() + ",2,20500,USD\n"
+                + "Ford,Ka,2019,,,,\n"
+                + "ford,KA,2019," + norte.getId() + ",1,9000,ARS\n"
+                + "Ford,Ka,2019," + norte.getId() + ",3,9500,ARS\n"
+                + "Fiat,Cronos,2022,999999,1,15000,ARS\n"
+                + "Fiat,Cronos,2022,,,,\n";
+
+        ImportacionCatalogoResponse resultado = importar(FormatoImportacion.CSV, csv, 2);
+
+        assertEquals("FINALIZADA", resultado.getEstado());
+        assertEquals(7, resultado.getFilasLeidas());
+        assertEquals(1, resultado.getFilasConError());
+        assertEquals(2, resultado.getAutosCreados());
+        assertEquals(4, resultado.getAutosExistentes());
+        // Con lotes de 2 filas la segunda fila del Ka de Norte cae en otro lote y actualiza la oferta creada antes
+        assertEquals(2, resultado.getOfertasCreadas());
+        assertEquals(2, resultado.getOfertasActualizadas());
+        assertEquals(List.of(new ErrorFilaImportacionResponse(7, "La concesionaria 999999 no existe o no está activa")),
+                resultado.getErrores());
+
+        assertEquals(3, autoRepository.count());
+        assertEquals(3, ofertaAutoRepository.count());
+        OfertaAuto actualizada = ofertaAutoRepository.findById(existente.getId()).orElseThrow();
+        assertEquals(4, actualizada.getStock());
+        assertEquals(0, new BigDecimal("21000").compareTo(actualizada.getPrecioActual()));
+        assertFalse(stockLedger.estaAgotada(existente.getId()));
+        Long kaId = autoRepository.findAll().stream().filter(a -> a.getModelo().equals("Ka")).findFirst().orElseThrow().getId();
+        OfertaAuto ka = ofertaAutoRepository.findByConcesionariaIdAndAutoId(norte.getId(), kaId).orElseThrow();
+        assertEquals(3, ka.getStock());
+        assertEquals(0, new BigDecimal("9500").compareTo(ka.getPrecioActual()));
+        // El catálogo cacheado y el buscador ven los autos importados
+        assertEquals(3, autoService.listarAutos().size());
+        assertEquals(List.of("Cronos"), autoService.buscarAutos("cronos", 5).stream().map(IndiceAutos.Sugerencia::modelo).toList());
+    }
+
+    @Test
+    @DisplayName("Si un lote falla en la base se reintenta fila por fila: se guardan las filas buenas y se informa la mala")
+    void importar_LoteConFilaQueFallaEnLaBase() throws IOException {
+        String jsonl = """
+                {"marca":"Toyota","modelo":"Corolla","anioModelo":2020,"concesionariaId":%d,"stock":1,"precio":20000,"moneda":"USD"}
+                {"marca":"Honda","modelo":"Civic","anioModelo":2021}
+                {"marca":"Fiat","modelo":"Uno","anioModelo":2010}
+                {"marca":"VW","modelo":"Gol","anioModelo":2015}
+                """.formatted(norte.getId());
+        LectorCatalogo archivo = LectorCatalogo.para(FormatoImportacion.JSONL, new StringReader(jsonl));
+        // Otro proceso crea el Fiat Uno después de la precarga de claves: su insert viola la restricción única
+        LectorCatalogo lector = new LectorCatalogo() {
+            @Override
+            public FilaCatalogo siguiente() throws IOException {
+                FilaCatalogo fila = archivo.siguiente();
+                if (fila != null && fila.linea() == 1) {
+                    autoRepository.save(Auto.builder().marca("Fiat").modelo("Uno").anioModelo(2010).build());
+                }
+                return fila;
+            }
+
+            @Override
+            public void close() throws IOException {
+                archivo.close();
+            }
+        };
+        ImportacionCatalogo progreso = new ImportacionCatalogo("prueba", "catalogo.jsonl", FormatoImportacion.JSONL, 10);
+
+        importacionCatalogoService.importar(lector, 10, progreso);
+
+        ImportacionCatalogoResponse resultado = progreso.aResponse();
+        assertEquals("FINALIZADA", resultado.getEstado());
+        assertEquals(4, resultado.getFilasLeidas());
+        assertEquals(1, resultado.getFilasConError());
+        assertEquals(3, resultado.getAutosCreados());
+        assertEquals(1, resultado.getOfertasCreadas());
+        assertEquals(3, resultado.getErrores().get(0).getLinea());
+        Map<String, Long> autosPorModelo = autoRepository.findAll().stream()
+                .collect(Collectors.groupingBy(Auto::getModelo, Collectors.counting()));
+        assertEquals(Map.of("Corolla", 1L, "Civic", 1L, "Uno", 1L, "Gol", 1L), autosPorModelo);
+        assertEquals(1, ofertaAutoRepository.count());
+    }
+
+    @Test
+    @DisplayName("Si la importación falla a mitad de camino, el catálogo en memoria ve los autos de los lotes ya confirmados")
+    void importar_FallaEnUnLotePosterior_RefrescaElCatalogo() throws IOException {
+        autoService.listarAutos();
+        String csv = ENCABEZADO
+                + "Fiat,Cronos,2022,,,,\n"
+                + "Fiat,Uno,2010,,,,\n"
+                + "VW,Gol,2015,,,,\n";
+        LectorCatalogo archivo = LectorCatalogo.para(FormatoImportacion.CSV, new StringReader(csv));
+        // El archivo se corta después del primer lote de 2 filas
+        LectorCatalogo lector = new LectorCatalogo() {
+            @Override
+            public FilaCatalogo siguiente() throws IOException {
+                FilaCatalogo fila = archivo.siguiente();
+                if (fila != null && fila.linea() == 4) {
+                    throw new IOException("Conexión cerrada");
+                }
+                return fila;
+            }
+
+            @Override
+            public void close() throws IOException {
+                archivo.close();
+            }
+        };
+        ImportacionCatalogo progreso = new ImportacionCatalogo("prueba", "catalogo.csv", FormatoImportacion.CSV, 2);
+
+        assertThrows(IOException.class, () -> importacionCatalogoService.importar(lector, 2, progreso));
+
+        assertEquals(2, autoRepository.count());
+        assertEquals(2, autoService.listarAutos().size());
+        assertEquals(List.of("Cronos"), autoService.buscarAutos("cronos", 5).stream().map(IndiceAutos.Sugerencia::modelo).toList());
+    }
+
+    @Test
+    @DisplayName("La importación de un archivo subido corre en segundo plano y su progreso se consulta por id")
+    void iniciar_ImportaEnSegundoPlano() throws Exception {
+        StringBuilder csv = new StringBuilder(ENCABEZADO);
+        for (int i = 0; i < 250; i++) {
+            csv.append("Marca").append(i % 10).append(",Modelo").append(i).append(",2020,")
+                    .append(i % 2 == 0 ? norte.getId() : sur.getId()).append(",1,1000,USD\n");
+        }
+        csv.append("Marca0,Modelo0,2020,,,,\n");
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "catalogo.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        ImportacionCatalogo importacion = importacionCatalogoService.iniciar(archivo, null, 100);
+        ImportacionCatalogoResponse resultado = esperar(importacion.getId());
+
+        assertEquals("FINALIZADA", resultado.getEstado());
+        assertEquals(FormatoImportacion.CSV, resultado.getFormato());
+        assertEquals(251, resultado.getFilasLeidas());
+        assertEquals(250, resultado.getAutosCreados());
+        assertEquals(1, resultado.getAutosExistentes());
+        assertEquals(250, resultado.getOfertasCreadas());
+        assertEquals(250, autoRepository.count());
+        assertEquals(125, ofertaAutoRepository.findByConcesionariaId(norte.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Rechaza en el pedido un formato desconocido, un CSV sin columnas obligatorias o un lote inválido")
+    void iniciar_ValidaElArchivoAntesDeEncolar() {
+        Function<String, MockMultipartFile> archivo = contenido -> new MockMultipartFile("archivo", "catalogo.csv",
+                "text/csv", contenido.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(RuntimeException.class, () -> importacionCatalogoService.iniciar(archivo.apply(ENCABEZADO), "xml", null));
+        assertThrows(RuntimeException.class, () -> importacionCatalogoService.iniciar(archivo.apply("marca,modelo\n"), null, null));
+        assertThrows(RuntimeException.class, () -> importacionCatalogoService.iniciar(archivo.apply(ENCABEZADO), null, 0));
+        assertThrows(RuntimeException.class, () -> importacionCatalogoService.iniciar(archivo.apply(""), null, null));
+        assertThrows(RuntimeException.class, () -> importacionCatalogoService.obtener("inexistente"));
+    }
+
+    private ImportacionCatalogoResponse importar(FormatoImportacion formato, String contenido, int tamanioLote) throws IOException {
+        ImportacionCatalogo progreso = new ImportacionCatalogo("prueba", "catalogo", formato, tamanioLote);
+        try (LectorCatalogo lector = LectorCatalogo.para(formato, new StringReader(contenido))) {
+            importacionCatalogoService.importar(lector, tamanioLote, progreso);
+        }
+        return progreso.aResponse();
+    }
+
+    private ImportacionCatalogoResponse esperar(String id) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < limite) {
+            ImportacionCatalogoResponse progreso = importacionCatalogoService.obtener(id).aResponse();
+            if (progreso.getFinalizada() != null) {
+                return progreso;
+            }
+            Thread.sleep(20);
+        }
+        fail("La importación no terminó a tiempo");
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+package ar.edu.unq.pdss22025.services.importacion;
+
+import ar.edu.unq.pdss22025.models.dto.FormatoImportacion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectoresCatalogoTest {
+
+    @Test
+    @DisplayName("CSV toma las columnas por nombre y admite comillas, comas y saltos de línea en los valores")
+    void csv_LeeFilasConComillas() throws IOException {
+        String csv = "\uFEFFmodelo,Marca,anio_modelo,concesionaria_id,stock,precio,moneda\r\n"
+                + "Corolla,Toyota,2020,1,5,25000.50,USD\r\n"
+                + "\"Ka, \"\"Freestyle\"\"\",Ford,2019,,,,\n"
+                + "\n"
+                + "\"Serie\n3\",BMW,2021,2,0,90000,USD\n";
+
+        List<FilaCatalogo> filas = leer(FormatoImportacion.CSV, csv);
+
+        assertEquals(3, filas.size());
+        FilaCatalogo corolla = filas.get(0);
+        assertTrue(corolla.esValida());
+        assertEquals(2, corolla.linea());
+        assertEquals("Toyota", corolla.marca());
+        assertEquals(2020, corolla.anioModelo());
+        assertEquals(1L, corolla.concesionariaId());
+        assertEquals(5, corolla.stock());
+        assertEquals(new BigDecimal("25000.50"), corolla.precio());
+        assertEquals("Ka, \"Freestyle\"", filas.get(1).modelo());
+        assertFalse(filas.get(1).tieneOferta());
+        assertEquals("Serie\n3", filas.get(2).modelo());
+        assertEquals(5, filas.get(2).linea());
+    }
+
+    @Test
+    @DisplayName("CSV informa el error de cada fila inválida sin cortar la lectura")
+    void csv_FilasInvalidas() throws IOException {
+        String csv = "marca,modelo,anio_modelo,concesionaria_id,stock,precio,moneda\n"
+                + ",Corolla,2020,,,,\n"
+                + "Toyota,Corolla,dosmil,,,,\n"
+                + "Toyota,Corolla,1850,,,,\n"
+                + "Toyota,Corolla,2020,1,,,\n"
+                + "Toyota,Corolla,2020,1,-1,100,USD\n"
+                + "Toyota,Corolla,2020,1,1,100.123,USD\n"
+                + "Toyota,Corolla\n"
+                + "Toyota,Hilux,2022,,,,\n";
+
+        List<FilaCatalogo> filas = leer(FormatoImportacion.CSV, csv);
+
+        assertEquals(List.of("La marca es obligatoria",
+                        "El año del modelo no es un número entero: dosmil",
+                        "El año del modelo debe ser mayor o igual a 1900",
+                        "Los datos de la oferta están incompletos (se necesitan concesionaria, stock, precio y moneda)",
+                        "El stock no puede ser negativo",
+                        "El precio admite hasta 13 dígitos enteros y 2 decimales",
+                        "La fila tiene 2 columnas y el encabezado 7"),
+                filas.subList(0, 7).stream().map(FilaCatalogo::error).toList());
+        assertEquals(8, filas.get(6).linea());
+        assertTrue(filas.get(7).esValida());
+    }
+
+    @Test
+    @DisplayName("CSV sin las columnas obligatorias se rechaza antes de leer filas")
+    void csv_SinColumnasObligatorias() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> LectorCatalogo.para(FormatoImportacion.CSV, new StringReader("marca,modelo\nToyota,Corolla\n")));
+        assertEquals("Falta la columna obligatoria aniomodelo en el encabezado del CSV", error.getMessage());
+        assertThrows(RuntimeException.class, () -> LectorCatalogo.para(FormatoImportacion.CSV, new StringReader("")));
+    }
+
+    @Test
+    @DisplayName("JSON lines acepta claves en camelCase o snake_case, valores numéricos o texto e informa líneas mal formadas")
+    void jsonLineas_LeeObjetosPorLinea() throws IOException {
+        String jsonl = "{\"marca\":\"Toyota\",\"modelo\":\"Corolla\",\"anioModelo\":2020,\"concesionariaId\":1,\"stock\":5,\"precio\":25000.5,\"moneda\":\"USD\"}\n"
+                + "\n"
+                + "{\"marca\":\"Ford\",\"modelo\":\"Ka\",\"anio_modelo\":\"2019\",\"precio\":null}\n"
+                + "{\"marca\":\"Ford\",\n"
+                + "[1,2]\n";
+
+        List<FilaCatalogo> filas = leer(FormatoImportacion.JSONL, jsonl);
+
+        assertEquals(4, filas.size());
+        assertEquals(new BigDecimal("25000.5"), filas.get(0).precio());
+        assertEquals(5, filas.get(0).stock());
+        assertEquals(3, filas.get(1).linea());
+        assertEquals(2019, filas.get(1).anioModelo());
+        assertFalse(filas.get(1).tieneOferta());
+        assertEquals(4, filas.get(2).linea());
+        assertTrue(filas.get(2).error().startsWith("JSON inválido"));
+        assertEquals("La línea no es un objeto JSON", filas.get(3).error());
+    }
+
+    private static List<FilaCatalogo> leer(FormatoImportacion formato, String contenido) throws IOException {
+        List<FilaCatalogo> filas = new ArrayList<>();
+        try (LectorCatalogo lector = LectorCatalogo.para(formato, new StringReader(contenido))) {
+            FilaCatalogo fila;
+            while ((fila = lector.siguiente()) != null) {
+                filas.add(fila);
+            }
+        }
+        return filas;
+    }
+}
@@ -0,0 +1,30 @@
+package ar.edu.unq.pdss22025.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara mientras se ejecuta un bloque.
+ * Requiere {@code spring.jpa.properties.hibernate.generate_statistics=true} en el contexto de prueba.
+ */
+public final class ContadorSql {
+
+    private final Statistics statistics;
+
+    public ContadorSql(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("Las estadísticas de Hibernate no están habilitadas");
+        }
+    }
+
+    /**
+     * Ejecuta el bloque y devuelve cuántas sentencias preparó Hibernate durante su ejecución.
+     */
+    public long contar(Runnable bloque) {
+        statistics.clear();
+        bloque.run();
+        return statistics.getPrepareStatementCount();
+    }
+}